@@ -3,9 +3,11 @@ SMART Health Guide+ - Python Backend
 Flask REST API for AI-Based Personal Medical Advisor System
 """
 
-from flask import Flask, request, jsonify
+from flask import Flask, request, jsonify, Response, stream_with_context
 from flask_cors import CORS
 import os
+import re
+import json
 from dotenv import load_dotenv
 from datetime import datetime
 import pandas as pd
@@ -44,6 +46,9 @@ except Exception as e:
     print("   Install dependencies: pip install xgboost")
     risk_predictor = None
 
+# Most what-if profiles scored by one /api/risk-assessment/batch request
+MAX_BATCH_PROFILES = 50
+
 # Initialize OCR module with error handling
 try:
     report_ocr = ReportOCR()
@@ -144,6 +149,40 @@ def chat():
         return jsonify({"error": str(e)}), 500
 
 
+@app.route('/api/chat/stream', methods=['POST'])
+def chat_stream():
+    """
+    Stream a chatbot answer as server-sent events
+    Request body: {"message": "user question"}
+    Each "data" event carries {"token": "..."}; a final "done" event carries
+    relatedTopics and confidence, or an "error" event carries {"error": "..."}
+    """
+    data = request.get_json(silent=True) or {}
+    message = data.get('message', '')
+
+    if not message:
+        return jsonify({"error": "No message provided"}), 400
+
+    def generate():
+        try:
+            response = chatbot.get_response(message)
+            # Word by word, keeping the whitespace so the client can simply concatenate
+            for token in re.findall(r'\S+\s*|\s+', response["answer"]):
+                yield f"data: {json.dumps({'token': token})}\n\n"
+            done = {
+                "relatedTopics": response.get("relatedTopics", response.get("related_topics", [])),
+                "confidence": response.get("confidence", 0.0)
+            }
+            yield f"event: done\ndata: {json.dumps(done)}\n\n"
+        except Exception as e:
+            yield f"event: error\ndata: {json.dumps({'error': str(e)})}\n\n"
+
+    return Response(
+        stream_with_context(generate()),
+        mimetype='text/event-stream',
+        headers={"Cache-Control": "no-cache", "X-Accel-Buffering": "no"}
+    )
+
 @app.route('/api/tests/<disease_id>', methods=['GET'])
 def get_test_recommendations(disease_id):
     """
@@ -422,6 +461,43 @@ def risk_assessment():
         return jsonify({"error": str(e)}), 500
 
 
+@app.route('/api/risk-assessment/batch', methods=['POST'])
+def risk_assessment_batch():
+    """
+    Score several what-if profiles in one request, risks only
+    Request body: {
+        "profiles": [
+            {"age": 45, "weight": 75, "height": 170, "exercise": 2, "smoking": false},
+            {"age": 45, "weight": 70, "height": 170, "exercise": 2, "smoking": false}
+        ]
+    }
+    Response: {"results": [{"diabetes_risk": 12, "heart_risk": 9, "hypertension_risk": 15, "bmi": 26.0}, ...]}
+    A profile that fails validation gets {"error": "..."} in its place; the others are still scored.
+    """
+    try:
+        if risk_predictor is None:
+            return jsonify({
+                "error": "Risk Predictor module not available",
+                "message": "Risk prediction feature is not available. Please install xgboost: pip install xgboost"
+            }), 503
+        
+        data = request.get_json()
+        profiles = data.get('profiles') if data else None
+        
+        if not isinstance(profiles, list) or not profiles:
+            return jsonify({"error": "profiles must be a non-empty list"}), 400
+        if len(profiles) > MAX_BATCH_PROFILES:
+            return jsonify({"error": f"At most {MAX_BATCH_PROFILES} profiles per request"}), 400
+        
+        return jsonify({"results": risk_predictor.predict_risk_scores(profiles)})
+        
+    except ValueError as e:
+        return jsonify({"error": str(e)}), 400
+    except Exception as e:
+        print(f"ERROR in risk_assessment_batch: {str(e)}")
+        return jsonify({"error": str(e)}), 500
+
+
 @app.route('/api/parse-report-text', methods=['POST'])
 def parse_report_text():
     """
@@ -0,0 +1,137 @@
+"""
+Export the risk prediction models to a portable JSON file
+Writes the scaler and the boosted trees of the diabetes, heart disease and hypertension
+models to datasets/risk_models.json, which the desktop app scores without Python, along with
+XGBoost's own probabilities for a few reference profiles so the app's tree walk can be checked
+"""
+
+import json
+import math
+import os
+import sys
+import tempfile
+
+import numpy as np
+
+from risk_predictor import FEATURE_COLUMNS, RiskPredictor
+
+# Reference profiles across the validated input range (age 18-100, weight 30-200, height 100-250)
+PARITY_PROFILES = [
+    {'age': 18, 'weight': 30, 'height': 100},
+    {'age': 25, 'weight': 58, 'height': 165, 'exercise': 2, 'sleep_hours': 8, 'stress_level': 0, 'diet_quality': 2},
+    {'age': 32, 'weight': 72, 'height': 178, 'symptoms': ['Fever', 'Cough'], 'alcohol': 1},
+    {'age': 40, 'weight': 95, 'height': 170, 'smoking': True, 'exercise': 0, 'family_history': ['diabetes']},
+    {'age': 45, 'weight': 80, 'height': 160, 'family_history': ['heart disease', 'hypertension'], 'stress_level': 2},
+    {'age': 52, 'weight': 110, 'height': 175, 'symptoms': ['Fatigue', 'Headache', 'Dizziness', 'Nausea', 'Blurred Vision', 'Frequent Urination'],
+     'family_history': ['diabetes'], 'exercise': 0, 'diet_quality': 0, 'sleep_hours': 5},
+    {'age': 58, 'weight': 68, 'height': 155, 'alcohol': 2, 'smoking': True, 'sleep_hours': 6},
+    {'age': 63, 'weight': 85, 'height': 182, 'family_history': ['high blood pressure'], 'exercise': 1, 'stress_level': 1},
+    {'age': 70, 'weight': 120, 'height': 168, 'smoking': True, 'exercise': 0, 'alcohol': 1,
+     'family_history': ['diabetes', 'heart disease', 'hypertension'], 'stress_level': 2, 'diet_quality': 0, 'sleep_hours': 4},
+    {'age': 77, 'weight': 55, 'height': 150, 'symptoms': ['Chest Pain', 'Shortness of Breath'], 'exercise': 2, 'diet_quality': 2},
+    {'age': 85, 'weight': 140, 'height': 190, 'sleep_hours': 10, 'alcohol': 1},
+    {'age': 100, 'weight': 200, 'height': 250, 'smoking': True, 'exercise': 0, 'alcohol': 2, 'stress_level': 2}
+]
+
+MODELS = {
+    'diabetes': 'diabetes_model',
+    'heart': 'heart_model',
+    'hypertension': 'hypertension_model'
+}
+
+
+def _booster_json(model):
+    """XGBoost's own JSON model of a fitted classifier"""
+    booster = model.get_booster()
+    with tempfile.TemporaryDirectory() as tmp:
+        path = os.path.join(tmp, 'model.json')
+        booster.save_model(path)
+        with open(path, 'r', encoding='utf-8') as f:
+            return json.load(f)
+
+
+def _base_margin(learner):
+    """Starting margin of a binary:logistic model; base_score is stored as a probability"""
+    objective = learner['objective']['name']
+    if objective != 'binary:logistic':
+        raise ValueError(f"Unsupported objective: {objective}")
+    base_score = float(learner['learner_model_param']['base_score'].strip('[]'))
+    return math.log(base_score / (1 - base_score))
+
+
+def export_model(model):
+    """Flattens every tree into shared node arrays; leaves have left == -1"""
+    learner = _booster_json(model)['learner']
+    trees = learner['gradient_booster']['model']['trees']
+
+    exported = {
+        'base_margin': _base_margin(learner),
+        'roots': [],
+        'feature': [],
+        'threshold': [],
+        'left': [],
+        'right': [],
+        'default_left': [],
+        'value': []
+    }
+    for tree in trees:
+        offset = len(exported['feature'])
+        exported['roots'].append(offset)
+        for node, left in enumerate(tree['left_children']):
+            leaf = left == -1
+            exported['feature'].append(0 if leaf else tree['split_indices'][node])
+            exported['threshold'].append(0.0 if leaf else tree['split_conditions'][node])
+            exported['left'].append(-1 if leaf else offset + left)
+            exported['right'].append(-1 if leaf else offset + tree['right_children'][node])
+            exported['default_left'].append(bool(tree['default_left'][node]))
+            # XGBoost keeps a leaf's weight in split_conditions
+            exported['value'].append(tree['split_conditions'][node] if leaf else 0.0)
+    return exported
+
+
+def parity_checks(predictor):
+    """
+    XGBoost's probabilities for each reference profile, scored as predict_risks scores them.
+    The checks in the bundled risk_models.json did not come from this function: the pickles were
+    written by xgboost 3.1.1, newer than requirements.txt pins, so the file was exported through a
+    stdlib reader of the pickles and the probabilities were scored by xgboost4j 3.0.4 on the same
+    boosters, with base_score given in plain form. Re-running this script with xgboost 3.1 or later
+    replaces them with predict_proba's values.
+    """
+    checks = []
+    for profile in PARITY_PROFILES:
+        derived = predictor._derive_features(**profile)
+        scaled = predictor.scaler.transform(np.array([[derived[col] for col in FEATURE_COLUMNS]]))
+        check = {'profile': profile}
+        for name, attribute in MODELS.items():
+            check[name] = float(getattr(predictor, attribute).predict_proba(scaled)[0][1])
+        checks.append(check)
+    return checks
+
+
+def main(model_dir='models', output_path=os.path.join('datasets', 'risk_models.json')):
+    predictor = RiskPredictor(model_dir)
+    scaler = predictor.scaler
+    if len(scaler.mean_) != len(FEATURE_COLUMNS):
+        raise ValueError(f"Scaler has {len(scaler.mean_)} features, expected {len(FEATURE_COLUMNS)}")
+
+    export = {
+        'features': FEATURE_COLUMNS,
+        'scaler': {
+            'mean': [float(v) for v in scaler.mean_],
+            'scale': [float(v) for v in scaler.scale_]
+        },
+        'models': {},
+        'checks': parity_checks(predictor)
+    }
+    for name, attribute in MODELS.items():
+        export['models'][name] = export_model(getattr(predictor, attribute))
+        print(f"✓ Exported {name} model ({len(export['models'][name]['roots'])} trees)")
+
+    with open(output_path, 'w', encoding='utf-8') as f:
+        json.dump(export, f, separators=(',', ':'))
+    print(f"✓ Wrote {output_path}")
+
+
+if __name__ == '__main__':
+    main(*sys.argv[1:])
@@ -14,6 +14,14 @@ from sklearn.preprocessing import StandardScaler
 from sklearn.metrics import accuracy_score, classification_report
 
 
+# Model inputs, in training order
+FEATURE_COLUMNS = [
+    'age', 'weight', 'height', 'bmi', 'smoking', 'exercise',
+    'alcohol', 'family_diabetes', 'family_heart', 'family_hypertension',
+    'symptom_count', 'systolic_bp', 'fasting_glucose', 'cholesterol'
+]
+
+
 class RiskPredictor:
     """Predict personal disease risks using XGBoost model"""
     
@@ -147,11 +155,7 @@ class RiskPredictor:
         df = self._create_synthetic_dataset(n_samples=5000)
         
         # Feature columns
-        feature_cols = [
-            'age', 'weight', 'height', 'bmi', 'smoking', 'exercise',
-            'alcohol', 'family_diabetes', 'family_heart', 'family_hypertension',
-            'symptom_count', 'systolic_bp', 'fasting_glucose', 'cholesterol'
-        ]
+        feature_cols = FEATURE_COLUMNS
         
         X = df[feature_cols].values
         y_diabetes = df['diabetes_risk'].values
@@ -268,6 +272,55 @@ class RiskPredictor:
         base_chol -= exercise * 10
         return max(120, min(300, base_chol))  # Clamp between 120-300
     
+    def _derive_features(self, age, weight, height, symptoms=None, family_history=None,
+                         smoking=False, exercise=1, alcohol=False, sleep_hours=None, stress_level=None, diet_quality=None):
+        """Feature values of a profile, keyed by FEATURE_COLUMNS, plus the sleep, stress and diet defaults applied"""
+        # Process symptoms
+        symptom_list = symptoms if symptoms else []
+        symptom_count = len(symptom_list)
+        
+        # Process family history
+        family_list = family_history if family_history else []
+        family_diabetes = 1 if any('diabetes' in str(h).lower() for h in family_list) else 0
+        family_heart = 1 if any('heart' in str(h).lower() for h in family_list) else 0
+        family_hypertension = 1 if any('hypertension' in str(h).lower() or 'blood pressure' in str(h).lower() for h in family_list) else 0
+        
+        # Convert boolean inputs with defaults for enhanced features
+        smoking_int = 1 if smoking else 0
+        alcohol_int = int(alcohol) if isinstance(alcohol, (int, float)) else (1 if alcohol else 0)
+        exercise_int = int(exercise) if exercise in [0, 1, 2] else 1
+        sleep_hours_val = sleep_hours if sleep_hours is not None else 7.0
+        stress_level_val = stress_level if stress_level is not None else 1
+        diet_quality_val = diet_quality if diet_quality is not None else 1
+        
+        # Calculate BMI
+        bmi = self._calculate_bmi(weight, height)
+        
+        # Enhanced estimation with new factors
+        systolic_bp = self._estimate_blood_pressure(age, bmi, family_hypertension, smoking_int, exercise_int)
+        systolic_bp += (stress_level_val - 1) * 3  # Stress increases BP
+        systolic_bp -= (sleep_hours_val - 7) * 0.5  # Good sleep reduces BP
+        systolic_bp = max(90, min(180, systolic_bp))
+        
+        fasting_glucose = self._estimate_glucose(age, bmi, family_diabetes, exercise_int, symptom_count)
+        fasting_glucose += (stress_level_val - 1) * 2  # Stress affects glucose
+        fasting_glucose -= (diet_quality_val - 1) * 3  # Good diet helps
+        fasting_glucose = max(70, min(150, fasting_glucose))
+        
+        cholesterol = self._estimate_cholesterol(age, bmi, family_heart, smoking_int, exercise_int)
+        cholesterol += (stress_level_val - 1) * 5  # Stress affects cholesterol
+        cholesterol -= (diet_quality_val - 1) * 8  # Good diet helps
+        cholesterol = max(120, min(300, cholesterol))
+        
+        return {
+            'age': age, 'weight': weight, 'height': height, 'bmi': bmi,
+            'smoking': smoking_int, 'exercise': exercise_int, 'alcohol': alcohol_int,
+            'family_diabetes': family_diabetes, 'family_heart': family_heart,
+            'family_hypertension': family_hypertension, 'symptom_count': symptom_count,
+            'systolic_bp': systolic_bp, 'fasting_glucose': fasting_glucose, 'cholesterol': cholesterol,
+            'sleep_hours': sleep_hours_val, 'stress_level': stress_level_val, 'diet_quality': diet_quality_val
+        }
+    
     def predict_risks(self, age, weight, height, symptoms=None, family_history=None, 
                      smoking=False, exercise=1, alcohol=False, sleep_hours=None, stress_level=None, diet_quality=None):
         """
@@ -298,49 +351,23 @@ class RiskPredictor:
             if height < 100 or height > 250:
                 raise ValueError("Height must be between 100 and 250 cm")
             
-            # Process symptoms
-            symptom_list = symptoms if symptoms else []
-            symptom_count = len(symptom_list)
-            
-            # Process family history
-            family_list = family_history if family_history else []
-            family_diabetes = 1 if any('diabetes' in str(h).lower() for h in family_list) else 0
-            family_heart = 1 if any('heart' in str(h).lower() for h in family_list) else 0
-            family_hypertension = 1 if any('hypertension' in str(h).lower() or 'blood pressure' in str(h).lower() for h in family_list) else 0
-            
-            # Convert boolean inputs with defaults for enhanced features
-            smoking_int = 1 if smoking else 0
-            alcohol_int = int(alcohol) if isinstance(alcohol, (int, float)) else (1 if alcohol else 0)
-            exercise_int = int(exercise) if exercise in [0, 1, 2] else 1
-            sleep_hours_val = sleep_hours if sleep_hours is not None else 7.0
-            stress_level_val = stress_level if stress_level is not None else 1
-            diet_quality_val = diet_quality if diet_quality is not None else 1
-            
-            # Calculate BMI
-            bmi = self._calculate_bmi(weight, height)
-            
-            # Enhanced estimation with new factors
-            systolic_bp = self._estimate_blood_pressure(age, bmi, family_hypertension, smoking_int, exercise_int)
-            systolic_bp += (stress_level_val - 1) * 3  # Stress increases BP
-            systolic_bp -= (sleep_hours_val - 7) * 0.5  # Good sleep reduces BP
-            systolic_bp = max(90, min(180, systolic_bp))
-            
-            fasting_glucose = self._estimate_glucose(age, bmi, family_diabetes, exercise_int, symptom_count)
-            fasting_glucose += (stress_level_val - 1) * 2  # Stress affects glucose
-            fasting_glucose -= (diet_quality_val - 1) * 3  # Good diet helps
-            fasting_glucose = max(70, min(150, fasting_glucose))
-            
-            cholesterol = self._estimate_cholesterol(age, bmi, family_heart, smoking_int, exercise_int)
-            cholesterol += (stress_level_val - 1) * 5  # Stress affects cholesterol
-            cholesterol -= (diet_quality_val - 1) * 8  # Good diet helps
-            cholesterol = max(120, min(300, cholesterol))
+            derived = self._derive_features(age, weight, height, symptoms, family_history,
+                                            smoking, exercise, alcohol, sleep_hours, stress_level, diet_quality)
+            bmi = derived['bmi']
+            smoking_int = derived['smoking']
+            exercise_int = derived['exercise']
+            family_diabetes = derived['family_diabetes']
+            family_heart = derived['family_heart']
+            family_hypertension = derived['family_hypertension']
+            systolic_bp = derived['systolic_bp']
+            fasting_glucose = derived['fasting_glucose']
+            cholesterol = derived['cholesterol']
+            sleep_hours_val = derived['sleep_hours']
+            stress_level_val = derived['stress_level']
+            diet_quality_val = derived['diet_quality']
             
             # Prepare feature vector
-            features = np.array([[
-                age, weight, height, bmi, smoking_int, exercise_int,
-                alcohol_int, family_diabetes, family_heart, family_hypertension,
-                symptom_count, systolic_bp, fasting_glucose, cholesterol
-            ]])
+            features = np.array([[derived[col] for col in FEATURE_COLUMNS]])
             
             # Scale features
             features_scaled = self.scaler.transform(features)
@@ -452,6 +479,77 @@ class RiskPredictor:
         except Exception as e:
             raise ValueError(f"Error predicting risks: {str(e)}")
     
+    def predict_risk_scores(self, profiles):
+        """
+        Risk percentages for many profiles with one model call per disease
+        
+        Args:
+            profiles: List of dicts with the predict_risks arguments (age, weight, height required)
+        
+        Returns:
+            List of dicts with diabetes_risk, heart_risk, hypertension_risk and bmi, in profile order;
+            a profile that fails validation gets {'error': message} instead
+        """
+        results = [None] * len(profiles)
+        valid = []
+        rows = []
+        bmis = []
+        for i, profile in enumerate(profiles):
+            error = self._profile_error(profile)
+            if error:
+                results[i] = {'error': error}
+                continue
+            age = profile['age']
+            weight = profile['weight']
+            height = profile['height']
+            derived = self._derive_features(
+                age, weight, height,
+                symptoms=profile.get('symptoms'),
+                family_history=profile.get('family_history'),
+                smoking=profile.get('smoking', False),
+                exercise=profile.get('exercise', 1),
+                alcohol=profile.get('alcohol', False),
+                sleep_hours=profile.get('sleep_hours'),
+                stress_level=profile.get('stress_level'),
+                diet_quality=profile.get('diet_quality')
+            )
+            valid.append(i)
+            rows.append([derived[col] for col in FEATURE_COLUMNS])
+            bmis.append(derived['bmi'])
+        if not rows:
+            return results
+        
+        features_scaled = self.scaler.transform(np.array(rows))
+        diabetes_proba = self.diabetes_model.predict_proba(features_scaled)[:, 1]
+        heart_proba = self.heart_model.predict_proba(features_scaled)[:, 1]
+        hypertension_proba = self.hypertension_model.predict_proba(features_scaled)[:, 1]
+        
+        for row, i in enumerate(valid):
+            results[i] = {
+                'diabetes_risk': int(diabetes_proba[row] * 100),
+                'heart_risk': int(heart_proba[row] * 100),
+                'hypertension_risk': int(hypertension_proba[row] * 100),
+                'bmi': round(bmis[row], 1)
+            }
+        return results
+    
+    @staticmethod
+    def _profile_error(profile):
+        """Why a batch profile cannot be scored, or None; same limits as /api/risk-assessment"""
+        if not isinstance(profile, dict):
+            return "Each profile must be an object"
+        for field in ('age', 'weight', 'height'):
+            value = profile.get(field)
+            if isinstance(value, bool) or not isinstance(value, (int, float)):
+                return f"Each profile needs a numeric {field}"
+        if profile['age'] < 18 or profile['age'] > 100:
+            return "Age must be between 18 and 100"
+        if profile['weight'] < 30 or profile['weight'] > 200:
+            return "Weight must be between 30 and 200 kg"
+        if profile['height'] < 100 or profile['height'] > 250:
+            return "Height must be between 100 and 250 cm"
+        return None
+    
     def _generate_recommendations(self, diabetes_risk, heart_risk, hypertension_risk,
                                  bmi, age, smoking, exercise, family_diabetes, family_heart, family_hypertension,
                                  sleep_hours=7, stress_level=1, diet_quality=1):
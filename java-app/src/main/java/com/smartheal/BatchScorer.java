@@ -0,0 +1,554 @@
+package com.smartheal;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.smartheal.api.ApiClient;
+import com.smartheal.api.ReportAnalysisEngine;
+import com.smartheal.api.RiskScoringEngine;
+import com.smartheal.api.SymptomMatchEngine;
+import com.smartheal.models.ReportAnalysis;
+import com.smartheal.models.RiskAssessment;
+import com.smartheal.models.Symptom;
+import com.smartheal.models.SymptomCheckResult;
+import com.smartheal.utils.PatientRecordReader;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Headless batch scoring of patient lists, for screening camps. Streams a CSV or NDJSON file of
+ * patients through symptom matching, blood report analysis and risk scoring, and writes one NDJSON
+ * result per patient in input order. Records are scored on virtual threads with a bounded number
+ * in flight, so memory stays flat however long the file is; a record that fails is written with
+ * its errors and the run goes on. Progress and throughput are reported on stderr.
+ *
+ * <pre>
+ * java -cp ... com.smartheal.BatchScorer patients.csv results.ndjson [--parallel N] [--format csv|ndjson] [--offline]
+ * </pre>
+ *
+ * Recognised fields: id, symptoms and family_history (lists, ";" or "|" separated in CSV), age,
+ * weight, height, smoking, exercise, alcohol, sleep_hours, stress_level, diet_quality, and any
+ * blood parameter with a reference range (hemoglobin, blood_sugar_fasting, ...). Symptoms and
+ * reports are scored in-process; risks are too when the exported risk models are bundled, and
+ * otherwise go to the backend, up to 50 to a request, unless --offline is given.
+ */
+public final class BatchScorer {
+
+    private static final int DEFAULT_PARALLEL = Runtime.getRuntime().availableProcessors() * 4;
+    private static final long PROGRESS_INTERVAL_MS = 5000;
+    private static final int TOP_CONDITIONS = 3;
+    private static final String LIST_SEPARATORS = "[;|]";
+    // Marks the end of the input on the queue of pending results
+    private static final Future<String> END = CompletableFuture.completedFuture(null);
+    // How often a reader waiting on a full queue checks that the writer is still running
+    private static final long QUEUE_CHECK_MS = 200;
+    // Most profiles per /api/risk-assessment/batch request (MAX_BATCH_PROFILES in app.py), and
+    // how long the first profile of a request waits for others to join it
+    private static final int RISK_BATCH_SIZE = 50;
+    private static final long RISK_BATCH_LINGER_MS = 20;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final SymptomMatchEngine symptomEngine;
+    private final ReportAnalysisEngine reportEngine;
+    private final RiskScoringEngine riskEngine;
+    private final ApiClient apiClient;
+    // Dataset symptom names by lowercase name, so "fever" matches "Fever"
+    private final Map<String, String> symptomNames = new HashMap<>();
+    private final AtomicLong failed = new AtomicLong();
+    private final Object riskBatchLock = new Object();
+    private RiskBatch riskBatch = new RiskBatch();
+
+    private BatchScorer(boolean offline) throws IOException {
+        this.symptomEngine = new SymptomMatchEngine();
+        this.reportEngine = new ReportAnalysisEngine();
+        RiskScoringEngine engine = null;
+        try {
+            engine = new RiskScoringEngine();
+        } catch (IOException e) {
+            System.err.println("Local risk scoring unavailable: " + e.getMessage());
+        }
+        this.riskEngine = engine;
+        this.apiClient = engine == null && !offline ? new ApiClient() : null;
+        if (engine == null) {
+            System.err.println(offline ? "Risks will not be scored (--offline)." : "Risks will be scored by the backend.");
+        }
+        for (Symptom symptom : symptomEngine.getSymptoms()) {
+            symptomNames.put(symptom.getName().toLowerCase(Locale.ROOT), symptom.getName());
+        }
+    }
+
+    public static void main(String[] args) {
+        String input = null;
+        String output = null;
+        int parallel = DEFAULT_PARALLEL;
+        PatientRecordReader.Format format = null;
+        boolean offline = false;
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--parallel" -> parallel = Integer.parseInt(args[++i]);
+                    case "--format" -> format = PatientRecordReader.Format.valueOf(args[++i].toUpperCase(Locale.ROOT));
+                    case "--offline" -> offline = true;
+                    default -> {
+                        if (input == null) {
+                            input = args[i];
+                        } else if (output == null) {
+                            output = args[i];
+                        } else {
+                            throw new IllegalArgumentException("Unexpected argument: " + args[i]);
+                        }
+                    }
+                }
+            }
+            if (input == null || output == null) {
+                throw new IllegalArgumentException("Input and output files are required");
+            }
+            if (parallel < 1) {
+                throw new IllegalArgumentException("--parallel must be at least 1");
+            }
+            if (format == null) {
+                format = PatientRecordReader.formatOf(input);
+            }
+            if (format == null) {
+                throw new IllegalArgumentException("Cannot tell the format of " + input + "; use --format csv or --format ndjson");
+            }
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+            System.err.println(e instanceof ArrayIndexOutOfBoundsException ? "Missing option value" : e.getMessage());
+            System.err.println("Usage: BatchScorer <input.csv|input.ndjson|-> <output.ndjson|-> "
+                + "[--parallel N] [--format csv|ndjson] [--offline]");
+            System.exit(2);
+            return;
+        }
+
+        BatchScorer scorer = null;
+        try {
+            scorer = new BatchScorer(offline);
+            scorer.run(input, output, format, parallel);
+        } catch (IOException e) {
+            System.err.println("Batch scoring failed: " + e.getMessage());
+            System.exit(1);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            System.err.println("Batch scoring interrupted");
+            System.exit(1);
+        } finally {
+            if (scorer != null && scorer.apiClient != null) {
+                try {
+                    scorer.apiClient.close();
+                } catch (IOException e) {
+                    System.err.println("Error closing API client: " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Reads on this thread, scores on virtual threads and writes on another thread. The queue
+     * between them holds at most {@code parallel} records, in input order, so reading waits for
+     * the writer and the output order does not depend on which record finishes first.
+     */
+    private void run(String input, String output, PatientRecordReader.Format format, int parallel)
+            throws IOException, InterruptedException {
+        BufferedReader in = "-".equals(input)
+            ? new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8))
+            : Files.newBufferedReader(Path.of(input), StandardCharsets.UTF_8);
+        Writer out = "-".equals(output)
+            ? new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8))
+            : Files.newBufferedWriter(Path.of(output), StandardCharsets.UTF_8);
+
+        BlockingQueue<Future<String>> pending = new ArrayBlockingQueue<>(parallel);
+        Writer writerOut = out;
+        IOException[] writeError = new IOException[1];
+        Thread writer = Thread.ofPlatform().name("batch-writer").start(() -> {
+            try {
+                writeResults(pending, writerOut);
+            } catch (IOException e) {
+                writeError[0] = e;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        try (PatientRecordReader reader = new PatientRecordReader(in, format);
+             ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor()) {
+            PatientRecordReader.Record record;
+            while ((record = reader.next()) != null) {
+                PatientRecordReader.Record current = record;
+                Future<String> result = current.error() != null
+                    ? CompletableFuture.completedFuture(unreadable(current))
+                    : workers.submit(() -> score(current));
+                if (!enqueue(pending, result, writer)) {
+                    break;
+                }
+            }
+        } finally {
+            enqueue(pending, END, writer);
+            writer.join();
+            out.close();
+        }
+        if (writeError[0] != null) {
+            throw writeError[0];
+        }
+    }
+
+    // Waits for room on the queue while the writer runs; false once it has stopped
+    private static boolean enqueue(BlockingQueue<Future<String>> pending, Future<String> result, Thread writer)
+            throws InterruptedException {
+        while (writer.isAlive()) {
+            if (pending.offer(result, QUEUE_CHECK_MS, TimeUnit.MILLISECONDS)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void writeResults(BlockingQueue<Future<String>> pending, Writer out) throws IOException, InterruptedException {
+        long start = System.nanoTime();
+        long lastReport = System.currentTimeMillis();
+        long written = 0;
+        Future<String> next;
+        while ((next = pending.take()) != END) {
+            String line;
+            try {
+                line = next.get();
+            } catch (ExecutionException e) {
+                // score() reports its own failures; this is only reached on errors it could not catch
+                failed.incrementAndGet();
+                ObjectNode result = objectMapper.createObjectNode();
+                result.put("error", String.valueOf(e.getCause()));
+                line = objectMapper.writeValueAsString(result);
+            }
+            out.write(line);
+            out.write('\n');
+            written++;
+            long now = System.currentTimeMillis();
+            if (now - lastReport >= PROGRESS_INTERVAL_MS) {
+                out.flush();
+                reportProgress(written, start, false);
+                lastReport = now;
+            }
+        }
+        out.flush();
+        reportProgress(written, start, true);
+    }
+
+    private void reportProgress(long written, long start, boolean done) {
+        double seconds = Math.max((System.nanoTime() - start) / 1e9, 1e-9);
+        System.err.printf("%s %,d records (%,d with errors) in %.1f s, %,.0f records/s%n",
+            done ? "Done:" : "Scored", written, failed.get(), seconds, written / seconds);
+    }
+
+    private String unreadable(PatientRecordReader.Record record) throws IOException {
+        failed.incrementAndGet();
+        ObjectNode result = objectMapper.createObjectNode();
+        result.put("line", record.line());
+        result.put("error", record.error());
+        return objectMapper.writeValueAsString(result);
+    }
+
+    // Each stage fails on its own: its error is recorded and the other stages still run
+    private String score(PatientRecordReader.Record record) throws IOException {
+        ObjectNode fields = record.fields();
+        ObjectNode result = objectMapper.createObjectNode();
+        result.put("line", record.line());
+        if (fields.hasNonNull("id")) {
+            result.set("id", fields.get("id"));
+        }
+        ObjectNode errors = objectMapper.createObjectNode();
+
+        try {
+            scoreSymptoms(fields, result);
+        } catch (RuntimeException e) {
+            errors.put("symptoms", message(e));
+        }
+        try {
+            scoreReport(fields, result);
+        } catch (RuntimeException e) {
+            errors.put("report", message(e));
+        }
+        try {
+            scoreRisk(fields, result);
+        } catch (IOException | RuntimeException e) {
+            errors.put("risk", message(e));
+        }
+
+        if (!errors.isEmpty()) {
+            result.set("errors", errors);
+            failed.incrementAndGet();
+        }
+        return objectMapper.writeValueAsString(result);
+    }
+
+    private void scoreSymptoms(ObjectNode fields, ObjectNode result) {
+        List<String> symptoms = list(fields, "symptoms");
+        if (symptoms.isEmpty()) {
+            return;
+        }
+        List<String> names = new ArrayList<>();
+        ArrayNode unknown = objectMapper.createArrayNode();
+        for (String symptom : symptoms) {
+            String name = symptomNames.get(symptom.toLowerCase(Locale.ROOT));
+            names.add(name != null ? name : symptom);
+            if (name == null) {
+                unknown.add(symptom);
+            }
+        }
+        ArrayNode conditions = result.putArray("conditions");
+        List<SymptomCheckResult> matches = symptomEngine.match(names);
+        for (SymptomCheckResult match : matches.subList(0, Math.min(TOP_CONDITIONS, matches.size()))) {
+            ObjectNode condition = conditions.addObject();
+            condition.put("name", match.getDisease().getName());
+            condition.put("match_percentage", match.getMatchPercentage());
+            if (match.getTriage() != null) {
+                condition.put("triage", match.getTriage().getLevel());
+            }
+        }
+        if (!unknown.isEmpty()) {
+            result.set("unknown_symptoms", unknown);
+        }
+    }
+
+    private void scoreReport(ObjectNode fields, ObjectNode result) {
+        Map<String, Double> values = new LinkedHashMap<>();
+        fields.fieldNames().forEachRemaining(key -> {
+            if (reportEngine.getRange(key) != null) {
+                values.put(key, number(fields, key));
+            }
+        });
+        if (values.isEmpty()) {
+            return;
+        }
+        ReportAnalysis analysis = reportEngine.analyzeReport(values);
+        ObjectNode report = result.putObject("report");
+        report.put("overall_status", analysis.getOverallStatus());
+        ArrayNode flagged = report.putArray("flagged");
+        analysis.getFlaggedParameters().forEach(flagged::add);
+    }
+
+    private void scoreRisk(ObjectNode fields, ObjectNode result) throws IOException {
+        if (!fields.hasNonNull("age") && !fields.hasNonNull("weight") && !fields.hasNonNull("height")) {
+            return;
+        }
+        if (riskEngine == null && apiClient == null) {
+            return;
+        }
+        // Same limits as the risk assessment form and /api/risk-assessment
+        int age = (int) require(fields, "age", 18, 100);
+        double weight = require(fields, "weight", 30, 200);
+        double height = require(fields, "height", 100, 250);
+        List<String> symptoms = list(fields, "symptoms");
+        List<String> familyHistory = list(fields, "family_history");
+        boolean smoking = bool(fields, "smoking");
+        int exercise = level(fields, "exercise");
+        int alcohol = fields.hasNonNull("alcohol") ? level(fields, "alcohol") : 0;
+        Double sleepHours = number(fields, "sleep_hours");
+        Integer stressLevel = fields.hasNonNull("stress_level") ? level(fields, "stress_level") : null;
+        Integer dietQuality = fields.hasNonNull("diet_quality") ? level(fields, "diet_quality") : null;
+
+        RiskAssessment assessment;
+        if (riskEngine != null) {
+            assessment = riskEngine.assessRisk(age, weight, height, symptoms, familyHistory,
+                smoking, exercise, alcohol, sleepHours, stressLevel, dietQuality);
+        } else {
+            Map<String, Object> profile = new HashMap<>();
+            profile.put("age", age);
+            profile.put("weight", weight);
+            profile.put("height", height);
+            profile.put("symptoms", symptoms);
+            profile.put("family_history", familyHistory);
+            profile.put("smoking", smoking);
+            profile.put("exercise", exercise);
+            profile.put("alcohol", alcohol);
+            if (sleepHours != null) {
+                profile.put("sleep_hours", sleepHours);
+            }
+            if (stressLevel != null) {
+                profile.put("stress_level", stressLevel);
+            }
+            if (dietQuality != null) {
+                profile.put("diet_quality", dietQuality);
+            }
+            assessment = assessRemotely(profile);
+        }
+        ObjectNode risk = result.putObject("risk");
+        risk.put("diabetes", assessment.getDiabetesRisk());
+        risk.put("heart_disease", assessment.getHeartRisk());
+        risk.put("hypertension", assessment.getHypertensionRisk());
+        risk.put("bmi", assessment.getBmi());
+        if (assessment.getHealthScore() != null) {
+            risk.put("health_score", assessment.getHealthScore());
+        }
+    }
+
+    /** Profiles waiting to go to the backend in one request, and their results. */
+    private static final class RiskBatch {
+        final List<Map<String, Object>> profiles = new ArrayList<>();
+        final List<CompletableFuture<RiskAssessment>> results = new ArrayList<>();
+    }
+
+    /**
+     * Scores a profile through the backend together with those of other records in flight. The
+     * first profile of a batch waits briefly for others; whoever fills the batch or finds the
+     * wait over sends it, and every record then waits for its own result.
+     */
+    private RiskAssessment assessRemotely(Map<String, Object> profile) throws IOException {
+        CompletableFuture<RiskAssessment> result = new CompletableFuture<>();
+        RiskBatch joined;
+        RiskBatch full = null;
+        boolean first;
+        synchronized (riskBatchLock) {
+            joined = riskBatch;
+            first = joined.profiles.isEmpty();
+            joined.profiles.add(profile);
+            joined.results.add(result);
+            if (joined.profiles.size() == RISK_BATCH_SIZE) {
+                full = joined;
+                riskBatch = new RiskBatch();
+            }
+        }
+        if (full == null && first) {
+            try {
+                Thread.sleep(RISK_BATCH_LINGER_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            synchronized (riskBatchLock) {
+                if (riskBatch == joined) {
+                    full = joined;
+                    riskBatch = new RiskBatch();
+                }
+            }
+        }
+        if (full != null) {
+            send(full);
+        }
+        try {
+            return result.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted waiting for the backend", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException io) {
+                throw io;
+            }
+            throw new IOException(String.valueOf(e.getCause()), e.getCause());
+        }
+    }
+
+    private void send(RiskBatch batch) {
+        try {
+            List<RiskAssessment> scored = apiClient.assessRiskBatch(batch.profiles);
+            for (int i = 0; i < scored.size(); i++) {
+                if (scored.get(i) != null) {
+                    batch.results.get(i).complete(scored.get(i));
+                } else {
+                    batch.results.get(i).completeExceptionally(new IOException("Profile rejected by the backend"));
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            batch.results.forEach(result -> result.completeExceptionally(e));
+        }
+    }
+
+    private static double require(ObjectNode fields, String key, double min, double max) {
+        Double value = number(fields, key);
+        if (value == null) {
+            throw new IllegalArgumentException("Missing " + key);
+        }
+        if (value < min || value > max) {
+            throw new IllegalArgumentException(key + " must be between " + (int) min + " and " + (int) max);
+        }
+        return value;
+    }
+
+    // Numbers may be JSON numbers or, as in CSV, text
+    private static Double number(ObjectNode fields, String key) {
+        JsonNode node = fields.get(key);
+        if (node == null || node.isNull()) {
+            return null;
+        }
+        if (node.isNumber()) {
+            return node.doubleValue();
+        }
+        try {
+            return Double.parseDouble(node.asText().trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(key + " is not a number: " + node.asText());
+        }
+    }
+
+    // Levels 0-2 (none/low/poor to high/heavy/good); missing means moderate
+    private static int level(ObjectNode fields, String key) {
+        Double value = number(fields, key);
+        if (value == null) {
+            return 1;
+        }
+        if (value != Math.rint(value) || value < 0 || value > 2) {
+            throw new IllegalArgumentException(key + " must be 0, 1 or 2");
+        }
+        return value.intValue();
+    }
+
+    private static boolean bool(ObjectNode fields, String key) {
+        JsonNode node = fields.get(key);
+        if (node == null || node.isNull()) {
+            return false;
+        }
+        if (node.isBoolean() || node.isNumber()) {
+            return node.asBoolean();
+        }
+        String text = node.asText().trim().toLowerCase(Locale.ROOT);
+        return text.equals("true") || text.equals("yes") || text.equals("y") || text.equals("1");
+    }
+
+    // JSON arrays, or text separated by ";" or "|"
+    private static List<String> list(ObjectNode fields, String key) {
+        List<String> values = new ArrayList<>();
+        JsonNode node = fields.get(key);
+        if (node == null || node.isNull()) {
+            return values;
+        }
+        if (node.isArray()) {
+            node.forEach(item -> {
+                if (!item.asText().isBlank()) {
+                    values.add(item.asText().trim());
+                }
+            });
+            return values;
+        }
+        for (String item : node.asText().split(LIST_SEPARATORS)) {
+            if (!item.isBlank()) {
+                values.add(item.trim());
+            }
+        }
+        return values;
+    }
+
+    private static String message(Exception e) {
+        return e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+    }
+}
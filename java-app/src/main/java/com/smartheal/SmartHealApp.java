@@ -3,9 +3,13 @@ import com.smartheal.api.ApiClient;
 import com.smartheal.components.AboutDialog;
 import com.smartheal.components.QuickStatsPanel;
 import com.smartheal.components.StatusBar;
+import com.smartheal.dao.UserDAO;
 import com.smartheal.database.DatabaseConnection;
 import com.smartheal.database.DatabaseInitializer;
 import com.smartheal.models.User;
+import com.smartheal.utils.FxStallWatchdog;
+import com.smartheal.utils.TaskExecutor;
+import com.smartheal.utils.ThemeManager;
 import com.smartheal.views.*;
 import javafx.animation.FadeTransition;
 import javafx.application.Application;
@@ -18,7 +22,9 @@ import javafx.scene.control.Label;
 import javafx.scene.control.Menu;
 import javafx.scene.control.MenuBar;
 import javafx.scene.control.MenuItem;
+import javafx.scene.control.RadioMenuItem;
 import javafx.scene.control.SeparatorMenuItem;
+import javafx.scene.control.ToggleGroup;
 import javafx.scene.input.KeyCode;
 import javafx.scene.input.KeyCodeCombination;
 import javafx.scene.input.KeyCombination;
@@ -40,22 +46,21 @@ public class SmartHealApp extends Application {
     private Timer connectionCheckTimer;
     private QuickStatsPanel statsPanel;
     private User currentUser;
+    private final UserDAO userDAO = new UserDAO();
     
     // Scene management
     private Scene currentScene;
     private DashboardView dashboardView;
     private StackPane notificationLayer;
+    private BorderPane shell;
     
-    // Module views (lazy loaded)
-    private SymptomCheckerView symptomCheckerView;
-    private HealthChatbotView chatbotView;
-    private CostEstimatorView costEstimatorView;
-    private ReportAnalyzerView reportAnalyzerView;
-    private RiskAssessmentView riskAssessmentView;
+    // Module pages (lazy loaded, cached between visits)
+    private ModuleNavigator navigator;
 
     @Override
     public void start(Stage primaryStage) {
         this.primaryStage = primaryStage;
+        FxStallWatchdog.start();
         
         // Initialize database
         try {
@@ -107,6 +112,7 @@ public class SmartHealApp extends Application {
     }
     
     private void showLoginScreen() {
+        FxStallWatchdog.setContext("Login");
         Stage loginStage = new Stage();
         LoginView loginView = new LoginView(loginStage);
         Scene loginScene = new Scene(loginView, 550, 600);
@@ -141,6 +147,11 @@ public class SmartHealApp extends Application {
         
         primaryStage.setTitle("SMART Health Guide+ - AI Medical Advisor - Welcome, " + currentUser.getFullName());
         
+        // Applied before the first scene is shown, so the window never flashes the default theme
+        ThemeManager.setTheme(ThemeManager.Theme.fromId(userDAO.getThemePreference(currentUser.getId())));
+        
+        FxStallWatchdog.setContext("Dashboard");
+        
         // Continue with existing initialization
         try {
             initializeApplication();
@@ -177,8 +188,10 @@ public class SmartHealApp extends Application {
         notificationLayer.setStyle("-fx-background-color: transparent;");
         notificationLayer.setPickOnBounds(false); // Don't block mouse events
         notificationLayer.setMouseTransparent(false); // Allow mouse events to pass through to children
+        TaskExecutor.setNotificationRoot(notificationLayer);
 
         // Create dashboard
+        navigator = new ModuleNavigator(this::createModuleView, this::backToDashboard);
         createDashboard();
 
         // Create scene and apply styles
@@ -205,179 +218,117 @@ public class SmartHealApp extends Application {
         // Set up navigation callbacks
         dashboardView.setOnSymptomCheckerClick(() -> {
             System.out.println("Symptom Checker callback triggered!");
-            Platform.runLater(() -> openSymptomChecker());
+            Platform.runLater(() -> openModule(ModuleNavigator.AppModule.SYMPTOM_CHECKER));
         });
         dashboardView.setOnHealthChatbotClick(() -> {
             System.out.println("Health Chatbot callback triggered!");
-            Platform.runLater(() -> openHealthChatbot());
+            Platform.runLater(() -> openModule(ModuleNavigator.AppModule.CHATBOT));
         });
         dashboardView.setOnCostEstimatorClick(() -> {
             System.out.println("Cost Estimator callback triggered!");
-            Platform.runLater(() -> openCostEstimator());
+            Platform.runLater(() -> openModule(ModuleNavigator.AppModule.COST_ESTIMATOR));
         });
         dashboardView.setOnReportAnalyzerClick(() -> {
             System.out.println("Report Analyzer callback triggered!");
-            Platform.runLater(() -> openReportAnalyzer());
+            Platform.runLater(() -> openModule(ModuleNavigator.AppModule.REPORT_ANALYZER));
         });
         dashboardView.setOnRiskAssessmentClick(() -> {
             System.out.println("Risk Assessment callback triggered!");
-            Platform.runLater(() -> openRiskAssessment());
+            Platform.runLater(() -> openModule(ModuleNavigator.AppModule.RISK_ASSESSMENT));
         });
+        dashboardView.setOnModuleHover(module -> navigator.hint(module));
         
-        // Add menu bar to dashboard
-        BorderPane dashboardContainer = new BorderPane();
-        dashboardContainer.setCenter(dashboardView);
-        
-        MenuBar menuBar = createMenuBar();
-        dashboardContainer.setTop(menuBar);
+        // Dashboard and modules share one container and menu bar for the whole session
+        shell = new BorderPane();
+        shell.setTop(createMenuBar());
+        shell.setCenter(dashboardView);
         
         // Wrap in notification layer
         notificationLayer.getChildren().clear();
-        notificationLayer.getChildren().add(dashboardContainer);
+        notificationLayer.getChildren().add(shell);
     }
 
-    private void openSymptomChecker() {
-        try {
-            if (symptomCheckerView == null) {
-                System.out.println("Creating new SymptomCheckerView...");
-                symptomCheckerView = new SymptomCheckerView(apiClient);
-                if (currentUser != null) {
-                    symptomCheckerView.setCurrentUserId(currentUser.getId());
+    private javafx.scene.Node createModuleView(ModuleNavigator.AppModule module) {
+        Integer userId = currentUser != null ? currentUser.getId() : null;
+        switch (module) {
+            case SYMPTOM_CHECKER: {
+                SymptomCheckerView view = new SymptomCheckerView(apiClient);
+                if (userId != null) {
+                    view.setCurrentUserId(userId);
                 }
-                System.out.println("SymptomCheckerView created successfully");
+                return view;
             }
-            
-            System.out.println("Wrapping SymptomCheckerView in ModulePageWrapper...");
-            ModulePageWrapper wrapper = new ModulePageWrapper(
-                "Symptom Checker",
-                "🩺",
-                symptomCheckerView,
-                this::backToDashboard
-            );
-            
-            System.out.println("Switching to Symptom Checker module...");
+            case CHATBOT: {
+                HealthChatbotView view = new HealthChatbotView(apiClient);
+                if (userId != null) {
+                    view.setCurrentUserId(userId);
+                }
+                return view;
+            }
+            case COST_ESTIMATOR: {
+                CostEstimatorView view = new CostEstimatorView(apiClient);
+                if (userId != null) {
+                    view.setCurrentUserId(userId);
+                }
+                return view;
+            }
+            case REPORT_ANALYZER: {
+                ReportAnalyzerView view = new ReportAnalyzerView(apiClient);
+                if (userId != null) {
+                    view.setCurrentUserId(userId);
+                }
+                return view;
+            }
+            case RISK_ASSESSMENT:
+            default: {
+                RiskAssessmentView view = new RiskAssessmentView(apiClient);
+                if (userId != null) {
+                    view.setCurrentUserId(userId);
+                }
+                return view;
+            }
+        }
+    }
+
+    private void openModule(ModuleNavigator.AppModule module) {
+        try {
+            ModulePageWrapper wrapper = navigator.show(module);
             switchToModule(wrapper);
-            System.out.println("Symptom Checker opened successfully");
         } catch (Exception e) {
-            System.err.println("Error opening Symptom Checker: " + e.getMessage());
+            System.err.println("Error opening " + module.getTitle() + ": " + e.getMessage());
             e.printStackTrace();
             Platform.runLater(() -> {
                 Alert alert = new Alert(Alert.AlertType.ERROR);
                 alert.setTitle("Error");
-                alert.setHeaderText("Failed to open Symptom Checker");
-                alert.setContentText("An error occurred while opening the Symptom Checker:\n" + e.getMessage());
+                alert.setHeaderText("Failed to open " + module.getTitle());
+                alert.setContentText("An error occurred while opening the " + module.getTitle() + ":\n" + e.getMessage());
                 alert.showAndWait();
             });
         }
     }
 
-    private void openHealthChatbot() {
-        if (chatbotView == null) {
-            chatbotView = new HealthChatbotView(apiClient);
-            if (currentUser != null) {
-                chatbotView.setCurrentUserId(currentUser.getId());
-            }
-        }
-        
-        ModulePageWrapper wrapper = new ModulePageWrapper(
-            "Health Chatbot",
-            "💬",
-            chatbotView,
-            this::backToDashboard
-        );
-        
-        switchToModule(wrapper);
-    }
-
-    private void openCostEstimator() {
-        if (costEstimatorView == null) {
-            costEstimatorView = new CostEstimatorView(apiClient);
-            if (currentUser != null) {
-                costEstimatorView.setCurrentUserId(currentUser.getId());
-            }
-        }
-        
-        ModulePageWrapper wrapper = new ModulePageWrapper(
-            "Cost Estimator",
-            "💰",
-            costEstimatorView,
-            this::backToDashboard
-        );
-        
-        switchToModule(wrapper);
-    }
-
-    private void openReportAnalyzer() {
-        if (reportAnalyzerView == null) {
-            reportAnalyzerView = new ReportAnalyzerView(apiClient);
-            if (currentUser != null) {
-                reportAnalyzerView.setCurrentUserId(currentUser.getId());
-            }
-        }
-        
-        ModulePageWrapper wrapper = new ModulePageWrapper(
-            "Report Analyzer",
-            "📊",
-            reportAnalyzerView,
-            this::backToDashboard
-        );
-        
-        switchToModule(wrapper);
-    }
-
-    private void openRiskAssessment() {
-        if (riskAssessmentView == null) {
-            riskAssessmentView = new RiskAssessmentView(apiClient);
-            if (currentUser != null) {
-                riskAssessmentView.setCurrentUserId(currentUser.getId());
-            }
-        }
-        
-        ModulePageWrapper wrapper = new ModulePageWrapper(
-            "Risk Assessment",
-            "⚠️",
-            riskAssessmentView,
-            this::backToDashboard
-        );
-        
-        switchToModule(wrapper);
-    }
-
     private void switchToModule(ModulePageWrapper wrapper) {
         // Update status bar in wrapper
         wrapper.setConnectionStatus(backendAvailable);
-        
-        // Add menu bar
-        BorderPane container = new BorderPane();
-        container.setCenter(wrapper);
-        
-        MenuBar menuBar = createMenuBar();
-        container.setTop(menuBar);
-        
-        // Fade transition
-        FadeTransition fadeOut = new FadeTransition(Duration.millis(200), notificationLayer);
-        fadeOut.setFromValue(1.0);
-        fadeOut.setToValue(0.0);
-        fadeOut.setOnFinished(e -> {
-            notificationLayer.getChildren().clear();
-            notificationLayer.getChildren().add(container);
-            
-            FadeTransition fadeIn = new FadeTransition(Duration.millis(200), notificationLayer);
-            fadeIn.setFromValue(0.0);
-            fadeIn.setToValue(1.0);
-            fadeIn.play();
-        });
-        fadeOut.play();
+        showContent(wrapper);
     }
 
     private void backToDashboard() {
-        createDashboard();
-        
+        navigator.hideActive();
+        showContent(dashboardView);
+    }
+
+    private void showContent(javafx.scene.Node content) {
+        if (shell.getCenter() == content) {
+            return;
+        }
         // Fade transition
         FadeTransition fadeOut = new FadeTransition(Duration.millis(200), notificationLayer);
         fadeOut.setFromValue(1.0);
         fadeOut.setToValue(0.0);
         fadeOut.setOnFinished(e -> {
+            shell.setCenter(content);
+            
             FadeTransition fadeIn = new FadeTransition(Duration.millis(200), notificationLayer);
             fadeIn.setFromValue(0.0);
             fadeIn.setToValue(1.0);
@@ -388,7 +339,6 @@ public class SmartHealApp extends Application {
 
     private MenuBar createMenuBar() {
         MenuBar menuBar = new MenuBar();
-        menuBar.setStyle("-fx-background-color: linear-gradient(to right, #0F766E, #14B8A6);");
 
         // File Menu
         Menu fileMenu = new Menu("File");
@@ -413,6 +363,7 @@ public class SmartHealApp extends Application {
         
         MenuItem logoutItem = new MenuItem("Logout");
         logoutItem.setOnAction(e -> {
+            navigator.dispose();
             currentUser = null;
             primaryStage.close();
             showLoginScreen();
@@ -424,6 +375,19 @@ public class SmartHealApp extends Application {
         
         fileMenu.getItems().addAll(aboutItem, profileItem, resetStatsItem, new SeparatorMenuItem(), dashboardItem, new SeparatorMenuItem(), logoutItem, new SeparatorMenuItem(), exitItem);
 
+        // View Menu
+        Menu viewMenu = new Menu("View");
+        Menu themeMenu = new Menu("Theme");
+        ToggleGroup themeGroup = new ToggleGroup();
+        for (ThemeManager.Theme theme : ThemeManager.Theme.values()) {
+            RadioMenuItem themeItem = new RadioMenuItem(theme.getDisplayName());
+            themeItem.setToggleGroup(themeGroup);
+            themeItem.setSelected(theme == ThemeManager.getTheme());
+            themeItem.setOnAction(e -> changeTheme(theme));
+            themeMenu.getItems().add(themeItem);
+        }
+        viewMenu.getItems().add(themeMenu);
+
         // Help Menu
         Menu helpMenu = new Menu("Help");
         MenuItem helpItem = new MenuItem("Help");
@@ -433,10 +397,23 @@ public class SmartHealApp extends Application {
         aboutHelpItem.setOnAction(e -> AboutDialog.show(primaryStage));
         helpMenu.getItems().addAll(helpItem, aboutHelpItem);
 
-        menuBar.getMenus().addAll(fileMenu, helpMenu);
+        menuBar.getMenus().addAll(fileMenu, viewMenu, helpMenu);
         return menuBar;
     }
 
+    private void changeTheme(ThemeManager.Theme theme) {
+        ThemeManager.setTheme(theme);
+        if (currentUser == null) {
+            return;
+        }
+        int userId = currentUser.getId();
+        TaskExecutor.submit(TaskExecutor.Module.AUTH, () -> {
+            if (!userDAO.updateThemePreference(userId, theme.getId())) {
+                System.err.println("Theme preference was not saved for user " + userId);
+            }
+        });
+    }
+
     private void setupKeyboardShortcuts(Scene scene) {
         // F1 - About
         scene.getAccelerators().put(new KeyCodeCombination(KeyCode.F1), () -> {
@@ -544,6 +521,9 @@ public class SmartHealApp extends Application {
             }
             System.err.println("Application will continue without custom styles.");
         }
+        
+        // Layers the user's theme over the base stylesheet
+        ThemeManager.register(scene);
     }
 
     private void showBackendWarning() {
@@ -576,11 +556,17 @@ public class SmartHealApp extends Application {
             if (statusBar != null) {
                 statusBar.stop();
             }
+            if (navigator != null) {
+                navigator.dispose();
+            }
+            // Stop background tasks before the HTTP client they use is closed
+            TaskExecutor.shutdown();
             if (apiClient != null) {
                 apiClient.close();
             }
             // Close database connection
             DatabaseConnection.closeConnection();
+            FxStallWatchdog.stop();
         } catch (Exception ex) {
             System.err.println("Error during cleanup: " + ex.getMessage());
             ex.printStackTrace();
@@ -1,8 +1,10 @@
 package com.smartheal.api;
 
 import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.smartheal.models.*;
+import com.smartheal.utils.CancellationToken;
 import org.apache.hc.client5.http.classic.methods.HttpGet;
 import org.apache.hc.client5.http.classic.methods.HttpPost;
 import org.apache.hc.client5.http.config.RequestConfig;
@@ -15,13 +17,18 @@ import org.apache.hc.core5.http.io.entity.StringEntity;
 import org.apache.hc.core5.http.ContentType;
 import org.apache.hc.core5.util.Timeout;
 
+import java.io.BufferedReader;
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
-public class ApiClient {
+public class ApiClient implements SymptomChecker, ReportAnalyzer, CostEstimator, RiskAssessor {
     private static final String BASE_URL = "http://localhost:5000/api";
     private static final int CONNECT_TIMEOUT = 5000; // 5 seconds
     private static final int READ_TIMEOUT = 10000; // 10 seconds
@@ -58,12 +65,14 @@ public class ApiClient {
     }
 
     // Get all symptoms (with caching)
+    @SuppressWarnings("try")
     public List<Symptom> getSymptoms() throws IOException {
         if (cachedSymptoms != null) {
             return cachedSymptoms;
         }
         HttpGet request = new HttpGet(BASE_URL + "/symptoms");
-        try (CloseableHttpResponse response = httpClient.execute(request)) {
+        try (CancellationToken.Registration registration = CancellationToken.register(request);
+             CloseableHttpResponse response = httpClient.execute(request)) {
             int statusCode = response.getCode();
             String json;
             try {
@@ -80,12 +89,14 @@ public class ApiClient {
     }
 
     // Get all diseases (with caching)
+    @SuppressWarnings("try")
     public List<Disease> getDiseases() throws IOException {
         if (cachedDiseases != null) {
             return cachedDiseases;
         }
         HttpGet request = new HttpGet(BASE_URL + "/diseases");
-        try (CloseableHttpResponse response = httpClient.execute(request)) {
+        try (CancellationToken.Registration registration = CancellationToken.register(request);
+             CloseableHttpResponse response = httpClient.execute(request)) {
             int statusCode = response.getCode();
             String json;
             try {
@@ -102,12 +113,15 @@ public class ApiClient {
     }
 
     // Get all treatments (with caching)
+    @SuppressWarnings("try")
+    @Override
     public List<String> getTreatments() throws IOException {
         if (cachedTreatments != null) {
             return cachedTreatments;
         }
         HttpGet request = new HttpGet(BASE_URL + "/treatments");
-        try (CloseableHttpResponse response = httpClient.execute(request)) {
+        try (CancellationToken.Registration registration = CancellationToken.register(request);
+             CloseableHttpResponse response = httpClient.execute(request)) {
             int statusCode = response.getCode();
             String json;
             try {
@@ -130,7 +144,9 @@ public class ApiClient {
         cachedTreatments = null;
     }
 
-    // Check symptoms
+    // Check symptoms (server model, with full disease details)
+    @SuppressWarnings("try")
+    @Override
     public List<SymptomCheckResult> checkSymptoms(List<String> symptomIds) throws IOException {
         HttpPost request = new HttpPost(BASE_URL + "/check-symptoms");
         Map<String, Object> body = new HashMap<>();
@@ -138,7 +154,8 @@ public class ApiClient {
         String jsonBody = objectMapper.writeValueAsString(body);
         request.setEntity(new StringEntity(jsonBody, ContentType.APPLICATION_JSON));
         
-        try (CloseableHttpResponse response = httpClient.execute(request)) {
+        try (CancellationToken.Registration registration = CancellationToken.register(request);
+             CloseableHttpResponse response = httpClient.execute(request)) {
             String json;
             try {
                 json = EntityUtils.toString(response.getEntity());
@@ -165,7 +182,28 @@ public class ApiClient {
         }
     }
 
+    // Recommended tests and tests to avoid for one disease
+    @SuppressWarnings("try")
+    public TestRecommendation getTestRecommendations(String diseaseId) throws IOException {
+        HttpGet request = new HttpGet(BASE_URL + "/tests/"
+            + URLEncoder.encode(diseaseId, StandardCharsets.UTF_8).replace("+", "%20"));
+        try (CancellationToken.Registration registration = CancellationToken.register(request);
+             CloseableHttpResponse response = httpClient.execute(request)) {
+            String json;
+            try {
+                json = EntityUtils.toString(response.getEntity());
+            } catch (Exception e) {
+                throw new IOException("Failed to parse response: " + e.getMessage(), e);
+            }
+            if (response.getCode() >= 400) {
+                throw new IOException("API Error: " + json);
+            }
+            return objectMapper.readValue(json, TestRecommendation.class);
+        }
+    }
+
     // Chat
+    @SuppressWarnings("try")
     public ChatResponse chat(String message) throws IOException {
         HttpPost request = new HttpPost(BASE_URL + "/chat");
         Map<String, String> body = new HashMap<>();
@@ -173,7 +211,8 @@ public class ApiClient {
         String jsonBody = objectMapper.writeValueAsString(body);
         request.setEntity(new StringEntity(jsonBody, ContentType.APPLICATION_JSON));
         
-        try (CloseableHttpResponse response = httpClient.execute(request)) {
+        try (CancellationToken.Registration registration = CancellationToken.register(request);
+             CloseableHttpResponse response = httpClient.execute(request)) {
             String json;
             try {
                 json = EntityUtils.toString(response.getEntity());
@@ -187,7 +226,91 @@ public class ApiClient {
         }
     }
 
+    /**
+     * Streaming chat: each piece of the answer is passed to onToken as soon as it arrives, on the
+     * calling thread. Returns the complete response once the stream ends. Falls back to the
+     * blocking endpoint, delivering the answer as one piece, when the backend has no stream route.
+     */
+    @SuppressWarnings("try")
+    public ChatResponse chatStream(String message, Consumer<String> onToken) throws IOException {
+        HttpPost request = new HttpPost(BASE_URL + "/chat/stream");
+        request.setHeader("Accept", "text/event-stream");
+        Map<String, String> body = new HashMap<>();
+        body.put("message", message);
+        String jsonBody = objectMapper.writeValueAsString(body);
+        request.setEntity(new StringEntity(jsonBody, ContentType.APPLICATION_JSON));
+        
+        try (CancellationToken.Registration registration = CancellationToken.register(request);
+             CloseableHttpResponse response = httpClient.execute(request)) {
+            if (response.getCode() != 404) {
+                if (response.getCode() >= 400) {
+                    String json;
+                    try {
+                        json = EntityUtils.toString(response.getEntity());
+                    } catch (Exception e) {
+                        throw new IOException("Failed to parse response: " + e.getMessage(), e);
+                    }
+                    throw new IOException("API Error: " + json);
+                }
+                return readChatEvents(response, onToken);
+            }
+            EntityUtils.consume(response.getEntity());
+        }
+        // No stream route: the 404 response and its registration are released before the blocking call
+        ChatResponse fallback = chat(message);
+        if (fallback != null && fallback.getResponse() != null) {
+            onToken.accept(fallback.getResponse());
+        }
+        return fallback;
+    }
+
+    // Server-sent events: "event:" names the event, "data:" lines carry JSON, a blank line ends it
+    private ChatResponse readChatEvents(CloseableHttpResponse response, Consumer<String> onToken) throws IOException {
+        StringBuilder answer = new StringBuilder();
+        ChatResponse result = new ChatResponse();
+        BufferedReader reader = new BufferedReader(
+            new InputStreamReader(response.getEntity().getContent(), StandardCharsets.UTF_8));
+        String event = "message";
+        StringBuilder data = new StringBuilder();
+        String line;
+        boolean done = false;
+        while (!done && (line = reader.readLine()) != null) {
+            if (line.startsWith("event:")) {
+                event = line.substring(6).trim();
+            } else if (line.startsWith("data:")) {
+                data.append(line.substring(5).trim());
+            } else if (line.isEmpty() && data.length() > 0) {
+                Map<String, Object> payload = objectMapper.readValue(data.toString(), new TypeReference<Map<String, Object>>() {});
+                switch (event) {
+                    case "done" -> {
+                        ChatResponse summary = objectMapper.convertValue(payload, ChatResponse.class);
+                        result.setRelatedTopics(summary.getRelatedTopics());
+                        result.setConfidence(summary.getConfidence());
+                        done = true;
+                    }
+                    case "error" -> throw new IOException("API Error: " + payload.get("error"));
+                    default -> {
+                        Object token = payload.get("token");
+                        if (token != null) {
+                            answer.append(token);
+                            onToken.accept(token.toString());
+                        }
+                    }
+                }
+                event = "message";
+                data.setLength(0);
+            }
+        }
+        if (!done) {
+            throw new IOException("Chat stream ended before the answer was complete");
+        }
+        result.setResponse(answer.toString());
+        return result;
+    }
+
     // Estimate cost
+    @SuppressWarnings("try")
+    @Override
     public CostEstimation estimateCost(String treatmentType, String hospitalType) throws IOException {
         HttpPost request = new HttpPost(BASE_URL + "/estimate-cost");
         Map<String, String> body = new HashMap<>();
@@ -196,7 +319,8 @@ public class ApiClient {
         String jsonBody = objectMapper.writeValueAsString(body);
         request.setEntity(new StringEntity(jsonBody, ContentType.APPLICATION_JSON));
         
-        try (CloseableHttpResponse response = httpClient.execute(request)) {
+        try (CancellationToken.Registration registration = CancellationToken.register(request);
+             CloseableHttpResponse response = httpClient.execute(request)) {
             String json;
             try {
                 json = EntityUtils.toString(response.getEntity());
@@ -210,13 +334,16 @@ public class ApiClient {
         }
     }
 
-    // Analyze report
+    // Analyze report (server, for the narrative summary and recommendations)
+    @SuppressWarnings("try")
+    @Override
     public ReportAnalysis analyzeReport(Map<String, Double> reportData) throws IOException {
         HttpPost request = new HttpPost(BASE_URL + "/analyze-report");
         String jsonBody = objectMapper.writeValueAsString(reportData);
         request.setEntity(new StringEntity(jsonBody, ContentType.APPLICATION_JSON));
         
-        try (CloseableHttpResponse response = httpClient.execute(request)) {
+        try (CancellationToken.Registration registration = CancellationToken.register(request);
+             CloseableHttpResponse response = httpClient.execute(request)) {
             String json;
             try {
                 json = EntityUtils.toString(response.getEntity());
@@ -231,6 +358,8 @@ public class ApiClient {
     }
     
     // Risk assessment (Enhanced with new features)
+    @SuppressWarnings("try")
+    @Override
     public com.smartheal.models.RiskAssessment assessRisk(
             int age, double weight, double height,
             java.util.List<String> symptoms,
@@ -259,7 +388,8 @@ public class ApiClient {
         String jsonBody = objectMapper.writeValueAsString(body);
         request.setEntity(new StringEntity(jsonBody, ContentType.APPLICATION_JSON));
         
-        try (CloseableHttpResponse response = httpClient.execute(request)) {
+        try (CancellationToken.Registration registration = CancellationToken.register(request);
+             CloseableHttpResponse response = httpClient.execute(request)) {
             String json;
             try {
                 json = EntityUtils.toString(response.getEntity());
@@ -272,8 +402,51 @@ public class ApiClient {
             return objectMapper.readValue(json, com.smartheal.models.RiskAssessment.class);
         }
     }
+
+    /**
+     * Scores several profiles in one request. Each profile has the fields of {@link #assessRisk}'s
+     * request body; the results carry only the three risks and BMI, in profile order. A profile
+     * the backend rejects gets a null result, and its reason is logged.
+     */
+    @SuppressWarnings("try")
+    public List<com.smartheal.models.RiskAssessment> assessRiskBatch(List<Map<String, Object>> profiles) throws IOException {
+        HttpPost request = new HttpPost(BASE_URL + "/risk-assessment/batch");
+        String jsonBody = objectMapper.writeValueAsString(Map.of("profiles", profiles));
+        request.setEntity(new StringEntity(jsonBody, ContentType.APPLICATION_JSON));
+
+        try (CancellationToken.Registration registration = CancellationToken.register(request);
+             CloseableHttpResponse response = httpClient.execute(request)) {
+            String json;
+            try {
+                json = EntityUtils.toString(response.getEntity());
+            } catch (Exception e) {
+                throw new IOException("Failed to parse response: " + e.getMessage(), e);
+            }
+            if (response.getCode() >= 400) {
+                throw new IOException("API Error: " + json);
+            }
+            List<com.smartheal.models.RiskAssessment> results = new java.util.ArrayList<>();
+            for (JsonNode node : objectMapper.readTree(json).path("results")) {
+                if (node.has("error")) {
+                    System.err.println("Profile " + results.size() + " rejected: " + node.path("error").asText());
+                    results.add(null);
+                    continue;
+                }
+                com.smartheal.models.RiskAssessment result = new com.smartheal.models.RiskAssessment();
+                result.setDiabetesRisk(node.path("diabetes_risk").asInt());
+                result.setHeartRisk(node.path("heart_risk").asInt());
+                result.setHypertensionRisk(node.path("hypertension_risk").asInt());
+                result.setBmi(node.path("bmi").asDouble());
+                results.add(result);
+            }
+            if (results.size() != profiles.size()) {
+                throw new IOException("Expected " + profiles.size() + " results, got " + results.size());
+            }
+            return results;
+        }
+    }
     
-    @SuppressWarnings("unchecked")
+    @SuppressWarnings({"try", "unchecked"})
     public Map<String, Object> uploadReportImage(String base64Image) throws IOException {
         HttpPost request = new HttpPost(BASE_URL + "/upload-report-image");
         Map<String, String> requestBody = new HashMap<>();
@@ -281,7 +454,8 @@ public class ApiClient {
         String jsonBody = objectMapper.writeValueAsString(requestBody);
         request.setEntity(new StringEntity(jsonBody, ContentType.APPLICATION_JSON));
         
-        try (CloseableHttpResponse response = httpClient.execute(request)) {
+        try (CancellationToken.Registration registration = CancellationToken.register(request);
+             CloseableHttpResponse response = httpClient.execute(request)) {
             String json;
             try {
                 json = EntityUtils.toString(response.getEntity());
@@ -295,6 +469,7 @@ public class ApiClient {
         }
     }
 
+    @SuppressWarnings("try")
     public Map<String, Object> parseReportText(String text) throws IOException {
         HttpPost request = new HttpPost(BASE_URL + "/parse-report-text");
         request.setHeader("Content-Type", "application/json");
@@ -305,7 +480,8 @@ public class ApiClient {
         String jsonPayload = objectMapper.writeValueAsString(payload);
         request.setEntity(new StringEntity(jsonPayload, ContentType.APPLICATION_JSON));
         
-        try (CloseableHttpResponse response = httpClient.execute(request)) {
+        try (CancellationToken.Registration registration = CancellationToken.register(request);
+             CloseableHttpResponse response = httpClient.execute(request)) {
             String json;
             try {
                 json = EntityUtils.toString(response.getEntity());
@@ -329,6 +505,7 @@ public class ApiClient {
     }
     
     // Check if backend is available with better error handling
+    @SuppressWarnings("try")
     public boolean isBackendAvailable() {
         try {
             HttpGet request = new HttpGet(BASE_URL + "/symptoms");
@@ -337,7 +514,8 @@ public class ApiClient {
                 .setResponseTimeout(Timeout.of(3, TimeUnit.SECONDS))
                 .build());
             
-            try (CloseableHttpResponse response = httpClient.execute(request)) {
+            try (CancellationToken.Registration registration = CancellationToken.register(request);
+                 CloseableHttpResponse response = httpClient.execute(request)) {
                 int statusCode = response.getCode();
                 boolean available = statusCode == 200;
                 if (!available) {
@@ -359,6 +537,7 @@ public class ApiClient {
     }
     
     // Enhanced connection test with detailed logging
+    @SuppressWarnings("try")
     public String testConnection() {
         try {
             HttpGet request = new HttpGet(BASE_URL + "/symptoms");
@@ -367,7 +546,8 @@ public class ApiClient {
                 .setResponseTimeout(Timeout.of(3, TimeUnit.SECONDS))
                 .build());
             
-            try (CloseableHttpResponse response = httpClient.execute(request)) {
+            try (CancellationToken.Registration registration = CancellationToken.register(request);
+                 CloseableHttpResponse response = httpClient.execute(request)) {
                 int statusCode = response.getCode();
                 if (statusCode == 200) {
                     return "Connected successfully";
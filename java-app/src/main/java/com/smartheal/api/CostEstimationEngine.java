@@ -0,0 +1,429 @@
+package com.smartheal.api;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.smartheal.models.CostEstimation;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * In-process cost estimation over the datasets behind /api/estimate-cost. The recorded costs in
+ * surgery_costs.csv are reduced once per process to min, max, mean and p10/p50/p90 for every
+ * (treatment, hospital type) cell, held in flat primitive arrays, so an estimate or a whole
+ * comparison table is a handful of array reads. Where costs are recorded, the estimate is their
+ * median and the range the wider of p10-p90 and 20% either side, so the quote agrees with the
+ * recorded costs shown beside it. Other cells use the list price in treatment_costs.json, the
+ * figure cost_forecast.py quotes, with a 20% range.
+ */
+public class CostEstimationEngine implements CostEstimator {
+
+    private static final String COSTS = "/datasets/surgery_costs.csv";
+    private static final String LIST_PRICES = "/datasets/treatment_costs.json";
+    /** Hospital types in the column order of every table, cheapest first. */
+    public static final List<String> HOSPITAL_TYPES = List.of("government", "semi-private", "private");
+    private static final String[] HOSPITAL_TYPE_NAMES = {
+        "Government Hospital", "Semi-Private Hospital", "Private Hospital"};
+    // Share either side of the estimate quoted as its range, and the floor for treatments without data
+    private static final double RANGE_SPREAD = 0.2;
+    private static final double MIN_FALLBACK_COST = 5000;
+
+    // Same factors and disclaimer as cost_forecast.py
+    private static final List<CostEstimation.CostFactor> FACTORS = List.of(
+        factor("Hospital Location",
+            "Costs vary significantly by city and region. Metropolitan areas typically have higher costs."),
+        factor("Doctor Experience",
+            "Senior doctors and specialists charge higher consultation and procedure fees."),
+        factor("Facility Type",
+            "Private hospitals generally cost 2-3x more than government hospitals. Semi-private offers a middle ground."),
+        factor("Insurance Coverage",
+            "Health insurance can significantly reduce out-of-pocket expenses. Check your policy coverage."),
+        factor("Additional Services",
+            "Post-operative care, medications, and follow-up visits add to the total cost."));
+    private static final String DISCLAIMER = "These are estimated costs based on average data. Actual costs may vary "
+        + "significantly based on location, specific hospital, doctor fees, and individual circumstances. Please "
+        + "consult with the specific hospital for accurate pricing and check your insurance coverage.";
+
+    private static Table table;
+
+    private final Table costs;
+    private final Comparison comparison;
+
+    public CostEstimationEngine() throws IOException {
+        this.costs = Table.get();
+        this.comparison = new Comparison(costs);
+    }
+
+    /** All treatments with a list price or recorded costs, sorted by name. */
+    @Override
+    public List<String> getTreatments() {
+        return costs.treatmentList;
+    }
+
+    /**
+     * Estimates one treatment at one hospital type. Unknown hospital types count as private, as
+     * on the server; a treatment matching no dataset entry gets the typical cost of its hospital type.
+     */
+    @Override
+    public CostEstimation estimateCost(String treatmentType, String hospitalType) {
+        int h = hospitalIndex(hospitalType);
+        int t = costs.find(treatmentType);
+        CostEstimation estimation = new CostEstimation();
+        estimation.setTreatmentName(treatmentType);
+        estimation.setHospitalType(HOSPITAL_TYPE_NAMES[h]);
+        if (t < 0) {
+            estimation.setAverageCost(costs.fallbacks[h]);
+            estimation.setMinCost(Math.floor(costs.fallbacks[h] * (1 - RANGE_SPREAD)));
+            estimation.setMaxCost(Math.floor(costs.fallbacks[h] * (1 + RANGE_SPREAD)));
+            estimation.setRecordedCount(0);
+        } else {
+            int cell = costs.cell(t, h);
+            estimation.setAverageCost(costs.estimates[cell]);
+            estimation.setMinCost(costs.low(cell));
+            estimation.setMaxCost(costs.high(cell));
+            estimation.setRecordedCount(costs.counts[cell]);
+            if (costs.counts[cell] > 0) {
+                estimation.setP10Cost(costs.p10s[cell]);
+                estimation.setMedianCost(costs.medians[cell]);
+                estimation.setP90Cost(costs.p90s[cell]);
+            }
+        }
+        estimation.setFactors(FACTORS);
+        estimation.setDisclaimer(DISCLAIMER);
+        return estimation;
+    }
+
+    /** Every treatment at every hospital type, for side-by-side tables. */
+    public Comparison compareAll() {
+        return comparison;
+    }
+
+    /** Column of a hospital type in {@link #HOSPITAL_TYPES}, from either its key or its display name. */
+    public static int hospitalIndex(String hospitalType) {
+        String key = hospitalType == null ? "" : hospitalType.trim().toLowerCase(Locale.ROOT).replace(' ', '-');
+        if (key.endsWith("-hospital")) {
+            key = key.substring(0, key.length() - "-hospital".length());
+        }
+        int index = HOSPITAL_TYPES.indexOf(key);
+        return index >= 0 ? index : HOSPITAL_TYPES.indexOf("private");
+    }
+
+    private static CostEstimation.CostFactor factor(String name, String impact) {
+        CostEstimation.CostFactor factor = new CostEstimation.CostFactor();
+        factor.setName(name);
+        factor.setImpact(impact);
+        return factor;
+    }
+
+    /**
+     * The treatment by hospital type matrix. Rows follow {@link CostEstimationEngine#getTreatments()}
+     * and columns {@link CostEstimationEngine#HOSPITAL_TYPES}; recorded statistics are NaN for
+     * cells without recorded costs.
+     */
+    public static final class Comparison {
+        private final Table costs;
+
+        private Comparison(Table costs) {
+            this.costs = costs;
+        }
+
+        public List<String> getTreatments() {
+            return costs.treatmentList;
+        }
+
+        public List<String> getHospitalTypes() {
+            return HOSPITAL_TYPES;
+        }
+
+        public String getHospitalTypeName(int column) {
+            return HOSPITAL_TYPE_NAMES[column];
+        }
+
+        /** The estimate {@link CostEstimationEngine#estimateCost} would quote for the cell. */
+        public double getEstimate(int row, int column) {
+            return costs.estimates[costs.cell(row, column)];
+        }
+
+        public double getMinCost(int row, int column) {
+            return costs.low(costs.cell(row, column));
+        }
+
+        public double getMaxCost(int row, int column) {
+            return costs.high(costs.cell(row, column));
+        }
+
+        public int getRecordedCount(int row, int column) {
+            return costs.counts[costs.cell(row, column)];
+        }
+
+        public double getRecordedMin(int row, int column) {
+            return costs.mins[costs.cell(row, column)];
+        }
+
+        public double getRecordedMax(int row, int column) {
+            return costs.maxs[costs.cell(row, column)];
+        }
+
+        public double getRecordedMean(int row, int column) {
+            return costs.means[costs.cell(row, column)];
+        }
+
+        public double getP10(int row, int column) {
+            return costs.p10s[costs.cell(row, column)];
+        }
+
+        public double getMedian(int row, int column) {
+            return costs.medians[costs.cell(row, column)];
+        }
+
+        public double getP90(int row, int column) {
+            return costs.p90s[costs.cell(row, column)];
+        }
+    }
+
+    /** Per-cell statistics, indexed by treatment * hospital types + hospital type. */
+    private static final class Table {
+        final String[] treatments;
+        final List<String> treatmentList;
+        final Map<String, Integer> rows;
+        final int[] counts;
+        final double[] mins;
+        final double[] maxs;
+        final double[] means;
+        final double[] p10s;
+        final double[] medians;
+        final double[] p90s;
+        final double[] estimates;
+        // Estimate for a treatment found in neither dataset, per hospital type
+        final double[] fallbacks;
+
+        private Table(String[] treatments, int[] counts, double[] mins, double[] maxs, double[] means,
+                      double[] p10s, double[] medians, double[] p90s, double[] estimates, double[] fallbacks) {
+            this.treatments = treatments;
+            this.treatmentList = Collections.unmodifiableList(Arrays.asList(treatments));
+            this.rows = new HashMap<>();
+            for (int t = 0; t < treatments.length; t++) {
+                rows.put(treatments[t].toLowerCase(Locale.ROOT), t);
+            }
+            this.counts = counts;
+            this.mins = mins;
+            this.maxs = maxs;
+            this.means = means;
+            this.p10s = p10s;
+            this.medians = medians;
+            this.p90s = p90s;
+            this.estimates = estimates;
+            this.fallbacks = fallbacks;
+        }
+
+        static synchronized Table get() throws IOException {
+            if (table == null) {
+                table = load();
+            }
+            return table;
+        }
+
+        int cell(int treatment, int hospital) {
+            return treatment * HOSPITAL_TYPES.size() + hospital;
+        }
+
+        // Quoted range: 20% either side of the estimate, widened to p10-p90 where costs are recorded
+        double low(int cell) {
+            double low = estimates[cell] * (1 - RANGE_SPREAD);
+            return Math.floor(counts[cell] > 0 ? Math.min(low, p10s[cell]) : low);
+        }
+
+        double high(int cell) {
+            double high = estimates[cell] * (1 + RANGE_SPREAD);
+            return Math.floor(counts[cell] > 0 ? Math.max(high, p90s[cell]) : high);
+        }
+
+        /**
+         * Row of a treatment: an exact name match, else the longest dataset name that contains or
+         * is contained in the query, or -1.
+         */
+        int find(String treatment) {
+            String query = treatment == null ? "" : treatment.trim().toLowerCase(Locale.ROOT);
+            if (query.isEmpty()) {
+                return -1;
+            }
+            Integer exact = rows.get(query);
+            if (exact != null) {
+                return exact;
+            }
+            int best = -1;
+            for (int t = 0; t < treatments.length; t++) {
+                String name = treatments[t].toLowerCase(Locale.ROOT);
+                if ((query.contains(name) || name.contains(query))
+                        && (best < 0 || name.length() > treatments[best].length())) {
+                    best = t;
+                }
+            }
+            return best;
+        }
+
+        private static Table load() throws IOException {
+            Map<String, List<List<Double>>> recorded = readRecordedCosts();
+            Map<String, double[]> listPrices = readListPrices();
+
+            TreeSet<String> names = new TreeSet<>(recorded.keySet());
+            names.addAll(listPrices.keySet());
+            String[] treatments = names.toArray(new String[0]);
+            int hospitals = HOSPITAL_TYPES.size();
+            int cells = treatments.length * hospitals;
+            int[] counts = new int[cells];
+            double[] mins = new double[cells];
+            double[] maxs = new double[cells];
+            double[] means = new double[cells];
+            double[] p10s = new double[cells];
+            double[] medians = new double[cells];
+            double[] p90s = new double[cells];
+            double[] estimates = new double[cells];
+
+            for (int t = 0; t < treatments.length; t++) {
+                List<List<Double>> byHospital = recorded.get(treatments[t]);
+                double[] prices = listPrices.get(treatments[t]);
+                for (int h = 0; h < hospitals; h++) {
+                    int cell = t * hospitals + h;
+                    double[] sorted = sortedCosts(byHospital != null ? byHospital.get(h) : List.of());
+                    counts[cell] = sorted.length;
+                    if (sorted.length > 0) {
+                        double sum = 0;
+                        for (double cost : sorted) {
+                            sum += cost;
+                        }
+                        mins[cell] = sorted[0];
+                        maxs[cell] = sorted[sorted.length - 1];
+                        means[cell] = sum / sorted.length;
+                        p10s[cell] = percentile(sorted, 0.10);
+                        medians[cell] = percentile(sorted, 0.50);
+                        p90s[cell] = percentile(sorted, 0.90);
+                    } else {
+                        mins[cell] = maxs[cell] = means[cell] = Double.NaN;
+                        p10s[cell] = medians[cell] = p90s[cell] = Double.NaN;
+                    }
+                    if (sorted.length > 0) {
+                        estimates[cell] = medians[cell];
+                    } else {
+                        estimates[cell] = prices != null && prices[h] > 0 ? prices[h] : Double.NaN;
+                    }
+                }
+            }
+
+            // Cells with neither a list price nor recorded costs take the median estimate of their column
+            double[] fallbacks = new double[hospitals];
+            for (int h = 0; h < hospitals; h++) {
+                double[] column = new double[treatments.length];
+                int known = 0;
+                for (int t = 0; t < treatments.length; t++) {
+                    if (!Double.isNaN(estimates[t * hospitals + h])) {
+                        column[known++] = estimates[t * hospitals + h];
+                    }
+                }
+                double[] sorted = Arrays.copyOf(column, known);
+                Arrays.sort(sorted);
+                fallbacks[h] = Math.max(MIN_FALLBACK_COST, known > 0 ? percentile(sorted, 0.5) : 0);
+                for (int t = 0; t < treatments.length; t++) {
+                    if (Double.isNaN(estimates[t * hospitals + h])) {
+                        estimates[t * hospitals + h] = fallbacks[h];
+                    }
+                }
+            }
+            return new Table(treatments, counts, mins, maxs, means, p10s, medians, p90s, estimates, fallbacks);
+        }
+
+        // Recorded costs per treatment, one list per hospital type
+        private static Map<String, List<List<Double>>> readRecordedCosts() throws IOException {
+            InputStream in = CostEstimationEngine.class.getResourceAsStream(COSTS);
+            if (in == null) {
+                throw new IOException("Cost dataset not found: " + COSTS);
+            }
+            Map<String, List<List<Double>>> recorded = new HashMap<>();
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+                String header = reader.readLine();
+                if (header == null) {
+                    throw new IOException("Cost dataset is empty: " + COSTS);
+                }
+                List<String> columns = Arrays.asList(header.trim().split(","));
+                int treatmentColumn = columns.indexOf("treatment");
+                int hospitalColumn = columns.indexOf("hospital_type");
+                int costColumn = columns.indexOf("cost");
+                if (treatmentColumn < 0 || hospitalColumn < 0 || costColumn < 0) {
+                    throw new IOException("Cost dataset needs treatment, hospital_type and cost columns");
+                }
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    String[] cells = line.split(",");
+                    if (cells.length != columns.size()) {
+                        continue;
+                    }
+                    int h = HOSPITAL_TYPES.indexOf(cells[hospitalColumn].trim());
+                    double cost;
+                    try {
+                        cost = Double.parseDouble(cells[costColumn].trim());
+                    } catch (NumberFormatException e) {
+                        continue;
+                    }
+                    if (h < 0) {
+                        continue;
+                    }
+                    recorded.computeIfAbsent(cells[treatmentColumn].trim(), name -> {
+                        List<List<Double>> byHospital = new ArrayList<>();
+                        for (int i = 0; i < HOSPITAL_TYPES.size(); i++) {
+                            byHospital.add(new ArrayList<>());
+                        }
+                        return byHospital;
+                    }).get(h).add(cost);
+                }
+            }
+            return recorded;
+        }
+
+        // List prices per treatment, indexed like HOSPITAL_TYPES; 0 where none is listed
+        private static Map<String, double[]> readListPrices() throws IOException {
+            try (InputStream in = CostEstimationEngine.class.getResourceAsStream(LIST_PRICES)) {
+                if (in == null) {
+                    throw new IOException("Treatment costs not found: " + LIST_PRICES);
+                }
+                JsonNode root = new ObjectMapper().readTree(in);
+                Map<String, double[]> prices = new HashMap<>();
+                root.fields().forEachRemaining(entry -> {
+                    double[] byHospital = new double[HOSPITAL_TYPES.size()];
+                    for (int h = 0; h < byHospital.length; h++) {
+                        byHospital[h] = entry.getValue().path(HOSPITAL_TYPES.get(h)).asDouble(0);
+                    }
+                    prices.put(entry.getKey(), byHospital);
+                });
+                return prices;
+            }
+        }
+
+        private static double[] sortedCosts(List<Double> costs) {
+            double[] sorted = new double[costs.size()];
+            for (int i = 0; i < sorted.length; i++) {
+                sorted[i] = costs.get(i);
+            }
+            Arrays.sort(sorted);
+            return sorted;
+        }
+
+        // Linear interpolation between closest ranks, as numpy.percentile does by default
+        private static double percentile(double[] sorted, double q) {
+            double position = q * (sorted.length - 1);
+            int lower = (int) Math.floor(position);
+            int upper = (int) Math.ceil(position);
+            return sorted[lower] + (sorted[upper] - sorted[lower]) * (position - lower);
+        }
+    }
+}
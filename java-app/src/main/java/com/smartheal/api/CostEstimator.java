@@ -0,0 +1,16 @@
+package com.smartheal.api;
+
+import com.smartheal.models.CostEstimation;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Estimates treatment costs by hospital type ("government", "semi-private" or "private").
+ */
+public interface CostEstimator {
+
+    List<String> getTreatments() throws IOException;
+
+    CostEstimation estimateCost(String treatmentType, String hospitalType) throws IOException;
+}
@@ -0,0 +1,315 @@
+package com.smartheal.api;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.smartheal.models.ChatResponse;
+import com.smartheal.utils.LanguageManager;
+import com.smartheal.utils.PorterStemmer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * In-process answers to the chatbot's FAQ. Questions, keywords and answers from medical_faq.json
+ * are stemmed into an inverted index once per process, and queries are ranked with BM25 over the
+ * three fields, weighted towards questions and keywords. Hindi and Marathi symptom names, in
+ * either script, match through LanguageManager. Only confident matches are answered here; the
+ * rest, and whatever chatbot.py screens (emergencies, diagnosis or prescription requests), are
+ * left to the backend.
+ */
+public class FaqRetrievalEngine {
+
+    private static final String DATASET = "/datasets/medical_faq.json";
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final double QUESTION_WEIGHT = 3.0;
+    private static final double KEYWORD_WEIGHT = 2.0;
+    private static final double ANSWER_WEIGHT = 1.0;
+    /** Matches below this confidence are left to the backend. */
+    public static final double MIN_CONFIDENCE = 0.45;
+    // Same related-topic and related-information rules as chatbot.py
+    private static final int MAX_RELATED_TOPICS = 3;
+    private static final double RELATED_INFO_CONFIDENCE = 0.6;
+    private static final double RELATED_INFO_SECOND = 0.3;
+    private static final int RELATED_INFO_LENGTH = 150;
+    private static final List<String> SCREENED_PHRASES = List.of(
+        "emergency", "dying", "suicide", "kill myself", "heart attack", "stroke", "severe pain",
+        "diagnose me", "what do i have", "do i have", "am i sick",
+        "prescribe", "give me medication", "give me medicine", "need prescription");
+    // NLTK's English stopwords, as chatbot.py drops them
+    private static final Set<String> STOPWORDS = Set.of(
+        "i", "me", "my", "myself", "we", "our", "ours", "ourselves", "you", "your", "yours",
+        "yourself", "yourselves", "he", "him", "his", "himself", "she", "her", "hers", "herself",
+        "it", "its", "itself", "they", "them", "their", "theirs", "themselves", "what", "which",
+        "who", "whom", "this", "that", "these", "those", "am", "is", "are", "was", "were", "be",
+        "been", "being", "have", "has", "had", "having", "do", "does", "did", "doing", "a", "an",
+        "the", "and", "but", "if", "or", "because", "as", "until", "while", "of", "at", "by",
+        "for", "with", "about", "against", "between", "into", "through", "during", "before",
+        "after", "above", "below", "to", "from", "up", "down", "in", "out", "on", "off", "over",
+        "under", "again", "further", "then", "once", "here", "there", "when", "where", "why",
+        "how", "all", "any", "both", "each", "few", "more", "most", "other", "some", "such", "no",
+        "nor", "not", "only", "own", "same", "so", "than", "too", "very", "can", "will", "just",
+        "don", "should", "now", "shouldn", "wasn", "weren", "won", "wouldn", "couldn", "didn",
+        "doesn", "hadn", "hasn", "haven", "isn", "mightn", "mustn", "needn", "aren", "ain");
+
+    private static Index index;
+
+    private final Index faq;
+
+    public FaqRetrievalEngine() throws IOException {
+        this.faq = Index.get();
+    }
+
+    /** A ranked FAQ entry; confidence is in [0, 1]. */
+    public record Hit(int entry, String question, String category, double score, double confidence) {
+    }
+
+    /**
+     * FAQ entries matching the query, best first. Confidence is the BM25 score as a share of
+     * the best score the query's indexed terms could reach, times the share of all its terms the
+     * entry contains.
+     */
+    public List<Hit> search(String query, int limit) {
+        return search(query, LanguageManager.findRomanizedSymptoms(query), limit);
+    }
+
+    private List<Hit> search(String query, List<String> translatedSymptoms, int limit) {
+        Set<String> terms = new LinkedHashSet<>(terms(query));
+        for (String symptom : translatedSymptoms) {
+            terms.addAll(terms(symptom));
+        }
+
+        int entries = faq.questions.length;
+        double[] scores = new double[entries];
+        int[] matched = new int[entries];
+        double bestPossible = 0;
+        int counted = 0;
+        for (String term : terms) {
+            Integer id = faq.termIds.get(term);
+            counted++;
+            if (id == null) {
+                continue;
+            }
+            double idf = faq.idfs[id];
+            bestPossible += idf * (K1 + 1);
+            int[] docs = faq.postingDocs[id];
+            double[] frequencies = faq.postingFrequencies[id];
+            for (int p = 0; p < docs.length; p++) {
+                int d = docs[p];
+                double tf = frequencies[p];
+                double norm = K1 * (1 - B + B * faq.lengths[d] / faq.averageLength);
+                scores[d] += idf * tf * (K1 + 1) / (tf + norm);
+                matched[d]++;
+            }
+        }
+
+        List<Hit> hits = new ArrayList<>();
+        if (bestPossible == 0) {
+            return hits;
+        }
+        for (int d = 0; d < entries; d++) {
+            if (scores[d] > 0) {
+                double confidence = scores[d] / bestPossible * matched[d] / counted;
+                hits.add(new Hit(d, faq.questions[d], faq.categories[d], scores[d], confidence));
+            }
+        }
+        hits.sort((a, b) -> Double.compare(b.score(), a.score()));
+        return hits.size() > limit ? new ArrayList<>(hits.subList(0, limit)) : hits;
+    }
+
+    /** The FAQ answer to a message, or null when the backend should answer it. */
+    public ChatResponse answer(String message) {
+        String lower = message.toLowerCase(Locale.ROOT);
+        for (String phrase : SCREENED_PHRASES) {
+            if (lower.contains(phrase)) {
+                return null;
+            }
+        }
+        List<String> translatedSymptoms = LanguageManager.findRomanizedSymptoms(message);
+        List<Hit> hits = search(message, translatedSymptoms, 2);
+        if (hits.isEmpty() || hits.get(0).confidence() < MIN_CONFIDENCE) {
+            return null;
+        }
+        Hit best = hits.get(0);
+        // A Hindi or Marathi symptom must be what the entry is about, not just share a word like "pain"
+        if (!translatedSymptoms.isEmpty() && !mentionsAny(best.entry(), translatedSymptoms)) {
+            return null;
+        }
+        String answer = faq.answers[best.entry()];
+        if (best.confidence() > RELATED_INFO_CONFIDENCE && hits.size() > 1) {
+            Hit second = hits.get(1);
+            if (second.confidence() > RELATED_INFO_SECOND && second.category().equals(best.category())) {
+                String related = faq.answers[second.entry()];
+                answer += "\n\n**Related information:** "
+                    + related.substring(0, Math.min(RELATED_INFO_LENGTH, related.length())) + "...";
+            }
+        }
+
+        List<String> relatedTopics = new ArrayList<>();
+        for (int d = 0; d < faq.questions.length && relatedTopics.size() < MAX_RELATED_TOPICS; d++) {
+            if (faq.categories[d].equals(best.category()) && !relatedTopics.contains(faq.questions[d])) {
+                relatedTopics.add(faq.questions[d]);
+            }
+        }
+
+        ChatResponse response = new ChatResponse();
+        response.setResponse(answer);
+        response.setRelatedTopics(relatedTopics);
+        response.setConfidence(best.confidence());
+        return response;
+    }
+
+    private boolean mentionsAny(int entry, List<String> symptoms) {
+        for (String symptom : symptoms) {
+            boolean mentioned = true;
+            for (String term : terms(symptom)) {
+                mentioned &= faq.contains(entry, term);
+            }
+            if (mentioned) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** Index terms of a text: lowercase words, English ones stemmed and without stopwords. */
+    static List<String> terms(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null) {
+            return terms;
+        }
+        for (String word : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{M}]+")) {
+            if (word.isEmpty()) {
+                continue;
+            }
+            if (isLatin(word)) {
+                if (word.length() > 2 && !STOPWORDS.contains(word)) {
+                    terms.add(PorterStemmer.stem(word));
+                }
+            } else {
+                terms.add(word);
+            }
+        }
+        return terms;
+    }
+
+    private static boolean isLatin(String word) {
+        for (int i = 0; i < word.length(); i++) {
+            if (word.charAt(i) > 'z') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** Postings per term, with field-weighted term frequencies and lengths per entry. */
+    private static final class Index {
+        final String[] questions;
+        final String[] categories;
+        final String[] answers;
+        final Map<String, Integer> termIds;
+        final int[][] postingDocs;
+        final double[][] postingFrequencies;
+        final double[] idfs;
+        final double[] lengths;
+        final double averageLength;
+
+        private Index(String[] questions, String[] categories, String[] answers, List<Map<String, Double>> frequencies) {
+            this.questions = questions;
+            this.categories = categories;
+            this.answers = answers;
+            this.lengths = new double[questions.length];
+
+            Map<String, List<Integer>> docsByTerm = new HashMap<>();
+            double totalLength = 0;
+            for (int d = 0; d < frequencies.size(); d++) {
+                for (Map.Entry<String, Double> entry : frequencies.get(d).entrySet()) {
+                    docsByTerm.computeIfAbsent(entry.getKey(), term -> new ArrayList<>()).add(d);
+                    lengths[d] += entry.getValue();
+                }
+                totalLength += lengths[d];
+            }
+            this.averageLength = questions.length > 0 ? totalLength / questions.length : 1;
+
+            this.termIds = new HashMap<>();
+            this.postingDocs = new int[docsByTerm.size()][];
+            this.postingFrequencies = new double[docsByTerm.size()][];
+            this.idfs = new double[docsByTerm.size()];
+            int id = 0;
+            for (Map.Entry<String, List<Integer>> entry : docsByTerm.entrySet()) {
+                List<Integer> docs = entry.getValue();
+                termIds.put(entry.getKey(), id);
+                postingDocs[id] = new int[docs.size()];
+                postingFrequencies[id] = new double[docs.size()];
+                for (int p = 0; p < docs.size(); p++) {
+                    postingDocs[id][p] = docs.get(p);
+                    postingFrequencies[id][p] = frequencies.get(docs.get(p)).get(entry.getKey());
+                }
+                idfs[id] = Math.log(1 + (questions.length - docs.size() + 0.5) / (docs.size() + 0.5));
+                id++;
+            }
+        }
+
+        boolean contains(int entry, String term) {
+            Integer id = termIds.get(term);
+            return id != null && Arrays.binarySearch(postingDocs[id], entry) >= 0;
+        }
+
+        static synchronized Index get() throws IOException {
+            if (index == null) {
+                index = load();
+            }
+            return index;
+        }
+
+        private static Index load() throws IOException {
+            JsonNode root;
+            try (InputStream in = FaqRetrievalEngine.class.getResourceAsStream(DATASET)) {
+                if (in == null) {
+                    throw new IOException("FAQ dataset not found: " + DATASET);
+                }
+                root = new ObjectMapper().readTree(in);
+            }
+            int count = root.size();
+            String[] questions = new String[count];
+            String[] categories = new String[count];
+            String[] answers = new String[count];
+            List<Map<String, Double>> frequencies = new ArrayList<>();
+            for (int d = 0; d < count; d++) {
+                JsonNode entry = root.get(d);
+                questions[d] = entry.path("question").asText("");
+                categories[d] = entry.path("category").asText("");
+                answers[d] = entry.path("answer").asText("");
+                Map<String, Double> tf = new HashMap<>();
+                addField(tf, questions[d], QUESTION_WEIGHT);
+                for (JsonNode keyword : entry.path("keywords")) {
+                    addField(tf, keyword.asText(""), KEYWORD_WEIGHT);
+                    // Hindi and Marathi names, where the keyword is a symptom LanguageManager knows
+                    for (LanguageManager.Language language : LanguageManager.Language.values()) {
+                        String translated = LanguageManager.translate(keyword.asText(""), language);
+                        if (language != LanguageManager.Language.ENGLISH && !translated.equals(keyword.asText(""))) {
+                            addField(tf, translated, KEYWORD_WEIGHT);
+                        }
+                    }
+                }
+                addField(tf, answers[d], ANSWER_WEIGHT);
+                frequencies.add(tf);
+            }
+            return new Index(questions, categories, answers, frequencies);
+        }
+
+        private static void addField(Map<String, Double> tf, String text, double weight) {
+            for (String term : terms(text)) {
+                tf.merge(term, weight, Double::sum);
+            }
+        }
+    }
+}
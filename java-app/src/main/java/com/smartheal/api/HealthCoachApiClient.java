@@ -1,5 +1,6 @@
 package com.smartheal.api;
 
+import com.smartheal.utils.CancellationToken;
 import org.apache.hc.client5.http.classic.methods.HttpPost;
 import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
 import org.apache.hc.client5.http.impl.classic.CloseableHttpResponse;
@@ -18,11 +19,13 @@ public class HealthCoachApiClient {
     private HealthCoachApiClient() {
     }
 
+    @SuppressWarnings("try")
     public static JSONObject generatePlan(JSONObject payload) {
         HttpPost request = new HttpPost(BASE_URL + "/health-coach-plan");
         request.setEntity(new StringEntity(payload.toString(), ContentType.APPLICATION_JSON));
 
-        try (CloseableHttpClient httpClient = HttpClients.createDefault();
+        try (CancellationToken.Registration registration = CancellationToken.register(request);
+             CloseableHttpClient httpClient = HttpClients.createDefault();
              CloseableHttpResponse response = httpClient.execute(request)) {
             String json;
             try {
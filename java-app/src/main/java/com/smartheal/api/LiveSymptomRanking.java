@@ -0,0 +1,183 @@
+package com.smartheal.api;
+
+/**
+ * Top-k conditions for a selection that changes one symptom at a time. Each dataset row keeps a
+ * running intersection count with the selection, so a toggle updates the rows reporting that
+ * symptom and rescores every disease in one pass over the rows, then refills a fixed-size heap;
+ * no objects are allocated after construction. Scores are the same as
+ * {@link SymptomMatchEngine#checkSymptoms}, so the preview shows the ranking Analyze will give.
+ */
+public class LiveSymptomRanking {
+
+    private final SymptomMatchEngine engine;
+    private final SymptomMatchEngine.Matrix matrix;
+    private final int diseaseCount;
+    private final long[] selected;
+    private int selectedCount = 0;
+    // Per dataset row: selected symptoms the row reports
+    private final int[] sharedCounts;
+    private final double[] scores;
+    // Scores before the last change, for showing how each condition moved
+    private final double[] previousScores;
+    // Min-heap of disease indexes while filling, then sorted best first
+    private final int[] top;
+    private int topSize = 0;
+
+    public LiveSymptomRanking(SymptomMatchEngine engine, int k) {
+        this.engine = engine;
+        this.matrix = engine.matrix();
+        this.diseaseCount = matrix.diseases.length;
+        this.selected = new long[matrix.words];
+        this.sharedCounts = new int[matrix.rowSizes.length];
+        this.scores = new double[diseaseCount];
+        this.previousScores = new double[diseaseCount];
+        this.top = new int[Math.min(k, diseaseCount)];
+    }
+
+    /**
+     * Selects or deselects one symptom by id or name. Returns false, leaving the ranking as it
+     * was, when the symptom is not in the dataset or already in that state.
+     */
+    public boolean setSelected(String symptomId, boolean value) {
+        int column = engine.column(symptomId);
+        if (column < 0) {
+            return false;
+        }
+        long bit = 1L << column;
+        int word = column >>> 6;
+        if (((selected[word] & bit) != 0) == value) {
+            return false;
+        }
+        selected[word] ^= bit;
+        int sign = value ? 1 : -1;
+        selectedCount += sign;
+        int words = matrix.words;
+        for (int r = 0, base = word; r < sharedCounts.length; r++, base += words) {
+            if ((matrix.rows[base] & bit) != 0) {
+                sharedCounts[r] += sign;
+            }
+        }
+        rescore();
+        return true;
+    }
+
+    public void clear() {
+        for (int w = 0; w < selected.length; w++) {
+            selected[w] = 0;
+        }
+        for (int r = 0; r < sharedCounts.length; r++) {
+            sharedCounts[r] = 0;
+        }
+        selectedCount = 0;
+        rescore();
+    }
+
+    /** Number of selected symptoms the dataset knows. */
+    public int getSelectedCount() {
+        return selectedCount;
+    }
+
+    /** Number of ranked conditions, at most k; zero while nothing known is selected. */
+    public int size() {
+        return topSize;
+    }
+
+    public String getDisease(int rank) {
+        return matrix.diseases[top[rank]];
+    }
+
+    /** Share of the match at the given rank, from 0 to 1, as in the analysis. */
+    public double getScore(int rank) {
+        return scores[top[rank]];
+    }
+
+    /** How much the score at the given rank changed with the last toggle. */
+    public double getChange(int rank) {
+        return scores[top[rank]] - previousScores[top[rank]];
+    }
+
+    /**
+     * Scores each disease as Matrix.score does: the sum over its rows of the squared Jaccard
+     * similarity with the selection, normalised over all diseases. The sums run in the same order,
+     * so the scores and their ties come out identical.
+     */
+    private void rescore() {
+        System.arraycopy(scores, 0, previousScores, 0, diseaseCount);
+        topSize = 0;
+        for (int d = 0; d < diseaseCount; d++) {
+            scores[d] = 0;
+        }
+        for (int r = 0; r < sharedCounts.length; r++) {
+            int shared = sharedCounts[r];
+            if (shared > 0) {
+                double jaccard = (double) shared / (selectedCount + matrix.rowSizes[r] - shared);
+                scores[matrix.rowDiseases[r]] += jaccard * jaccard;
+            }
+        }
+        double total = 0;
+        for (int d = 0; d < diseaseCount; d++) {
+            total += scores[d];
+        }
+        for (int d = 0; d < diseaseCount; d++) {
+            if (total > 0) {
+                scores[d] /= total;
+            }
+            if (scores[d] <= 0 || top.length == 0) {
+                continue;
+            }
+            if (topSize < top.length) {
+                top[topSize] = d;
+                siftUp(topSize++);
+            } else if (better(d, top[0])) {
+                top[0] = d;
+                siftDown(0, topSize);
+            }
+        }
+        // Heap sort in place: repeatedly moving the weakest to the end leaves the best first
+        for (int end = topSize - 1; end > 0; end--) {
+            swap(0, end);
+            siftDown(0, end);
+        }
+    }
+
+    // Higher score wins; ties go to the disease listed first in the dataset
+    private boolean better(int a, int b) {
+        return scores[a] > scores[b] || (scores[a] == scores[b] && a < b);
+    }
+
+    private void siftUp(int i) {
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (!better(top[parent], top[i])) {
+                break;
+            }
+            swap(i, parent);
+            i = parent;
+        }
+    }
+
+    private void siftDown(int i, int size) {
+        while (true) {
+            int left = 2 * i + 1;
+            if (left >= size) {
+                break;
+            }
+            int weakest = left;
+            int right = left + 1;
+            if (right < size && better(top[left], top[right])) {
+                weakest = right;
+            }
+            if (!better(top[i], top[weakest])) {
+                break;
+            }
+            swap(i, weakest);
+            i = weakest;
+        }
+    }
+
+    private void swap(int i, int j) {
+        int tmp = top[i];
+        top[i] = top[j];
+        top[j] = tmp;
+    }
+}
@@ -0,0 +1,205 @@
+package com.smartheal.api;
+
+/**
+ * Suggests which unselected symptoms to ask about next: those whose answer is expected to
+ * separate the remaining candidate diseases best, ranked by information gain over the dataset.
+ * Unselected symptoms count as unknown rather than absent. Likelihood and log tables are built
+ * once; a toggle adds or subtracts one column of log-likelihoods per disease, and the gains are
+ * then refreshed in O(symptoms x diseases) without allocating.
+ */
+public class NextSymptomAdvisor {
+
+    private static final double LN2 = Math.log(2);
+    // Suggestions expected to narrow things down by less than this, in bits, are left out
+    private static final double MIN_GAIN_BITS = 0.05;
+
+    private final SymptomMatchEngine engine;
+    private final int symptomCount;
+    private final int diseaseCount;
+    // Laplace-smoothed P(symptom | disease) and its logs, symptom-major like Matrix.symptomCounts
+    private final double[] present;
+    private final double[] absent;
+    private final double[] logPresent;
+    private final double[] logAbsent;
+    private final double[] logPriors;
+
+    private final boolean[] selected;
+    private int selectedCount = 0;
+    private final double[] logLikelihoods;
+    private final double[] posterior;
+    private final double[] logPosterior;
+    private final double[] gains;
+    private double entropyBits;
+    // Best symptoms first
+    private final int[] top;
+    private int topSize = 0;
+
+    public NextSymptomAdvisor(SymptomMatchEngine engine, int count) {
+        this.engine = engine;
+        SymptomMatchEngine.Matrix matrix = engine.matrix();
+        this.symptomCount = matrix.symptoms.length;
+        this.diseaseCount = matrix.diseases.length;
+        int cells = symptomCount * diseaseCount;
+        this.present = new double[cells];
+        this.absent = new double[cells];
+        this.logPresent = new double[cells];
+        this.logAbsent = new double[cells];
+        for (int s = 0; s < symptomCount; s++) {
+            for (int d = 0; d < diseaseCount; d++) {
+                int i = s * diseaseCount + d;
+                double p = (matrix.symptomCounts[i] + 1.0) / (matrix.diseaseRows[d] + 2.0);
+                present[i] = p;
+                absent[i] = 1 - p;
+                logPresent[i] = Math.log(p);
+                logAbsent[i] = Math.log(1 - p);
+            }
+        }
+        int totalRows = 0;
+        for (int rows : matrix.diseaseRows) {
+            totalRows += rows;
+        }
+        this.logPriors = new double[diseaseCount];
+        for (int d = 0; d < diseaseCount; d++) {
+            logPriors[d] = Math.log((matrix.diseaseRows[d] + 1.0) / (totalRows + diseaseCount));
+        }
+
+        this.selected = new boolean[symptomCount];
+        this.logLikelihoods = new double[diseaseCount];
+        this.posterior = new double[diseaseCount];
+        this.logPosterior = new double[diseaseCount];
+        this.gains = new double[symptomCount];
+        this.top = new int[Math.min(count, symptomCount)];
+        refresh();
+    }
+
+    /**
+     * Selects or deselects one symptom by id or name. Returns false, leaving the suggestions as
+     * they were, when the symptom is not in the dataset or already in that state.
+     */
+    public boolean setSelected(String symptomId, boolean value) {
+        int column = engine.column(symptomId);
+        if (column < 0 || selected[column] == value) {
+            return false;
+        }
+        selected[column] = value;
+        selectedCount += value ? 1 : -1;
+        int offset = column * diseaseCount;
+        for (int d = 0; d < diseaseCount; d++) {
+            logLikelihoods[d] += value ? logPresent[offset + d] : -logPresent[offset + d];
+        }
+        refresh();
+        return true;
+    }
+
+    public void clear() {
+        for (int s = 0; s < symptomCount; s++) {
+            selected[s] = false;
+        }
+        for (int d = 0; d < diseaseCount; d++) {
+            logLikelihoods[d] = 0;
+        }
+        selectedCount = 0;
+        refresh();
+    }
+
+    /** Number of selected symptoms the dataset knows. */
+    public int getSelectedCount() {
+        return selectedCount;
+    }
+
+    /** Remaining uncertainty about the disease, in bits. */
+    public double getEntropyBits() {
+        return entropyBits;
+    }
+
+    /** Number of suggestions, at most the requested count. */
+    public int size() {
+        return topSize;
+    }
+
+    /** Dataset name of the suggested symptom at the given rank. */
+    public String getSymptom(int rank) {
+        return engine.matrix().symptoms[top[rank]];
+    }
+
+    /** Expected reduction in uncertainty, in bits, from asking about the symptom at the given rank. */
+    public double getGain(int rank) {
+        return gains[top[rank]];
+    }
+
+    private void refresh() {
+        // Posterior over diseases, normalised in log space for stability
+        double max = Double.NEGATIVE_INFINITY;
+        for (int d = 0; d < diseaseCount; d++) {
+            logPosterior[d] = logPriors[d] + logLikelihoods[d];
+            max = Math.max(max, logPosterior[d]);
+        }
+        double total = 0;
+        for (int d = 0; d < diseaseCount; d++) {
+            posterior[d] = Math.exp(logPosterior[d] - max);
+            total += posterior[d];
+        }
+        double logTotal = Math.log(total);
+        double entropy = 0;
+        for (int d = 0; d < diseaseCount; d++) {
+            posterior[d] /= total;
+            logPosterior[d] -= max + logTotal;
+            if (posterior[d] > 0) {
+                entropy -= posterior[d] * logPosterior[d];
+            }
+        }
+        entropyBits = entropy / LN2;
+
+        topSize = 0;
+        for (int s = 0; s < symptomCount; s++) {
+            if (selected[s]) {
+                gains[s] = 0;
+                continue;
+            }
+            gains[s] = (entropy - expectedEntropy(s)) / LN2;
+            if (gains[s] >= MIN_GAIN_BITS) {
+                offer(s);
+            }
+        }
+    }
+
+    /**
+     * Entropy expected after learning whether the symptom is present. For each answer the
+     * conditional entropy is log Z - sum(q * (log P(d) + log P(answer | d))) / Z, which only
+     * needs the precomputed logs and one log per answer.
+     */
+    private double expectedEntropy(int s) {
+        int offset = s * diseaseCount;
+        double zPresent = 0;
+        double sumPresent = 0;
+        double zAbsent = 0;
+        double sumAbsent = 0;
+        for (int d = 0; d < diseaseCount; d++) {
+            int i = offset + d;
+            double weightPresent = posterior[d] * present[i];
+            double weightAbsent = posterior[d] * absent[i];
+            zPresent += weightPresent;
+            sumPresent += weightPresent * (logPosterior[d] + logPresent[i]);
+            zAbsent += weightAbsent;
+            sumAbsent += weightAbsent * (logPosterior[d] + logAbsent[i]);
+        }
+        double entropyPresent = zPresent > 0 ? Math.log(zPresent) - sumPresent / zPresent : 0;
+        double entropyAbsent = zAbsent > 0 ? Math.log(zAbsent) - sumAbsent / zAbsent : 0;
+        return zPresent * entropyPresent + zAbsent * entropyAbsent;
+    }
+
+    // Insertion into the short best-first list
+    private void offer(int s) {
+        int i = topSize < top.length ? topSize++ : top.length;
+        if (i == top.length && (i == 0 || gains[top[i - 1]] >= gains[s])) {
+            return;
+        }
+        while (i > 0 && gains[top[i - 1]] < gains[s]) {
+            if (i < top.length) {
+                top[i] = top[i - 1];
+            }
+            i--;
+        }
+        top[i] = s;
+    }
+}
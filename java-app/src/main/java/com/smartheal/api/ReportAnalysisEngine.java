@@ -0,0 +1,203 @@
+package com.smartheal.api;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.smartheal.models.BloodParameter;
+import com.smartheal.models.ReportAnalysis;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * In-process blood report analysis against the reference ranges the backend uses. Ranges are
+ * loaded once per process, so classifying a value is a map lookup and two comparisons, cheap
+ * enough to run on every keystroke. Produces the same {@link ReportAnalysis} as
+ * {@link ApiClient#analyzeReport}, with the same statuses, summary and recommendations as
+ * report_analyzer.py; the server is only asked for its narrative.
+ */
+public class ReportAnalysisEngine implements ReportAnalyzer {
+
+    private static final String DATASET = "/datasets/blood_reference_ranges.json";
+    // Form keys that differ from the dataset's keys, as mapped by report_analyzer.py
+    private static final Map<String, String> KEY_ALIASES = Map.of(
+        "bloodSugar", "blood_sugar_fasting",
+        "blood_sugar", "blood_sugar_fasting",
+        "cholesterol", "total_cholesterol",
+        "totalCholesterol", "total_cholesterol");
+    // Distance beyond the violated limit, as a share of that limit, for each severity
+    private static final double MODERATE_DEVIATION = 0.10;
+    private static final double SEVERE_DEVIATION = 0.30;
+    // More flagged parameters than this share of the report makes it abnormal
+    private static final double ATTENTION_SHARE = 0.3;
+
+    private static Map<String, Range> ranges;
+
+    public record Range(String name, double normalMin, double normalMax, String unit) {
+    }
+
+    public ReportAnalysisEngine() throws IOException {
+        loadRanges();
+    }
+
+    private static synchronized void loadRanges() throws IOException {
+        if (ranges != null) {
+            return;
+        }
+        try (InputStream in = ReportAnalysisEngine.class.getResourceAsStream(DATASET)) {
+            if (in == null) {
+                throw new IOException("Reference ranges not found: " + DATASET);
+            }
+            JsonNode root = new ObjectMapper().readTree(in);
+            Map<String, Range> loaded = new LinkedHashMap<>();
+            Iterator<Map.Entry<String, JsonNode>> fields = root.fields();
+            while (fields.hasNext()) {
+                Map.Entry<String, JsonNode> field = fields.next();
+                JsonNode node = field.getValue();
+                loaded.put(field.getKey(), new Range(
+                    node.path("name").asText(field.getKey()),
+                    node.path("normalMin").asDouble(0),
+                    node.path("normalMax").asDouble(0),
+                    node.path("unit").asText("")));
+            }
+            ranges = Collections.unmodifiableMap(loaded);
+        }
+    }
+
+    /** Reference range for a form or dataset key, or null if there is none. */
+    public Range getRange(String key) {
+        return ranges.get(KEY_ALIASES.getOrDefault(key, key));
+    }
+
+    /** Classifies one value; null when the key has no reference range. */
+    public BloodParameter classify(String key, double value) {
+        Range range = getRange(key);
+        if (range == null) {
+            return null;
+        }
+        BloodParameter parameter = new BloodParameter();
+        parameter.setName(range.name());
+        parameter.setValue(value);
+        parameter.setUnit(range.unit());
+        parameter.setNormalMin(range.normalMin());
+        parameter.setNormalMax(range.normalMax());
+        if (value < range.normalMin()) {
+            parameter.setStatus("low");
+            parameter.setSeverity(severity(range.normalMin() - value, range.normalMin()));
+        } else if (value > range.normalMax()) {
+            parameter.setStatus("high");
+            parameter.setSeverity(severity(value - range.normalMax(), range.normalMax()));
+        } else {
+            parameter.setStatus("normal");
+            parameter.setSeverity("none");
+        }
+        return parameter;
+    }
+
+    private static String severity(double distance, double limit) {
+        double deviation = limit != 0 ? distance / Math.abs(limit) : Double.POSITIVE_INFINITY;
+        if (deviation >= SEVERE_DEVIATION) {
+            return "severe";
+        }
+        return deviation >= MODERATE_DEVIATION ? "moderate" : "mild";
+    }
+
+    @Override
+    public ReportAnalysis analyzeReport(Map<String, Double> reportData) {
+        List<BloodParameter> parameters = new ArrayList<>();
+        List<String> flagged = new ArrayList<>();
+        for (Map.Entry<String, Double> entry : reportData.entrySet()) {
+            if (entry.getValue() == null) {
+                continue;
+            }
+            BloodParameter parameter = classify(entry.getKey(), entry.getValue());
+            if (parameter == null) {
+                continue;
+            }
+            parameters.add(parameter);
+            if (!"normal".equals(parameter.getStatus())) {
+                flagged.add(parameter.getName());
+            }
+        }
+
+        ReportAnalysis analysis = new ReportAnalysis();
+        analysis.setParameters(parameters);
+        analysis.setFlaggedParameters(flagged);
+        if (parameters.isEmpty()) {
+            analysis.setOverallStatus("error");
+            analysis.setSummary("No valid blood test parameters provided. Please enter at least one parameter.");
+            analysis.setRecommendations(List.of("Please enter valid blood test values"));
+            return analysis;
+        }
+
+        String status;
+        if (flagged.isEmpty()) {
+            status = "normal";
+        } else if (flagged.size() <= parameters.size() * ATTENTION_SHARE) {
+            status = "requires-attention";
+        } else {
+            status = "abnormal";
+        }
+        analysis.setOverallStatus(status);
+        analysis.setSummary(summary(status, flagged));
+        analysis.setRecommendations(recommendations(status, flagged));
+        return analysis;
+    }
+
+    /**
+     * The local analysis with the server's summary and recommendations, where it has them.
+     * Statuses and flags stay the local ones, which come from the same ranges.
+     */
+    public static ReportAnalysis withNarrative(ReportAnalysis local, ReportAnalysis server) {
+        if (server == null) {
+            return local;
+        }
+        ReportAnalysis merged = new ReportAnalysis();
+        merged.setParameters(local.getParameters());
+        merged.setFlaggedParameters(local.getFlaggedParameters());
+        merged.setOverallStatus(local.getOverallStatus());
+        merged.setSummary(server.getSummary() != null && !server.getSummary().isBlank()
+            ? server.getSummary() : local.getSummary());
+        merged.setRecommendations(server.getRecommendations() != null && !server.getRecommendations().isEmpty()
+            ? server.getRecommendations() : local.getRecommendations());
+        return merged;
+    }
+
+    private static String summary(String status, List<String> flagged) {
+        if ("normal".equals(status)) {
+            return "All analyzed parameters are within normal ranges. Continue maintaining a healthy lifestyle.";
+        }
+        if ("requires-attention".equals(status)) {
+            return "Some parameters require attention: " + String.join(", ", flagged)
+                + ". Please consult with a healthcare professional for further evaluation.";
+        }
+        return "Multiple parameters are outside normal ranges: " + String.join(", ", flagged)
+            + ". It is recommended to consult with a healthcare professional promptly for proper evaluation and guidance.";
+    }
+
+    private static List<String> recommendations(String status, List<String> flagged) {
+        List<String> recommendations = new ArrayList<>();
+        if ("normal".equals(status)) {
+            recommendations.add("Continue regular health checkups");
+            recommendations.add("Maintain a balanced diet and regular exercise");
+            return recommendations;
+        }
+        recommendations.add("Consult with a healthcare professional for proper evaluation");
+        if (flagged.contains("Hemoglobin") || flagged.contains("RBC Count")) {
+            recommendations.add("Consider iron-rich foods and supplements if recommended by your doctor");
+        }
+        if (flagged.contains("Blood Sugar (Fasting)")) {
+            recommendations.add("Monitor blood sugar levels and follow a diabetes-friendly diet if needed");
+        }
+        if (flagged.contains("Total Cholesterol") || flagged.contains("LDL Cholesterol")) {
+            recommendations.add("Consider dietary changes and regular exercise to improve cholesterol levels");
+        }
+        recommendations.add("Follow up with additional tests if recommended by your healthcare provider");
+        return recommendations;
+    }
+}
@@ -0,0 +1,14 @@
+package com.smartheal.api;
+
+import com.smartheal.models.ReportAnalysis;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Classifies blood test values, keyed by parameter, against their reference ranges.
+ */
+public interface ReportAnalyzer {
+
+    ReportAnalysis analyzeReport(Map<String, Double> reportData) throws IOException;
+}
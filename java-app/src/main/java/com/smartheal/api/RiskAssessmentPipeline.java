@@ -0,0 +1,280 @@
+package com.smartheal.api;
+
+import com.smartheal.models.RiskAssessment;
+import com.smartheal.utils.CancellationToken;
+import com.smartheal.utils.ModuleTaskScope;
+import org.json.JSONObject;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Runs the risk assessment, advanced scoring and health coach requests as a dependency graph.
+ * Each stage is sent from a background thread as soon as its inputs exist, and every result
+ * is handed to the listener on the FX thread the moment it arrives. One deadline covers the
+ * whole run.
+ */
+public class RiskAssessmentPipeline {
+
+    public enum Stage {
+        ASSESSMENT,
+        ADVANCED,
+        HEALTH_COACH
+    }
+
+    // All callbacks run on the FX thread, in stage order
+    public interface Listener {
+        void onAssessment(RiskAssessment assessment);
+
+        void onAdvancedResults(JSONObject response);
+
+        void onHealthCoachPlan(JSONObject response);
+
+        void onStageFailed(Stage stage, Throwable error);
+    }
+
+    private static final long DEADLINE_MS = 30000;
+    private static final double DEFAULT_AVERAGE_RISK = 40.0;
+
+    private final ApiClient apiClient;
+    private final ModuleTaskScope tasks;
+    // Stages are sent and delivered from future callbacks, outside any task, so the run keeps the token it started with
+    private final CancellationToken owner;
+    private final Listener listener;
+    private final Set<CompletableFuture<?>> pending = ConcurrentHashMap.newKeySet();
+    private volatile boolean cancelled = false;
+    private volatile boolean expired = false;
+
+    public RiskAssessmentPipeline(ApiClient apiClient, ModuleTaskScope tasks, Listener listener) {
+        this.apiClient = apiClient;
+        this.tasks = tasks;
+        this.owner = tasks.owner();
+        this.listener = listener;
+    }
+
+    public void start(int age, double weight, double height,
+                      List<String> symptoms,
+                      List<String> familyHistory,
+                      boolean smoking, int exerciseLevel, int alcoholLevel,
+                      Double sleepHours, int stressLevel, int dietQuality,
+                      Map<String, Object> lifestyleInputs) {
+        List<String> symptomsCopy = new ArrayList<>(symptoms);
+        List<String> familyHistoryCopy = new ArrayList<>(familyHistory);
+
+        CompletableFuture<RiskAssessment> assessment = stage(Stage.ASSESSMENT, () -> {
+            try {
+                return apiClient.assessRisk(age, weight, height, symptomsCopy, familyHistoryCopy,
+                    smoking, exerciseLevel, alcoholLevel, sleepHours, stressLevel, dietQuality);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+
+        // Each result is queued for the FX thread before the next request goes out,
+        // so sections always render in order even though later stages never wait on the UI
+        CompletableFuture<RiskAssessment> assessmentShown = assessment.thenApply(result -> {
+            deliver(() -> listener.onAssessment(result));
+            return result;
+        });
+
+        CompletableFuture<JSONObject> advanced = assessmentShown.thenCompose(result -> {
+            JSONObject payload = buildAdvancedPayload(result, age, weight, height, sleepHours,
+                stressLevel, dietQuality, exerciseLevel, alcoholLevel, smoking, lifestyleInputs);
+            return stage(Stage.ADVANCED, () -> AdvancedApiClient.getAdvancedRiskAssessment(payload));
+        }).thenApply(response -> {
+            deliver(() -> listener.onAdvancedResults(response));
+            return response;
+        });
+
+        CompletableFuture<Void> completed = advanced.thenCompose(response -> {
+            JSONObject predictions = response != null ? response.optJSONObject("predictions") : null;
+            if (predictions == null || predictions.isEmpty()) {
+                return CompletableFuture.completedFuture(null);
+            }
+            JSONObject payload = buildHealthCoachPayload(assessment.join(), predictions, age,
+                familyHistoryCopy, symptomsCopy);
+            return stage(Stage.HEALTH_COACH, () -> HealthCoachApiClient.generatePlan(payload));
+        }).thenAccept(plan -> {
+            if (plan != null) {
+                deliver(() -> listener.onHealthCoachPlan(plan));
+            }
+        });
+
+        completed.orTimeout(DEADLINE_MS, TimeUnit.MILLISECONDS).whenComplete((ignored, error) -> {
+            if (unwrap(error) instanceof TimeoutException) {
+                expired = true;
+                cancelPending();
+            }
+        });
+    }
+
+    // Stops the run and drops any result that has not been delivered yet
+    public void cancel() {
+        cancelled = true;
+        cancelPending();
+    }
+
+    private <T> CompletableFuture<T> stage(Stage stage, Supplier<T> request) {
+        CompletableFuture<T> future = tasks.supplyAsync(owner, request);
+        pending.add(future);
+        future.whenComplete((value, error) -> {
+            pending.remove(future);
+            if (error == null) {
+                return;
+            }
+            if (future.isCancelled()) {
+                if (expired) {
+                    deliver(() -> listener.onStageFailed(stage,
+                        new TimeoutException("No response within " + DEADLINE_MS / 1000 + " seconds")));
+                }
+                return;
+            }
+            Throwable cause = unwrap(error);
+            deliver(() -> listener.onStageFailed(stage, cause));
+        });
+        if (cancelled || expired) {
+            future.cancel(true);
+        }
+        return future;
+    }
+
+    private void cancelPending() {
+        for (CompletableFuture<?> future : pending) {
+            future.cancel(true);
+        }
+    }
+
+    private void deliver(Runnable update) {
+        if (cancelled) {
+            return;
+        }
+        tasks.runLater(owner, () -> {
+            if (!cancelled) {
+                update.run();
+            }
+        });
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        Throwable cause = error;
+        while (cause instanceof CompletionException && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        if (cause instanceof UncheckedIOException && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        // AdvancedApiClient and HealthCoachApiClient wrap their IOExceptions
+        if (cause != null && cause.getClass() == RuntimeException.class && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause;
+    }
+
+    private static JSONObject buildAdvancedPayload(RiskAssessment assessment,
+                                                   int age,
+                                                   double weight,
+                                                   double height,
+                                                   Double sleepHours,
+                                                   int stressLevel,
+                                                   int dietQuality,
+                                                   int exerciseLevel,
+                                                   int alcoholLevel,
+                                                   boolean smoking,
+                                                   Map<String, Object> lifestyleInputs) {
+        JSONObject payload = new JSONObject();
+        payload.put("age", age);
+        payload.put("weight", weight);
+        payload.put("height", height);
+        payload.put("bmi", assessment.getBmi());
+
+        Map<String, Double> estimatedValues = assessment.getEstimatedValues();
+        if (estimatedValues != null) {
+            if (estimatedValues.containsKey("systolic_bp")) {
+                payload.put("systolic_bp", estimatedValues.get("systolic_bp"));
+                payload.put("blood_pressure", estimatedValues.get("systolic_bp"));
+            }
+            if (estimatedValues.containsKey("fasting_glucose")) {
+                payload.put("glucose", estimatedValues.get("fasting_glucose"));
+            }
+            if (estimatedValues.containsKey("cholesterol")) {
+                payload.put("cholesterol", estimatedValues.get("cholesterol"));
+            }
+        }
+
+        if (sleepHours != null) {
+            payload.put("sleep_hours", sleepHours);
+        }
+        payload.put("stress_level", stressLevel);
+        payload.put("diet_quality", dietQuality);
+        payload.put("exercise", exerciseLevel);
+        payload.put("alcohol", alcoholLevel);
+        payload.put("smoking", smoking ? 1 : 0);
+
+        if (lifestyleInputs != null) {
+            for (Map.Entry<String, Object> entry : lifestyleInputs.entrySet()) {
+                Object value = entry.getValue();
+                if (value != null) {
+                    payload.put(entry.getKey(), value);
+                }
+            }
+        }
+
+        payload.put("baseline_diabetes_risk", assessment.getDiabetesRisk());
+        payload.put("baseline_heart_disease_risk", assessment.getHeartRisk());
+        payload.put("baseline_hypertension_risk", assessment.getHypertensionRisk());
+
+        if (assessment.getHealthScore() != null) {
+            payload.put("baseline_health_score", assessment.getHealthScore());
+        }
+
+        return payload;
+    }
+
+    private static JSONObject buildHealthCoachPayload(RiskAssessment assessment,
+                                                      JSONObject predictions,
+                                                      int age,
+                                                      List<String> familyHistory,
+                                                      List<String> symptoms) {
+        JSONObject payload = new JSONObject();
+        payload.put("age", age);
+        payload.put("bmi", assessment.getBmi());
+        double score = assessment.getHealthScore() != null
+            ? assessment.getHealthScore()
+            : calculateHealthCoachScore(predictions);
+        payload.put("health_score", score);
+        payload.put("risk_predictions", predictions);
+        payload.put("existing_conditions", familyHistory);
+        payload.put("symptoms", symptoms);
+        return payload;
+    }
+
+    private static double calculateHealthCoachScore(JSONObject predictions) {
+        double totalRisk = 0;
+        int count = 0;
+
+        for (String key : predictions.keySet()) {
+            JSONObject prediction = predictions.optJSONObject(key);
+            if (prediction == null) {
+                continue;
+            }
+            double risk = prediction.optDouble("risk_percentage", 0.0);
+            if (risk > 0) {
+                totalRisk += risk;
+                count++;
+            }
+        }
+
+        double averageRisk = count > 0 ? totalRisk / count : DEFAULT_AVERAGE_RISK;
+        return Math.max(30.0, 100.0 - averageRisk * 0.8);
+    }
+}
@@ -0,0 +1,19 @@
+package com.smartheal.api;
+
+import com.smartheal.models.RiskAssessment;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Scores diabetes, heart disease and hypertension risk for a health profile. Exercise, stress
+ * and diet quality are levels 0-2; sleep hours, stress and diet may be null for the defaults.
+ */
+public interface RiskAssessor {
+
+    RiskAssessment assessRisk(int age, double weight, double height,
+                              List<String> symptoms,
+                              List<String> familyHistory,
+                              boolean smoking, int exercise, int alcohol,
+                              Double sleepHours, Integer stressLevel, Integer dietQuality) throws IOException;
+}
@@ -0,0 +1,323 @@
+package com.smartheal.api;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.smartheal.models.RiskAssessment;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * In-process scoring of the risk models behind /api/risk-assessment. export_risk_models.py
+ * writes the scaler and the boosted trees of the pickled models to risk_models.json; they are
+ * loaded once per process into flat primitive arrays, and {@link #score} walks them without
+ * allocating, so a profile can be re-scored on every input change. Only the risks, BMI, health
+ * score and estimated values are produced; the narrative fields still come from the backend.
+ */
+public class RiskScoringEngine implements RiskAssessor {
+
+    private static final String DATASET = "/datasets/risk_models.json";
+    // Model inputs in the order risk_predictor.py trains on them
+    private static final List<String> FEATURES = List.of(
+        "age", "weight", "height", "bmi", "smoking", "exercise",
+        "alcohol", "family_diabetes", "family_heart", "family_hypertension",
+        "symptom_count", "systolic_bp", "fasting_glucose", "cholesterol");
+    public static final int FEATURE_COUNT = FEATURES.size();
+    private static final int SYSTOLIC_BP = 11;
+    private static final int FASTING_GLUCOSE = 12;
+    private static final int CHOLESTEROL = 13;
+    /** Positions of each disease in the risks filled by {@link #score}. */
+    public static final int DIABETES = 0;
+    public static final int HEART = 1;
+    public static final int HYPERTENSION = 2;
+    private static final String[] MODEL_NAMES = {"diabetes", "heart", "hypertension"};
+
+    private static Models models;
+
+    private final Models risk;
+
+    public RiskScoringEngine() throws IOException {
+        this.risk = Models.get();
+    }
+
+    /**
+     * Fills features with the model inputs predict_risks derives from a profile, including its
+     * estimated blood pressure, fasting glucose and cholesterol. Sleep, stress and diet are
+     * passed with their defaults (7 hours, level 1) already applied.
+     */
+    public static void features(double[] features, int age, double weight, double height, int symptomCount,
+                                boolean familyDiabetes, boolean familyHeart, boolean familyHypertension,
+                                boolean smoking, int exercise, int alcohol,
+                                double sleepHours, int stressLevel, int dietQuality) {
+        int exerciseLevel = exercise >= 0 && exercise <= 2 ? exercise : 1;
+        int smokingFlag = smoking ? 1 : 0;
+        double bmi = bmi(weight, height);
+
+        double systolicBp = clamp(110 + (age - 30) * 0.5 + (bmi - 22) * 1.2
+            + (familyHypertension ? 8 : 0) + smokingFlag * 5 - exerciseLevel * 3, 90, 180);
+        systolicBp = clamp(systolicBp + (stressLevel - 1) * 3 - (sleepHours - 7) * 0.5, 90, 180);
+
+        double glucose = clamp(85 + (age - 30) * 0.3 + (bmi - 22) * 1.5
+            + (familyDiabetes ? 12 : 0) - exerciseLevel * 3 + (symptomCount > 5 ? 8 : 0), 70, 150);
+        glucose = clamp(glucose + (stressLevel - 1) * 2 - (dietQuality - 1) * 3, 70, 150);
+
+        double cholesterol = clamp(180 + (age - 30) * 0.8 + (bmi - 22) * 2.5
+            + (familyHeart ? 25 : 0) + smokingFlag * 15 - exerciseLevel * 10, 120, 300);
+        cholesterol = clamp(cholesterol + (stressLevel - 1) * 5 - (dietQuality - 1) * 8, 120, 300);
+
+        features[0] = age;
+        features[1] = weight;
+        features[2] = height;
+        features[3] = bmi;
+        features[4] = smokingFlag;
+        features[5] = exerciseLevel;
+        features[6] = alcohol;
+        features[7] = familyDiabetes ? 1 : 0;
+        features[8] = familyHeart ? 1 : 0;
+        features[9] = familyHypertension ? 1 : 0;
+        features[10] = symptomCount;
+        features[SYSTOLIC_BP] = systolicBp;
+        features[FASTING_GLUCOSE] = glucose;
+        features[CHOLESTEROL] = cholesterol;
+    }
+
+    /** Writes the probability of each disease, 0-1, to risks at DIABETES, HEART and HYPERTENSION. */
+    public void score(double[] features, double[] risks) {
+        for (int m = 0; m < risk.ensembles.length; m++) {
+            risks[m] = risk.ensembles[m].probability(features, risk.means, risk.scales);
+        }
+    }
+
+    @Override
+    public RiskAssessment assessRisk(int age, double weight, double height,
+                                     List<String> symptoms,
+                                     List<String> familyHistory,
+                                     boolean smoking, int exercise, int alcohol,
+                                     Double sleepHours, Integer stressLevel, Integer dietQuality) {
+        // Same limits as predict_risks, which the models were not trained beyond
+        if (age < 18 || age > 100) {
+            throw new IllegalArgumentException("Age must be between 18 and 100");
+        }
+        if (weight < 30 || weight > 200) {
+            throw new IllegalArgumentException("Weight must be between 30 and 200 kg");
+        }
+        if (height < 100 || height > 250) {
+            throw new IllegalArgumentException("Height must be between 100 and 250 cm");
+        }
+        double[] features = features(age, weight, height, symptoms, familyHistory,
+            smoking, exercise, alcohol, sleepHours, stressLevel, dietQuality);
+        double[] risks = new double[MODEL_NAMES.length];
+        score(features, risks);
+
+        // Truncated to whole percentages, as predict_risks does
+        int diabetesRisk = (int) (risks[DIABETES] * 100);
+        int heartRisk = (int) (risks[HEART] * 100);
+        int hypertensionRisk = (int) (risks[HYPERTENSION] * 100);
+
+        RiskAssessment assessment = new RiskAssessment();
+        assessment.setDiabetesRisk(diabetesRisk);
+        assessment.setHeartRisk(heartRisk);
+        assessment.setHypertensionRisk(hypertensionRisk);
+        assessment.setBmi(Math.rint(features[3] * 10) / 10);
+        double averageRisk = (diabetesRisk + heartRisk + hypertensionRisk) / 3.0;
+        assessment.setHealthScore(Math.max(0, Math.min(100, (int) (100 - averageRisk))));
+        Map<String, Double> estimatedValues = new LinkedHashMap<>();
+        estimatedValues.put("systolic_bp", Math.rint(features[SYSTOLIC_BP]));
+        estimatedValues.put("fasting_glucose", Math.rint(features[FASTING_GLUCOSE] * 10) / 10);
+        estimatedValues.put("cholesterol", Math.rint(features[CHOLESTEROL] * 10) / 10);
+        assessment.setEstimatedValues(estimatedValues);
+        return assessment;
+    }
+
+    /** Model inputs of a profile as predict_risks derives them, with its defaults for missing values. */
+    static double[] features(int age, double weight, double height, List<String> symptoms,
+                             List<String> familyHistory, boolean smoking, int exercise, int alcohol,
+                             Double sleepHours, Integer stressLevel, Integer dietQuality) {
+        boolean familyDiabetes = false;
+        boolean familyHeart = false;
+        boolean familyHypertension = false;
+        if (familyHistory != null) {
+            for (String condition : familyHistory) {
+                String lower = String.valueOf(condition).toLowerCase(Locale.ROOT);
+                familyDiabetes |= lower.contains("diabetes");
+                familyHeart |= lower.contains("heart");
+                familyHypertension |= lower.contains("hypertension") || lower.contains("blood pressure");
+            }
+        }
+        double[] features = new double[FEATURE_COUNT];
+        features(features, age, weight, height, symptoms != null ? symptoms.size() : 0,
+            familyDiabetes, familyHeart, familyHypertension, smoking, exercise, alcohol,
+            sleepHours != null ? sleepHours : 7.0,
+            stressLevel != null ? stressLevel : 1,
+            dietQuality != null ? dietQuality : 1);
+        return features;
+    }
+
+    private static double bmi(double weight, double height) {
+        if (weight <= 0 || height <= 0) {
+            return 22.0;
+        }
+        double heightM = height / 100.0;
+        return weight / (heightM * heightM);
+    }
+
+    private static double clamp(double value, double min, double max) {
+        return Math.max(min, Math.min(max, value));
+    }
+
+    /** The scaler and one tree ensemble per disease. */
+    private static final class Models {
+        final double[] means;
+        final double[] scales;
+        final Ensemble[] ensembles;
+
+        private Models(double[] means, double[] scales, Ensemble[] ensembles) {
+            this.means = means;
+            this.scales = scales;
+            this.ensembles = ensembles;
+        }
+
+        static synchronized Models get() throws IOException {
+            if (models == null) {
+                models = load();
+            }
+            return models;
+        }
+
+        private static Models load() throws IOException {
+            JsonNode root;
+            try (InputStream in = RiskScoringEngine.class.getResourceAsStream(DATASET)) {
+                if (in == null) {
+                    throw new IOException("Risk models not found: " + DATASET + " (run export_risk_models.py)");
+                }
+                root = new ObjectMapper().readTree(in);
+            }
+            JsonNode names = root.path("features");
+            boolean sameFeatures = names.size() == FEATURE_COUNT;
+            for (int i = 0; sameFeatures && i < FEATURE_COUNT; i++) {
+                sameFeatures = FEATURES.get(i).equals(names.get(i).asText());
+            }
+            if (!sameFeatures) {
+                throw new IOException("Risk models were exported for different features: " + names);
+            }
+            double[] means = doubles(root.path("scaler").path("mean"));
+            double[] scales = doubles(root.path("scaler").path("scale"));
+            if (means.length != FEATURE_COUNT || scales.length != FEATURE_COUNT) {
+                throw new IOException("Risk model scaler does not cover " + FEATURE_COUNT + " features");
+            }
+            Ensemble[] ensembles = new Ensemble[MODEL_NAMES.length];
+            for (int m = 0; m < MODEL_NAMES.length; m++) {
+                JsonNode model = root.path("models").path(MODEL_NAMES[m]);
+                if (model.isMissingNode()) {
+                    throw new IOException("Risk model missing: " + MODEL_NAMES[m]);
+                }
+                ensembles[m] = Ensemble.from(model);
+            }
+            return new Models(means, scales, ensembles);
+        }
+    }
+
+    /**
+     * Boosted trees with every node in shared arrays. Thresholds and leaf values are floats and
+     * scaled inputs are rounded to float before comparing, as XGBoost evaluates them.
+     */
+    private static final class Ensemble {
+        final double baseMargin;
+        final int[] roots;
+        final int[] feature;
+        final float[] threshold;
+        final int[] left;
+        final int[] right;
+        final boolean[] defaultLeft;
+        final float[] value;
+
+        private Ensemble(double baseMargin, int[] roots, int[] feature, float[] threshold,
+                         int[] left, int[] right, boolean[] defaultLeft, float[] value) {
+            this.baseMargin = baseMargin;
+            this.roots = roots;
+            this.feature = feature;
+            this.threshold = threshold;
+            this.left = left;
+            this.right = right;
+            this.defaultLeft = defaultLeft;
+            this.value = value;
+        }
+
+        double probability(double[] features, double[] means, double[] scales) {
+            double margin = baseMargin;
+            for (int root : roots) {
+                int node = root;
+                while (left[node] >= 0) {
+                    int f = feature[node];
+                    double scaled = (features[f] - means[f]) / scales[f];
+                    if (Double.isNaN(scaled)) {
+                        node = defaultLeft[node] ? left[node] : right[node];
+                    } else {
+                        node = (float) scaled < threshold[node] ? left[node] : right[node];
+                    }
+                }
+                margin += value[node];
+            }
+            return 1.0 / (1.0 + Math.exp(-margin));
+        }
+
+        static Ensemble from(JsonNode model) throws IOException {
+            int[] feature = ints(model.path("feature"));
+            int nodes = feature.length;
+            float[] threshold = floats(model.path("threshold"));
+            int[] left = ints(model.path("left"));
+            int[] right = ints(model.path("right"));
+            float[] value = floats(model.path("value"));
+            JsonNode defaults = model.path("default_left");
+            boolean[] defaultLeft = new boolean[defaults.size()];
+            for (int i = 0; i < defaultLeft.length; i++) {
+                defaultLeft[i] = defaults.get(i).asBoolean();
+            }
+            if (threshold.length != nodes || left.length != nodes || right.length != nodes
+                    || value.length != nodes || defaultLeft.length != nodes) {
+                throw new IOException("Risk model node arrays differ in length");
+            }
+            for (int i = 0; i < nodes; i++) {
+                if (left[i] >= nodes || right[i] >= nodes || (left[i] >= 0 && (right[i] < 0 || feature[i] >= FEATURE_COUNT))) {
+                    throw new IOException("Risk model has an invalid node: " + i);
+                }
+            }
+            int[] roots = ints(model.path("roots"));
+            for (int root : roots) {
+                if (root < 0 || root >= nodes) {
+                    throw new IOException("Risk model has an invalid tree root: " + root);
+                }
+            }
+            return new Ensemble(model.path("base_margin").asDouble(0), roots, feature, threshold,
+                left, right, defaultLeft, value);
+        }
+    }
+
+    private static double[] doubles(JsonNode array) {
+        double[] values = new double[array.size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = array.get(i).asDouble();
+        }
+        return values;
+    }
+
+    private static float[] floats(JsonNode array) {
+        float[] values = new float[array.size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = (float) array.get(i).asDouble();
+        }
+        return values;
+    }
+
+    private static int[] ints(JsonNode array) {
+        int[] values = new int[array.size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = array.get(i).asInt();
+        }
+        return values;
+    }
+}
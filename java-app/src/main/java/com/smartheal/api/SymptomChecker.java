@@ -0,0 +1,14 @@
+package com.smartheal.api;
+
+import com.smartheal.models.SymptomCheckResult;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Ranks possible conditions for a set of selected symptoms, best match first.
+ */
+public interface SymptomChecker {
+
+    List<SymptomCheckResult> checkSymptoms(List<String> symptomIds) throws IOException;
+}
@@ -0,0 +1,442 @@
+package com.smartheal.api;
+
+import com.smartheal.models.Disease;
+import com.smartheal.models.SimilarCondition;
+import com.smartheal.models.Symptom;
+import com.smartheal.models.SymptomCheckResult;
+import com.smartheal.models.SymptomConfidence;
+import com.smartheal.models.SymptomTriage;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * In-process symptom matcher over the disease-by-symptom dataset the backend model is trained
+ * on. Every dataset row and every disease's hallmark profile is held as a {@code long[]} bitset,
+ * so a check is a few hundred AND + popcount operations and answers in well under a millisecond
+ * without the backend. Results use the same model as {@link ApiClient#checkSymptoms}, but carry
+ * only what the matrix knows; the server remains the source of descriptions, treatments and advice.
+ */
+public class SymptomMatchEngine implements SymptomChecker {
+
+    private static final String DATASET = "/datasets/disease_symptoms.csv";
+    private static final String DISEASE_COLUMN = "disease";
+    // A symptom is a hallmark of a disease when at least this share of its rows report it
+    private static final double HALLMARK_PREVALENCE = 0.5;
+    private static final int MAX_CRITICAL = 3;
+    private static final int MAX_RESULTS = 5;
+    private static final int MAX_SIMILAR = 3;
+    private static final double MIN_PROBABILITY = 0.01;
+
+    // Same red flags and severities as symptom_predictor.py
+    private static final Set<String> RED_FLAG_SYMPTOMS = Set.of(
+        "Chest Pain", "Shortness of Breath", "Sudden Weakness", "Numbness",
+        "Confusion", "Severe Headache", "Difficulty Speaking", "Rapid Heartbeat",
+        "High Fever", "Severe Abdominal Pain", "Bloody Vomit", "Bloody Stool",
+        "Vision Problems", "Difficulty Breathing", "Loss of Consciousness");
+    private static final Map<String, String> SEVERITY = Map.of(
+        "Common Cold", "low",
+        "Pneumonia", "high",
+        "Hypertension", "high");
+
+    private final Matrix matrix;
+    // Ids of the backend's symptom catalog, which are positions rather than names
+    private volatile Map<String, String> namesById = Map.of();
+
+    public SymptomMatchEngine() throws IOException {
+        this.matrix = Matrix.get();
+    }
+
+    /** Maps the backend's symptom ids to names; ids not in the catalog are read as names. */
+    public void setSymptomCatalog(Collection<Symptom> symptoms) {
+        Map<String, String> map = new HashMap<>();
+        for (Symptom symptom : symptoms) {
+            if (symptom.getId() != null && symptom.getName() != null) {
+                map.put(symptom.getId(), symptom.getName());
+            }
+        }
+        namesById = map;
+    }
+
+    /** The dataset's symptoms, with the name as id, for use when the backend catalog is unavailable. */
+    public List<Symptom> getSymptoms() {
+        List<Symptom> symptoms = new ArrayList<>(matrix.symptoms.length);
+        for (String name : matrix.symptoms) {
+            symptoms.add(new Symptom(name, name, "General", null));
+        }
+        return symptoms;
+    }
+
+    Matrix matrix() {
+        return matrix;
+    }
+
+    // Dataset column of a symptom id or name, or -1 when the dataset does not have it
+    int column(String symptomId) {
+        Integer column = matrix.columns.get(namesById.getOrDefault(symptomId, symptomId));
+        return column != null ? column : -1;
+    }
+
+    @Override
+    public List<SymptomCheckResult> checkSymptoms(List<String> symptomIds) {
+        Map<String, String> names = namesById;
+        List<String> symptomNames = new ArrayList<>(symptomIds.size());
+        for (String id : symptomIds) {
+            symptomNames.add(names.getOrDefault(id, id));
+        }
+        return match(symptomNames);
+    }
+
+    /** Ranks diseases for the given symptom names; names outside the dataset only count as red flags. */
+    public List<SymptomCheckResult> match(List<String> symptomNames) {
+        long[] selected = new long[matrix.words];
+        for (String name : symptomNames) {
+            Integer column = matrix.columns.get(name);
+            if (column != null) {
+                selected[column >>> 6] |= 1L << column;
+            }
+        }
+        int selectedCount = popcount(selected, 0, selected.length);
+        if (selectedCount == 0) {
+            return List.of();
+        }
+
+        double[] probabilities = matrix.score(selected, selectedCount);
+        Integer[] order = new Integer[probabilities.length];
+        for (int d = 0; d < order.length; d++) {
+            order[d] = d;
+        }
+        Arrays.sort(order, (a, b) -> Double.compare(probabilities[b], probabilities[a]));
+
+        List<String> redFlags = new ArrayList<>();
+        for (String name : symptomNames) {
+            if (RED_FLAG_SYMPTOMS.contains(name) && !redFlags.contains(name)) {
+                redFlags.add(name);
+            }
+        }
+        redFlags.sort(null);
+
+        List<SymptomCheckResult> results = new ArrayList<>();
+        for (int rank = 0; rank < Math.min(MAX_RESULTS, order.length); rank++) {
+            int disease = order[rank];
+            if (probabilities[disease] <= MIN_PROBABILITY) {
+                break;
+            }
+            results.add(buildResult(disease, selected, probabilities, order, redFlags));
+        }
+        return results;
+    }
+
+    private SymptomCheckResult buildResult(int d, long[] selected, double[] probabilities,
+                                           Integer[] order, List<String> redFlags) {
+        int words = matrix.words;
+        int base = d * words;
+        long[] matched = new long[words];
+        long[] missing = new long[words];
+        long[] criticalMissing = new long[words];
+        for (int w = 0; w < words; w++) {
+            matched[w] = selected[w] & matrix.profiles[base + w];
+            missing[w] = matrix.profiles[base + w] & ~selected[w];
+            criticalMissing[w] = matrix.critical[base + w] & ~selected[w];
+        }
+        int profileSize = matrix.profileSizes[d];
+        double probability = probabilities[d];
+        double coverage = (double) popcount(matched, 0, words) / Math.max(profileSize, 1);
+        String name = matrix.diseases[d];
+        String severity = SEVERITY.getOrDefault(name, "moderate");
+
+        Disease disease = new Disease();
+        disease.setId(name);
+        disease.setName(name);
+        disease.setSeverity(severity);
+        disease.setDescription("Matched on this device from the symptom dataset. Full details appear when the analysis server responds.");
+        disease.setSymptoms(matrix.names(matrix.profiles, base));
+        disease.setTreatments(List.of());
+        disease.setWhenToSeekHelp("Consult a qualified healthcare provider.");
+
+        SymptomCheckResult result = new SymptomCheckResult();
+        result.setDisease(disease);
+        result.setMatchPercentage(round(probability * 100, 2));
+        result.setMatchedSymptoms(matrix.names(matched, 0));
+        result.setMissingSymptoms(matrix.names(missing, 0));
+        List<String> missingCritical = matrix.names(criticalMissing, 0);
+        result.setCriticalSymptomsMissing(missingCritical);
+        result.setSymptomCoverage(round(coverage * 100, 1));
+        result.setConfidence(confidence(probability, coverage, popcount(matched, 0, words), profileSize));
+        result.setTriage(triage(severity, redFlags, missingCritical));
+        result.setRedFlags(redFlags);
+
+        List<SimilarCondition> similar = new ArrayList<>();
+        for (int i = 0; i < order.length && similar.size() < MAX_SIMILAR; i++) {
+            int other = order[i];
+            if (other != d && probabilities[other] > MIN_PROBABILITY / 2) {
+                SimilarCondition condition = new SimilarCondition();
+                condition.setName(matrix.diseases[other]);
+                condition.setMatchPercentage(round(probabilities[other] * 100, 2));
+                similar.add(condition);
+            }
+        }
+        result.setSimilarConditions(similar);
+        return result;
+    }
+
+    // Blends model probability and hallmark coverage as the backend does
+    private static SymptomConfidence confidence(double probability, double coverage, int matched, int profileSize) {
+        double score = probability * 0.6 + coverage * 0.4;
+        String level;
+        if (probability < 0.05 && coverage < 0.25) {
+            level = "Low";
+        } else if (score >= 0.7) {
+            level = "High";
+        } else if (score >= 0.45) {
+            level = "Moderate";
+        } else {
+            level = "Low";
+        }
+        SymptomConfidence confidence = new SymptomConfidence();
+        confidence.setScore(round(score * 100, 1));
+        confidence.setLevel(level);
+        confidence.setModelProbability(round(probability * 100, 1));
+        confidence.setSymptomCoverage(round(coverage * 100, 1));
+        confidence.setExplanation(String.format("Matches %d of %d hallmark symptoms with dataset similarity %.1f%%.",
+            matched, profileSize, probability * 100));
+        return confidence;
+    }
+
+    private static SymptomTriage triage(String severity, List<String> redFlags, List<String> missingCritical) {
+        SymptomTriage triage = new SymptomTriage();
+        if (!redFlags.isEmpty()) {
+            triage.setLevel("Emergency");
+            triage.setColor("#dc2626");
+            triage.setMessage("Emergency warning signs detected (" + String.join(", ", redFlags)
+                + "). Seek immediate medical attention or call emergency services.");
+        } else if ("high".equals(severity)) {
+            triage.setLevel("Urgent");
+            triage.setColor("#f97316");
+            triage.setMessage("Potentially serious condition detected. Arrange urgent medical review within 24 hours.");
+        } else if (!missingCritical.isEmpty()) {
+            triage.setLevel("Priority");
+            triage.setColor("#facc15");
+            triage.setMessage("Key hallmark symptoms (" + String.join(", ", missingCritical)
+                + ") are not reported. Consider medical visit soon to rule out complications.");
+        } else if ("moderate".equals(severity)) {
+            triage.setLevel("Priority");
+            triage.setColor("#22c55e");
+            triage.setMessage("Arrange a consultation in the next few days to confirm diagnosis and start treatment.");
+        } else {
+            triage.setLevel("Routine");
+            triage.setColor("#0ea5e9");
+            triage.setMessage("Monitor symptoms and schedule a routine consultation for confirmation.");
+        }
+        return triage;
+    }
+
+    static int popcount(long[] bits, int from, int to) {
+        int count = 0;
+        for (int i = from; i < to; i++) {
+            count += Long.bitCount(bits[i]);
+        }
+        return count;
+    }
+
+    private static double round(double value, int places) {
+        double scale = Math.pow(10, places);
+        return Math.round(value * scale) / scale;
+    }
+
+    /**
+     * The dataset as bitsets: one per row, plus each disease's hallmark and critical symptoms.
+     * Loaded once per process and read-only afterwards.
+     */
+    static final class Matrix {
+        private static Matrix instance;
+
+        final String[] symptoms;
+        final String[] diseases;
+        final Map<String, Integer> columns;
+        final int words;
+        final long[] rows;
+        final int[] rowSizes;
+        final int[] rowDiseases;
+        final long[] profiles;
+        final int[] profileSizes;
+        final long[] critical;
+        // Rows of each disease reporting each symptom, symptom-major: [symptom * diseases + disease]
+        final int[] symptomCounts;
+        final int[] diseaseRows;
+
+        static synchronized Matrix get() throws IOException {
+            if (instance == null) {
+                instance = load();
+            }
+            return instance;
+        }
+
+        private Matrix(String[] symptoms, String[] diseases, List<long[]> rowBits, List<Integer> rowDiseaseList) {
+            this.symptoms = symptoms;
+            this.diseases = diseases;
+            this.words = (symptoms.length + 63) >>> 6;
+            this.columns = new HashMap<>();
+            for (int i = 0; i < symptoms.length; i++) {
+                columns.put(symptoms[i], i);
+            }
+
+            int rowCount = rowBits.size();
+            this.rows = new long[rowCount * words];
+            this.rowSizes = new int[rowCount];
+            this.rowDiseases = new int[rowCount];
+            this.diseaseRows = new int[diseases.length];
+            int[][] prevalence = new int[diseases.length][symptoms.length];
+            for (int r = 0; r < rowCount; r++) {
+                long[] bits = rowBits.get(r);
+                System.arraycopy(bits, 0, rows, r * words, words);
+                rowSizes[r] = popcount(bits, 0, words);
+                int d = rowDiseaseList.get(r);
+                rowDiseases[r] = d;
+                diseaseRows[d]++;
+                for (int s = 0; s < symptoms.length; s++) {
+                    if ((bits[s >>> 6] & (1L << s)) != 0) {
+                        prevalence[d][s]++;
+                    }
+                }
+            }
+
+            this.symptomCounts = new int[symptoms.length * diseases.length];
+            for (int d = 0; d < diseases.length; d++) {
+                for (int s = 0; s < symptoms.length; s++) {
+                    symptomCounts[s * diseases.length + d] = prevalence[d][s];
+                }
+            }
+
+            this.profiles = new long[diseases.length * words];
+            this.profileSizes = new int[diseases.length];
+            int[] hallmarkOf = new int[symptoms.length];
+            for (int d = 0; d < diseases.length; d++) {
+                for (int s = 0; s < symptoms.length; s++) {
+                    if (prevalence[d][s] >= HALLMARK_PREVALENCE * diseaseRows[d]) {
+                        profiles[d * words + (s >>> 6)] |= 1L << s;
+                        profileSizes[d]++;
+                        hallmarkOf[s]++;
+                    }
+                }
+            }
+
+            // Critical symptoms are the hallmarks shared by the fewest other diseases
+            this.critical = new long[diseases.length * words];
+            for (int d = 0; d < diseases.length; d++) {
+                List<Integer> hallmarks = new ArrayList<>();
+                for (int s = 0; s < symptoms.length; s++) {
+                    if ((profiles[d * words + (s >>> 6)] & (1L << s)) != 0) {
+                        hallmarks.add(s);
+                    }
+                }
+                hallmarks.sort((a, b) -> Integer.compare(hallmarkOf[a], hallmarkOf[b]));
+                for (int i = 0; i < Math.min(MAX_CRITICAL, hallmarks.size()); i++) {
+                    int s = hallmarks.get(i);
+                    critical[d * words + (s >>> 6)] |= 1L << s;
+                }
+            }
+        }
+
+        /**
+         * Probability-like share per disease: the sum over its rows of the squared Jaccard
+         * similarity between the selection and the row, normalised over all diseases.
+         */
+        double[] score(long[] selected, int selectedCount) {
+            double[] scores = new double[diseases.length];
+            for (int r = 0; r < rowSizes.length; r++) {
+                int base = r * words;
+                int shared = 0;
+                for (int w = 0; w < words; w++) {
+                    shared += Long.bitCount(selected[w] & rows[base + w]);
+                }
+                if (shared > 0) {
+                    double jaccard = (double) shared / (selectedCount + rowSizes[r] - shared);
+                    scores[rowDiseases[r]] += jaccard * jaccard;
+                }
+            }
+            double total = 0;
+            for (double score : scores) {
+                total += score;
+            }
+            if (total > 0) {
+                for (int d = 0; d < scores.length; d++) {
+                    scores[d] /= total;
+                }
+            }
+            return scores;
+        }
+
+        List<String> names(long[] bits, int base) {
+            List<String> names = new ArrayList<>();
+            for (int w = 0; w < words; w++) {
+                long word = bits[base + w];
+                while (word != 0) {
+                    names.add(symptoms[(w << 6) + Long.numberOfTrailingZeros(word)]);
+                    word &= word - 1;
+                }
+            }
+            return names;
+        }
+
+        private static Matrix load() throws IOException {
+            InputStream in = SymptomMatchEngine.class.getResourceAsStream(DATASET);
+            if (in == null) {
+                throw new IOException("Symptom dataset not found: " + DATASET);
+            }
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+                String header = reader.readLine();
+                if (header == null) {
+                    throw new IOException("Symptom dataset is empty: " + DATASET);
+                }
+                String[] columnNames = header.split(",");
+                int diseaseColumn = Arrays.asList(columnNames).indexOf(DISEASE_COLUMN);
+                if (diseaseColumn < 0) {
+                    throw new IOException("Symptom dataset has no '" + DISEASE_COLUMN + "' column");
+                }
+                String[] symptoms = new String[columnNames.length - 1];
+                int[] symptomOfColumn = new int[columnNames.length];
+                for (int c = 0, s = 0; c < columnNames.length; c++) {
+                    symptomOfColumn[c] = c == diseaseColumn ? -1 : s;
+                    if (c != diseaseColumn) {
+                        symptoms[s++] = columnNames[c].trim();
+                    }
+                }
+
+                int words = (symptoms.length + 63) >>> 6;
+                Map<String, Integer> diseaseIds = new LinkedHashMap<>();
+                List<long[]> rowBits = new ArrayList<>();
+                List<Integer> rowDiseases = new ArrayList<>();
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    String[] cells = line.split(",");
+                    if (cells.length != columnNames.length) {
+                        continue;
+                    }
+                    long[] bits = new long[words];
+                    for (int c = 0; c < cells.length; c++) {
+                        int s = symptomOfColumn[c];
+                        if (s >= 0 && "1".equals(cells[c].trim())) {
+                            bits[s >>> 6] |= 1L << s;
+                        }
+                    }
+                    String disease = cells[diseaseColumn].trim();
+                    rowBits.add(bits);
+                    rowDiseases.add(diseaseIds.computeIfAbsent(disease, k -> diseaseIds.size()));
+                }
+                return new Matrix(symptoms, diseaseIds.keySet().toArray(new String[0]), rowBits, rowDiseases);
+            }
+        }
+    }
+}
@@ -0,0 +1,207 @@
+package com.smartheal.api;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.smartheal.models.Disease;
+import com.smartheal.models.TestRecommendation;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Recommended tests and tests to avoid per disease. test_mapping.json is loaded once into an
+ * immutable index by disease id and name, so the diseases it covers are answered without the
+ * backend. Any other disease is fetched from /api/tests once and cached; when the backend cannot
+ * be reached, the mapping's general guidance stands in.
+ */
+public class TestRecommendationService {
+
+    private static final String DATASET = "/datasets/test_mapping.json";
+    private static final String GENERAL_KEY = "default";
+
+    private static Mapping mapping;
+
+    private final ApiClient apiClient;
+    private final Mapping local;
+    // Backend answers by disease id
+    private final Map<String, Entry> fetched = new ConcurrentHashMap<>();
+
+    public TestRecommendationService(ApiClient apiClient) {
+        this.apiClient = apiClient;
+        Mapping loaded;
+        try {
+            loaded = Mapping.get();
+        } catch (IOException e) {
+            System.err.println("Local test recommendations unavailable: " + e.getMessage());
+            loaded = new Mapping(Map.of(), Map.of(), List.of(), null);
+        }
+        this.local = loaded;
+    }
+
+    /**
+     * Recommendations known without a request, or null. The name is matched first, since the
+     * backend's disease ids are positions in its catalog and need not match the mapping's.
+     */
+    public TestRecommendation find(String diseaseId, String diseaseName) {
+        Entry entry = diseaseName != null ? local.byName.get(normalize(diseaseName)) : null;
+        if (entry == null && diseaseId != null) {
+            entry = fetched.get(diseaseId);
+            if (entry == null && diseaseName == null) {
+                entry = local.byId.get(diseaseId);
+            }
+        }
+        return entry != null ? entry.toModel(diseaseId) : null;
+    }
+
+    /** Recommendations for a disease: local, cached, or fetched from the backend and cached. */
+    public TestRecommendation getTestRecommendations(String diseaseId, String diseaseName) throws IOException {
+        TestRecommendation known = find(diseaseId, diseaseName);
+        if (known != null) {
+            return known;
+        }
+        if (diseaseId == null) {
+            return general(null, diseaseName);
+        }
+        try {
+            Entry entry = Entry.of(apiClient.getTestRecommendations(diseaseId));
+            fetched.put(diseaseId, entry);
+            return entry.toModel(diseaseId);
+        } catch (IOException e) {
+            TestRecommendation general = general(diseaseId, diseaseName);
+            if (general == null) {
+                throw e;
+            }
+            System.err.println("Test recommendations unavailable, showing general guidance: " + e.getMessage());
+            return general;
+        }
+    }
+
+    /** Diseases the local mapping covers, in file order. */
+    public List<Disease> getDiseases() {
+        List<Disease> diseases = new ArrayList<>();
+        for (Entry entry : local.entries) {
+            Disease disease = new Disease();
+            disease.setId(entry.id());
+            disease.setName(entry.diseaseName());
+            diseases.add(disease);
+        }
+        return diseases;
+    }
+
+    private TestRecommendation general(String diseaseId, String diseaseName) {
+        if (local.general == null) {
+            return null;
+        }
+        TestRecommendation general = local.general.toModel(diseaseId);
+        if (diseaseName != null) {
+            general.setDiseaseName(diseaseName);
+        }
+        return general;
+    }
+
+    private static String normalize(String name) {
+        return name.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private record Test(String id, String name, String description, String purpose, String costRange, String preparation) {
+
+        static Test of(TestRecommendation.MedicalTest test) {
+            return new Test(test.getId(), test.getName(), test.getDescription(), test.getPurpose(),
+                test.getCostRange(), test.getPreparation());
+        }
+
+        TestRecommendation.MedicalTest toModel() {
+            TestRecommendation.MedicalTest test = new TestRecommendation.MedicalTest();
+            test.setId(id);
+            test.setName(name);
+            test.setDescription(description);
+            test.setPurpose(purpose);
+            test.setCostRange(costRange);
+            test.setPreparation(preparation);
+            return test;
+        }
+    }
+
+    // Immutable copy of one disease's recommendations; callers get fresh models to change as they like
+    private record Entry(String id, String diseaseName, String reasoning, List<Test> recommended, List<Test> avoid) {
+
+        static Entry of(TestRecommendation recommendation) {
+            return new Entry(recommendation.getDiseaseId(), recommendation.getDiseaseName(),
+                recommendation.getReasoning(), tests(recommendation.getRecommendedTests()),
+                tests(recommendation.getTestsToAvoid()));
+        }
+
+        private static List<Test> tests(List<TestRecommendation.MedicalTest> tests) {
+            List<Test> copies = new ArrayList<>();
+            if (tests != null) {
+                for (TestRecommendation.MedicalTest test : tests) {
+                    copies.add(Test.of(test));
+                }
+            }
+            return List.copyOf(copies);
+        }
+
+        TestRecommendation toModel(String requestedId) {
+            TestRecommendation recommendation = new TestRecommendation();
+            recommendation.setDiseaseId(requestedId != null ? requestedId : id);
+            recommendation.setDiseaseName(diseaseName);
+            recommendation.setReasoning(reasoning);
+            List<TestRecommendation.MedicalTest> recommendedTests = new ArrayList<>();
+            for (Test test : recommended) {
+                recommendedTests.add(test.toModel());
+            }
+            List<TestRecommendation.MedicalTest> testsToAvoid = new ArrayList<>();
+            for (Test test : avoid) {
+                testsToAvoid.add(test.toModel());
+            }
+            recommendation.setRecommendedTests(recommendedTests);
+            recommendation.setTestsToAvoid(testsToAvoid);
+            return recommendation;
+        }
+    }
+
+    private record Mapping(Map<String, Entry> byId, Map<String, Entry> byName, List<Entry> entries, Entry general) {
+
+        static synchronized Mapping get() throws IOException {
+            if (mapping == null) {
+                mapping = load();
+            }
+            return mapping;
+        }
+
+        private static Mapping load() throws IOException {
+            Map<String, TestRecommendation> raw;
+            try (InputStream in = TestRecommendationService.class.getResourceAsStream(DATASET)) {
+                if (in == null) {
+                    throw new IOException("Test mapping not found: " + DATASET);
+                }
+                raw = new ObjectMapper().readValue(in, new TypeReference<LinkedHashMap<String, TestRecommendation>>() {});
+            }
+            Map<String, Entry> byId = new HashMap<>();
+            Map<String, Entry> byName = new HashMap<>();
+            List<Entry> entries = new ArrayList<>();
+            Entry general = null;
+            for (Map.Entry<String, TestRecommendation> item : raw.entrySet()) {
+                item.getValue().setDiseaseId(item.getKey());
+                Entry entry = Entry.of(item.getValue());
+                if (GENERAL_KEY.equals(item.getKey())) {
+                    general = entry;
+                    continue;
+                }
+                byId.put(item.getKey(), entry);
+                if (entry.diseaseName() != null) {
+                    byName.putIfAbsent(normalize(entry.diseaseName()), entry);
+                }
+                entries.add(entry);
+            }
+            return new Mapping(Map.copyOf(byId), Map.copyOf(byName), List.copyOf(entries), general);
+        }
+    }
+}
@@ -0,0 +1,224 @@
+package com.smartheal.api;
+
+import com.smartheal.models.RiskAssessment;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * What-if scoring around one assessed profile. Each update scores the lifestyle the user has
+ * dialled in together with one variation per habit that could still improve, so the risk
+ * reduction of every change is measured by the model rather than estimated. All scenarios of an
+ * update are scored at once: in-process when the exported risk models are bundled, otherwise in
+ * a single /risk-assessment/batch request.
+ */
+public class WhatIfSimulator {
+
+    // BMI above which weight management is suggested, and the targets risk_predictor.py uses
+    private static final double OVERWEIGHT_BMI = 25;
+    private static final double OBESE_BMI = 30;
+    private static final double OBESE_TARGET_BMI = 28;
+    private static final double TARGET_SLEEP_HOURS = 8;
+    // Lightest weight the risk models accept, as in /api/risk-assessment
+    private static final double MIN_WEIGHT_KG = 30;
+
+    /** The adjustable inputs; exercise, stress, diet and alcohol are levels 0-2. */
+    public record Lifestyle(double weight, int exercise, double sleepHours, int stressLevel,
+                            int dietQuality, int alcohol, boolean smoking) {
+
+        Lifestyle withWeight(double value) {
+            return new Lifestyle(value, exercise, sleepHours, stressLevel, dietQuality, alcohol, smoking);
+        }
+
+        Lifestyle withExercise(int value) {
+            return new Lifestyle(weight, value, sleepHours, stressLevel, dietQuality, alcohol, smoking);
+        }
+
+        Lifestyle withSleepHours(double value) {
+            return new Lifestyle(weight, exercise, value, stressLevel, dietQuality, alcohol, smoking);
+        }
+
+        Lifestyle withStressLevel(int value) {
+            return new Lifestyle(weight, exercise, sleepHours, value, dietQuality, alcohol, smoking);
+        }
+
+        Lifestyle withDietQuality(int value) {
+            return new Lifestyle(weight, exercise, sleepHours, stressLevel, value, alcohol, smoking);
+        }
+
+        Lifestyle withAlcohol(int value) {
+            return new Lifestyle(weight, exercise, sleepHours, stressLevel, dietQuality, value, smoking);
+        }
+
+        Lifestyle withSmoking(boolean value) {
+            return new Lifestyle(weight, exercise, sleepHours, stressLevel, dietQuality, alcohol, value);
+        }
+    }
+
+    /** One habit changed from a lifestyle; keys match the server's risk_reduction keys. */
+    public record Scenario(String key, String description, Lifestyle lifestyle) {
+    }
+
+    /** Risks of the lifestyle itself, and percentage points each scenario takes off them. */
+    public record Outcome(RiskAssessment risks, Map<String, Object> reductions) {
+    }
+
+    private final ApiClient apiClient;
+    private final RiskScoringEngine engine;
+    private final int age;
+    private final double height;
+    private final List<String> symptoms;
+    private final List<String> familyHistory;
+    private final Lifestyle baseline;
+    private final RiskAssessment baselineRisks;
+
+    /**
+     * @param engine the in-process models, or null to score through the backend
+     * @param baselineRisks the assessment of the baseline lifestyle, which changes are compared against
+     */
+    public WhatIfSimulator(ApiClient apiClient, RiskScoringEngine engine, int age, double height,
+                           List<String> symptoms, List<String> familyHistory,
+                           Lifestyle baseline, RiskAssessment baselineRisks) {
+        this.apiClient = apiClient;
+        this.engine = engine;
+        this.age = age;
+        this.height = height;
+        this.symptoms = List.copyOf(symptoms);
+        this.familyHistory = List.copyOf(familyHistory);
+        this.baseline = baseline;
+        this.baselineRisks = baselineRisks;
+    }
+
+    public Lifestyle getBaseline() {
+        return baseline;
+    }
+
+    public RiskAssessment getBaselineRisks() {
+        return baselineRisks;
+    }
+
+    /** Whether {@link #simulate} runs in-process, cheap enough for the FX thread. */
+    public boolean isLocal() {
+        return engine != null;
+    }
+
+    /** Scores a lifestyle and its improvements in one pass. Blocks on the backend unless local. */
+    public Outcome simulate(Lifestyle lifestyle) throws IOException {
+        List<Scenario> scenarios = improvements(lifestyle);
+        List<Lifestyle> lifestyles = new ArrayList<>();
+        lifestyles.add(lifestyle);
+        for (Scenario scenario : scenarios) {
+            lifestyles.add(scenario.lifestyle());
+        }
+        List<RiskAssessment> scored = score(lifestyles);
+
+        RiskAssessment current = scored.get(0);
+        if (current == null) {
+            throw new IOException("The backend rejected this profile");
+        }
+        Map<String, Object> reductions = new LinkedHashMap<>();
+        for (int i = 0; i < scenarios.size(); i++) {
+            RiskAssessment improved = scored.get(i + 1);
+            if (improved == null) {
+                continue;
+            }
+            int diabetes = Math.max(0, current.getDiabetesRisk() - improved.getDiabetesRisk());
+            int heart = Math.max(0, current.getHeartRisk() - improved.getHeartRisk());
+            int hypertension = Math.max(0, current.getHypertensionRisk() - improved.getHypertensionRisk());
+            // Changes the model sees no benefit in are left off the card
+            if (diabetes + heart + hypertension == 0) {
+                continue;
+            }
+            Map<String, Object> reduction = new HashMap<>();
+            reduction.put("diabetes", diabetes);
+            reduction.put("heart_disease", heart);
+            reduction.put("hypertension", hypertension);
+            reduction.put("description", scenarios.get(i).description());
+            reductions.put(scenarios.get(i).key(), reduction);
+        }
+        return new Outcome(current, reductions);
+    }
+
+    /** The single-habit improvements worth scoring from a lifestyle. */
+    public List<Scenario> improvements(Lifestyle lifestyle) {
+        List<Scenario> scenarios = new ArrayList<>();
+        if (lifestyle.smoking()) {
+            scenarios.add(new Scenario("quit_smoking",
+                "Quitting smoking can significantly reduce cardiovascular risks",
+                lifestyle.withSmoking(false)));
+        }
+        if (lifestyle.exercise() < 2) {
+            scenarios.add(new Scenario("increase_exercise", lifestyle.exercise() == 0
+                    ? "Regular exercise (150+ min/week) can reduce multiple health risks"
+                    : "Increasing exercise intensity can provide additional benefits",
+                lifestyle.withExercise(lifestyle.exercise() + 1)));
+        }
+        if (lifestyle.dietQuality() < 2) {
+            scenarios.add(new Scenario("improve_diet",
+                "Improving diet quality (whole foods, less processed) reduces risks",
+                lifestyle.withDietQuality(2)));
+        }
+        if (lifestyle.stressLevel() > 1) {
+            scenarios.add(new Scenario("reduce_stress",
+                "Stress management can help control blood pressure and overall health",
+                lifestyle.withStressLevel(lifestyle.stressLevel() - 1)));
+        }
+        if (lifestyle.sleepHours() < 7) {
+            scenarios.add(new Scenario("improve_sleep",
+                "Adequate sleep (7-9 hours) supports metabolic and cardiovascular health",
+                lifestyle.withSleepHours(TARGET_SLEEP_HOURS)));
+        }
+        double heightM = height / 100.0;
+        double bmi = lifestyle.weight() / (heightM * heightM);
+        if (bmi > OVERWEIGHT_BMI) {
+            double target = bmi <= OBESE_BMI ? OVERWEIGHT_BMI : OBESE_TARGET_BMI;
+            // Short heights put the target weight below what the models accept
+            double targetWeight = Math.max(MIN_WEIGHT_KG, target * heightM * heightM);
+            if (targetWeight < lifestyle.weight()) {
+                scenarios.add(new Scenario("weight_management",
+                    String.format("Reducing BMI from %.1f to %.1f can significantly lower risks",
+                        bmi, targetWeight / (heightM * heightM)),
+                    lifestyle.withWeight(targetWeight)));
+            }
+        }
+        if (lifestyle.alcohol() > 0) {
+            scenarios.add(new Scenario("reduce_alcohol",
+                "Cutting down on alcohol helps blood pressure, blood sugar and heart health",
+                lifestyle.withAlcohol(lifestyle.alcohol() - 1)));
+        }
+        return scenarios;
+    }
+
+    private List<RiskAssessment> score(List<Lifestyle> lifestyles) throws IOException {
+        if (engine != null) {
+            List<RiskAssessment> scored = new ArrayList<>();
+            for (Lifestyle lifestyle : lifestyles) {
+                scored.add(engine.assessRisk(age, lifestyle.weight(), height, symptoms, familyHistory,
+                    lifestyle.smoking(), lifestyle.exercise(), lifestyle.alcohol(),
+                    lifestyle.sleepHours(), lifestyle.stressLevel(), lifestyle.dietQuality()));
+            }
+            return scored;
+        }
+        List<Map<String, Object>> profiles = new ArrayList<>();
+        for (Lifestyle lifestyle : lifestyles) {
+            Map<String, Object> profile = new HashMap<>();
+            profile.put("age", age);
+            profile.put("weight", lifestyle.weight());
+            profile.put("height", height);
+            profile.put("symptoms", symptoms);
+            profile.put("family_history", familyHistory);
+            profile.put("smoking", lifestyle.smoking());
+            profile.put("exercise", lifestyle.exercise());
+            profile.put("alcohol", lifestyle.alcohol());
+            profile.put("sleep_hours", lifestyle.sleepHours());
+            profile.put("stress_level", lifestyle.stressLevel());
+            profile.put("diet_quality", lifestyle.dietQuality());
+            profiles.add(profile);
+        }
+        return apiClient.assessRiskBatch(profiles);
+    }
+}
@@ -1,5 +1,6 @@
 package com.smartheal.components;
 
+import com.smartheal.utils.ThemeManager;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.Scene;
@@ -73,14 +74,13 @@ public class AboutDialog {
 
         // Close button
         Button closeButton = new Button("Close");
-        closeButton.setStyle("-fx-background-color: linear-gradient(to bottom, #0F766E, #14B8A6); -fx-text-fill: white; -fx-font-weight: bold; -fx-padding: 10 30; -fx-background-radius: 8; -fx-cursor: hand;");
+        closeButton.getStyleClass().add("dialog-close-button");
         closeButton.setOnAction(e -> dialog.close());
-        closeButton.setOnMouseEntered(e -> closeButton.setStyle("-fx-background-color: linear-gradient(to bottom, #14B8A6, #22D3EE); -fx-text-fill: white; -fx-font-weight: bold; -fx-padding: 10 30; -fx-background-radius: 8; -fx-cursor: hand;"));
-        closeButton.setOnMouseExited(e -> closeButton.setStyle("-fx-background-color: linear-gradient(to bottom, #0F766E, #14B8A6); -fx-text-fill: white; -fx-font-weight: bold; -fx-padding: 10 30; -fx-background-radius: 8; -fx-cursor: hand;"));
 
         root.getChildren().addAll(titleLabel, versionLabel, subtitleLabel, featuresBox, techLabel, disclaimerLabel, closeButton);
 
         Scene scene = new Scene(root, 500, 550);
+        ThemeManager.register(scene);
         dialog.setScene(scene);
         dialog.showAndWait();
     }
@@ -13,7 +13,8 @@ public class ConfidenceIndicator extends VBox {
     public ConfidenceIndicator(String diseaseName, JSONObject prediction) {
         super(8);
         setPadding(new Insets(12));
-        setStyle("-fx-background-color: white; -fx-border-color: #e0e0e0; -fx-border-radius: 6; -fx-background-radius: 6;");
+        getStyleClass().add("result-card");
+        setStyle("-fx-border-color: #e0e0e0; -fx-border-radius: 6; -fx-background-radius: 6;");
 
         double risk = prediction.optDouble("risk_percentage", 0.0);
         JSONObject confidence = prediction.optJSONObject("confidence_interval");
@@ -51,7 +52,8 @@ public class ConfidenceIndicator extends VBox {
 
         Label confidenceLabel = new Label(
                 String.format("Confidence Interval Width: %.1f%%", confidence.optDouble("width", 0.0)));
-        confidenceLabel.setStyle("-fx-text-fill: #666666; -fx-font-size: 12;");
+        confidenceLabel.getStyleClass().add("result-hint");
+        confidenceLabel.setStyle("-fx-font-size: 12;");
 
         getChildren().addAll(header, riskLabel, confidenceBar, confidenceLabel);
     }
@@ -0,0 +1,144 @@
+package com.smartheal.components;
+
+import javafx.application.Platform;
+import javafx.geometry.Bounds;
+import javafx.geometry.Pos;
+import javafx.scene.Node;
+import javafx.scene.control.ScrollPane;
+import javafx.scene.layout.Region;
+import javafx.scene.layout.StackPane;
+import javafx.scene.layout.VBox;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Vertical list of cards in a scroll pane that only keeps the cards near the viewport in the
+ * scene graph. A card is created the first time it comes near the viewport and kept afterwards,
+ * so its state (such as expanded details) survives scrolling away; a detached card leaves a
+ * spacer of its last height so the scroll position does not jump.
+ */
+public class LazyCardList<T> extends ScrollPane {
+
+    private static final double ESTIMATED_CARD_HEIGHT = 320;
+    // How far beyond the viewport, in viewport heights, cards stay attached
+    private static final double ATTACH_MARGIN = 1.0;
+
+    private final VBox content;
+    private final Function<T, Node> cardFactory;
+    private final List<Slot> slots = new ArrayList<>();
+    private boolean updateQueued = false;
+
+    public LazyCardList(Function<T, Node> cardFactory) {
+        this.cardFactory = cardFactory;
+        this.content = new VBox(15);
+        content.setAlignment(Pos.TOP_CENTER);
+        content.setFillWidth(true);
+        setContent(content);
+
+        vvalueProperty().addListener((obs, oldVal, newVal) -> queueUpdate());
+        viewportBoundsProperty().addListener((obs, oldVal, newVal) -> queueUpdate());
+        content.heightProperty().addListener((obs, oldVal, newVal) -> queueUpdate());
+    }
+
+    public VBox getContentBox() {
+        return content;
+    }
+
+    /**
+     * Shows the given items. Cards already built for the leading items (e.g. on a worker thread)
+     * are used as-is; the rest are created as they scroll into range.
+     */
+    public void setItems(List<T> items, List<? extends Node> prebuiltCards) {
+        slots.clear();
+        List<Node> children = new ArrayList<>(items.size());
+        for (int i = 0; i < items.size(); i++) {
+            Slot slot = new Slot(items.get(i), i < prebuiltCards.size() ? prebuiltCards.get(i) : null);
+            slots.add(slot);
+            children.add(slot);
+        }
+        content.getChildren().setAll(children);
+        // Prebuilt cards are the first screen; attach them before the first layout pass
+        for (int i = 0; i < prebuiltCards.size() && i < slots.size(); i++) {
+            slots.get(i).setAttached(true);
+        }
+        setVvalue(0.0);
+        queueUpdate();
+    }
+
+    public void setItems(List<T> items) {
+        setItems(items, List.of());
+    }
+
+    public void clear() {
+        slots.clear();
+        content.getChildren().clear();
+    }
+
+    // Scroll and resize events arrive during layout, so the scene graph is changed afterwards
+    private void queueUpdate() {
+        if (!updateQueued) {
+            updateQueued = true;
+            Platform.runLater(() -> {
+                updateQueued = false;
+                updateAttachedCards();
+            });
+        }
+    }
+
+    private void updateAttachedCards() {
+        Bounds viewport = getViewportBounds();
+        if (slots.isEmpty() || viewport == null || viewport.getHeight() <= 0) {
+            return;
+        }
+        double viewportHeight = viewport.getHeight();
+        double scrollable = Math.max(0, content.getHeight() - viewportHeight);
+        double top = scrollable * (getVvalue() - getVmin()) / Math.max(getVmax() - getVmin(), 1e-9);
+        double margin = viewportHeight * ATTACH_MARGIN;
+        double from = top - margin;
+        double to = top + viewportHeight + margin;
+
+        // Positions are summed rather than read from layout, since new slots may not be laid out yet
+        double y = content.getPadding().getTop();
+        for (Slot slot : slots) {
+            double height = slot.getHeight() > 0 ? slot.getHeight() : ESTIMATED_CARD_HEIGHT;
+            slot.setAttached(y + height >= from && y <= to);
+            y += height + content.getSpacing();
+        }
+    }
+
+    private final class Slot extends StackPane {
+        private final T item;
+        private Node card;
+        private boolean attached = false;
+
+        Slot(T item, Node card) {
+            this.item = item;
+            this.card = card;
+            setAlignment(Pos.TOP_CENTER);
+            setMinHeight(ESTIMATED_CARD_HEIGHT);
+            setPrefHeight(ESTIMATED_CARD_HEIGHT);
+        }
+
+        void setAttached(boolean attach) {
+            if (attach == attached) {
+                return;
+            }
+            attached = attach;
+            if (attach) {
+                if (card == null) {
+                    card = cardFactory.apply(item);
+                }
+                getChildren().setAll(card);
+                setMinHeight(Region.USE_COMPUTED_SIZE);
+                setPrefHeight(Region.USE_COMPUTED_SIZE);
+            } else {
+                double height = getHeight() > 0 ? getHeight() : ESTIMATED_CARD_HEIGHT;
+                setMinHeight(height);
+                setPrefHeight(height);
+                getChildren().clear();
+            }
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.smartheal.components;
+
+import com.smartheal.api.LiveSymptomRanking;
+import com.smartheal.utils.LanguageManager;
+import javafx.css.PseudoClass;
+import javafx.geometry.Pos;
+import javafx.scene.control.Label;
+import javafx.scene.control.ProgressBar;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.Priority;
+import javafx.scene.layout.VBox;
+
+/**
+ * Live preview of the most likely conditions while symptoms are being selected. The rows are
+ * created once and only their text and bars change as the ranking moves; the panel hides itself
+ * while nothing is ranked.
+ */
+public class LiveRankingPanel extends VBox {
+
+    private static final PseudoClass RISING = PseudoClass.getPseudoClass("rising");
+    private static final PseudoClass FALLING = PseudoClass.getPseudoClass("falling");
+    // Changes smaller than this, in score points, are not shown
+    private static final double MIN_SHOWN_CHANGE = 0.005;
+
+    private final Row[] rows;
+
+    public LiveRankingPanel(int k) {
+        super(6);
+        getStyleClass().add("live-ranking");
+
+        Label title = new Label("Live preview");
+        title.getStyleClass().add("live-ranking-title");
+        getChildren().add(title);
+
+        rows = new Row[k];
+        for (int i = 0; i < k; i++) {
+            rows[i] = new Row();
+            getChildren().add(rows[i]);
+        }
+        setVisible(false);
+        setManaged(false);
+    }
+
+    /** Shows the ranking as it stands; call after each toggle. */
+    public void update(LiveSymptomRanking ranking) {
+        int shown = Math.min(ranking.size(), rows.length);
+        boolean any = shown > 0;
+        setVisible(any);
+        setManaged(any);
+        for (int i = 0; i < rows.length; i++) {
+            if (i < shown) {
+                rows[i].show(ranking.getDisease(i), ranking.getScore(i), ranking.getChange(i));
+            } else {
+                rows[i].hide();
+            }
+        }
+    }
+
+    private static final class Row extends HBox {
+        private final Label nameLabel = new Label();
+        private final ProgressBar bar = new ProgressBar(0);
+        private final Label valueLabel = new Label();
+        private final Label changeLabel = new Label();
+
+        Row() {
+            super(8);
+            getStyleClass().add("live-ranking-row");
+            setAlignment(Pos.CENTER_LEFT);
+            nameLabel.getStyleClass().add("live-ranking-name");
+            nameLabel.setMinWidth(150);
+            bar.getStyleClass().add("live-ranking-bar");
+            bar.setMaxWidth(Double.MAX_VALUE);
+            HBox.setHgrow(bar, Priority.ALWAYS);
+            valueLabel.getStyleClass().add("live-ranking-value");
+            valueLabel.setMinWidth(45);
+            changeLabel.getStyleClass().add("live-ranking-change");
+            changeLabel.setMinWidth(55);
+            getChildren().addAll(nameLabel, bar, valueLabel, changeLabel);
+        }
+
+        void show(String disease, double score, double change) {
+            nameLabel.setText(LanguageManager.translate(disease));
+            bar.setProgress(score);
+            valueLabel.setText(Math.round(score * 100) + "%");
+            boolean rising = change >= MIN_SHOWN_CHANGE;
+            boolean falling = change <= -MIN_SHOWN_CHANGE;
+            changeLabel.setText(rising ? "▲ " + Math.round(change * 100)
+                : falling ? "▼ " + Math.round(-change * 100) : "");
+            changeLabel.pseudoClassStateChanged(RISING, rising);
+            changeLabel.pseudoClassStateChanged(FALLING, falling);
+            setVisible(true);
+            setManaged(true);
+        }
+
+        void hide() {
+            setVisible(false);
+            setManaged(false);
+        }
+    }
+}
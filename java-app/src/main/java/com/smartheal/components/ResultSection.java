@@ -0,0 +1,77 @@
+package com.smartheal.components;
+
+import javafx.scene.Node;
+import javafx.scene.layout.VBox;
+
+import java.util.Objects;
+import java.util.function.BiPredicate;
+import java.util.function.Function;
+
+/**
+ * Stable slot for one result card, bound to the slice of data it renders. The card is only
+ * rebuilt when a different slice arrives; while newer data is pending the existing card stays
+ * in place and is dimmed as stale, and a section without data is hidden.
+ */
+public class ResultSection<T> extends VBox {
+
+    private static final double STALE_OPACITY = 0.5;
+
+    private final Function<T, Node> renderer;
+    private final BiPredicate<T, T> sameData;
+    private T shownData;
+    private boolean stale = false;
+
+    public ResultSection(Function<T, Node> renderer) {
+        this(renderer, Objects::equals);
+    }
+
+    // For slices without value equality, such as org.json objects
+    public ResultSection(Function<T, Node> renderer, BiPredicate<T, T> sameData) {
+        this.renderer = renderer;
+        this.sameData = sameData;
+        setFillWidth(true);
+        setVisible(false);
+        setManaged(false);
+    }
+
+    /**
+     * Shows the given slice, rebuilding the card only if it differs from the one shown.
+     * Returns whether the card was rebuilt; a null slice hides the section.
+     */
+    public boolean update(T data) {
+        setStale(false);
+        if (data == null) {
+            clear();
+            return false;
+        }
+        if (shownData != null && sameData.test(shownData, data)) {
+            return false;
+        }
+        getChildren().setAll(renderer.apply(data));
+        shownData = data;
+        setVisible(true);
+        setManaged(true);
+        return true;
+    }
+
+    /** Dims the shown card until the next update confirms or replaces it; ignored while hidden. */
+    public void setStale(boolean value) {
+        value = value && shownData != null;
+        if (stale != value) {
+            stale = value;
+            setOpacity(value ? STALE_OPACITY : 1.0);
+        }
+    }
+
+    public boolean isStale() {
+        return stale;
+    }
+
+    public void clear() {
+        setStale(false);
+        shownData = null;
+        getChildren().clear();
+        setVisible(false);
+        setManaged(false);
+    }
+}
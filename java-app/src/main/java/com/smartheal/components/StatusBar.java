@@ -122,6 +122,13 @@ public class StatusBar extends HBox {
         }
     }
 
+    public void start() {
+        if (clockTimeline != null) {
+            updateTime();
+            clockTimeline.play();
+        }
+    }
+
     public void stop() {
         if (clockTimeline != null) {
             clockTimeline.stop();
@@ -0,0 +1,221 @@
+package com.smartheal.components;
+
+import com.smartheal.models.Symptom;
+import javafx.css.PseudoClass;
+import javafx.geometry.Orientation;
+import javafx.geometry.Pos;
+import javafx.scene.control.CheckBox;
+import javafx.scene.control.Label;
+import javafx.scene.control.OverrunStyle;
+import javafx.scene.control.ScrollBar;
+import javafx.scene.input.ScrollEvent;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.Pane;
+import javafx.scene.layout.Priority;
+import javafx.scene.layout.Region;
+import javafx.scene.shape.Rectangle;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Scrollable grid of selectable symptom chips that only creates nodes for the visible rows.
+ * Cells are recycled while scrolling and when the item list changes; a cell is only touched
+ * when the symptom, label or selection it shows actually differs.
+ */
+public class SymptomGrid extends Region {
+
+    private static final PseudoClass SELECTED = PseudoClass.getPseudoClass("selected");
+    private static final double CELL_WIDTH = 190;
+    private static final double CELL_HEIGHT = 38;
+    private static final double GAP = 10;
+    private static final double PADDING = 10;
+
+    private final Pane viewport = new Pane();
+    private final Rectangle clip = new Rectangle();
+    private final ScrollBar scrollBar = new ScrollBar();
+    private final List<SymptomCell> cells = new ArrayList<>();
+
+    private List<Symptom> items = Collections.emptyList();
+    private Predicate<String> selectedTest = id -> false;
+    private Function<Symptom, String> displayName = Symptom::getName;
+    private BiConsumer<Symptom, Boolean> onToggle;
+
+    public SymptomGrid() {
+        getStyleClass().add("symptom-grid");
+        viewport.setClip(clip);
+        scrollBar.setOrientation(Orientation.VERTICAL);
+        scrollBar.setMin(0);
+        scrollBar.valueProperty().addListener((obs, oldVal, newVal) -> requestLayout());
+        addEventHandler(ScrollEvent.SCROLL, e -> {
+            if (scrollBar.isVisible()) {
+                double value = scrollBar.getValue() - e.getDeltaY();
+                scrollBar.setValue(Math.max(0, Math.min(scrollBar.getMax(), value)));
+                e.consume();
+            }
+        });
+        getChildren().addAll(viewport, scrollBar);
+    }
+
+    public void setSelectedTest(Predicate<String> selectedTest) {
+        this.selectedTest = selectedTest;
+    }
+
+    public void setDisplayName(Function<Symptom, String> displayName) {
+        this.displayName = displayName;
+    }
+
+    // Called with the symptom and its new selection state when a chip is toggled
+    public void setOnToggle(BiConsumer<Symptom, Boolean> onToggle) {
+        this.onToggle = onToggle;
+    }
+
+    /** Replaces the shown symptoms, e.g. after the search filter changed. */
+    public void setItems(List<Symptom> newItems) {
+        if (newItems.equals(items)) {
+            return;
+        }
+        items = new ArrayList<>(newItems);
+        scrollBar.setValue(0);
+        requestLayout();
+    }
+
+    /** Re-syncs labels and selection of the visible cells. */
+    public void refresh() {
+        requestLayout();
+    }
+
+    @Override
+    protected void layoutChildren() {
+        double width = getWidth();
+        double height = getHeight();
+        double barWidth = scrollBar.prefWidth(-1);
+
+        double rowHeight = CELL_HEIGHT + GAP;
+        int columns = columnsFor(width);
+        boolean needsScroll = contentHeight(columns) > height;
+        if (needsScroll) {
+            columns = columnsFor(width - barWidth);
+        }
+        double contentHeight = contentHeight(columns);
+
+        scrollBar.setVisible(needsScroll);
+        if (needsScroll) {
+            scrollBar.setMax(contentHeight - height);
+            scrollBar.setVisibleAmount(height / contentHeight * (contentHeight - height));
+            scrollBar.setBlockIncrement(height);
+            scrollBar.setUnitIncrement(rowHeight);
+            scrollBar.resizeRelocate(width - barWidth, 0, barWidth, height);
+        } else if (scrollBar.getValue() != 0) {
+            scrollBar.setValue(0);
+        }
+
+        double viewportWidth = needsScroll ? width - barWidth : width;
+        viewport.resizeRelocate(0, 0, viewportWidth, height);
+        clip.setWidth(viewportWidth);
+        clip.setHeight(height);
+
+        double offset = scrollBar.getValue();
+        int firstRow = (int) Math.max(0, (offset - PADDING) / rowHeight);
+        int visibleRows = (int) Math.ceil(height / rowHeight) + 1;
+        int firstIndex = firstRow * columns;
+        int count = Math.max(0, Math.min(items.size() - firstIndex, visibleRows * columns));
+
+        while (cells.size() < count) {
+            SymptomCell cell = new SymptomCell();
+            cells.add(cell);
+            viewport.getChildren().add(cell);
+        }
+
+        for (int i = 0; i < cells.size(); i++) {
+            SymptomCell cell = cells.get(i);
+            if (i >= count) {
+                cell.setVisible(false);
+                continue;
+            }
+            int index = firstIndex + i;
+            Symptom symptom = items.get(index);
+            cell.update(symptom, displayName.apply(symptom), selectedTest.test(symptom.getId()));
+            cell.setVisible(true);
+
+            int row = index / columns;
+            int column = index % columns;
+            cell.resizeRelocate(
+                PADDING + column * (CELL_WIDTH + GAP),
+                PADDING + row * rowHeight - offset,
+                CELL_WIDTH,
+                CELL_HEIGHT
+            );
+        }
+    }
+
+    @Override
+    protected double computePrefWidth(double height) {
+        return PADDING * 2 + CELL_WIDTH * 2 + GAP;
+    }
+
+    @Override
+    protected double computePrefHeight(double width) {
+        return PADDING * 2 + CELL_HEIGHT * 4 + GAP * 3;
+    }
+
+    private double contentHeight(int columns) {
+        int rows = (items.size() + columns - 1) / columns;
+        return Math.max(0, rows * (CELL_HEIGHT + GAP) - GAP) + PADDING * 2;
+    }
+
+    private int columnsFor(double width) {
+        return Math.max(1, (int) ((width - PADDING * 2 + GAP) / (CELL_WIDTH + GAP)));
+    }
+
+    private class SymptomCell extends HBox {
+        private final CheckBox checkBox = new CheckBox();
+        private final Label nameLabel = new Label();
+        private Symptom symptom;
+        private String shownName;
+
+        SymptomCell() {
+            super(8);
+            getStyleClass().add("symptom-chip");
+            setAlignment(Pos.CENTER_LEFT);
+            nameLabel.getStyleClass().add("symptom-chip-label");
+            nameLabel.setTextOverrun(OverrunStyle.ELLIPSIS);
+            nameLabel.setMaxWidth(Double.MAX_VALUE);
+            HBox.setHgrow(nameLabel, Priority.ALWAYS);
+            getChildren().addAll(checkBox, nameLabel);
+
+            // The whole chip is the mouse target; the check box still toggles from the keyboard
+            checkBox.setMouseTransparent(true);
+            checkBox.setOnAction(e -> toggle(checkBox.isSelected()));
+            setOnMouseClicked(e -> {
+                if (symptom != null) {
+                    checkBox.setSelected(!checkBox.isSelected());
+                    toggle(checkBox.isSelected());
+                }
+            });
+        }
+
+        void update(Symptom newSymptom, String name, boolean selected) {
+            symptom = newSymptom;
+            if (!name.equals(shownName)) {
+                shownName = name;
+                nameLabel.setText(name);
+            }
+            if (checkBox.isSelected() != selected) {
+                checkBox.setSelected(selected);
+            }
+            pseudoClassStateChanged(SELECTED, selected);
+        }
+
+        private void toggle(boolean selected) {
+            pseudoClassStateChanged(SELECTED, selected);
+            if (onToggle != null && symptom != null) {
+                onToggle.accept(symptom, selected);
+            }
+        }
+    }
+}
@@ -0,0 +1,430 @@
+package com.smartheal.components;
+
+import com.smartheal.models.Disease;
+import com.smartheal.models.SimilarCondition;
+import com.smartheal.models.SymptomCheckResult;
+import com.smartheal.models.SymptomConfidence;
+import com.smartheal.models.SymptomTriage;
+import com.smartheal.utils.LanguageManager;
+import com.smartheal.utils.ModuleTaskScope;
+import javafx.application.Platform;
+import javafx.geometry.Pos;
+import javafx.scene.Node;
+import javafx.scene.control.Button;
+import javafx.scene.control.Label;
+import javafx.scene.control.ProgressBar;
+import javafx.scene.layout.FlowPane;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.VBox;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+import javafx.scene.text.FontWeight;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Result card for one possible condition. Shows a compact summary (name, severity, match,
+ * triage, description and red flags); the detail sections are only built the first time the
+ * card is expanded, on a worker thread when one is available. Safe to construct off the FX
+ * thread as long as the card is not yet in a scene.
+ */
+public class SymptomResultCard extends VBox {
+
+    private final SymptomCheckResult result;
+    private final ModuleTaskScope tasks;
+    private final Consumer<Disease> onShowTests;
+    private Button detailsButton;
+    private VBox details;
+    private boolean expanded = false;
+
+    public SymptomResultCard(SymptomCheckResult result, ModuleTaskScope tasks) {
+        this(result, tasks, null);
+    }
+
+    /** With a "Test guide" action that passes the card's disease to onShowTests. */
+    public SymptomResultCard(SymptomCheckResult result, ModuleTaskScope tasks, Consumer<Disease> onShowTests) {
+        super(18);
+        this.result = result;
+        this.tasks = tasks;
+        this.onShowTests = onShowTests;
+
+        Disease disease = result.getDisease();
+        String severity = disease.getSeverity() != null ? disease.getSeverity() : "moderate";
+        getStyleClass().add("card");
+        setStyle(
+            "-fx-border-color: " + getBorderColorForSeverity(severity) + ";" +
+            "-fx-border-width: 3;" +
+            "-fx-padding: 24;" +
+            "-fx-background-radius: 18;" +
+            "-fx-border-radius: 18;" +
+            "-fx-effect: dropshadow(gaussian, rgba(15,118,110,0.18), 20, 0, 0, 10);" +
+            "-fx-min-width: 520;" +
+            "-fx-max-width: 900;" +
+            "-fx-pref-width: 760;"
+        );
+        buildSummary(disease, severity);
+    }
+
+    /** Card for a result, or an error label when the result cannot be shown. */
+    public static Node create(SymptomCheckResult result, ModuleTaskScope tasks) {
+        return create(result, tasks, null);
+    }
+
+    public static Node create(SymptomCheckResult result, ModuleTaskScope tasks, Consumer<Disease> onShowTests) {
+        try {
+            if (result.getDisease() == null) {
+                Label errorLabel = new Label("Error: Disease information is missing");
+                errorLabel.setStyle("-fx-text-fill: #DC2626; -fx-font-size: 14px; -fx-padding: 20;");
+                return errorLabel;
+            }
+            return new SymptomResultCard(result, tasks, onShowTests);
+        } catch (Exception e) {
+            System.err.println("Error creating result card: " + e.getMessage());
+            e.printStackTrace();
+            Label errorLabel = new Label("Error displaying result: " + e.getMessage());
+            errorLabel.setStyle("-fx-text-fill: #DC2626; -fx-font-size: 14px; -fx-padding: 20;");
+            return errorLabel;
+        }
+    }
+
+    public void setExpanded(boolean expand) {
+        if (expand == expanded) {
+            return;
+        }
+        expanded = expand;
+        if (!expand) {
+            if (details != null) {
+                getChildren().remove(details);
+            }
+            detailsButton.setText("▸ Show details");
+            return;
+        }
+        if (details != null) {
+            getChildren().add(details);
+            detailsButton.setText("▾ Hide details");
+            return;
+        }
+        detailsButton.setText("Loading details...");
+        detailsButton.setDisable(true);
+        // Built off-thread; if the module's tasks were cancelled meanwhile, build it here instead
+        tasks.supplyAsync(() -> buildDetails(result)).whenComplete((built, error) -> Platform.runLater(() -> {
+            details = built != null ? built : buildDetails(result);
+            detailsButton.setDisable(false);
+            if (expanded) {
+                getChildren().add(details);
+                detailsButton.setText("▾ Hide details");
+            } else {
+                detailsButton.setText("▸ Show details");
+            }
+        }));
+    }
+
+    private void buildSummary(Disease disease, String severity) {
+        Label nameLabel = new Label(disease.getName() != null ? disease.getName() : "Unknown Condition");
+        nameLabel.setFont(Font.font("System", FontWeight.BOLD, 24));
+        nameLabel.getStyleClass().add("result-text");
+        nameLabel.setWrapText(true);
+
+        HBox badgeRow = new HBox(12);
+        badgeRow.setAlignment(Pos.CENTER_LEFT);
+
+        Label severityBadge = new Label(severity.toUpperCase() + " SEVERITY");
+        severityBadge.setStyle(getSeverityBadgeStyle(severity) + " -fx-padding: 6 12; -fx-font-size: 13px; -fx-font-weight: bold;");
+
+        Label matchLabel = new Label(String.format("%.1f%% Model match", result.getMatchPercentage()));
+        matchLabel.setFont(Font.font("System", FontWeight.BOLD, 16));
+        matchLabel.setTextFill(getSeverityColor(severity));
+
+        badgeRow.getChildren().addAll(severityBadge, matchLabel);
+
+        ProgressBar probabilityBar = new ProgressBar(Math.min(Math.max(result.getMatchPercentage() / 100.0, 0), 1));
+        probabilityBar.setPrefHeight(10);
+        probabilityBar.setStyle("-fx-accent: " + getSeverityProgressColor(severity) + "; -fx-background-color: #e5e7eb;");
+
+        getChildren().addAll(nameLabel, badgeRow, probabilityBar);
+
+        SymptomTriage triage = result.getTriage();
+        if (triage != null && triage.getLevel() != null) {
+            VBox triageBox = new VBox(6);
+            String color = triage.getColor() != null ? triage.getColor() : "#0ea5e9";
+            triageBox.setStyle(
+                "-fx-background-color: " + color + "22;" +
+                "-fx-border-color: " + color + ";" +
+                "-fx-border-width: 2;" +
+                "-fx-border-radius: 12;" +
+                "-fx-background-radius: 12;" +
+                "-fx-padding: 12;"
+            );
+
+            Label triageTitle = new Label("Triage Advice: " + triage.getLevel().toUpperCase());
+            triageTitle.setFont(Font.font("System", FontWeight.BOLD, 14));
+            triageTitle.setTextFill(Color.web(color));
+
+            Label triageMessage = new Label(triage.getMessage());
+            triageMessage.setWrapText(true);
+            triageMessage.getStyleClass().add("result-text");
+
+            if (triage.getSpecialist() != null && !triage.getSpecialist().isEmpty()) {
+                Label specialistLabel = new Label("Recommended specialist: " + triage.getSpecialist());
+                specialistLabel.getStyleClass().add("result-text");
+                specialistLabel.setStyle("-fx-font-size: 13px;");
+                triageBox.getChildren().addAll(triageTitle, triageMessage, specialistLabel);
+            } else {
+                triageBox.getChildren().addAll(triageTitle, triageMessage);
+            }
+            getChildren().add(triageBox);
+        }
+
+        Label descLabel = new Label(
+            LanguageManager.getUILabel("description") + ": " +
+            (disease.getDescription() != null ? disease.getDescription() : "No description available.")
+        );
+        descLabel.setWrapText(true);
+        descLabel.getStyleClass().add("result-text");
+        descLabel.setStyle("-fx-font-size: 14px;");
+        descLabel.setLineSpacing(3);
+        getChildren().add(descLabel);
+
+        // Red flags stay in the summary so they are never hidden behind a click
+        if (result.getRedFlags() != null && !result.getRedFlags().isEmpty()) {
+            VBox warningBox = new VBox(6);
+            warningBox.getStyleClass().add("result-tint-danger");
+            warningBox.setStyle("-fx-border-color: #ef4444; -fx-border-width: 2; -fx-border-radius: 12; -fx-background-radius: 12; -fx-padding: 12;");
+            Label warningTitle = new Label("⚠️ Critical symptoms reported");
+            warningTitle.getStyleClass().add("result-text-danger");
+            warningTitle.setStyle("-fx-font-weight: bold;");
+            FlowPane warningFlow = buildTagFlow(result.getRedFlags(), "#fee2e2", "#b91c1c");
+            warningBox.getChildren().addAll(warningTitle, warningFlow);
+            getChildren().add(warningBox);
+        }
+
+        detailsButton = new Button("▸ Show details");
+        detailsButton.setStyle("-fx-background-color: transparent; -fx-text-fill: #0F766E; -fx-font-weight: bold; -fx-font-size: 13px; -fx-padding: 4 0; -fx-cursor: hand;");
+        detailsButton.setOnAction(e -> setExpanded(!expanded));
+        if (onShowTests == null) {
+            getChildren().add(detailsButton);
+            return;
+        }
+        Button testsButton = new Button("🧪 Test guide");
+        testsButton.setStyle("-fx-background-color: transparent; -fx-text-fill: #0F766E; -fx-font-weight: bold; -fx-font-size: 13px; -fx-padding: 4 0; -fx-cursor: hand;");
+        testsButton.setOnAction(e -> onShowTests.accept(disease));
+        HBox actions = new HBox(18, detailsButton, testsButton);
+        actions.setAlignment(Pos.CENTER_LEFT);
+        getChildren().add(actions);
+    }
+
+    private static VBox buildDetails(SymptomCheckResult result) {
+        Disease disease = result.getDisease();
+        VBox section = new VBox(18);
+
+        SymptomConfidence confidence = result.getConfidence();
+        if (confidence != null) {
+            VBox confidenceBox = new VBox(6);
+            confidenceBox.getStyleClass().add("result-inset");
+            confidenceBox.setStyle("-fx-border-color: #cbd5f5; -fx-border-width: 1; -fx-border-radius: 12; -fx-background-radius: 12; -fx-padding: 12;");
+
+            Label confidenceLabel = new Label(
+                String.format("Confidence: %.1f%% (%s)",
+                    confidence.getScore() != null ? confidence.getScore() : result.getMatchPercentage(),
+                    confidence.getLevel() != null ? confidence.getLevel() : "N/A")
+            );
+            confidenceLabel.setFont(Font.font("System", FontWeight.BOLD, 14));
+            confidenceLabel.getStyleClass().add("result-text");
+
+            ProgressBar confidenceBar = new ProgressBar(
+                Math.min(Math.max((confidence.getScore() != null ? confidence.getScore() : result.getMatchPercentage()) / 100.0, 0), 1)
+            );
+            confidenceBar.setPrefHeight(8);
+            confidenceBar.setStyle("-fx-accent: #0ea5e9;");
+
+            Label coverageLabel = new Label(
+                String.format("Symptom overlap: %.1f%%",
+                    confidence.getSymptomCoverage() != null ? confidence.getSymptomCoverage() : result.getSymptomCoverage())
+            );
+            coverageLabel.getStyleClass().add("result-hint");
+            coverageLabel.setStyle("-fx-font-size: 12px;");
+
+            if (confidence.getExplanation() != null) {
+                Label explanation = new Label(confidence.getExplanation());
+                explanation.setWrapText(true);
+                explanation.getStyleClass().add("result-hint");
+                explanation.setStyle("-fx-font-size: 12px;");
+                confidenceBox.getChildren().addAll(confidenceLabel, confidenceBar, coverageLabel, explanation);
+            } else {
+                confidenceBox.getChildren().addAll(confidenceLabel, confidenceBar, coverageLabel);
+            }
+
+            section.getChildren().add(confidenceBox);
+        }
+
+        List<String> matchedTranslated = translateSymptomsList(result.getMatchedSymptoms());
+        section.getChildren().add(buildTagSection("Matched symptoms", matchedTranslated, "#dbeafe", "#0f766e"));
+        if (result.getMissingSymptoms() != null && !result.getMissingSymptoms().isEmpty()) {
+            List<String> missingTranslated = translateSymptomsList(result.getMissingSymptoms());
+            section.getChildren().add(buildTagSection("Typical symptoms not reported", missingTranslated, "#fef9c3", "#f59e0b"));
+        }
+        if (result.getCriticalSymptomsMissing() != null && !result.getCriticalSymptomsMissing().isEmpty()) {
+            List<String> criticalTranslated = translateSymptomsList(result.getCriticalSymptomsMissing());
+            section.getChildren().add(buildTagSection("Key diagnostic clues to monitor", criticalTranslated, "#fee2e2", "#dc2626"));
+        }
+
+        section.getChildren().add(buildBulletSection(LanguageManager.getUILabel("common_treatments"), disease.getTreatments(), "#0f172a"));
+        section.getChildren().add(buildBulletSection("Recommended tests & investigations", result.getRecommendedTests(), "#0f172a"));
+        section.getChildren().add(buildBulletSection("Lifestyle & self-care guidance", result.getLifestyleAdvice(), "#0f172a"));
+
+        if (result.getMonitoringTips() != null && !result.getMonitoringTips().isEmpty()) {
+            section.getChildren().add(buildBulletSection("Home monitoring tips", result.getMonitoringTips(), "#0f172a"));
+        }
+
+        if (result.getRiskFactors() != null && !result.getRiskFactors().isEmpty()) {
+            section.getChildren().add(buildBulletSection("Common risk factors", result.getRiskFactors(), "#0f172a"));
+        }
+
+        section.getChildren().add(buildBulletSection(LanguageManager.getUILabel("when_to_seek_help"),
+            List.of(disease.getWhenToSeekHelp() != null ? disease.getWhenToSeekHelp() : "Consult a qualified healthcare provider."), "#dc2626"));
+
+        if (result.getPrecautions() != null && !result.getPrecautions().isEmpty()) {
+            section.getChildren().add(buildBulletSection("Precautions & follow-up", result.getPrecautions(), "#0f172a"));
+        }
+
+        if (result.getSimilarConditions() != null && !result.getSimilarConditions().isEmpty()) {
+            FlowPane similarFlow = new FlowPane(8, 8);
+            similarFlow.setPrefWrapLength(680);
+            for (SimilarCondition sc : result.getSimilarConditions()) {
+                if (sc.getName() != null) {
+                    String text = sc.getName();
+                    if (sc.getMatchPercentage() != null) {
+                        text += String.format(" (%.1f%%)", sc.getMatchPercentage());
+                    }
+                    Label chip = new Label(text);
+                    chip.setStyle("-fx-background-color: #e0e7ff; -fx-text-fill: #3730a3; -fx-padding: 6 12; -fx-background-radius: 10; -fx-font-size: 12px;");
+                    similarFlow.getChildren().add(chip);
+                }
+            }
+            Label similarTitle = new Label("Other possibilities to discuss:");
+            similarTitle.getStyleClass().add("result-text");
+            similarTitle.setStyle("-fx-font-weight: bold;");
+            section.getChildren().add(new VBox(6, similarTitle, similarFlow));
+        }
+
+        return section;
+    }
+
+    private static FlowPane buildTagFlow(List<String> items, String background, String textColor) {
+        FlowPane flow = new FlowPane(8, 8);
+        flow.setPrefWrapLength(680);
+        if (items != null) {
+            for (String item : items) {
+                if (item != null && !item.isEmpty()) {
+                    Label badge = new Label(item);
+                    badge.setStyle(
+                        "-fx-background-color: " + background + ";" +
+                        "-fx-text-fill: " + textColor + ";" +
+                        "-fx-padding: 6 12;" +
+                        "-fx-background-radius: 10;" +
+                        "-fx-border-radius: 10;" +
+                        "-fx-border-color: " + textColor + "66;" +
+                        "-fx-border-width: 1.5;" +
+                        "-fx-font-size: 12px;" +
+                        "-fx-font-weight: bold;"
+                    );
+                    flow.getChildren().add(badge);
+                }
+            }
+        }
+        return flow;
+    }
+
+    private static VBox buildTagSection(String title, List<String> items, String background, String textColor) {
+        VBox container = new VBox(6);
+        Label sectionLabel = new Label(title + ":");
+        sectionLabel.getStyleClass().add("result-text");
+        sectionLabel.setStyle("-fx-font-weight: bold;");
+        FlowPane flow = buildTagFlow(items, background, textColor);
+        if (flow.getChildren().isEmpty()) {
+            Label none = new Label("None reported");
+            none.getStyleClass().add("result-hint");
+            none.setStyle("-fx-font-size: 12px;");
+            container.getChildren().addAll(sectionLabel, none);
+        } else {
+            container.getChildren().addAll(sectionLabel, flow);
+        }
+        return container;
+    }
+
+    private static VBox buildBulletSection(String title, List<String> items, String textColor) {
+        VBox section = new VBox(6);
+        Label sectionTitle = new Label(title + ":");
+        sectionTitle.getStyleClass().add("result-text");
+        sectionTitle.setStyle("-fx-font-weight: bold;");
+        section.getChildren().add(sectionTitle);
+
+        if (items == null || items.isEmpty()) {
+            Label none = new Label("No data available.");
+            none.getStyleClass().add("result-hint");
+            none.setStyle("-fx-font-size: 12px;");
+            section.getChildren().add(none);
+        } else {
+            VBox list = new VBox(4);
+            for (String item : items) {
+                if (item != null && !item.isEmpty()) {
+                    Label entry = new Label("• " + item);
+                    entry.setWrapText(true);
+                    entry.setStyle("-fx-text-fill: " + textColor + "; -fx-font-size: 13px;");
+                    list.getChildren().add(entry);
+                }
+            }
+            section.getChildren().add(list);
+        }
+        return section;
+    }
+
+    private static List<String> translateSymptomsList(List<String> symptoms) {
+        if (symptoms == null || symptoms.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return symptoms.stream()
+            .filter(item -> item != null && !item.isBlank())
+            .map(LanguageManager::translateSymptom)
+            .collect(Collectors.toList());
+    }
+
+    private static Color getSeverityColor(String severity) {
+        switch (severity.toLowerCase()) {
+            case "low": return Color.rgb(34, 197, 94);
+            case "moderate": return Color.rgb(245, 158, 11);
+            case "high": return Color.rgb(239, 68, 68);
+            default: return Color.GRAY;
+        }
+    }
+
+    private static String getSeverityBadgeStyle(String severity) {
+        switch (severity.toLowerCase()) {
+            case "low": return "-fx-background-color: #D1FAE5; -fx-text-fill: #065F46; -fx-padding: 4 10; -fx-background-radius: 12;";
+            case "moderate": return "-fx-background-color: #FEF3C7; -fx-text-fill: #92400E; -fx-padding: 4 10; -fx-background-radius: 12;";
+            case "high": return "-fx-background-color: #FEE2E2; -fx-text-fill: #991B1B; -fx-padding: 4 10; -fx-background-radius: 12;";
+            default: return "-fx-background-color: #F3F4F6; -fx-text-fill: #374151; -fx-padding: 4 10; -fx-background-radius: 12;";
+        }
+    }
+
+    private static String getSeverityProgressColor(String severity) {
+        switch (severity.toLowerCase()) {
+            case "low": return "#22C55E";
+            case "moderate": return "#F59E0B";
+            case "high": return "#EF4444";
+            default: return "#6B7280";
+        }
+    }
+
+    private static String getBorderColorForSeverity(String severity) {
+        switch (severity.toLowerCase()) {
+            case "low": return "#22C55E";
+            case "moderate": return "#F59E0B";
+            case "high": return "#EF4444";
+            default: return "#E5E7EB";
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.smartheal.components;
+
+import com.smartheal.api.NextSymptomAdvisor;
+import com.smartheal.utils.LanguageManager;
+import javafx.scene.control.Button;
+import javafx.scene.control.Label;
+import javafx.scene.control.Tooltip;
+import javafx.scene.layout.FlowPane;
+import javafx.scene.layout.VBox;
+
+import java.util.function.Consumer;
+
+/**
+ * The few unselected symptoms that would best narrow down the candidate conditions, as chips
+ * that select the symptom when clicked. The chips are created once and relabelled as the
+ * suggestions change; the bar hides itself when there is nothing worth asking.
+ */
+public class SymptomSuggestionBar extends VBox {
+
+    private final Label titleLabel = new Label();
+    private final Button[] chips;
+    private final Tooltip[] tooltips;
+    private final String[] chipSymptoms;
+    private Consumer<String> onPick = symptom -> { };
+
+    public SymptomSuggestionBar(int count) {
+        super(6);
+        getStyleClass().add("symptom-suggestions");
+        titleLabel.getStyleClass().add("symptom-suggestions-title");
+        titleLabel.setText("Do you also have any of these?");
+
+        FlowPane chipPane = new FlowPane(8, 8);
+        chips = new Button[count];
+        tooltips = new Tooltip[count];
+        chipSymptoms = new String[count];
+        for (int i = 0; i < count; i++) {
+            int index = i;
+            chips[i] = new Button();
+            chips[i].getStyleClass().add("suggested-symptom");
+            chips[i].setCursor(javafx.scene.Cursor.HAND);
+            tooltips[i] = new Tooltip();
+            chips[i].setTooltip(tooltips[i]);
+            chips[i].setOnAction(e -> {
+                if (chipSymptoms[index] != null) {
+                    onPick.accept(chipSymptoms[index]);
+                }
+            });
+            chipPane.getChildren().add(chips[i]);
+        }
+        getChildren().addAll(titleLabel, chipPane);
+        setVisible(false);
+        setManaged(false);
+    }
+
+    /** Receives the dataset name of a clicked suggestion. */
+    public void setOnPick(Consumer<String> onPick) {
+        this.onPick = onPick;
+    }
+
+    /** Shows the advisor's current suggestions; hidden while no symptom is selected. */
+    public void update(NextSymptomAdvisor advisor) {
+        int shown = advisor.getSelectedCount() > 0 ? Math.min(advisor.size(), chips.length) : 0;
+        setVisible(shown > 0);
+        setManaged(shown > 0);
+        for (int i = 0; i < chips.length; i++) {
+            boolean visible = i < shown;
+            chips[i].setVisible(visible);
+            chips[i].setManaged(visible);
+            if (visible) {
+                String symptom = advisor.getSymptom(i);
+                chipSymptoms[i] = symptom;
+                chips[i].setText("+ " + LanguageManager.translateSymptom(symptom));
+                tooltips[i].setText(String.format("Best separates the remaining conditions (%.2f bits)", advisor.getGain(i)));
+            } else {
+                chipSymptoms[i] = null;
+            }
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.smartheal.components;
+
+import com.smartheal.api.TestRecommendationService;
+import com.smartheal.models.Disease;
+import com.smartheal.models.TestRecommendation;
+import com.smartheal.utils.ModuleTaskScope;
+import com.smartheal.utils.ThemeManager;
+import javafx.collections.ObservableList;
+import javafx.css.PseudoClass;
+import javafx.geometry.Insets;
+import javafx.scene.Scene;
+import javafx.scene.control.Button;
+import javafx.scene.control.ComboBox;
+import javafx.scene.control.Label;
+import javafx.scene.control.ScrollPane;
+import javafx.scene.layout.Priority;
+import javafx.scene.layout.VBox;
+import javafx.stage.Modality;
+import javafx.stage.Stage;
+import javafx.stage.Window;
+import javafx.util.StringConverter;
+
+import java.util.List;
+
+/**
+ * Recommended tests and tests to avoid for a disease picked from a list. Diseases the service
+ * knows locally show at once; others are fetched on the calling module's tasks, so closing or
+ * leaving the module drops the request.
+ */
+public class TestGuideDialog {
+
+    private static final PseudoClass AVOID = PseudoClass.getPseudoClass("avoid");
+
+    public static void show(Window owner, TestRecommendationService service, ModuleTaskScope tasks,
+                            ObservableList<Disease> diseases, Disease selected) {
+        Stage dialog = new Stage();
+        dialog.initModality(Modality.WINDOW_MODAL);
+        dialog.initOwner(owner);
+        dialog.setTitle("Test Guide");
+
+        VBox root = new VBox(15);
+        root.getStyleClass().add("test-guide");
+        root.setPadding(new Insets(20));
+
+        Label title = new Label("🧪 Recommended Tests");
+        title.getStyleClass().add("test-guide-title");
+
+        ComboBox<Disease> diseaseCombo = new ComboBox<>(diseases);
+        diseaseCombo.setPromptText("Select a condition");
+        diseaseCombo.setMaxWidth(Double.MAX_VALUE);
+        diseaseCombo.setConverter(new StringConverter<>() {
+            @Override
+            public String toString(Disease disease) {
+                return disease != null ? disease.getName() : "";
+            }
+
+            @Override
+            public Disease fromString(String name) {
+                return null;
+            }
+        });
+
+        VBox content = new VBox(12);
+        ScrollPane scrollPane = new ScrollPane(content);
+        scrollPane.setFitToWidth(true);
+        scrollPane.getStyleClass().add("test-guide-scroll");
+        VBox.setVgrow(scrollPane, Priority.ALWAYS);
+
+        diseaseCombo.valueProperty().addListener((obs, oldVal, disease) -> {
+            if (disease == null) {
+                content.getChildren().clear();
+                return;
+            }
+            TestRecommendation known = service.find(disease.getId(), disease.getName());
+            if (known != null) {
+                render(content, known);
+                return;
+            }
+            content.getChildren().setAll(new Label("Loading recommended tests..."));
+            tasks.submit(() -> {
+                try {
+                    TestRecommendation fetched = service.getTestRecommendations(disease.getId(), disease.getName());
+                    tasks.runLater(() -> {
+                        if (diseaseCombo.getValue() == disease) {
+                            render(content, fetched);
+                        }
+                    });
+                } catch (Exception e) {
+                    tasks.runLater(() -> {
+                        if (diseaseCombo.getValue() == disease) {
+                            Label error = new Label("Could not load recommended tests: " + e.getMessage());
+                            error.setWrapText(true);
+                            content.getChildren().setAll(error);
+                        }
+                    });
+                }
+            });
+        });
+
+        Button closeButton = new Button("Close");
+        closeButton.getStyleClass().add("dialog-close-button");
+        closeButton.setOnAction(e -> dialog.close());
+
+        root.getChildren().addAll(title, diseaseCombo, scrollPane, closeButton);
+
+        Scene scene = new Scene(root, 560, 600);
+        ThemeManager.register(scene);
+        dialog.setScene(scene);
+        diseaseCombo.setValue(selected);
+        dialog.show();
+    }
+
+    private static void render(VBox content, TestRecommendation recommendation) {
+        content.getChildren().clear();
+        if (recommendation.getReasoning() != null && !recommendation.getReasoning().isBlank()) {
+            Label reasoning = new Label(recommendation.getReasoning());
+            reasoning.getStyleClass().add("test-guide-reasoning");
+            reasoning.setWrapText(true);
+            content.getChildren().add(reasoning);
+        }
+        addSection(content, "Recommended", recommendation.getRecommendedTests(), false);
+        addSection(content, "Usually not needed", recommendation.getTestsToAvoid(), true);
+    }
+
+    private static void addSection(VBox content, String heading, List<TestRecommendation.MedicalTest> tests, boolean avoid) {
+        if (tests == null || tests.isEmpty()) {
+            return;
+        }
+        Label headingLabel = new Label(heading);
+        headingLabel.getStyleClass().add("test-guide-heading");
+        content.getChildren().add(headingLabel);
+        for (TestRecommendation.MedicalTest test : tests) {
+            VBox card = new VBox(4);
+            card.getStyleClass().add("test-card");
+            card.pseudoClassStateChanged(AVOID, avoid);
+            Label name = new Label(test.getName());
+            name.getStyleClass().add("test-card-name");
+            card.getChildren().add(name);
+            addDetail(card, test.getPurpose());
+            addDetail(card, test.getDescription());
+            if (test.getCostRange() != null) {
+                addDetail(card, "Cost: " + test.getCostRange());
+            }
+            if (test.getPreparation() != null) {
+                addDetail(card, "Preparation: " + test.getPreparation());
+            }
+            content.getChildren().add(card);
+        }
+    }
+
+    private static void addDetail(VBox card, String text) {
+        if (text == null || text.isBlank()) {
+            return;
+        }
+        Label detail = new Label(text);
+        detail.getStyleClass().add("test-card-detail");
+        detail.setWrapText(true);
+        card.getChildren().add(detail);
+    }
+}
@@ -0,0 +1,219 @@
+package com.smartheal.components;
+
+import com.smartheal.api.WhatIfSimulator;
+import com.smartheal.models.RiskAssessment;
+import javafx.animation.PauseTransition;
+import javafx.css.PseudoClass;
+import javafx.geometry.Pos;
+import javafx.scene.control.Button;
+import javafx.scene.control.CheckBox;
+import javafx.scene.control.Label;
+import javafx.scene.control.Slider;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.Priority;
+import javafx.scene.layout.VBox;
+import javafx.util.Duration;
+
+import java.util.function.Consumer;
+import java.util.function.DoubleFunction;
+
+/**
+ * Sliders for the lifestyle inputs of an assessment, with the resulting risks next to the assessed
+ * ones. Changes are debounced: the listener hears about a lifestyle only once the inputs have been
+ * still for the given delay, and never twice in a row about the same one.
+ */
+public class WhatIfPanel extends VBox {
+
+    private static final PseudoClass LOWER = PseudoClass.getPseudoClass("lower");
+    private static final PseudoClass HIGHER = PseudoClass.getPseudoClass("higher");
+    private static final String[] EXERCISE_LEVELS = {"None", "Moderate", "High"};
+    private static final String[] ALCOHOL_LEVELS = {"None", "Moderate", "Heavy"};
+    private static final String[] STRESS_LEVELS = {"Low", "Moderate", "High"};
+    private static final String[] DIET_LEVELS = {"Poor", "Moderate", "Good"};
+
+    private final WhatIfSimulator.Lifestyle baseline;
+    private final RiskAssessment baselineRisks;
+    private final Consumer<WhatIfSimulator.Lifestyle> onChange;
+    private final Runnable onReset;
+    private final PauseTransition debounce;
+    private final Slider weightSlider;
+    private final Slider exerciseSlider;
+    private final Slider sleepSlider;
+    private final Slider stressSlider;
+    private final Slider dietSlider;
+    private final Slider alcoholSlider;
+    private final CheckBox smokingCheckBox = new CheckBox("Smoking");
+    private final RiskRow diabetesRow = new RiskRow("Diabetes");
+    private final RiskRow heartRow = new RiskRow("Heart Disease");
+    private final RiskRow hypertensionRow = new RiskRow("Hypertension");
+    private final Label statusLabel = new Label();
+    private WhatIfSimulator.Lifestyle lastRequested;
+    private boolean resetting = false;
+
+    public WhatIfPanel(WhatIfSimulator.Lifestyle baseline, RiskAssessment baselineRisks,
+                       Duration delay, Consumer<WhatIfSimulator.Lifestyle> onChange, Runnable onReset) {
+        super(10);
+        getStyleClass().add("what-if");
+        this.baseline = baseline;
+        this.baselineRisks = baselineRisks;
+        this.onChange = onChange;
+        this.onReset = onReset;
+        this.lastRequested = baseline;
+        this.debounce = new PauseTransition(delay);
+        debounce.setOnFinished(e -> requestScore());
+
+        Label title = new Label("What-if Simulator");
+        title.getStyleClass().add("what-if-title");
+        Label subtitle = new Label("Adjust your habits to see how your risks would change");
+        subtitle.getStyleClass().add("what-if-subtitle");
+
+        weightSlider = slider(30, 200, baseline.weight(), 10);
+        exerciseSlider = levelSlider(baseline.exercise());
+        // Same ranges as the assessment form, so the sliders start at exactly the assessed lifestyle
+        sleepSlider = slider(0, 24, baseline.sleepHours(), 2);
+        stressSlider = levelSlider(baseline.stressLevel());
+        dietSlider = levelSlider(baseline.dietQuality());
+        alcoholSlider = levelSlider(baseline.alcohol());
+        smokingCheckBox.setSelected(baseline.smoking());
+        smokingCheckBox.selectedProperty().addListener((obs, oldVal, newVal) -> inputChanged());
+
+        statusLabel.getStyleClass().add("what-if-status");
+        Button resetButton = new Button("Reset");
+        resetButton.getStyleClass().add("what-if-reset");
+        resetButton.setOnAction(e -> reset());
+        HBox footer = new HBox(10, statusLabel, resetButton);
+        footer.setAlignment(Pos.CENTER_LEFT);
+        HBox.setHgrow(statusLabel, Priority.ALWAYS);
+        statusLabel.setMaxWidth(Double.MAX_VALUE);
+
+        getChildren().addAll(title, subtitle,
+            row("Weight", weightSlider, v -> String.format("%.1f kg", v)),
+            row("Exercise", exerciseSlider, v -> EXERCISE_LEVELS[level(v)]),
+            row("Sleep", sleepSlider, v -> String.format("%.1f h", v)),
+            row("Stress", stressSlider, v -> STRESS_LEVELS[level(v)]),
+            row("Diet Quality", dietSlider, v -> DIET_LEVELS[level(v)]),
+            row("Alcohol", alcoholSlider, v -> ALCOHOL_LEVELS[level(v)]),
+            smokingCheckBox,
+            diabetesRow, heartRow, hypertensionRow,
+            footer);
+        showRisks(baselineRisks);
+    }
+
+    /** Shows the risks of the current inputs, compared with the assessed ones. */
+    public void showRisks(RiskAssessment risks) {
+        diabetesRow.show(risks.getDiabetesRisk(), baselineRisks.getDiabetesRisk());
+        heartRow.show(risks.getHeartRisk(), baselineRisks.getHeartRisk());
+        hypertensionRow.show(risks.getHypertensionRisk(), baselineRisks.getHypertensionRisk());
+        statusLabel.setText("");
+    }
+
+    public void showStatus(String message) {
+        statusLabel.setText(message);
+    }
+
+    /** The lifestyle the sliders currently describe. */
+    public WhatIfSimulator.Lifestyle getLifestyle() {
+        return new WhatIfSimulator.Lifestyle(
+            weightSlider.getValue(),
+            level(exerciseSlider.getValue()),
+            sleepSlider.getValue(),
+            level(stressSlider.getValue()),
+            level(dietSlider.getValue()),
+            level(alcoholSlider.getValue()),
+            smokingCheckBox.isSelected());
+    }
+
+    private void inputChanged() {
+        if (!resetting) {
+            debounce.playFromStart();
+        }
+    }
+
+    private void requestScore() {
+        WhatIfSimulator.Lifestyle lifestyle = getLifestyle();
+        if (lifestyle.equals(lastRequested)) {
+            return;
+        }
+        lastRequested = lifestyle;
+        onChange.accept(lifestyle);
+    }
+
+    private void reset() {
+        resetting = true;
+        weightSlider.setValue(baseline.weight());
+        exerciseSlider.setValue(baseline.exercise());
+        sleepSlider.setValue(baseline.sleepHours());
+        stressSlider.setValue(baseline.stressLevel());
+        dietSlider.setValue(baseline.dietQuality());
+        alcoholSlider.setValue(baseline.alcohol());
+        smokingCheckBox.setSelected(baseline.smoking());
+        resetting = false;
+        debounce.stop();
+        // The assessed risks are already known; nothing needs scoring
+        lastRequested = baseline;
+        showRisks(baselineRisks);
+        onReset.run();
+    }
+
+    private Slider slider(double min, double max, double value, double tickUnit) {
+        Slider slider = new Slider(min, max, Math.max(min, Math.min(max, value)));
+        slider.setMajorTickUnit(tickUnit);
+        slider.setBlockIncrement(0.5);
+        slider.getStyleClass().add("what-if-slider");
+        slider.valueProperty().addListener((obs, oldVal, newVal) -> inputChanged());
+        return slider;
+    }
+
+    private Slider levelSlider(int value) {
+        Slider slider = slider(0, 2, value, 1);
+        slider.setMinorTickCount(0);
+        slider.setSnapToTicks(true);
+        slider.setShowTickMarks(true);
+        slider.setBlockIncrement(1);
+        return slider;
+    }
+
+    private HBox row(String name, Slider slider, DoubleFunction<String> format) {
+        Label nameLabel = new Label(name);
+        nameLabel.getStyleClass().add("what-if-label");
+        nameLabel.setMinWidth(100);
+        Label valueLabel = new Label(format.apply(slider.getValue()));
+        valueLabel.getStyleClass().add("what-if-value");
+        valueLabel.setMinWidth(80);
+        slider.valueProperty().addListener((obs, oldVal, newVal) -> valueLabel.setText(format.apply(newVal.doubleValue())));
+        HBox row = new HBox(10, nameLabel, slider, valueLabel);
+        row.setAlignment(Pos.CENTER_LEFT);
+        HBox.setHgrow(slider, Priority.ALWAYS);
+        return row;
+    }
+
+    private static int level(double value) {
+        return (int) Math.max(0, Math.min(2, Math.round(value)));
+    }
+
+    private static final class RiskRow extends HBox {
+        private final Label valueLabel = new Label();
+        private final Label changeLabel = new Label();
+
+        RiskRow(String name) {
+            super(10);
+            getStyleClass().add("what-if-risk");
+            setAlignment(Pos.CENTER_LEFT);
+            Label nameLabel = new Label(name);
+            nameLabel.getStyleClass().add("what-if-label");
+            nameLabel.setMinWidth(120);
+            valueLabel.getStyleClass().add("what-if-risk-value");
+            valueLabel.setMinWidth(50);
+            changeLabel.getStyleClass().add("what-if-risk-change");
+            getChildren().addAll(nameLabel, valueLabel, changeLabel);
+        }
+
+        void show(int risk, int assessed) {
+            int change = risk - assessed;
+            valueLabel.setText(risk + "%");
+            changeLabel.setText(change == 0 ? "" : String.format("%+d vs assessed", change));
+            changeLabel.pseudoClassStateChanged(LOWER, change < 0);
+            changeLabel.pseudoClassStateChanged(HIGHER, change > 0);
+        }
+    }
+}
@@ -4,6 +4,7 @@ import com.smartheal.database.DatabaseConnection;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -69,25 +70,27 @@ public class HistoryDAO {
     }
     
     /**
-     * Save chat history
+     * Save chat history, returning the new row id or -1 if it was not saved
      */
-    public boolean saveChatHistory(int userId, String userMessage, String botResponse) {
+    public int saveChatHistory(int userId, String userMessage, String botResponse) {
         String sql = "INSERT INTO chat_history (user_id, user_message, bot_response) VALUES (?, ?, ?)";
         
         try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+             PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
             
             stmt.setInt(1, userId);
             stmt.setString(2, userMessage);
             stmt.setString(3, botResponse);
             
-            int rowsAffected = stmt.executeUpdate();
-            return rowsAffected > 0;
+            stmt.executeUpdate();
+            try (ResultSet keys = stmt.getGeneratedKeys()) {
+                return keys.next() ? keys.getInt(1) : -1;
+            }
             
         } catch (SQLException e) {
             System.err.println("Error saving chat history: " + e.getMessage());
             e.printStackTrace();
-            return false;
+            return -1;
         }
     }
     
@@ -96,13 +99,36 @@ public class HistoryDAO {
      */
     public List<Map<String, Object>> getChatHistory(int userId, int limit) {
         String sql = "SELECT * FROM chat_history WHERE user_id = ? ORDER BY chat_date DESC LIMIT ?";
+        return queryChatHistory(sql, "Error getting chat history: ", userId, limit);
+    }
+    
+    /**
+     * Get up to limit chat exchanges older than the given row id, oldest first
+     */
+    public List<Map<String, Object>> getChatHistoryBefore(int userId, int beforeId, int limit) {
+        String sql = "SELECT * FROM chat_history WHERE user_id = ? AND id < ? ORDER BY id DESC LIMIT ?";
+        List<Map<String, Object>> history = queryChatHistory(sql, "Error paging chat history: ", userId, beforeId, limit);
+        Collections.reverse(history);
+        return history;
+    }
+    
+    /**
+     * Get up to limit chat exchanges newer than the given row id, oldest first
+     */
+    public List<Map<String, Object>> getChatHistoryAfter(int userId, int afterId, int limit) {
+        String sql = "SELECT * FROM chat_history WHERE user_id = ? AND id > ? ORDER BY id ASC LIMIT ?";
+        return queryChatHistory(sql, "Error paging chat history: ", userId, afterId, limit);
+    }
+    
+    private List<Map<String, Object>> queryChatHistory(String sql, String errorMessage, int... params) {
         List<Map<String, Object>> history = new ArrayList<>();
         
         try (Connection conn = DatabaseConnection.getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
             
-            stmt.setInt(1, userId);
-            stmt.setInt(2, limit);
+            for (int i = 0; i < params.length; i++) {
+                stmt.setInt(i + 1, params[i]);
+            }
             
             try (ResultSet rs = stmt.executeQuery()) {
                 while (rs.next()) {
@@ -116,7 +142,7 @@ public class HistoryDAO {
             }
             
         } catch (SQLException e) {
-            System.err.println("Error getting chat history: " + e.getMessage());
+            System.err.println(errorMessage + e.getMessage());
             e.printStackTrace();
         }
         
@@ -210,6 +210,49 @@ public class UserDAO {
         }
     }
     
+    /**
+     * Get the user's stored theme, or null if none is stored
+     */
+    public String getThemePreference(int userId) {
+        String sql = "SELECT theme FROM user_preferences WHERE user_id = ?";
+        
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            
+            stmt.setInt(1, userId);
+            
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    return rs.getString("theme");
+                }
+            }
+            
+        } catch (SQLException e) {
+            System.err.println("Error loading theme preference: " + e.getMessage());
+        }
+        
+        return null;
+    }
+    
+    /**
+     * Save the user's theme, creating the preferences row if it is missing
+     */
+    public boolean updateThemePreference(int userId, String theme) {
+        String sql = "INSERT INTO user_preferences (user_id, theme) VALUES (?, ?) ON DUPLICATE KEY UPDATE theme = VALUES(theme)";
+        
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            
+            stmt.setInt(1, userId);
+            stmt.setString(2, theme);
+            return stmt.executeUpdate() > 0;
+            
+        } catch (SQLException e) {
+            System.err.println("Error saving theme preference: " + e.getMessage());
+            return false;
+        }
+    }
+    
     /**
      * Create default preferences for new user
      */
@@ -8,6 +8,8 @@ public class ChatMessage {
     private String role;
     private String content;
     private long timestamp;
+    // chat_history row this message was saved as, if any
+    private Integer historyId;
 
     public ChatMessage() {}
 
@@ -49,5 +51,12 @@ public class ChatMessage {
     public void setTimestamp(long timestamp) {
         this.timestamp = timestamp;
     }
-}
 
+    public Integer getHistoryId() {
+        return historyId;
+    }
+
+    public void setHistoryId(Integer historyId) {
+        this.historyId = historyId;
+    }
+}
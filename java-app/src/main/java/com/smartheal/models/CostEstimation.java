@@ -10,6 +10,12 @@ public class CostEstimation {
     private double minCost;
     private double maxCost;
     private double averageCost;
+    // Percentiles of the recorded costs; null when the estimate came from the server
+    private Double p10Cost;
+    private Double medianCost;
+    private Double p90Cost;
+    // Recorded costs behind the estimate; null when it came from the server, 0 for a list price
+    private Integer recordedCount;
     private List<CostFactor> factors;
     private String disclaimer;
 
@@ -55,6 +61,38 @@ public class CostEstimation {
         this.averageCost = averageCost;
     }
 
+    public Double getP10Cost() {
+        return p10Cost;
+    }
+
+    public void setP10Cost(Double p10Cost) {
+        this.p10Cost = p10Cost;
+    }
+
+    public Double getMedianCost() {
+        return medianCost;
+    }
+
+    public void setMedianCost(Double medianCost) {
+        this.medianCost = medianCost;
+    }
+
+    public Double getP90Cost() {
+        return p90Cost;
+    }
+
+    public void setP90Cost(Double p90Cost) {
+        this.p90Cost = p90Cost;
+    }
+
+    public Integer getRecordedCount() {
+        return recordedCount;
+    }
+
+    public void setRecordedCount(Integer recordedCount) {
+        this.recordedCount = recordedCount;
+    }
+
     public List<CostFactor> getFactors() {
         return factors;
     }
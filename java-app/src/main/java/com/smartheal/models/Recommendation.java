@@ -2,6 +2,8 @@ package com.smartheal.models;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 
+import java.util.Objects;
+
 @JsonIgnoreProperties(ignoreUnknown = true)
 public class Recommendation {
     private String priority;
@@ -33,5 +35,19 @@ public class Recommendation {
     public void setMessage(String message) {
         this.message = message;
     }
-}
 
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof Recommendation)) return false;
+        Recommendation that = (Recommendation) o;
+        return Objects.equals(priority, that.priority)
+            && Objects.equals(category, that.category)
+            && Objects.equals(message, that.message);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(priority, category, message);
+    }
+}
@@ -0,0 +1,115 @@
+package com.smartheal.models;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import java.util.List;
+
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class TestRecommendation {
+    private String diseaseId;
+    private String diseaseName;
+    private String reasoning;
+    private List<MedicalTest> recommendedTests;
+    private List<MedicalTest> testsToAvoid;
+
+    public TestRecommendation() {}
+
+    public String getDiseaseId() {
+        return diseaseId;
+    }
+
+    public void setDiseaseId(String diseaseId) {
+        this.diseaseId = diseaseId;
+    }
+
+    public String getDiseaseName() {
+        return diseaseName;
+    }
+
+    public void setDiseaseName(String diseaseName) {
+        this.diseaseName = diseaseName;
+    }
+
+    public String getReasoning() {
+        return reasoning;
+    }
+
+    public void setReasoning(String reasoning) {
+        this.reasoning = reasoning;
+    }
+
+    public List<MedicalTest> getRecommendedTests() {
+        return recommendedTests;
+    }
+
+    public void setRecommendedTests(List<MedicalTest> recommendedTests) {
+        this.recommendedTests = recommendedTests;
+    }
+
+    public List<MedicalTest> getTestsToAvoid() {
+        return testsToAvoid;
+    }
+
+    public void setTestsToAvoid(List<MedicalTest> testsToAvoid) {
+        this.testsToAvoid = testsToAvoid;
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class MedicalTest {
+        private String id;
+        private String name;
+        private String description;
+        private String purpose;
+        private String costRange;
+        private String preparation;
+
+        public MedicalTest() {}
+
+        public String getId() {
+            return id;
+        }
+
+        public void setId(String id) {
+            this.id = id;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public String getDescription() {
+            return description;
+        }
+
+        public void setDescription(String description) {
+            this.description = description;
+        }
+
+        public String getPurpose() {
+            return purpose;
+        }
+
+        public void setPurpose(String purpose) {
+            this.purpose = purpose;
+        }
+
+        public String getCostRange() {
+            return costRange;
+        }
+
+        public void setCostRange(String costRange) {
+            this.costRange = costRange;
+        }
+
+        public String getPreparation() {
+            return preparation;
+        }
+
+        public void setPreparation(String preparation) {
+            this.preparation = preparation;
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.smartheal.utils;
+
+import org.apache.hc.core5.concurrent.Cancellable;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
+
+/**
+ * Cancellation signal shared by all work started for one module visit.
+ * Cancelling aborts registered HTTP requests and interrupts tracked tasks.
+ */
+public class CancellationToken {
+
+    private static final ThreadLocal<CancellationToken> CURRENT = new ThreadLocal<>();
+    private static final Registration NO_REGISTRATION = () -> { };
+
+    private final Set<Cancellable> requests = ConcurrentHashMap.newKeySet();
+    private final Set<Future<?>> tasks = ConcurrentHashMap.newKeySet();
+    private volatile boolean cancelled = false;
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    public void cancel() {
+        cancelled = true;
+        for (Cancellable request : requests) {
+            request.cancel();
+        }
+        requests.clear();
+        for (Future<?> task : tasks) {
+            task.cancel(true);
+        }
+        tasks.clear();
+    }
+
+    void track(Future<?> task) {
+        tasks.add(task);
+        if (cancelled) {
+            task.cancel(true);
+        }
+    }
+
+    void untrack(Future<?> task) {
+        tasks.remove(task);
+    }
+
+    // Token of the task running on the calling thread, or null outside a scoped task
+    public static CancellationToken current() {
+        return CURRENT.get();
+    }
+
+    static void setCurrent(CancellationToken token) {
+        if (token == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(token);
+        }
+    }
+
+    /**
+     * Ties an HTTP request to the current task's token for the lifetime of the returned registration.
+     * Intended for try-with-resources around the execute call; the registration is never read
+     * inside the block, so callers carry {@code @SuppressWarnings("try")}.
+     */
+    public static Registration register(Cancellable request) {
+        CancellationToken token = CURRENT.get();
+        if (token == null) {
+            return NO_REGISTRATION;
+        }
+        if (token.cancelled) {
+            request.cancel();
+            return NO_REGISTRATION;
+        }
+        token.requests.add(request);
+        if (token.cancelled) {
+            request.cancel();
+        }
+        return () -> token.requests.remove(request);
+    }
+
+    @FunctionalInterface
+    public interface Registration extends AutoCloseable {
+        @Override
+        void close();
+    }
+}
@@ -0,0 +1,168 @@
+package com.smartheal.utils;
+
+import javafx.application.Platform;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Detects stalls of the JavaFX Application Thread. A watcher thread posts an empty task to the
+ * FX event queue at a fixed interval and measures how long it waits to run. When it has not run
+ * within the threshold, the FX thread's stack is captured while the thread is still blocked and
+ * written to the diagnostics log right away, with the module that was showing, so a hang that
+ * never ends is still on disk. Once the thread recovers, the entry is closed with the stall's
+ * length and a JFR event spanning the stall, from the unanswered ping to its task running, is
+ * committed. The log is rotated to diagnostics.log.1 once it passes 1 MB.
+ */
+public class FxStallWatchdog {
+
+    private static final long PING_INTERVAL_MS = 100;
+    private static final long STALL_THRESHOLD_MS = 500;
+    private static final long RECOVERY_CHECK_MS = 1000;
+    private static final int MAX_STACK_DEPTH = 40;
+    private static final Path LOG_FILE = Path.of(System.getProperty("user.home"), ".smartheal", "diagnostics.log");
+    private static final Path ROTATED_LOG_FILE = LOG_FILE.resolveSibling("diagnostics.log.1");
+    private static final long MAX_LOG_BYTES = 1024 * 1024;
+    private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.SSS");
+
+    private static volatile Thread fxThread;
+    private static volatile String context = "Startup";
+    private static volatile long maxLatencyMillis = 0;
+    private static Thread watcher;
+
+    private FxStallWatchdog() {
+    }
+
+    /** Starts watching the FX thread; must be called on it. */
+    public static synchronized void start() {
+        if (!Platform.isFxApplicationThread()) {
+            throw new IllegalStateException("FxStallWatchdog.start must be called on the JavaFX Application Thread");
+        }
+        if (watcher != null) {
+            return;
+        }
+        fxThread = Thread.currentThread();
+        watcher = Thread.ofPlatform()
+            .daemon()
+            .name("smartheal-fx-watchdog")
+            .start(FxStallWatchdog::watch);
+    }
+
+    public static synchronized void stop() {
+        if (watcher != null) {
+            watcher.interrupt();
+            watcher = null;
+        }
+    }
+
+    /** Names what the UI is showing, e.g. the open module, for stall reports. */
+    public static void setContext(String name) {
+        context = name;
+    }
+
+    /** Longest time a ping waited for the FX thread without counting as a stall. */
+    public static long getMaxLatencyMillis() {
+        return maxLatencyMillis;
+    }
+
+    private static void watch() {
+        try {
+            while (!Thread.currentThread().isInterrupted() && fxThread.isAlive()) {
+                // Begun with the ping, so a stall's event starts where the FX thread stopped answering
+                StallEvent event = new StallEvent();
+                event.begin();
+                long sent = System.nanoTime();
+                CountDownLatch ran = new CountDownLatch(1);
+                Platform.runLater(ran::countDown);
+
+                if (ran.await(STALL_THRESHOLD_MS, TimeUnit.MILLISECONDS)) {
+                    long latency = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - sent);
+                    if (latency > maxLatencyMillis) {
+                        maxLatencyMillis = latency;
+                    }
+                } else {
+                    // Captured now, while the FX thread is still inside whatever blocked it
+                    String stallContext = context;
+                    String detectedAt = LocalDateTime.now().format(TIMESTAMP);
+                    String trace = format(fxThread.getStackTrace());
+                    System.err.println("JavaFX thread stalled for over " + STALL_THRESHOLD_MS + " ms in " + stallContext);
+                    append(detectedAt + " FX thread stalled [module: " + stallContext + "]"
+                        + System.lineSeparator() + trace);
+
+                    while (!ran.await(RECOVERY_CHECK_MS, TimeUnit.MILLISECONDS)) {
+                        if (!fxThread.isAlive()) {
+                            return;
+                        }
+                    }
+                    long stallMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - sent);
+                    event.end();
+                    recovered(event, stallMillis, stallContext, detectedAt, trace);
+                }
+                Thread.sleep(PING_INTERVAL_MS);
+            }
+        } catch (InterruptedException e) {
+            // Stopped on shutdown
+        }
+    }
+
+    private static String format(StackTraceElement[] stack) {
+        StringBuilder trace = new StringBuilder();
+        int depth = Math.min(stack.length, MAX_STACK_DEPTH);
+        for (int i = 0; i < depth; i++) {
+            trace.append("    at ").append(stack[i]).append(System.lineSeparator());
+        }
+        if (stack.length > depth) {
+            trace.append("    ... ").append(stack.length - depth).append(" more").append(System.lineSeparator());
+        }
+        return trace.toString();
+    }
+
+    private static void recovered(StallEvent event, long stallMillis, String stallContext, String detectedAt, String trace) {
+        System.err.println("JavaFX thread recovered after " + stallMillis + " ms in " + stallContext);
+
+        event.module = stallContext;
+        event.stackTrace = trace;
+        event.commit();
+
+        append(LocalDateTime.now().format(TIMESTAMP) + " FX thread recovered after " + stallMillis
+            + " ms [module: " + stallContext + ", stalled at " + detectedAt + "]" + System.lineSeparator());
+    }
+
+    private static void append(String entry) {
+        try {
+            Files.createDirectories(LOG_FILE.getParent());
+            if (Files.exists(LOG_FILE) && Files.size(LOG_FILE) >= MAX_LOG_BYTES) {
+                Files.move(LOG_FILE, ROTATED_LOG_FILE, StandardCopyOption.REPLACE_EXISTING);
+            }
+            Files.writeString(LOG_FILE, entry, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            System.err.println("Failed to write diagnostics log: " + e.getMessage());
+        }
+    }
+
+    @Name("com.smartheal.FxThreadStall")
+    @Label("JavaFX Thread Stall")
+    @Description("The JavaFX Application Thread did not process events within the stall threshold")
+    @Category({"SmartHeal", "UI"})
+    static class StallEvent extends Event {
+        @Label("Module")
+        String module;
+
+        @Label("FX Thread Stack")
+        String stackTrace;
+    }
+}
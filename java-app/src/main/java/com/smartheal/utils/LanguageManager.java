@@ -1,7 +1,18 @@
 package com.smartheal.utils;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
+/**
+ * UI labels and symptom names in every supported language. Packs live in
+ * resources/i18n/&lt;code&gt;.properties; the English pack defines the keys, which are compiled
+ * once into slot numbers, and every other pack is loaded on first use into an array indexed
+ * by slot. Lookups are a map probe and an array read.
+ */
 public class LanguageManager {
     public enum Language {
         ENGLISH("English", "en"),
@@ -25,15 +36,28 @@ public class LanguageManager {
         }
     }
     
-    private static Language currentLanguage = Language.ENGLISH;
-    private static final Map<String, Map<Language, String>> translations = new HashMap<>();
+    private static final String PACK_PATH = "/i18n/%s.properties";
+    private static final String LABEL_PREFIX = "label.";
+    private static final String SYMPTOM_PREFIX = "symptom.";
+    private static final Set<String> FILLERS = Set.of("me", "men", "mein", "main", "mai", "mem");
+    // Cap on spelling edits, which also bounds the deletion neighbourhood indexed for long names
+    private static final int MAX_EDITS = 2;
+    
+    private static volatile Language currentLanguage = Language.ENGLISH;
+    // Pack key of each slot, e.g. "symptom.runny_nose"
+    private static final List<String> slotKeys = new ArrayList<>();
+    private static final Map<String, Integer> labelSlots = new HashMap<>();
+    private static final Map<String, Integer> symptomSlots = new HashMap<>();
+    private static final Map<String, Integer> symptomSlotsIgnoreCase = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+    private static final AtomicReferenceArray<String[]> packs = new AtomicReferenceArray<>(Language.values().length);
     
     static {
-        initializeTranslations();
+        compileKeys();
     }
     
     public static void setLanguage(Language language) {
         currentLanguage = language;
+        pack(language);
     }
     
     public static Language getCurrentLanguage() {
@@ -41,212 +65,252 @@ public class LanguageManager {
     }
     
     public static String translate(String englishText) {
-        if (currentLanguage == Language.ENGLISH) {
+        return translate(englishText, currentLanguage);
+    }
+    
+    public static String translate(String englishText, Language language) {
+        if (language == Language.ENGLISH || englishText == null) {
             return englishText;
         }
         
-        Map<Language, String> translations = LanguageManager.translations.get(englishText.toLowerCase());
-        if (translations != null && translations.containsKey(currentLanguage)) {
-            return translations.get(currentLanguage);
+        // Exact spelling first; the case-insensitive tree compares in place instead of lowercasing
+        Integer slot = symptomSlots.get(englishText);
+        if (slot == null) {
+            slot = symptomSlotsIgnoreCase.get(englishText);
         }
-        
-        // If translation not found, return original
-        return englishText;
+        if (slot == null) {
+            return englishText;
+        }
+        String translated = pack(language)[slot];
+        return translated != null ? translated : englishText;
     }
     
     public static String translateSymptom(String englishSymptom) {
         return translate(englishSymptom);
     }
     
-    private static void initializeTranslations() {
-        // Common Symptoms Translations
-        addTranslation("Fever", "बुखार", "ताप");
-        addTranslation("Headache", "सिरदर्द", "डोकेदुखी");
-        addTranslation("Cough", "खांसी", "खोकला");
-        addTranslation("Runny Nose", "नाक बहना", "नाक वाहणे");
-        addTranslation("Sore Throat", "गले में खराश", "घशात खराश");
-        addTranslation("Sneezing", "छींक आना", "शिंकणे");
-        addTranslation("Fatigue", "थकान", "थकवा");
-        addTranslation("Body Aches", "शरीर में दर्द", "शरीरात वेदना");
-        addTranslation("Nausea", "मतली", "मळमळ");
-        addTranslation("Vomiting", "उल्टी", "ओकारी");
-        addTranslation("Diarrhea", "दस्त", "अतिसार");
-        addTranslation("Abdominal Pain", "पेट में दर्द", "पोटात वेदना");
-        addTranslation("Chest Pain", "छाती में दर्द", "छातीत वेदना");
-        addTranslation("Chest Discomfort", "छाती में बेचैनी", "छातीत अस्वस्थता");
-        addTranslation("Shortness of Breath", "सांस लेने में तकलीफ", "श्वास घेण्यात अडचण");
-        addTranslation("Wheezing", "घरघराहट", "घरघर");
-        addTranslation("Nasal Congestion", "नाक बंद", "नाक बंद");
-        addTranslation("Chills", "ठंड लगना", "थंडी");
-        addTranslation("Sweating", "पसीना आना", "घाम");
-        addTranslation("Dizziness", "चक्कर आना", "चक्कर");
-        addTranslation("Blurred Vision", "धुंधली दृष्टि", "अंधुक दृष्टी");
-        addTranslation("Joint Pain", "जोड़ों में दर्द", "सांधे दुखणे");
-        addTranslation("Swelling", "सूजन", "सूज");
-        addTranslation("Stiffness", "अकड़न", "ताठरपणा");
-        addTranslation("Back Pain", "पीठ दर्द", "पाठीचा वेदना");
-        addTranslation("Muscle Pain", "मांसपेशियों में दर्द", "स्नायूंमध्ये वेदना");
-        addTranslation("Loss of Appetite", "भूख न लगना", "क्षुधा नसणे");
-        addTranslation("Weight Loss", "वजन कम होना", "वजन कमी");
-        addTranslation("Weight Gain", "वजन बढ़ना", "वजन वाढ");
-        addTranslation("Increased Thirst", "प्यास लगना", "तहान लागणे");
-        addTranslation("Frequent Urination", "बार-बार पेशाब आना", "वारंवार लघवी");
-        addTranslation("Burning Sensation", "जलन", "जळजळ");
-        addTranslation("Rash", "चकत्ते", "पुरळ");
-        addTranslation("Itching", "खुजली", "तुरटी");
-        addTranslation("Redness", "लाली", "लाली");
-        addTranslation("Confusion", "भ्रम", "गोंधळ");
-        addTranslation("Memory Problems", "याददाश्त की समस्या", "स्मृती समस्या");
-        addTranslation("Difficulty Concentrating", "ध्यान केंद्रित करने में कठिनाई", "लक्ष केंद्रित करण्यात अडचण");
-        addTranslation("Anxiety", "चिंता", "चिंता");
-        addTranslation("Depression", "अवसाद", "नैराश्य");
-        addTranslation("Insomnia", "अनिद्रा", "अनिद्रा");
-        addTranslation("Irregular Heartbeat", "अनियमित दिल की धड़कन", "अनियमित हृदय गती");
-        addTranslation("High Blood Pressure", "उच्च रक्तचाप", "उच्च रक्तदाब");
-        addTranslation("Low Blood Pressure", "निम्न रक्तचाप", "कमी रक्तदाब");
-        addTranslation("Chest Tightness", "छाती में जकड़न", "छातीत घट्टपणा");
-        addTranslation("Chronic Cough", "पुरानी खांसी", "जुन्या खोकला");
-        addTranslation("Mucus Production", "कफ बनना", "श्लेष्मा उत्पादन");
-        addTranslation("Facial Pain", "चेहरे में दर्द", "चेहर्यात वेदना");
-        addTranslation("Sensitivity to Light", "प्रकाश के प्रति संवेदनशीलता", "प्रकाशाकडे संवेदनशीलता");
-        addTranslation("Sensitivity to Sound", "ध्वनि के प्रति संवेदनशीलता", "आवाजाकडे संवेदनशीलता");
-        addTranslation("Loss of Balance", "संतुलन खोना", "संतुलन गमावणे");
-        addTranslation("Numbness", "सुन्नता", "बधीरपणा");
-        addTranslation("Tingling", "झुनझुनी", "चुरचुर");
-        addTranslation("Weakness", "कमजोरी", "अशक्तपणा");
-        addTranslation("Pale Skin", "पीली त्वचा", "फिक्का त्वचा");
-        addTranslation("Yellow Skin", "पीली त्वचा", "पिवळी त्वचा");
-        addTranslation("Dark Urine", "गहरा मूत्र", "गडद मूत्र");
-        addTranslation("Cloudy Urine", "बादल जैसा मूत्र", "ढगाळ मूत्र");
-        addTranslation("Pelvic Pain", "श्रोणि में दर्द", "श्रोणी वेदना");
-        addTranslation("Bleeding", "रक्तस्राव", "रक्तस्राव");
-        addTranslation("Bruising", "चोट लगना", "निळेपणा");
-        addTranslation("Hair Loss", "बाल झड़ना", "केस गळणे");
-        addTranslation("Dry Skin", "सूखी त्वचा", "कोरडी त्वचा");
-        addTranslation("Cold Hands", "ठंडे हाथ", "थंड हात");
-        addTranslation("Hot Flashes", "गर्मी लगना", "उष्णता");
-        addTranslation("Night Sweats", "रात में पसीना", "रात्री घाम");
-        addTranslation("Constipation", "कब्ज", "मलबद्धता");
-        addTranslation("Bloating", "पेट फूलना", "पोट फुगणे");
-        addTranslation("Gas", "गैस", "वायू");
-        addTranslation("Cramping", "मरोड़", "खेच");
-        addTranslation("Heartburn", "सीने में जलन", "हृदयज्वाला");
-        addTranslation("Indigestion", "अपच", "अपचन");
-        addTranslation("Loss of Taste", "स्वाद न आना", "चव नसणे");
-        addTranslation("Loss of Smell", "गंध न आना", "वास नसणे");
-        addTranslation("Ear Pain", "कान में दर्द", "कानात वेदना");
-        addTranslation("Ear Discharge", "कान से पानी", "कानातून स्त्राव");
-        addTranslation("Sore Eyes", "आंखों में खराश", "डोळ्यात खराश");
-        addTranslation("Watery Eyes", "आंसू आना", "डोळे पाणी");
-        addTranslation("Red Eyes", "लाल आंखें", "लाल डोळे");
-        addTranslation("Itchy Eyes", "आंखों में खुजली", "डोळ्यात तुरटी");
-        addTranslation("Sensitivity to Light", "प्रकाश के प्रति संवेदनशीलता", "प्रकाशाकडे संवेदनशीलता");
-        addTranslation("Blurred Vision", "धुंधली दृष्टि", "अंधुक दृष्टी");
-        addTranslation("Double Vision", "दोहरी दृष्टि", "दुहेरी दृष्टी");
-        addTranslation("Eye Floaters", "आंखों में धब्बे", "डोळ्यात तरंग");
-        addTranslation("Neck Pain", "गर्दन में दर्द", "मानेचा वेदना");
-        addTranslation("Neck Stiffness", "गर्दन में अकड़न", "मानेचा ताठरपणा");
-        addTranslation("Shoulder Pain", "कंधे में दर्द", "खांद्यात वेदना");
-        addTranslation("Elbow Pain", "कोहनी में दर्द", "कोपरात वेदना");
-        addTranslation("Wrist Pain", "कलाई में दर्द", "मनगटात वेदना");
-        addTranslation("Hip Pain", "कूल्हे में दर्द", "नितंब वेदना");
-        addTranslation("Knee Pain", "घुटने में दर्द", "गुडघ्यात वेदना");
-        addTranslation("Ankle Pain", "टखने में दर्द", "घोट्यात वेदना");
-        addTranslation("Foot Pain", "पैर में दर्द", "पायात वेदना");
-        addTranslation("Toe Pain", "पैर की उंगली में दर्द", "पायाच्या बोटात वेदना");
-        addTranslation("Finger Pain", "उंगली में दर्द", "बोटात वेदना");
-        addTranslation("Hand Pain", "हाथ में दर्द", "हातात वेदना");
-        addTranslation("Arm Pain", "बांह में दर्द", "हातात वेदना");
-        addTranslation("Leg Pain", "पैर में दर्द", "पायात वेदना");
-        addTranslation("Lower Back Pain", "कमर दर्द", "कमरेचा वेदना");
-        addTranslation("Upper Back Pain", "ऊपरी पीठ दर्द", "वरच्या पाठीचा वेदना");
-        addTranslation("Spine Pain", "रीढ़ में दर्द", "पाठीचा कणा वेदना");
-        addTranslation("Rib Pain", "पसली में दर्द", "बरगड्यात वेदना");
-        addTranslation("Groin Pain", "जांघ में दर्द", "जांघीचा वेदना");
-        addTranslation("Bone Spurs", "हड्डी का उभार", "हाडांचा उभार");
-        addTranslation("Reduced Range of Motion", "गति सीमित होना", "हालचाल मर्यादित");
-        addTranslation("Warm Joints", "गर्म जोड़", "उबदार सांधे");
-        addTranslation("Morning Stiffness", "सुबह की अकड़न", "सकाळचा ताठरपणा");
-        addTranslation("Reduced Flexibility", "लचीलापन कम होना", "लवचिकता कमी");
-        addTranslation("Widespread Pain", "व्यापक दर्द", "व्यापक वेदना");
-        addTranslation("Sleep Problems", "नींद की समस्या", "झोपेची समस्या");
-        addTranslation("Cognitive Difficulties", "संज्ञानात्मक कठिनाइयाँ", "संज्ञानात्मक अडचणी");
-        addTranslation("Severe Fatigue", "गंभीर थकान", "गंभीर थकवा");
-        addTranslation("Sleep Problems", "नींद की समस्या", "झोपेची समस्या");
-        addTranslation("Muscle Pain", "मांसपेशियों में दर्द", "स्नायूंमध्ये वेदना");
-        addTranslation("Memory Problems", "याददाश्त की समस्या", "स्मृती समस्या");
-        addTranslation("Loud Snoring", "जोर से खर्राटे", "मोठ्याने घोरतो");
-        addTranslation("Daytime Sleepiness", "दिन में नींद आना", "दिवसा झोप");
-        addTranslation("Morning Headaches", "सुबह सिरदर्द", "सकाळी डोकेदुखी");
-        addTranslation("Difficulty Concentrating", "ध्यान केंद्रित करने में कठिनाई", "लक्ष केंद्रित करण्यात अडचण");
-        addTranslation("Irritability", "चिड़चिड़ापन", "चिडचिडेपणा");
-        addTranslation("Swelling", "सूजन", "सूज");
-        addTranslation("Itchy Skin", "त्वचा में खुजली", "त्वचेत तुरटी");
-        addTranslation("Muscle Cramps", "मांसपेशियों में ऐंठन", "स्नायूंमध्ये खेच");
-        addTranslation("Jaundice", "पीलिया", "कावीळ");
-        addTranslation("Nausea", "मतली", "मळमळ");
-        addTranslation("Loss of Appetite", "भूख न लगना", "क्षुधा नसणे");
-        addTranslation("Dark Urine", "गहरा मूत्र", "गडद मूत्र");
-        addTranslation("Sudden Weakness", "अचानक कमजोरी", "अचानक अशक्तपणा");
-        addTranslation("Numbness", "सुन्नता", "बधीरपणा");
-        addTranslation("Confusion", "भ्रम", "गोंधळ");
-        addTranslation("Difficulty Speaking", "बोलने में कठिनाई", "बोलण्यात अडचण");
-        addTranslation("Vision Problems", "दृष्टि समस्या", "दृष्टी समस्या");
-        addTranslation("Severe Headache", "तीव्र सिरदर्द", "तीव्र डोकेदुखी");
-        addTranslation("Dehydration", "निर्जलीकरण", "निर्जलीकरण");
-        addTranslation("Loss of Interest", "रुचि न होना", "आवड नसणे");
-        addTranslation("Appetite Changes", "भूख में बदलाव", "क्षुधा बदल");
-        addTranslation("Persistent Sadness", "लगातार उदासी", "सतत उदासी");
-        addTranslation("Excessive Worry", "अत्यधिक चिंता", "अत्यधिक चिंता");
-        addTranslation("Restlessness", "बेचैनी", "अस्वस्थता");
-        addTranslation("Rapid Heartbeat", "तेज दिल की धड़कन", "वेगवान हृदय गती");
-        addTranslation("Trembling", "कंपन", "थरथरणे");
-        addTranslation("Difficulty Sleeping", "सोने में कठिनाई", "झोपण्यात अडचण");
-        addTranslation("Regurgitation", "उल्टी आना", "उलटी");
-        addTranslation("Difficulty Swallowing", "निगलने में कठिनाई", "गिळण्यात अडचण");
-        addTranslation("Difficulty Breathing", "सांस लेने में कठिनाई", "श्वास घेण्यात अडचण");
-        addTranslation("Slow Healing", "घाव धीरे भरना", "जखम हळू भरणे");
-    }
-    
-    private static void addTranslation(String english, String hindi, String marathi) {
-        Map<Language, String> trans = new HashMap<>();
-        trans.put(Language.ENGLISH, english);
-        trans.put(Language.HINDI, hindi);
-        trans.put(Language.MARATHI, marathi);
-        translations.put(english.toLowerCase(), trans);
+    public static String getUILabel(String key) {
+        Integer slot = labelSlots.get(key);
+        if (slot == null) {
+            return key;
+        }
+        String label = pack(currentLanguage)[slot];
+        return label != null ? label : pack(Language.ENGLISH)[slot];
     }
     
-    public static String getUILabel(String key) {
-        Map<String, Map<Language, String>> uiLabels = new HashMap<>();
-        
-        // UI Labels
-        uiLabels.put("select_symptoms", createLabelMap("Select Your Symptoms", "अपने लक्षण चुनें", "तुमची लक्षणे निवडा"));
-        uiLabels.put("analysis_results", createLabelMap("Analysis Results", "विश्लेषण परिणाम", "विश्लेषण परिणाम"));
-        uiLabels.put("analyze", createLabelMap("Analyze Symptoms", "लक्षणों का विश्लेषण करें", "लक्षणांचे विश्लेषण करा"));
-        uiLabels.put("clear_all", createLabelMap("Clear All", "सभी साफ करें", "सर्व साफ करा"));
-        uiLabels.put("search_symptoms", createLabelMap("Search symptoms...", "लक्षण खोजें...", "लक्षण शोधा..."));
-        uiLabels.put("selected_symptoms", createLabelMap("Selected Symptoms", "चयनित लक्षण", "निवडलेली लक्षणे"));
-        uiLabels.put("description", createLabelMap("Description", "विवरण", "वर्णन"));
-        uiLabels.put("matched_symptoms", createLabelMap("Matched Symptoms", "मेल खाने वाले लक्षण", "जुळलेली लक्षणे"));
-        uiLabels.put("common_treatments", createLabelMap("Common Treatments", "सामान्य उपचार", "सामान्य उपचार"));
-        uiLabels.put("when_to_seek_help", createLabelMap("When to Seek Medical Help", "चिकित्सकीय सहायता कब लें", "वैद्यकीय मदत कधी घ्यावी"));
-        uiLabels.put("severity", createLabelMap("Severity", "गंभीरता", "गंभीरता"));
-        uiLabels.put("match", createLabelMap("Match", "मेल", "जुळणे"));
-        uiLabels.put("no_results", createLabelMap("No matching conditions found", "कोई मेल खाने वाली स्थिति नहीं मिली", "जुळणारी स्थिती सापडली नाही"));
-        
-        Map<Language, String> labelMap = uiLabels.get(key);
-        if (labelMap != null && labelMap.containsKey(currentLanguage)) {
-            return labelMap.get(currentLanguage);
+    private static void compileKeys() {
+        Properties english = readPack(Language.ENGLISH);
+        String[] pack = new String[english.size()];
+        for (String key : new TreeSet<>(english.stringPropertyNames())) {
+            int slot = slotKeys.size();
+            String value = english.getProperty(key);
+            slotKeys.add(key.intern());
+            pack[slot] = value;
+            if (key.startsWith(LABEL_PREFIX)) {
+                labelSlots.put(key.substring(LABEL_PREFIX.length()).intern(), slot);
+            } else if (key.startsWith(SYMPTOM_PREFIX)) {
+                symptomSlots.put(value, slot);
+                symptomSlotsIgnoreCase.put(value, slot);
+            }
+        }
+        packs.set(Language.ENGLISH.ordinal(), pack);
+    }
+    
+    private static String[] pack(Language language) {
+        String[] pack = packs.get(language.ordinal());
+        return pack != null ? pack : loadPack(language);
+    }
+    
+    private static synchronized String[] loadPack(Language language) {
+        String[] pack = packs.get(language.ordinal());
+        if (pack != null) {
+            return pack;
+        }
+        // Keys missing from the pack stay null and fall back to English
+        Properties properties = readPack(language);
+        pack = new String[slotKeys.size()];
+        for (int slot = 0; slot < pack.length; slot++) {
+            pack[slot] = properties.getProperty(slotKeys.get(slot));
+        }
+        packs.set(language.ordinal(), pack);
+        return pack;
+    }
+    
+    private static Properties readPack(Language language) {
+        Properties properties = new Properties();
+        String path = String.format(PACK_PATH, language.getCode());
+        try (InputStream in = LanguageManager.class.getResourceAsStream(path)) {
+            if (in == null) {
+                System.err.println("Language pack not found: " + path);
+                return properties;
+            }
+            properties.load(new InputStreamReader(in, StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            System.err.println("Failed to load language pack " + path + ": " + e.getMessage());
+        }
+        return properties;
+    }
+    
+    /**
+     * English symptom for Hindi/Marathi input typed in either script ("bukhar", "बुखार"), or null.
+     * An exact phonetic match wins; otherwise the nearest name within a few edits, unless two
+     * different symptoms are equally near. Both steps are hash probes, the second over the
+     * query's deletion variants.
+     */
+    public static String findSymptomByRomanized(String text) {
+        if (text == null || text.isBlank()) {
+            return null;
+        }
+        String form = phrase(text.trim().split("\\s+"));
+        if (form.isEmpty()) {
+            return null;
+        }
+        Set<String> exact = RomanizedIndex.EXACT.get(form);
+        if (exact != null) {
+            return exact.size() == 1 ? exact.iterator().next() : null;
         }
-        return key;
+        // Short words must match exactly so everyday English ("tip", "top") is not mistaken for a symptom
+        int allowedEdits = allowedEdits(form);
+        if (allowedEdits == 0 || form.length() - allowedEdits > RomanizedIndex.longestForm) {
+            return null;
+        }
+        // Names within allowedEdits share a deletion variant with the query, so only those are compared
+        Set<String[]> candidates = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (String variant : deletions(form, allowedEdits)) {
+            List<String[]> entries = RomanizedIndex.NEIGHBOURHOOD.get(variant);
+            if (entries != null) {
+                candidates.addAll(entries);
+            }
+        }
+        String best = null;
+        int bestEdits = allowedEdits + 1;
+        boolean ambiguous = false;
+        for (String[] entry : candidates) {
+            int edits = editDistance(form, entry[0]);
+            if (edits < bestEdits) {
+                best = entry[1];
+                bestEdits = edits;
+                ambiguous = false;
+            } else if (edits == bestEdits && !entry[1].equals(best)) {
+                ambiguous = true;
+            }
+        }
+        return ambiguous ? null : best;
     }
     
-    private static Map<Language, String> createLabelMap(String en, String hi, String mr) {
-        Map<Language, String> map = new HashMap<>();
-        map.put(Language.ENGLISH, en);
-        map.put(Language.HINDI, hi);
-        map.put(Language.MARATHI, mr);
-        return map;
+    /** English symptoms named anywhere in a message, matching single words and two-word phrases. */
+    public static List<String> findRomanizedSymptoms(String message) {
+        Set<String> found = new LinkedHashSet<>();
+        if (message == null) {
+            return new ArrayList<>();
+        }
+        // "pet me dard" is looked up as "pet dard"
+        List<String> words = new ArrayList<>();
+        for (String word : message.trim().split("[\\s,.;:!?]+")) {
+            if (!word.isEmpty() && !FILLERS.contains(Transliterator.toLatin(word).toLowerCase(Locale.ROOT))) {
+                words.add(word);
+            }
+        }
+        for (int i = 0; i < words.size(); i++) {
+            String single = findSymptomByRomanized(words.get(i));
+            if (single != null) {
+                found.add(single);
+            }
+            if (i + 1 < words.size()) {
+                String pair = findSymptomByRomanized(words.get(i) + " " + words.get(i + 1));
+                if (pair != null) {
+                    found.add(pair);
+                }
+            }
+        }
+        return new ArrayList<>(found);
+    }
+    
+    // Phonetic form of the words with the postposition में ("me", "mein") left out
+    private static String phrase(String[] words) {
+        StringBuilder form = new StringBuilder();
+        for (String word : words) {
+            if (!FILLERS.contains(Transliterator.toLatin(word).toLowerCase(Locale.ROOT))) {
+                form.append(Transliterator.phoneticForm(word));
+            }
+        }
+        return form.toString();
+    }
+    
+    private static int allowedEdits(String form) {
+        return Math.min(form.length() / 4, MAX_EDITS);
+    }
+    
+    // The form and every string left after deleting up to depth of its characters
+    private static Set<String> deletions(String form, int depth) {
+        Set<String> variants = new HashSet<>();
+        variants.add(form);
+        Set<String> frontier = variants;
+        for (int round = 0; round < depth; round++) {
+            Set<String> next = new HashSet<>();
+            for (String variant : frontier) {
+                for (int i = 0; i < variant.length(); i++) {
+                    next.add(variant.substring(0, i) + variant.substring(i + 1));
+                }
+            }
+            variants.addAll(next);
+            frontier = next;
+        }
+        return variants;
+    }
+    
+    private static int editDistance(String a, String b) {
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                current[j] = Math.min(Math.min(previous[j] + 1, current[j - 1] + 1), previous[j - 1] + cost);
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[b.length()];
+    }
+    
+    // Built on first use, since it needs every language pack loaded
+    private static class RomanizedIndex {
+        // Phonetic form of each Hindi/Marathi name -> English names; several means the form is ambiguous
+        static final Map<String, Set<String>> EXACT = new HashMap<>();
+        // Deletion variant -> {phonetic form, English name} of every name that reaches it within its
+        // allowed edits. A query within d allowed edits of a name shares a variant with it, reached
+        // by at most d deletions from each side.
+        static final Map<String, List<String[]>> NEIGHBOURHOOD = new HashMap<>();
+        static int longestForm;
+        
+        static {
+            String[] english = pack(Language.ENGLISH);
+            for (Language language : Language.values()) {
+                if (language == Language.ENGLISH) {
+                    continue;
+                }
+                String[] pack = pack(language);
+                for (int slot = 0; slot < pack.length; slot++) {
+                    if (pack[slot] != null && slotKeys.get(slot).startsWith(SYMPTOM_PREFIX)) {
+                        add(phrase(pack[slot].trim().split("\\s+")), english[slot]);
+                    }
+                }
+            }
+        }
+        
+        private static void add(String form, String english) {
+            if (EXACT.computeIfAbsent(form, k -> new HashSet<>()).add(english)) {
+                String[] entry = {form, english};
+                for (String variant : deletions(form, allowedEdits(form))) {
+                    NEIGHBOURHOOD.computeIfAbsent(variant, k -> new ArrayList<>()).add(entry);
+                }
+                longestForm = Math.max(longestForm, form.length());
+            }
+        }
     }
 }
-
@@ -0,0 +1,76 @@
+package com.smartheal.utils;
+
+import javafx.application.Platform;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+/**
+ * Background work owned by one module view.
+ * Leaving the module cancels everything started since it was shown and drops
+ * UI updates that were still queued for it. Work belongs to the visit that
+ * started it: tasks submitted from a running task share that task's token.
+ */
+public class ModuleTaskScope {
+    private final TaskExecutor.Module module;
+    private volatile CancellationToken token;
+
+    public ModuleTaskScope(TaskExecutor.Module module) {
+        this.module = module;
+        this.token = new CancellationToken();
+    }
+
+    /**
+     * Token that work started by the caller belongs to: the running task's inside a scoped task,
+     * otherwise the current visit's. Code that continues work outside a task, such as
+     * CompletableFuture callbacks, captures it when the work starts and passes it on.
+     */
+    public CancellationToken owner() {
+        CancellationToken current = CancellationToken.current();
+        return current != null ? current : token;
+    }
+
+    public Future<?> submit(Runnable task) {
+        return submit(owner(), task);
+    }
+
+    public Future<?> submit(CancellationToken owner, Runnable task) {
+        return TaskExecutor.submit(module, owner, task);
+    }
+
+    public <T> CompletableFuture<T> supplyAsync(Supplier<T> supplier) {
+        return supplyAsync(owner(), supplier);
+    }
+
+    public <T> CompletableFuture<T> supplyAsync(CancellationToken owner, Supplier<T> supplier) {
+        return TaskExecutor.supplyAsync(module, owner, supplier);
+    }
+
+    // Platform.runLater that skips the update if its task was cancelled before the FX thread got to it
+    public void runLater(Runnable update) {
+        CancellationToken owner = CancellationToken.current();
+        if (owner == null) {
+            throw new IllegalStateException("runLater called outside a scoped task; pass the owning token");
+        }
+        runLater(owner, update);
+    }
+
+    public void runLater(CancellationToken owner, Runnable update) {
+        if (owner.isCancelled()) {
+            return;
+        }
+        Platform.runLater(() -> {
+            if (!owner.isCancelled()) {
+                update.run();
+            }
+        });
+    }
+
+    public void cancelAll() {
+        // Cancelled first, so nothing can pick up the next visit's token in between
+        CancellationToken previous = token;
+        previous.cancel();
+        token = new CancellationToken();
+    }
+}
@@ -1,225 +1,326 @@
 package com.smartheal.utils;
 
 import javafx.animation.FadeTransition;
+import javafx.animation.Interpolator;
 import javafx.animation.ParallelTransition;
+import javafx.animation.PauseTransition;
 import javafx.animation.TranslateTransition;
 import javafx.application.Platform;
+import javafx.css.PseudoClass;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.control.Button;
 import javafx.scene.control.Label;
 import javafx.scene.layout.HBox;
 import javafx.scene.layout.Priority;
+import javafx.scene.layout.Region;
 import javafx.scene.layout.StackPane;
 import javafx.scene.layout.VBox;
-import javafx.scene.paint.Color;
-import javafx.scene.text.Font;
-import javafx.scene.text.FontWeight;
 import javafx.util.Duration;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.ListIterator;
+
+/**
+ * Toast notifications shown in the top-right corner of a root pane. At most a few toasts are
+ * on screen at once and their nodes and animations are reused. A repeat of a toast already
+ * showing only bumps its counter, and bursts of success/info toasts are rate-limited, so
+ * background flows cannot flood the scene graph.
+ */
 public class NotificationHelper {
-    
+
     public enum NotificationType {
         SUCCESS, ERROR, INFO, WARNING
     }
-    
+
+    private static final int MAX_VISIBLE = 3;
+    private static final int MAX_QUEUED = 8;
+    // Success and info toasts beyond this many per window are dropped
+    private static final int LOW_PRIORITY_BURST = 3;
+    private static final long LOW_PRIORITY_WINDOW_MS = 2000;
+    private static final Duration DISPLAY_TIME = Duration.seconds(4);
+    private static final Duration SHOW_TIME = Duration.millis(400);
+    private static final Duration HIDE_TIME = Duration.millis(300);
+    private static final double SLIDE_DISTANCE = 500;
+    private static final Interpolator SLIDE = Interpolator.SPLINE(0.4, 0.0, 0.2, 1.0);
+    private static final Object LAYER_KEY = new Object();
+
     public static void showSuccessNotification(StackPane rootPane, String message) {
         showNotification(rootPane, message, NotificationType.SUCCESS);
     }
-    
+
     public static void showErrorNotification(StackPane rootPane, String message) {
         showNotification(rootPane, message, NotificationType.ERROR);
     }
-    
+
     public static void showInfoNotification(StackPane rootPane, String message) {
         showNotification(rootPane, message, NotificationType.INFO);
     }
-    
+
     public static void showWarningNotification(StackPane rootPane, String message) {
         showNotification(rootPane, message, NotificationType.WARNING);
     }
-    
+
     private static void showNotification(StackPane rootPane, String message, NotificationType type) {
+        String text = message != null ? message : "";
         Platform.runLater(() -> {
-            // Create modern notification card
-            VBox notification = new VBox(0);
-            notification.setMaxWidth(400);
-            notification.setMinWidth(350);
-            
-            // Get type-specific colors and icons
-            String bgColor, borderColor, iconColor, icon, title;
-            switch (type) {
-                case SUCCESS:
-                    bgColor = "#FFFFFF";
-                    borderColor = "#22C55E";
-                    iconColor = "#22C55E";
-                    icon = "✓";
-                    title = "Success";
-                    break;
-                case ERROR:
-                    bgColor = "#FFFFFF";
-                    borderColor = "#EF4444";
-                    iconColor = "#EF4444";
-                    icon = "✕";
-                    title = "Error";
-                    break;
-                case WARNING:
-                    bgColor = "#FFFFFF";
-                    borderColor = "#F59E0B";
-                    iconColor = "#F59E0B";
-                    icon = "⚠";
-                    title = "Warning";
-                    break;
-                default: // INFO
-                    bgColor = "#FFFFFF";
-                    borderColor = "#3B82F6";
-                    iconColor = "#3B82F6";
-                    icon = "ℹ";
-                    title = "Info";
+            ToastLayer layer = (ToastLayer) rootPane.getProperties()
+                .computeIfAbsent(LAYER_KEY, key -> new ToastLayer(rootPane));
+            layer.show(type, text);
+        });
+    }
+
+    private static boolean isHighPriority(NotificationType type) {
+        return type == NotificationType.ERROR || type == NotificationType.WARNING;
+    }
+
+    private record Pending(NotificationType type, String message) {
+    }
+
+    // Stack of toasts for one root pane, with the queue, node pool and rate limit behind it
+    private static final class ToastLayer extends VBox {
+        private final StackPane rootPane;
+        private final List<Toast> visible = new ArrayList<>();
+        private final LinkedList<Pending> queue = new LinkedList<>();
+        private final ArrayDeque<Toast> pool = new ArrayDeque<>();
+        private final long[] lowPriorityTimes = new long[LOW_PRIORITY_BURST];
+        private int lowPriorityIndex = 0;
+
+        ToastLayer(StackPane rootPane) {
+            super(10);
+            this.rootPane = rootPane;
+            setAlignment(Pos.TOP_RIGHT);
+            setPickOnBounds(false);
+            setMaxSize(Region.USE_PREF_SIZE, Region.USE_PREF_SIZE);
+            StackPane.setAlignment(this, Pos.TOP_RIGHT);
+            StackPane.setMargin(this, new Insets(20, 20, 0, 0));
+        }
+
+        void show(NotificationType type, String message) {
+            for (Toast toast : visible) {
+                if (!toast.isHiding() && toast.matches(type, message)) {
+                    toast.repeat();
+                    return;
+                }
+            }
+            for (Pending pending : queue) {
+                if (pending.type() == type && pending.message().equals(message)) {
+                    return;
+                }
+            }
+            boolean highPriority = isHighPriority(type);
+            if (!highPriority && !acquireLowPriorityPermit()) {
+                return;
+            }
+
+            if (visible.size() < MAX_VISIBLE) {
+                display(type, message);
+                return;
+            }
+            if (highPriority) {
+                // Make room by retiring the oldest success/info toast; this one shows once it is gone
+                for (Toast toast : visible) {
+                    if (!toast.isHiding() && !isHighPriority(toast.type)) {
+                        toast.hide();
+                        break;
+                    }
+                }
+            }
+            enqueue(new Pending(type, message));
+        }
+
+        private boolean acquireLowPriorityPermit() {
+            long now = System.currentTimeMillis();
+            if (now - lowPriorityTimes[lowPriorityIndex] < LOW_PRIORITY_WINDOW_MS) {
+                return false;
+            }
+            lowPriorityTimes[lowPriorityIndex] = now;
+            lowPriorityIndex = (lowPriorityIndex + 1) % LOW_PRIORITY_BURST;
+            return true;
+        }
+
+        // Errors and warnings wait ahead of success/info toasts; when full the newest success/info is dropped
+        private void enqueue(Pending pending) {
+            boolean highPriority = isHighPriority(pending.type());
+            if (queue.size() >= MAX_QUEUED) {
+                if (!highPriority || !dropNewestLowPriority()) {
+                    return;
+                }
+            }
+            if (!highPriority) {
+                queue.addLast(pending);
+                return;
+            }
+            ListIterator<Pending> it = queue.listIterator();
+            while (it.hasNext()) {
+                if (!isHighPriority(it.next().type())) {
+                    it.previous();
                     break;
+                }
             }
-            
-            // Main container with shadow and border
-            notification.setStyle(
-                "-fx-background-color: " + bgColor + "; " +
-                "-fx-background-radius: 12; " +
-                "-fx-border-color: " + borderColor + "; " +
-                "-fx-border-width: 2; " +
-                "-fx-border-radius: 12; " +
-                "-fx-effect: dropshadow(gaussian, rgba(0,0,0,0.15), 15, 0, 0, 5);"
-            );
-            
-            // Header with icon, title, and close button
-            HBox headerBox = new HBox(12);
-            headerBox.setAlignment(Pos.CENTER_LEFT);
-            headerBox.setPadding(new Insets(15, 15, 10, 15));
-            headerBox.setStyle("-fx-background-color: " + bgColor + "; -fx-background-radius: 12 12 0 0;");
-            
-            // Icon circle
-            StackPane iconContainer = new StackPane();
-            iconContainer.setMinSize(36, 36);
-            iconContainer.setMaxSize(36, 36);
-            iconContainer.setStyle(
-                "-fx-background-color: " + iconColor + "15; " +
-                "-fx-background-radius: 18;"
-            );
-            
-            Label iconLabel = new Label(icon);
-            iconLabel.setFont(Font.font("System", FontWeight.BOLD, 20));
-            iconLabel.setTextFill(Color.web(iconColor));
-            iconContainer.getChildren().add(iconLabel);
-            
-            // Title and message container
-            VBox contentBox = new VBox(4);
-            contentBox.setAlignment(Pos.CENTER_LEFT);
-            HBox.setHgrow(contentBox, Priority.ALWAYS);
-            
-            Label titleLabel = new Label(title);
-            titleLabel.setFont(Font.font("System", FontWeight.BOLD, 14));
-            titleLabel.setTextFill(Color.web("#1F2937"));
-            
-            Label messageLabel = new Label(message);
-            messageLabel.setFont(Font.font("System", 13));
-            messageLabel.setTextFill(Color.web("#4B5563"));
+            it.add(pending);
+        }
+
+        private boolean dropNewestLowPriority() {
+            Iterator<Pending> it = queue.descendingIterator();
+            while (it.hasNext()) {
+                if (!isHighPriority(it.next().type())) {
+                    it.remove();
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private void display(NotificationType type, String message) {
+            // The root's children may have been replaced since the last toast
+            if (getParent() != rootPane) {
+                rootPane.getChildren().add(this);
+            }
+            toFront();
+
+            Toast toast = pool.isEmpty() ? new Toast(this) : pool.pop();
+            toast.bind(type, message);
+            visible.add(toast);
+            getChildren().add(toast);
+            toast.show();
+        }
+
+        void release(Toast toast) {
+            visible.remove(toast);
+            getChildren().remove(toast);
+            if (pool.size() < MAX_VISIBLE) {
+                pool.push(toast);
+            }
+            while (visible.size() < MAX_VISIBLE && !queue.isEmpty()) {
+                Pending next = queue.poll();
+                display(next.type(), next.message());
+            }
+        }
+    }
+
+    private static final class Toast extends HBox {
+        private static final PseudoClass SUCCESS = PseudoClass.getPseudoClass("success");
+        private static final PseudoClass ERROR = PseudoClass.getPseudoClass("error");
+        private static final PseudoClass WARNING = PseudoClass.getPseudoClass("warning");
+        private static final PseudoClass INFO = PseudoClass.getPseudoClass("info");
+
+        private final Label iconLabel = new Label();
+        private final Label titleLabel = new Label();
+        private final Label messageLabel = new Label();
+        private final PauseTransition dwell = new PauseTransition(DISPLAY_TIME);
+        private final FadeTransition fadeIn = new FadeTransition(SHOW_TIME, this);
+        private final TranslateTransition slideIn = new TranslateTransition(SHOW_TIME, this);
+        private final FadeTransition fadeOut = new FadeTransition(HIDE_TIME, this);
+        private final TranslateTransition slideOut = new TranslateTransition(HIDE_TIME, this);
+        private final ParallelTransition showAnimation = new ParallelTransition(fadeIn, slideIn);
+        private final ParallelTransition hideAnimation = new ParallelTransition(fadeOut, slideOut);
+        private NotificationType type;
+        private String message;
+        private String title;
+        private int count;
+        private boolean hiding;
+
+        Toast(ToastLayer layer) {
+            getStyleClass().add("toast");
+            setMaxWidth(400);
+            setMinWidth(350);
+
+            iconLabel.getStyleClass().add("toast-icon");
+            titleLabel.getStyleClass().add("toast-title");
+            messageLabel.getStyleClass().add("toast-message");
             messageLabel.setWrapText(true);
             messageLabel.setMaxWidth(300);
-            
-            contentBox.getChildren().addAll(titleLabel, messageLabel);
-            
-            // Close button
+
+            VBox contentBox = new VBox(4, titleLabel, messageLabel);
+            contentBox.setAlignment(Pos.CENTER_LEFT);
+            HBox.setHgrow(contentBox, Priority.ALWAYS);
+
             Button closeButton = new Button("✕");
-            closeButton.setStyle(
-                "-fx-background-color: transparent; " +
-                "-fx-text-fill: #9CA3AF; " +
-                "-fx-font-size: 16px; " +
-                "-fx-font-weight: bold; " +
-                "-fx-cursor: hand; " +
-                "-fx-padding: 2 8; " +
-                "-fx-background-radius: 4;"
-            );
-            closeButton.setOnMouseEntered(e -> closeButton.setStyle(
-                "-fx-background-color: #F3F4F6; " +
-                "-fx-text-fill: #374151; " +
-                "-fx-font-size: 16px; " +
-                "-fx-font-weight: bold; " +
-                "-fx-cursor: hand; " +
-                "-fx-padding: 2 8; " +
-                "-fx-background-radius: 4;"
-            ));
-            closeButton.setOnMouseExited(e -> closeButton.setStyle(
-                "-fx-background-color: transparent; " +
-                "-fx-text-fill: #9CA3AF; " +
-                "-fx-font-size: 16px; " +
-                "-fx-font-weight: bold; " +
-                "-fx-cursor: hand; " +
-                "-fx-padding: 2 8; " +
-                "-fx-background-radius: 4;"
-            ));
-            
-            headerBox.getChildren().addAll(iconContainer, contentBox, closeButton);
-            
-            notification.getChildren().add(headerBox);
-            
-            // Position at top-right
-            StackPane.setAlignment(notification, Pos.TOP_RIGHT);
-            StackPane.setMargin(notification, new Insets(20, 20, 0, 0));
-            
-            // Add to root
-            rootPane.getChildren().add(notification);
-            
-            // Close button action
-            closeButton.setOnAction(e -> hideNotification(rootPane, notification));
-            
-            // Animation - slide from right
-            notification.setTranslateX(500);
-            notification.setOpacity(0);
-            
-            FadeTransition fadeIn = new FadeTransition(Duration.millis(400), notification);
+            closeButton.getStyleClass().add("toast-close-button");
+            closeButton.setOnAction(e -> hide());
+
+            getChildren().addAll(iconLabel, contentBox, closeButton);
+
             fadeIn.setFromValue(0);
             fadeIn.setToValue(1);
-            
-            TranslateTransition slideIn = new TranslateTransition(Duration.millis(400), notification);
-            slideIn.setFromX(500);
+            slideIn.setFromX(SLIDE_DISTANCE);
             slideIn.setToX(0);
-            slideIn.setInterpolator(javafx.animation.Interpolator.SPLINE(0.4, 0.0, 0.2, 1.0));
-            
-            ParallelTransition show = new ParallelTransition(fadeIn, slideIn);
-            show.play();
-            
-            // Auto-hide after 4 seconds
-            FadeTransition fadeOut = new FadeTransition(Duration.millis(300), notification);
-            fadeOut.setFromValue(1);
+            slideIn.setInterpolator(SLIDE);
             fadeOut.setToValue(0);
-            
-            TranslateTransition slideOut = new TranslateTransition(Duration.millis(300), notification);
-            slideOut.setFromX(0);
-            slideOut.setToX(500);
-            slideOut.setInterpolator(javafx.animation.Interpolator.SPLINE(0.4, 0.0, 0.2, 1.0));
-            
-            ParallelTransition hide = new ParallelTransition(fadeOut, slideOut);
-            hide.setDelay(Duration.seconds(4));
-            hide.setOnFinished(e -> hideNotification(rootPane, notification));
-            hide.play();
-        });
-    }
-    
-    private static void hideNotification(StackPane rootPane, VBox notification) {
-        FadeTransition fadeOut = new FadeTransition(Duration.millis(300), notification);
-        fadeOut.setFromValue(notification.getOpacity());
-        fadeOut.setToValue(0);
-        
-        TranslateTransition slideOut = new TranslateTransition(Duration.millis(300), notification);
-        slideOut.setFromX(notification.getTranslateX());
-        slideOut.setToX(500);
-        slideOut.setInterpolator(javafx.animation.Interpolator.SPLINE(0.4, 0.0, 0.2, 1.0));
-        
-        ParallelTransition hide = new ParallelTransition(fadeOut, slideOut);
-        hide.setOnFinished(e -> {
-            if (rootPane.getChildren().contains(notification)) {
-                rootPane.getChildren().remove(notification);
+            slideOut.setToX(SLIDE_DISTANCE);
+            slideOut.setInterpolator(SLIDE);
+            dwell.setOnFinished(e -> hide());
+            hideAnimation.setOnFinished(e -> layer.release(this));
+        }
+
+        void bind(NotificationType newType, String newMessage) {
+            type = newType;
+            message = newMessage;
+            count = 1;
+            hiding = false;
+            pseudoClassStateChanged(SUCCESS, newType == NotificationType.SUCCESS);
+            pseudoClassStateChanged(ERROR, newType == NotificationType.ERROR);
+            pseudoClassStateChanged(WARNING, newType == NotificationType.WARNING);
+            pseudoClassStateChanged(INFO, newType == NotificationType.INFO);
+            switch (newType) {
+                case SUCCESS -> {
+                    iconLabel.setText("✓");
+                    title = "Success";
+                }
+                case ERROR -> {
+                    iconLabel.setText("✕");
+                    title = "Error";
+                }
+                case WARNING -> {
+                    iconLabel.setText("⚠");
+                    title = "Warning";
+                }
+                default -> {
+                    iconLabel.setText("ℹ");
+                    title = "Info";
+                }
             }
-        });
-        hide.play();
+            titleLabel.setText(title);
+            messageLabel.setText(newMessage);
+        }
+
+        boolean matches(NotificationType otherType, String otherMessage) {
+            return type == otherType && message.equals(otherMessage);
+        }
+
+        boolean isHiding() {
+            return hiding;
+        }
+
+        void show() {
+            setTranslateX(SLIDE_DISTANCE);
+            setOpacity(0);
+            showAnimation.playFromStart();
+            dwell.playFromStart();
+        }
+
+        // Counts a repeat of this toast and keeps it on screen for another full display time
+        void repeat() {
+            count++;
+            titleLabel.setText(title + " (×" + count + ")");
+            dwell.playFromStart();
+        }
+
+        void hide() {
+            if (hiding) {
+                return;
+            }
+            hiding = true;
+            dwell.stop();
+            showAnimation.stop();
+            fadeOut.setFromValue(getOpacity());
+            slideOut.setFromX(getTranslateX());
+            hideAnimation.playFromStart();
+        }
     }
 }
-
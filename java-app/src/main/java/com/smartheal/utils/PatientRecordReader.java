@@ -0,0 +1,137 @@
+package com.smartheal.utils;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Streams patient records from CSV or NDJSON, one line at a time, so files of any length are
+ * read in constant memory. Every record comes back as a JSON object: NDJSON lines as they are,
+ * CSV rows keyed by the header with each cell as text. Blank lines are skipped. A line that
+ * cannot be parsed is returned as a {@link Record} with an error instead of ending the stream.
+ */
+public class PatientRecordReader implements Closeable {
+
+    public enum Format {
+        CSV,
+        NDJSON
+    }
+
+    /** One input line: the record, or why it could not be read. */
+    public record Record(long line, ObjectNode fields, String error) {
+    }
+
+    private final BufferedReader reader;
+    private final Format format;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private String[] header;
+    private long lineNumber = 0;
+
+    public PatientRecordReader(BufferedReader reader, Format format) {
+        this.reader = reader;
+        this.format = format;
+    }
+
+    /** Format named by a file's extension, or null when it does not say. */
+    public static Format formatOf(String fileName) {
+        String lower = fileName.toLowerCase(Locale.ROOT);
+        if (lower.endsWith(".csv")) {
+            return Format.CSV;
+        }
+        if (lower.endsWith(".ndjson") || lower.endsWith(".jsonl")) {
+            return Format.NDJSON;
+        }
+        return null;
+    }
+
+    /** The next record, or null at the end of the input. */
+    public Record next() throws IOException {
+        String line;
+        do {
+            line = reader.readLine();
+            if (line == null) {
+                return null;
+            }
+            lineNumber++;
+            // Spreadsheet exports often start with a byte order mark
+            if (lineNumber == 1 && line.startsWith("\uFEFF")) {
+                line = line.substring(1);
+            }
+        } while (line.isBlank());
+
+        if (format == Format.NDJSON) {
+            try {
+                JsonNode node = objectMapper.readTree(line);
+                if (!(node instanceof ObjectNode object)) {
+                    return new Record(lineNumber, null, "Expected a JSON object");
+                }
+                return new Record(lineNumber, object, null);
+            } catch (JsonProcessingException e) {
+                return new Record(lineNumber, null, "Invalid JSON: " + e.getOriginalMessage());
+            }
+        }
+
+        List<String> cells = splitCsv(line);
+        if (header == null) {
+            header = new String[cells.size()];
+            for (int i = 0; i < header.length; i++) {
+                header[i] = cells.get(i).trim();
+            }
+            return next();
+        }
+        if (cells.size() != header.length) {
+            return new Record(lineNumber, null,
+                "Expected " + header.length + " columns, found " + cells.size());
+        }
+        ObjectNode fields = objectMapper.createObjectNode();
+        for (int i = 0; i < header.length; i++) {
+            String cell = cells.get(i).trim();
+            if (!cell.isEmpty()) {
+                fields.put(header[i], cell);
+            }
+        }
+        return new Record(lineNumber, fields, null);
+    }
+
+    // Comma-separated cells; double quotes enclose cells with commas, and "" is a literal quote
+    private static List<String> splitCsv(String line) {
+        List<String> cells = new ArrayList<>();
+        StringBuilder cell = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    cell.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    cell.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                cells.add(cell.toString());
+                cell.setLength(0);
+            } else {
+                cell.append(c);
+            }
+        }
+        cells.add(cell.toString());
+        return cells;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
@@ -0,0 +1,218 @@
+package com.smartheal.utils;
+
+/**
+ * Porter's suffix-stripping stemmer for lowercase English words, so "headaches", "headache"
+ * and "aching" reduce to comparable stems. Words of two letters or fewer, and anything that is
+ * not plain a-z, are returned unchanged.
+ */
+public final class PorterStemmer {
+
+    private static final String[][] STEP2 = {
+        {"ational", "ate"}, {"tional", "tion"}, {"enci", "ence"}, {"anci", "ance"}, {"izer", "ize"},
+        {"bli", "ble"}, {"alli", "al"}, {"entli", "ent"}, {"eli", "e"}, {"ousli", "ous"},
+        {"ization", "ize"}, {"ation", "ate"}, {"ator", "ate"}, {"alism", "al"}, {"iveness", "ive"},
+        {"fulness", "ful"}, {"ousness", "ous"}, {"aliti", "al"}, {"iviti", "ive"}, {"biliti", "ble"},
+        {"logi", "log"}
+    };
+    private static final String[][] STEP3 = {
+        {"icate", "ic"}, {"ative", ""}, {"alize", "al"}, {"iciti", "ic"}, {"ical", "ic"},
+        {"ful", ""}, {"ness", ""}
+    };
+    private static final String[] STEP4 = {
+        "al", "ance", "ence", "er", "ic", "able", "ible", "ant", "ement", "ment", "ent", "ion",
+        "ou", "ism", "ate", "iti", "ous", "ive", "ize"
+    };
+
+    // The word being stemmed is b[0..k]; j marks the end of the stem before a matched suffix
+    private final char[] b;
+    private int k;
+    private int j;
+
+    private PorterStemmer(String word) {
+        b = new char[word.length() + 1];
+        word.getChars(0, word.length(), b, 0);
+        k = word.length() - 1;
+    }
+
+    public static String stem(String word) {
+        if (word.length() <= 2) {
+            return word;
+        }
+        for (int i = 0; i < word.length(); i++) {
+            char c = word.charAt(i);
+            if (c < 'a' || c > 'z') {
+                return word;
+            }
+        }
+        PorterStemmer stemmer = new PorterStemmer(word);
+        stemmer.step1ab();
+        if (stemmer.k > 0) {
+            stemmer.step1c();
+            stemmer.replace(STEP2, 0);
+            stemmer.replace(STEP3, 0);
+            stemmer.step4();
+            stemmer.step5();
+        }
+        return new String(stemmer.b, 0, stemmer.k + 1);
+    }
+
+    private boolean consonant(int i) {
+        switch (b[i]) {
+            case 'a': case 'e': case 'i': case 'o': case 'u':
+                return false;
+            case 'y':
+                return i == 0 || !consonant(i - 1);
+            default:
+                return true;
+        }
+    }
+
+    // Number of vowel-consonant sequences in b[0..j]
+    private int measure() {
+        int n = 0;
+        int i = 0;
+        while (i <= j && consonant(i)) {
+            i++;
+        }
+        while (i <= j) {
+            while (i <= j && !consonant(i)) {
+                i++;
+            }
+            if (i > j) {
+                break;
+            }
+            n++;
+            while (i <= j && consonant(i)) {
+                i++;
+            }
+        }
+        return n;
+    }
+
+    private boolean vowelInStem() {
+        for (int i = 0; i <= j; i++) {
+            if (!consonant(i)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean doubleConsonant(int i) {
+        return i >= 1 && b[i] == b[i - 1] && consonant(i);
+    }
+
+    // Consonant-vowel-consonant ending at i, where the last consonant is not w, x or y
+    private boolean cvc(int i) {
+        if (i < 2 || !consonant(i) || consonant(i - 1) || !consonant(i - 2)) {
+            return false;
+        }
+        return b[i] != 'w' && b[i] != 'x' && b[i] != 'y';
+    }
+
+    private boolean ends(String suffix) {
+        int length = suffix.length();
+        int offset = k - length + 1;
+        if (offset < 0) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (b[offset + i] != suffix.charAt(i)) {
+                return false;
+            }
+        }
+        j = k - length;
+        return true;
+    }
+
+    private void setTo(String replacement) {
+        for (int i = 0; i < replacement.length(); i++) {
+            b[j + 1 + i] = replacement.charAt(i);
+        }
+        k = j + replacement.length();
+    }
+
+    // Replaces the first matching suffix when the stem before it has at least the given measure + 1
+    private void replace(String[][] rules, int minMeasure) {
+        for (String[] rule : rules) {
+            if (ends(rule[0])) {
+                if (measure() > minMeasure) {
+                    setTo(rule[1]);
+                }
+                return;
+            }
+        }
+    }
+
+    // Plurals and -ed or -ing
+    private void step1ab() {
+        if (b[k] == 's') {
+            if (ends("sses")) {
+                k -= 2;
+            } else if (ends("ies")) {
+                setTo("i");
+            } else if (b[k - 1] != 's') {
+                k--;
+            }
+        }
+        if (ends("eed")) {
+            if (measure() > 0) {
+                k--;
+            }
+        } else if ((ends("ed") || ends("ing")) && vowelInStem()) {
+            k = j;
+            if (ends("at")) {
+                setTo("ate");
+            } else if (ends("bl")) {
+                setTo("ble");
+            } else if (ends("iz")) {
+                setTo("ize");
+            } else if (doubleConsonant(k)) {
+                k--;
+                if (b[k] == 'l' || b[k] == 's' || b[k] == 'z') {
+                    k++;
+                }
+            } else {
+                j = k;
+                if (measure() == 1 && cvc(k)) {
+                    setTo("e");
+                }
+            }
+        }
+    }
+
+    // Terminal y to i when there is another vowel in the stem
+    private void step1c() {
+        if (ends("y") && vowelInStem()) {
+            b[k] = 'i';
+        }
+    }
+
+    private void step4() {
+        for (String suffix : STEP4) {
+            if (ends(suffix)) {
+                if (suffix.equals("ion") && (j < 0 || (b[j] != 's' && b[j] != 't'))) {
+                    return;
+                }
+                if (measure() > 1) {
+                    k = j;
+                }
+                return;
+            }
+        }
+    }
+
+    // Final -e, and -ll to -l
+    private void step5() {
+        j = k;
+        if (b[k] == 'e') {
+            int m = measure();
+            if (m > 1 || (m == 1 && !cvc(k - 1))) {
+                k--;
+            }
+        }
+        if (b[k] == 'l' && doubleConsonant(k) && measure() > 1) {
+            k--;
+        }
+    }
+}
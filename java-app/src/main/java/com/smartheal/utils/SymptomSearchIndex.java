@@ -0,0 +1,324 @@
+package com.smartheal.utils;
+
+import com.smartheal.models.Symptom;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Ranked symptom search over English, Hindi and Marathi names, categories and descriptions.
+ * Built once per catalog and language. Lookups combine a prefix trie with a trigram index,
+ * so partial words, word fragments and small typos all find the symptom; Hindi and Marathi
+ * names typed in Latin script are resolved through LanguageManager's transliteration index.
+ */
+public class SymptomSearchIndex {
+
+    private static final float NAME_WEIGHT = 1.0f;
+    private static final float OTHER_LANGUAGE_WEIGHT = 0.85f;
+    private static final float CATEGORY_WEIGHT = 0.5f;
+    private static final float DESCRIPTION_WEIGHT = 0.3f;
+    private static final float EXACT_BONUS = 0.25f;
+    private static final float INFIX_FACTOR = 0.6f;
+    private static final float TYPO_FACTOR = 0.5f;
+    private static final double MIN_TRIGRAM_SIMILARITY = 0.3;
+    private static final int MIN_FUZZY_LENGTH = 3;
+
+    private final List<Symptom> symptoms;
+    private final TrieNode root = new TrieNode();
+    private final List<String> terms = new ArrayList<>();
+    private final List<Postings> termPostings = new ArrayList<>();
+    private final Map<String, Integer> termIds = new HashMap<>();
+    private final Map<String, List<Integer>> trigramTerms = new HashMap<>();
+    private final Map<String, List<Integer>> docsByEnglishName = new HashMap<>();
+    private int[] termTrigramCounts;
+
+    public SymptomSearchIndex(List<Symptom> symptoms, LanguageManager.Language preferredLanguage) {
+        this.symptoms = Collections.unmodifiableList(new ArrayList<>(symptoms));
+        for (int doc = 0; doc < this.symptoms.size(); doc++) {
+            Symptom symptom = this.symptoms.get(doc);
+            String name = symptom.getName() != null ? symptom.getName() : "";
+            docsByEnglishName.computeIfAbsent(name.toLowerCase(Locale.ROOT), k -> new ArrayList<>()).add(doc);
+            for (LanguageManager.Language language : LanguageManager.Language.values()) {
+                String translated = LanguageManager.translate(name, language);
+                if (language != LanguageManager.Language.ENGLISH && translated.equals(name)) {
+                    continue;
+                }
+                float weight = language == preferredLanguage ? NAME_WEIGHT : OTHER_LANGUAGE_WEIGHT;
+                addField(doc, translated, weight);
+            }
+            addField(doc, symptom.getCategory(), CATEGORY_WEIGHT);
+            addField(doc, symptom.getDescription(), DESCRIPTION_WEIGHT);
+        }
+        buildTrigrams();
+    }
+
+    public int size() {
+        return symptoms.size();
+    }
+
+    /** Symptoms matching every word of the query, best match first; the whole catalog for a blank query. */
+    public List<Symptom> search(String query) {
+        Set<String> tokens = new HashSet<>(tokenize(query));
+        if (tokens.isEmpty()) {
+            return symptoms;
+        }
+
+        int count = symptoms.size();
+        float[] totals = new float[count];
+        int[] matchedTokens = new int[count];
+        float[] tokenScores = new float[count];
+
+        for (String token : tokens) {
+            Arrays.fill(tokenScores, 0f);
+            matchPrefix(token, tokenScores);
+            if (token.length() >= MIN_FUZZY_LENGTH) {
+                matchTrigrams(token, tokenScores);
+            }
+            matchRomanized(token, tokenScores);
+            for (int doc = 0; doc < count; doc++) {
+                if (tokenScores[doc] > 0) {
+                    totals[doc] += tokenScores[doc];
+                    matchedTokens[doc]++;
+                }
+            }
+        }
+
+        // A romanized multi-word name ("naak behna") counts as matching every word
+        if (tokens.size() > 1) {
+            Arrays.fill(tokenScores, 0f);
+            matchRomanized(query, tokenScores);
+            for (int doc = 0; doc < count; doc++) {
+                if (tokenScores[doc] > 0) {
+                    totals[doc] += tokenScores[doc] * tokens.size();
+                    matchedTokens[doc] = tokens.size();
+                }
+            }
+        }
+
+        int required = tokens.size();
+        List<Integer> hits = new ArrayList<>();
+        for (int doc = 0; doc < count; doc++) {
+            if (matchedTokens[doc] == required) {
+                hits.add(doc);
+            }
+        }
+        // Stable on catalog order for equal scores
+        hits.sort((a, b) -> totals[a] != totals[b] ? Float.compare(totals[b], totals[a]) : Integer.compare(a, b));
+
+        List<Symptom> results = new ArrayList<>(hits.size());
+        for (int doc : hits) {
+            results.add(symptoms.get(doc));
+        }
+        return results;
+    }
+
+    private void addField(int doc, String text, float weight) {
+        for (String token : tokenize(text)) {
+            Integer termId = termIds.get(token);
+            if (termId == null) {
+                termId = terms.size();
+                terms.add(token);
+                termPostings.add(new Postings());
+                termIds.put(token, termId);
+            }
+            termPostings.get(termId).add(doc, weight);
+
+            TrieNode node = root;
+            for (int i = 0; i < token.length(); i++) {
+                node = node.children.computeIfAbsent(token.charAt(i), c -> new TrieNode());
+                node.prefixPostings.add(doc, weight);
+            }
+            if (node.exactPostings == null) {
+                node.exactPostings = new Postings();
+            }
+            node.exactPostings.add(doc, weight);
+        }
+    }
+
+    private void buildTrigrams() {
+        termTrigramCounts = new int[terms.size()];
+        for (int termId = 0; termId < terms.size(); termId++) {
+            Set<String> grams = trigrams(terms.get(termId));
+            termTrigramCounts[termId] = grams.size();
+            for (String gram : grams) {
+                trigramTerms.computeIfAbsent(gram, g -> new ArrayList<>()).add(termId);
+            }
+        }
+    }
+
+    private void matchPrefix(String token, float[] scores) {
+        TrieNode node = root;
+        for (int i = 0; i < token.length() && node != null; i++) {
+            node = node.children.get(token.charAt(i));
+        }
+        if (node == null) {
+            return;
+        }
+        node.prefixPostings.applyTo(scores, 1f, 0f);
+        if (node.exactPostings != null) {
+            node.exactPostings.applyTo(scores, 1f, EXACT_BONUS);
+        }
+    }
+
+    // Hindi/Marathi names typed in Latin script ("bukhar") resolve to the English symptom
+    private void matchRomanized(String text, float[] scores) {
+        String english = LanguageManager.findSymptomByRomanized(text);
+        if (english == null) {
+            return;
+        }
+        List<Integer> docs = docsByEnglishName.get(english.toLowerCase(Locale.ROOT));
+        if (docs != null) {
+            for (int doc : docs) {
+                scores[doc] = Math.max(scores[doc], NAME_WEIGHT + EXACT_BONUS);
+            }
+        }
+    }
+
+    // Catches words containing the token and words within a small edit distance of it
+    private void matchTrigrams(String token, float[] scores) {
+        Set<String> grams = trigrams(token);
+        Map<Integer, Integer> shared = new HashMap<>();
+        for (String gram : grams) {
+            List<Integer> termList = trigramTerms.get(gram);
+            if (termList != null) {
+                for (int termId : termList) {
+                    shared.merge(termId, 1, Integer::sum);
+                }
+            }
+        }
+
+        int maxEdits = token.length() <= 5 ? 1 : 2;
+        for (Map.Entry<Integer, Integer> entry : shared.entrySet()) {
+            int termId = entry.getKey();
+            String term = terms.get(termId);
+            if (term.startsWith(token)) {
+                continue;
+            }
+            Postings postings = termPostings.get(termId);
+            if (term.contains(token)) {
+                postings.applyTo(scores, INFIX_FACTOR, 0f);
+                continue;
+            }
+            double similarity = 2.0 * entry.getValue() / (grams.size() + termTrigramCounts[termId]);
+            if (similarity < MIN_TRIGRAM_SIMILARITY && term.length() <= token.length()) {
+                continue;
+            }
+            // Compare against the whole word and against its start, so a typo in a half-typed word still matches
+            int edits = editDistance(token, term, maxEdits);
+            if (term.length() > token.length()) {
+                edits = Math.min(edits, editDistance(token, term.substring(0, token.length()), maxEdits));
+            }
+            if (edits <= maxEdits) {
+                float factor = TYPO_FACTOR * (1f - (float) edits / (token.length() + 1));
+                postings.applyTo(scores, factor, 0f);
+            }
+        }
+    }
+
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null || text.isBlank()) {
+            return tokens;
+        }
+        String normalized = Normalizer.normalize(text, Normalizer.Form.NFC).toLowerCase(Locale.ROOT);
+        StringBuilder current = new StringBuilder();
+        for (int i = 0; i < normalized.length(); i++) {
+            char c = normalized.charAt(i);
+            int type = Character.getType(c);
+            // Devanagari vowel signs and virama are combining marks, not letters
+            if (Character.isLetterOrDigit(c) || type == Character.NON_SPACING_MARK || type == Character.COMBINING_SPACING_MARK) {
+                current.append(c);
+            } else if (current.length() > 0) {
+                tokens.add(current.toString());
+                current.setLength(0);
+            }
+        }
+        if (current.length() > 0) {
+            tokens.add(current.toString());
+        }
+        return tokens;
+    }
+
+    // Padded with word boundaries so short words still produce trigrams
+    private static Set<String> trigrams(String token) {
+        String text = "^" + token + "$";
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + 3 <= text.length(); i++) {
+            grams.add(text.substring(i, i + 3));
+        }
+        return grams;
+    }
+
+    // Optimal string alignment distance, giving up once it exceeds the limit
+    private static int editDistance(String a, String b, int limit) {
+        if (Math.abs(a.length() - b.length()) > limit) {
+            return limit + 1;
+        }
+        int[][] d = new int[a.length() + 1][b.length() + 1];
+        for (int i = 0; i <= a.length(); i++) {
+            d[i][0] = i;
+        }
+        for (int j = 0; j <= b.length(); j++) {
+            d[0][j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            int rowMin = Integer.MAX_VALUE;
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                d[i][j] = Math.min(Math.min(d[i - 1][j] + 1, d[i][j - 1] + 1), d[i - 1][j - 1] + cost);
+                if (i > 1 && j > 1 && a.charAt(i - 1) == b.charAt(j - 2) && a.charAt(i - 2) == b.charAt(j - 1)) {
+                    d[i][j] = Math.min(d[i][j], d[i - 2][j - 2] + 1);
+                }
+                rowMin = Math.min(rowMin, d[i][j]);
+            }
+            if (rowMin > limit) {
+                return limit + 1;
+            }
+        }
+        return d[a.length()][b.length()];
+    }
+
+    private static class TrieNode {
+        private final Map<Character, TrieNode> children = new HashMap<>();
+        private final Postings prefixPostings = new Postings();
+        private Postings exactPostings;
+    }
+
+    // Documents are indexed in order, so a repeated document is always the last entry
+    private static class Postings {
+        private int[] docs = new int[2];
+        private float[] weights = new float[2];
+        private int size;
+
+        void add(int doc, float weight) {
+            if (size > 0 && docs[size - 1] == doc) {
+                weights[size - 1] = Math.max(weights[size - 1], weight);
+                return;
+            }
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+                weights = Arrays.copyOf(weights, size * 2);
+            }
+            docs[size] = doc;
+            weights[size] = weight;
+            size++;
+        }
+
+        void applyTo(float[] scores, float factor, float bonus) {
+            for (int i = 0; i < size; i++) {
+                float score = weights[i] * factor + bonus;
+                if (score > scores[docs[i]]) {
+                    scores[docs[i]] = score;
+                }
+            }
+        }
+    }
+}
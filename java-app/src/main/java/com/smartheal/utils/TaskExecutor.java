@@ -0,0 +1,195 @@
+package com.smartheal.utils;
+
+import javafx.scene.layout.StackPane;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Application-wide background task service.
+ * Every task runs on its own named virtual thread, and each module is limited
+ * to a fixed number of concurrently running tasks.
+ */
+public class TaskExecutor {
+
+    public enum Module {
+        AUTH("auth", 2),
+        SYMPTOMS("symptoms", 4),
+        CHATBOT("chatbot", 2),
+        COST("cost", 4),
+        REPORTS("reports", 2),
+        RISK("risk", 4);
+
+        private final String threadName;
+        private final int maxConcurrency;
+
+        Module(String threadName, int maxConcurrency) {
+            this.threadName = threadName;
+            this.maxConcurrency = maxConcurrency;
+        }
+
+        public String getThreadName() {
+            return threadName;
+        }
+
+        public int getMaxConcurrency() {
+            return maxConcurrency;
+        }
+    }
+
+    private static final long SHUTDOWN_TIMEOUT_MS = 2000;
+
+    private static final Map<Module, ExecutorService> executors = new EnumMap<>(Module.class);
+    private static final Map<Module, Semaphore> permits = new EnumMap<>(Module.class);
+    private static volatile StackPane notificationRoot;
+
+    static {
+        for (Module module : Module.values()) {
+            executors.put(module, Executors.newThreadPerTaskExecutor(
+                Thread.ofVirtual()
+                    .name("smartheal-" + module.getThreadName() + "-", 0)
+                    .uncaughtExceptionHandler((thread, error) -> reportUncaught(module, error))
+                    .factory()
+            ));
+            permits.put(module, new Semaphore(module.getMaxConcurrency(), true));
+        }
+    }
+
+    private TaskExecutor() {
+    }
+
+    // Where uncaught task failures are shown; set once the main scene exists
+    public static void setNotificationRoot(StackPane rootPane) {
+        notificationRoot = rootPane;
+    }
+
+    public static Future<?> submit(Module module, Runnable task) {
+        return submit(module, null, task);
+    }
+
+    // Runs the task with the given token as CancellationToken.current(); skipped if the token is already cancelled
+    public static Future<?> submit(Module module, CancellationToken token, Runnable task) {
+        FutureTask<Void> future = new FutureTask<>(() -> {
+            try {
+                runThrottled(module, token, () -> {
+                    task.run();
+                    return null;
+                });
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (Throwable error) {
+                if (token == null || !token.isCancelled()) {
+                    reportUncaught(module, error);
+                }
+            }
+        }, null) {
+            @Override
+            protected void done() {
+                if (token != null) {
+                    token.untrack(this);
+                }
+            }
+        };
+        if (token != null) {
+            token.track(future);
+        }
+        executors.get(module).execute(future);
+        return future;
+    }
+
+    // Replacement for CompletableFuture.supplyAsync that keeps blocking I/O off the common pool
+    public static <T> CompletableFuture<T> supplyAsync(Module module, Supplier<T> supplier) {
+        return supplyAsync(module, null, supplier);
+    }
+
+    public static <T> CompletableFuture<T> supplyAsync(Module module, CancellationToken token, Supplier<T> supplier) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        Future<?> future;
+        try {
+            future = submit(module, token, () -> {
+                try {
+                    result.complete(supplier.get());
+                } catch (Throwable error) {
+                    result.completeExceptionally(error instanceof CompletionException ? error : new CompletionException(error));
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            result.completeExceptionally(e);
+            return result;
+        }
+        // Cancelling the returned future interrupts the task, and cancelling the token cancels both
+        if (token != null) {
+            token.track(result);
+        }
+        result.whenComplete((value, error) -> {
+            if (result.isCancelled()) {
+                future.cancel(true);
+            }
+            if (token != null) {
+                token.untrack(result);
+            }
+        });
+        return result;
+    }
+
+    public static void shutdown() {
+        for (ExecutorService executor : executors.values()) {
+            executor.shutdownNow();
+        }
+        for (Map.Entry<Module, ExecutorService> entry : executors.entrySet()) {
+            try {
+                if (!entry.getValue().awaitTermination(SHUTDOWN_TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
+                    System.err.println("Background tasks still running for module: " + entry.getKey().getThreadName());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private static <T> T runThrottled(Module module, CancellationToken token, ThrowingSupplier<T> body) throws Exception {
+        if (token != null && token.isCancelled()) {
+            return null;
+        }
+        Semaphore semaphore = permits.get(module);
+        semaphore.acquire();
+        try {
+            if (token != null && token.isCancelled()) {
+                return null;
+            }
+            CancellationToken.setCurrent(token);
+            return body.get();
+        } finally {
+            CancellationToken.setCurrent(null);
+            semaphore.release();
+        }
+    }
+
+    private static void reportUncaught(Module module, Throwable error) {
+        System.err.println("Uncaught error in " + Thread.currentThread().getName() + ": " + error.getMessage());
+        error.printStackTrace();
+
+        StackPane rootPane = notificationRoot;
+        if (rootPane != null) {
+            String message = error.getMessage() != null ? error.getMessage() : error.getClass().getSimpleName();
+            NotificationHelper.showErrorNotification(rootPane,
+                "Background task failed (" + module.getThreadName() + "): " + message);
+        }
+    }
+
+    @FunctionalInterface
+    private interface ThrowingSupplier<T> {
+        T get() throws Exception;
+    }
+}
@@ -0,0 +1,127 @@
+package com.smartheal.utils;
+
+import javafx.beans.property.ReadOnlyObjectProperty;
+import javafx.beans.property.SimpleObjectProperty;
+import javafx.scene.Scene;
+
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+/**
+ * Application themes, layered as stylesheets over the base styles.css. Each sheet is
+ * resolved once and shared by every registered scene, so switching themes only swaps a
+ * stylesheet URL; JavaFX parses each sheet a single time per process.
+ */
+public class ThemeManager {
+
+    public enum Theme {
+        LIGHT("light", "Light", null),
+        DARK("dark", "Dark", "/themes/dark.css"),
+        HIGH_CONTRAST("high-contrast", "High Contrast", "/themes/high-contrast.css");
+
+        private final String id;
+        private final String displayName;
+        private final String stylesheet;
+
+        Theme(String id, String displayName, String stylesheet) {
+            this.id = id;
+            this.displayName = displayName;
+            this.stylesheet = stylesheet;
+        }
+
+        /** Value stored in user_preferences.theme. */
+        public String getId() {
+            return id;
+        }
+
+        public String getDisplayName() {
+            return displayName;
+        }
+
+        public static Theme fromId(String id) {
+            for (Theme theme : values()) {
+                if (theme.id.equalsIgnoreCase(id)) {
+                    return theme;
+                }
+            }
+            return LIGHT;
+        }
+    }
+
+    private static final String BASE_STYLESHEET = "/styles.css";
+    private static final String baseUrl = resolve(BASE_STYLESHEET);
+    private static final Map<Theme, String> stylesheetUrls = new EnumMap<>(Theme.class);
+    // Scenes are held weakly so closed windows are not kept alive
+    private static final Set<Scene> scenes = Collections.newSetFromMap(new WeakHashMap<>());
+    private static final SimpleObjectProperty<Theme> currentTheme = new SimpleObjectProperty<>(Theme.LIGHT);
+
+    static {
+        for (Theme theme : Theme.values()) {
+            if (theme.stylesheet == null) {
+                continue;
+            }
+            String url = resolve(theme.stylesheet);
+            if (url != null) {
+                stylesheetUrls.put(theme, url);
+            }
+        }
+    }
+
+    private static String resolve(String path) {
+        URL url = ThemeManager.class.getResource(path);
+        if (url == null) {
+            System.err.println("Stylesheet not found: " + path);
+            return null;
+        }
+        return url.toExternalForm();
+    }
+
+    private ThemeManager() {
+    }
+
+    public static Theme getTheme() {
+        return currentTheme.get();
+    }
+
+    public static ReadOnlyObjectProperty<Theme> themeProperty() {
+        return currentTheme;
+    }
+
+    /**
+     * Applies the base stylesheet and the current theme to the scene, and keeps it in sync
+     * with later theme changes.
+     */
+    public static void register(Scene scene) {
+        if (baseUrl != null && !scene.getStylesheets().contains(baseUrl)) {
+            scene.getStylesheets().add(0, baseUrl);
+        }
+        scenes.add(scene);
+        applyTo(scene, currentTheme.get());
+    }
+
+    public static void setTheme(Theme theme) {
+        if (theme == null || theme == currentTheme.get()) {
+            return;
+        }
+        currentTheme.set(theme);
+        for (Scene scene : new ArrayList<>(scenes)) {
+            applyTo(scene, theme);
+        }
+    }
+
+    private static void applyTo(Scene scene, Theme theme) {
+        List<String> stylesheets = scene.getStylesheets();
+        stylesheets.removeAll(stylesheetUrls.values());
+        String url = stylesheetUrls.get(theme);
+        if (url != null) {
+            // Added last so the theme overrides the base stylesheet
+            stylesheets.add(url);
+        }
+    }
+}
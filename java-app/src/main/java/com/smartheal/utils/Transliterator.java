@@ -0,0 +1,162 @@
+package com.smartheal.utils;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Romanizes Devanagari and reduces romanized text to phonetic forms, so "bukhaar", "bukhar"
+ * and "बुखार" all compare equal regardless of how the vowels were spelled.
+ */
+public class Transliterator {
+
+    private static final char VIRAMA = '्';
+    private static final char NUKTA = '़';
+    private static final Map<Character, String> CONSONANTS = new HashMap<>();
+    private static final Map<Character, String> VOWELS = new HashMap<>();
+    private static final Map<Character, String> VOWEL_SIGNS = new HashMap<>();
+    private static final Map<Character, String> NASAL_SIGNS = new HashMap<>();
+    private static final Set<String> VOWEL_SOUNDS = new HashSet<>();
+    // Compared by identity, so an inherent vowel is told apart from a written अ
+    private static final String SCHWA = new String("a");
+
+    static {
+        String[][] consonants = {
+            {"क", "k"}, {"ख", "kh"}, {"ग", "g"}, {"घ", "gh"}, {"ङ", "n"},
+            {"च", "ch"}, {"छ", "chh"}, {"ज", "j"}, {"झ", "jh"}, {"ञ", "n"},
+            {"ट", "t"}, {"ठ", "th"}, {"ड", "d"}, {"ढ", "dh"}, {"ण", "n"},
+            {"त", "t"}, {"थ", "th"}, {"द", "d"}, {"ध", "dh"}, {"न", "n"},
+            {"प", "p"}, {"फ", "ph"}, {"ब", "b"}, {"भ", "bh"}, {"म", "m"},
+            {"य", "y"}, {"र", "r"}, {"ल", "l"}, {"ळ", "l"}, {"व", "v"},
+            {"श", "sh"}, {"ष", "sh"}, {"स", "s"}, {"ह", "h"}
+        };
+        for (String[] pair : consonants) {
+            CONSONANTS.put(pair[0].charAt(0), pair[1]);
+        }
+        String[][] vowels = {
+            {"अ", "a"}, {"आ", "aa"}, {"इ", "i"}, {"ई", "ii"}, {"उ", "u"}, {"ऊ", "uu"},
+            {"ऋ", "ri"}, {"ए", "e"}, {"ऐ", "ai"}, {"ओ", "o"}, {"औ", "au"}, {"ऑ", "o"}
+        };
+        for (String[] pair : vowels) {
+            VOWELS.put(pair[0].charAt(0), pair[1]);
+        }
+        String[][] vowelSigns = {
+            {"ा", "aa"}, {"ि", "i"}, {"ी", "ii"}, {"ु", "u"}, {"ू", "uu"}, {"ृ", "ri"},
+            {"े", "e"}, {"ै", "ai"}, {"ो", "o"}, {"ौ", "au"}, {"ॅ", "e"}, {"ॉ", "o"}
+        };
+        for (String[] pair : vowelSigns) {
+            VOWEL_SIGNS.put(pair[0].charAt(0), pair[1]);
+        }
+        VOWEL_SOUNDS.addAll(VOWELS.values());
+        VOWEL_SOUNDS.addAll(VOWEL_SIGNS.values());
+        NASAL_SIGNS.put('ं', "n");
+        NASAL_SIGNS.put('ँ', "n");
+        NASAL_SIGNS.put('ः', "h");
+    }
+
+    private Transliterator() {
+    }
+
+    /**
+     * Romanizes Devanagari characters; any other text passes through unchanged. The inherent
+     * vowel is dropped where speech drops it (सिरदर्द is "sirdard", not "siradarada").
+     */
+    public static String toLatin(String text) {
+        String normalized = Normalizer.normalize(text, Normalizer.Form.NFD);
+        StringBuilder latin = new StringBuilder(normalized.length() * 2);
+        List<String> sounds = new ArrayList<>();
+        for (int i = 0; i < normalized.length(); i++) {
+            char c = normalized.charAt(i);
+            String consonant = CONSONANTS.get(c);
+            if (consonant != null) {
+                sounds.add(consonant);
+                int next = i + 1;
+                if (next < normalized.length() && normalized.charAt(next) == NUKTA) {
+                    next++;
+                }
+                char following = next < normalized.length() ? normalized.charAt(next) : ' ';
+                // Inherent vowel, unless a vowel sign or virama follows
+                if (following != VIRAMA && !VOWEL_SIGNS.containsKey(following)) {
+                    sounds.add(SCHWA);
+                }
+            } else if (VOWELS.containsKey(c)) {
+                sounds.add(VOWELS.get(c));
+            } else if (VOWEL_SIGNS.containsKey(c)) {
+                sounds.add(VOWEL_SIGNS.get(c));
+            } else if (NASAL_SIGNS.containsKey(c)) {
+                sounds.add(NASAL_SIGNS.get(c));
+            } else if (c != VIRAMA && c != NUKTA) {
+                appendWord(sounds, latin);
+                latin.append(c);
+            }
+        }
+        appendWord(sounds, latin);
+        return latin.toString();
+    }
+
+    // Schwa deletion, scanning from the right: the inherent vowel drops at the end of a word and
+    // between a vowel-consonant and a consonant-vowel (धड़कन: dha-da-ka-na -> dhadkan)
+    private static void appendWord(List<String> sounds, StringBuilder latin) {
+        for (int i = sounds.size() - 1; i >= 0; i--) {
+            if (sounds.get(i) != SCHWA) {
+                continue;
+            }
+            boolean wordEnd = i == sounds.size() - 1;
+            boolean between = i >= 2 && i + 2 < sounds.size()
+                && isVowelSound(sounds.get(i - 2)) && !isVowelSound(sounds.get(i - 1))
+                && !isVowelSound(sounds.get(i + 1)) && isVowelSound(sounds.get(i + 2));
+            if (wordEnd || between) {
+                sounds.remove(i);
+            }
+        }
+        for (String sound : sounds) {
+            latin.append(sound);
+        }
+        sounds.clear();
+    }
+
+    /**
+     * Spelling-neutral form of romanized text: aspirate h and doubled letters are dropped,
+     * long vowels shortened, and look-alike consonants merged.
+     */
+    public static String phoneticForm(String text) {
+        String lower = toLatin(text).toLowerCase(Locale.ROOT).replace("ph", "f").replace("ee", "i").replace("oo", "u");
+        StringBuilder form = new StringBuilder(lower.length());
+        for (int i = 0; i < lower.length(); i++) {
+            char c = lower.charAt(i);
+            if (c < 'a' || c > 'z') {
+                continue;
+            }
+            if (c == 'h' && form.length() > 0 && !isVowel(form.charAt(form.length() - 1))) {
+                continue;
+            }
+            String mapped = switch (c) {
+                case 'w' -> "v";
+                case 'z' -> "j";
+                case 'q' -> "k";
+                case 'x' -> "ks";
+                default -> String.valueOf(c);
+            };
+            for (int j = 0; j < mapped.length(); j++) {
+                char m = mapped.charAt(j);
+                if (form.length() == 0 || form.charAt(form.length() - 1) != m) {
+                    form.append(m);
+                }
+            }
+        }
+        return form.toString();
+    }
+
+    private static boolean isVowelSound(String sound) {
+        return sound == SCHWA || VOWEL_SOUNDS.contains(sound);
+    }
+
+    private static boolean isVowel(char c) {
+        return c == 'a' || c == 'e' || c == 'i' || c == 'o' || c == 'u';
+    }
+}
@@ -5,14 +5,18 @@ import java.text.NumberFormat;
 import java.util.Locale;
 
 import com.smartheal.api.ApiClient;
+import com.smartheal.api.CostEstimationEngine;
 import com.smartheal.dao.HistoryDAO;
 import com.smartheal.models.CostEstimation;
 import com.smartheal.utils.FileExporter;
 import com.smartheal.utils.NotificationHelper;
 import com.smartheal.utils.ReportFormatter;
 import com.smartheal.utils.UsageTracker;
+import com.smartheal.utils.ModuleTaskScope;
+import com.smartheal.utils.TaskExecutor;
 
 import javafx.application.Platform;
+import javafx.css.PseudoClass;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.geometry.Insets;
@@ -24,6 +28,7 @@ import javafx.scene.control.Label;
 import javafx.scene.control.ProgressIndicator;
 import javafx.scene.control.ScrollPane;
 import javafx.scene.control.Tooltip;
+import javafx.scene.layout.GridPane;
 import javafx.scene.layout.BorderPane;
 import javafx.scene.layout.HBox;
 import javafx.scene.layout.Priority;
@@ -34,11 +39,15 @@ import javafx.scene.text.Font;
 import javafx.scene.text.FontWeight;
 import javafx.stage.Stage;
 
-public class CostEstimatorView extends BorderPane {
+public class CostEstimatorView extends BorderPane implements ModuleLifecycle {
     private final ApiClient apiClient;
     private final ObservableList<String> treatments;
     private final HistoryDAO historyDAO;
+    private final ModuleTaskScope tasks;
+    // Estimates on this device; null if the cost datasets failed to load
+    private CostEstimationEngine costEngine;
     private Integer currentUserId = null;
+    private static final PseudoClass SELECTED = PseudoClass.getPseudoClass("selected");
     
     public void setCurrentUserId(Integer userId) {
         this.currentUserId = userId;
@@ -46,6 +55,7 @@ public class CostEstimatorView extends BorderPane {
     private ComboBox<String> treatmentCombo;
     private ComboBox<String> hospitalTypeCombo;
     private Button estimateButton;
+    private Button compareButton;
     private ScrollPane resultsPane;
     private ProgressIndicator loadingIndicator;
     private CostEstimation currentEstimation;
@@ -56,13 +66,19 @@ public class CostEstimatorView extends BorderPane {
         this.apiClient = apiClient;
         this.treatments = FXCollections.observableArrayList();
         this.historyDAO = new HistoryDAO();
+        this.tasks = new ModuleTaskScope(TaskExecutor.Module.COST);
+        try {
+            this.costEngine = new CostEstimationEngine();
+        } catch (IOException e) {
+            System.err.println("Local cost estimation unavailable: " + e.getMessage());
+        }
 
         VBox headerBox = createHeader();
         setTop(headerBox);
 
         HBox mainContent = new HBox(25);
         mainContent.setPadding(new Insets(25));
-        mainContent.setStyle("-fx-background-color: #F0F9FF;");
+        mainContent.getStyleClass().add("module-content");
 
         VBox leftPanel = createLeftPanel();
         VBox rightPanel = createRightPanel();
@@ -72,8 +88,21 @@ public class CostEstimatorView extends BorderPane {
         HBox.setHgrow(rightPanel, Priority.ALWAYS);
 
         setCenter(mainContent);
+    }
+
+    @Override
+    public void onModuleShown() {
+        // First load happens here so a preloaded view stays quiet; also retries a cancelled load
+        if (treatments.isEmpty() && !loadingIndicator.isVisible()) {
+            loadTreatments();
+        }
+    }
 
-        loadTreatments();
+    @Override
+    public void onModuleHidden() {
+        tasks.cancelAll();
+        estimateButton.setDisable(false);
+        loadingIndicator.setVisible(false);
     }
 
     private VBox createHeader() {
@@ -139,8 +168,18 @@ public class CostEstimatorView extends BorderPane {
             estimateButton.setDisable(newVal == null || treatmentCombo.getValue() == null);
         });
 
+        compareButton = new Button("📊 Compare All Treatments");
+        compareButton.getStyleClass().add("button");
+        compareButton.setPrefHeight(40);
+        compareButton.setPrefWidth(Double.MAX_VALUE);
+        compareButton.setCursor(javafx.scene.Cursor.HAND);
+        compareButton.setTooltip(new Tooltip("Show every treatment at every hospital type side by side"));
+        compareButton.setOnAction(e -> showComparison());
+        compareButton.setDisable(costEngine == null);
+
         VBox infoBox = new VBox(5);
-        infoBox.setStyle("-fx-background-color: #F0F9FF; -fx-padding: 15; -fx-background-radius: 5;");
+        infoBox.getStyleClass().add("result-tint-info");
+        infoBox.setStyle("-fx-padding: 15; -fx-background-radius: 5;");
         Label infoLabel = new Label("ℹ Cost estimates are based on average data and may vary significantly based on location, hospital reputation, doctor experience, and individual patient needs.");
         infoLabel.setWrapText(true);
         infoLabel.setFont(Font.font("System", 11));
@@ -150,7 +189,7 @@ public class CostEstimatorView extends BorderPane {
         loadingIndicator.setVisible(false);
         loadingIndicator.setPrefSize(30, 30);
 
-        leftPanel.getChildren().addAll(panelTitle, treatmentBox, hospitalBox, estimateButton, infoBox, loadingIndicator);
+        leftPanel.getChildren().addAll(panelTitle, treatmentBox, hospitalBox, estimateButton, compareButton, infoBox, loadingIndicator);
 
         return leftPanel;
     }
@@ -203,11 +242,15 @@ public class CostEstimatorView extends BorderPane {
     }
 
     private void loadTreatments() {
+        if (costEngine != null) {
+            treatments.setAll(costEngine.getTreatments());
+            return;
+        }
         loadingIndicator.setVisible(true);
-        new Thread(() -> {
+        tasks.submit(() -> {
             try {
                 if (!apiClient.isBackendAvailable()) {
-                    Platform.runLater(() -> {
+                    tasks.runLater(() -> {
                         showError("Backend Unavailable", 
                             "Cannot connect to Python backend server.\nPlease ensure the Python backend is running (python app.py).");
                         loadingIndicator.setVisible(false);
@@ -216,7 +259,7 @@ public class CostEstimatorView extends BorderPane {
                 }
                 
                 var treatmentList = apiClient.getTreatments();
-                Platform.runLater(() -> {
+                tasks.runLater(() -> {
                     if (treatmentList == null || treatmentList.isEmpty()) {
                         showError("No Data", "No treatments data received from backend.");
                         loadingIndicator.setVisible(false);
@@ -226,14 +269,14 @@ public class CostEstimatorView extends BorderPane {
                     loadingIndicator.setVisible(false);
                 });
             } catch (IOException e) {
-                Platform.runLater(() -> {
+                tasks.runLater(() -> {
                     showError("Connection Error", 
                         "Failed to load treatments:\n" + e.getMessage() + 
                         "\n\nPlease check your connection and try again.");
                     loadingIndicator.setVisible(false);
                 });
             }
-        }).start();
+        });
     }
 
     private void estimateCost() {
@@ -249,6 +292,11 @@ public class CostEstimatorView extends BorderPane {
         String apiHospitalType = hospitalType.equals("Government Hospital") ? "government" :
                                 hospitalType.equals("Semi-Private Hospital") ? "semi-private" : "private";
 
+        if (costEngine != null) {
+            finishEstimation(treatmentType, hospitalType, costEngine.estimateCost(treatmentType, apiHospitalType));
+            return;
+        }
+
         estimateButton.setDisable(true);
         loadingIndicator.setVisible(true);
         
@@ -257,38 +305,12 @@ public class CostEstimatorView extends BorderPane {
             "Estimating cost for " + treatmentType + "... Please wait."
         );
 
-        new Thread(() -> {
+        tasks.submit(() -> {
             try {
                 CostEstimation estimation = apiClient.estimateCost(treatmentType, apiHospitalType);
-                Platform.runLater(() -> {
-                    displayCostEstimation(estimation);
-                    UsageTracker.incrementCostsEstimated();
-                    
-                    // Save to history if user is logged in
-                    if (currentUserId != null) {
-                        try {
-                            historyDAO.saveCostEstimationHistory(
-                                currentUserId,
-                                treatmentType,
-                                hospitalType,
-                                estimation.getAverageCost(),
-                                estimation.getMinCost(),
-                                estimation.getMaxCost()
-                            );
-                        } catch (Exception e) {
-                            System.err.println("Failed to save cost estimation history: " + e.getMessage());
-                        }
-                    }
-                    
-                    NotificationHelper.showSuccessNotification(
-                        (StackPane) getScene().getRoot(),
-                        "Cost estimation complete! Average: ₹" + String.format("%.2f", estimation.getAverageCost())
-                    );
-                    estimateButton.setDisable(false);
-                    loadingIndicator.setVisible(false);
-                });
+                tasks.runLater(() -> finishEstimation(treatmentType, hospitalType, estimation));
             } catch (IOException e) {
-                Platform.runLater(() -> {
+                tasks.runLater(() -> {
                     String errorMsg = "Failed to estimate cost:\n" + e.getMessage();
                     
                     if (e.getMessage().contains("Connection refused") || 
@@ -305,7 +327,7 @@ public class CostEstimatorView extends BorderPane {
                     loadingIndicator.setVisible(false);
                 });
             } catch (Exception e) {
-                Platform.runLater(() -> {
+                tasks.runLater(() -> {
                     showError("Unexpected Error", 
                         "An unexpected error occurred:\n" + e.getMessage() + 
                         "\n\nPlease try again or restart the application.");
@@ -313,7 +335,91 @@ public class CostEstimatorView extends BorderPane {
                     loadingIndicator.setVisible(false);
                 });
             }
-        }).start();
+        });
+    }
+
+    private void finishEstimation(String treatmentType, String hospitalType, CostEstimation estimation) {
+        displayCostEstimation(estimation);
+        UsageTracker.incrementCostsEstimated();
+        
+        // Save to history if user is logged in
+        if (currentUserId != null) {
+            try {
+                historyDAO.saveCostEstimationHistory(
+                    currentUserId,
+                    treatmentType,
+                    hospitalType,
+                    estimation.getAverageCost(),
+                    estimation.getMinCost(),
+                    estimation.getMaxCost()
+                );
+            } catch (Exception e) {
+                System.err.println("Failed to save cost estimation history: " + e.getMessage());
+            }
+        }
+        
+        NotificationHelper.showSuccessNotification(
+            (StackPane) getScene().getRoot(),
+            "Cost estimation complete! Estimate: ₹" + String.format("%.2f", estimation.getAverageCost())
+        );
+        estimateButton.setDisable(false);
+        loadingIndicator.setVisible(false);
+    }
+
+    // Treatment by hospital type table of estimates, with the selected treatment highlighted
+    private void showComparison() {
+        CostEstimationEngine.Comparison comparison = costEngine.compareAll();
+        GridPane table = new GridPane();
+        table.getStyleClass().add("cost-compare-table");
+
+        Label corner = new Label("Treatment");
+        corner.getStyleClass().add("cost-compare-header");
+        corner.setMaxWidth(Double.MAX_VALUE);
+        table.add(corner, 0, 0);
+        for (int h = 0; h < comparison.getHospitalTypes().size(); h++) {
+            Label header = new Label(comparison.getHospitalTypeName(h));
+            header.getStyleClass().add("cost-compare-header");
+            header.setMaxWidth(Double.MAX_VALUE);
+            table.add(header, h + 1, 0);
+        }
+
+        String selected = treatmentCombo.getValue();
+        for (int t = 0; t < comparison.getTreatments().size(); t++) {
+            String treatment = comparison.getTreatments().get(t);
+            boolean isSelected = treatment.equals(selected);
+            Label name = new Label(treatment);
+            name.getStyleClass().add("cost-compare-treatment");
+            name.setMaxWidth(Double.MAX_VALUE);
+            name.pseudoClassStateChanged(SELECTED, isSelected);
+            table.add(name, 0, t + 1);
+            for (int h = 0; h < comparison.getHospitalTypes().size(); h++) {
+                Label cell = new Label(formatCurrency(comparison.getEstimate(t, h)));
+                cell.getStyleClass().add("cost-compare-cell");
+                cell.setMaxWidth(Double.MAX_VALUE);
+                cell.pseudoClassStateChanged(SELECTED, isSelected);
+                String range = formatCurrency(comparison.getMinCost(t, h)) + " – " + formatCurrency(comparison.getMaxCost(t, h));
+                int count = comparison.getRecordedCount(t, h);
+                range += count > 0
+                    ? "\nMedian of " + count + (count == 1 ? " recorded cost" : " recorded costs")
+                    : "\nFrom listed prices";
+                cell.setTooltip(new Tooltip(range));
+                table.add(cell, h + 1, t + 1);
+            }
+        }
+
+        VBox contentBox = new VBox(15);
+        contentBox.setPadding(new Insets(20));
+        Label title = new Label("📊 Cost Comparison");
+        title.setFont(Font.font("System", FontWeight.BOLD, 20));
+        title.setTextFill(Color.rgb(15, 118, 110));
+        Label note = new Label("Estimates by hospital type. Hover a cell for its range and source.");
+        note.setFont(Font.font("System", 11));
+        note.setTextFill(Color.GRAY);
+        contentBox.getChildren().addAll(title, note, table);
+        resultsPane.setContent(contentBox);
+        currentEstimation = null;
+        exportButton.setDisable(true);
+        copyButton.setDisable(true);
     }
 
     private void displayCostEstimation(CostEstimation estimation) {
@@ -322,7 +428,8 @@ public class CostEstimatorView extends BorderPane {
 
         // Header with cost - Beautiful gradient
         VBox headerBox = new VBox(10);
-        headerBox.setStyle("-fx-background-color: linear-gradient(to right, #E0F2FE, #F0FDFA, #E0F2FE); -fx-padding: 25; -fx-background-radius: 16; -fx-effect: dropshadow(gaussian, rgba(15, 118, 110, 0.15), 8, 0, 0, 3);");
+        headerBox.getStyleClass().add("result-tint-info");
+        headerBox.setStyle("-fx-padding: 25; -fx-background-radius: 16; -fx-effect: dropshadow(gaussian, rgba(15, 118, 110, 0.15), 8, 0, 0, 3);");
         HBox titleBox = new HBox(15);
         titleBox.setAlignment(Pos.CENTER_LEFT);
         Label treatmentNameLabel = new Label("💰 " + estimation.getTreatmentName());
@@ -335,7 +442,7 @@ public class CostEstimatorView extends BorderPane {
         HBox costBox = new HBox(10);
         costBox.setAlignment(Pos.CENTER_RIGHT);
         VBox costDetails = new VBox(5);
-        Label costLabel = new Label("Average Cost");
+        Label costLabel = new Label(estimation.getMedianCost() != null ? "Estimated Cost (recorded median)" : "Estimated Cost");
         costLabel.setFont(Font.font("System", 12));
         costLabel.setTextFill(Color.GRAY);
         Label averageCostLabel = new Label(formatCurrency(estimation.getAverageCost()));
@@ -349,7 +456,8 @@ public class CostEstimatorView extends BorderPane {
         minMaxBox.setSpacing(10);
         VBox minBox = new VBox(5);
         minBox.setAlignment(Pos.CENTER);
-        minBox.setStyle("-fx-background-color: linear-gradient(to bottom, #F0FDF4, #D1FAE5); -fx-border-color: #22C55E; -fx-border-width: 2; -fx-padding: 18; -fx-background-radius: 12; -fx-effect: dropshadow(gaussian, rgba(34, 197, 94, 0.2), 4, 0, 0, 2);");
+        minBox.getStyleClass().add("result-tint-success");
+        minBox.setStyle("-fx-border-color: #22C55E; -fx-border-width: 2; -fx-padding: 18; -fx-background-radius: 12; -fx-effect: dropshadow(gaussian, rgba(34, 197, 94, 0.2), 4, 0, 0, 2);");
         Label minLabel = new Label("📉 Minimum Cost");
         minLabel.setFont(Font.font("System", FontWeight.BOLD, 12));
         minLabel.setTextFill(Color.rgb(5, 95, 70));
@@ -360,7 +468,8 @@ public class CostEstimatorView extends BorderPane {
 
         VBox maxBox = new VBox(5);
         maxBox.setAlignment(Pos.CENTER);
-        maxBox.setStyle("-fx-background-color: linear-gradient(to bottom, #FEF2F2, #FEE2E2); -fx-border-color: #EF4444; -fx-border-width: 2; -fx-padding: 18; -fx-background-radius: 12; -fx-effect: dropshadow(gaussian, rgba(239, 68, 68, 0.2), 4, 0, 0, 2);");
+        maxBox.getStyleClass().add("result-tint-danger");
+        maxBox.setStyle("-fx-border-color: #EF4444; -fx-border-width: 2; -fx-padding: 18; -fx-background-radius: 12; -fx-effect: dropshadow(gaussian, rgba(239, 68, 68, 0.2), 4, 0, 0, 2);");
         Label maxLabel = new Label("📈 Maximum Cost");
         maxLabel.setFont(Font.font("System", FontWeight.BOLD, 12));
         maxLabel.setTextFill(Color.rgb(153, 27, 27));
@@ -375,9 +484,30 @@ public class CostEstimatorView extends BorderPane {
 
         headerBox.getChildren().addAll(titleBox, costBox, minMaxBox);
 
+        // Where the figures above come from, when the estimate was made locally
+        if (estimation.getRecordedCount() != null) {
+            int count = estimation.getRecordedCount();
+            String recorded;
+            if (count == 0) {
+                recorded = "No recorded costs for this hospital type; estimated from listed prices, ±20%";
+            } else if (estimation.getP10Cost().equals(estimation.getP90Cost())) {
+                recorded = "Based on " + count + (count == 1 ? " recorded cost" : " recorded costs")
+                    + " of " + formatCurrency(estimation.getMedianCost()) + ", ±20%";
+            } else {
+                recorded = "Based on " + count + " recorded costs: " + formatCurrency(estimation.getP10Cost())
+                    + " (10th percentile) · " + formatCurrency(estimation.getMedianCost()) + " (median) · "
+                    + formatCurrency(estimation.getP90Cost()) + " (90th percentile)";
+            }
+            Label recordedLabel = new Label(recorded);
+            recordedLabel.getStyleClass().add("cost-recorded");
+            recordedLabel.setWrapText(true);
+            headerBox.getChildren().add(recordedLabel);
+        }
+
         // Factors - Colorful design
         VBox factorsBox = new VBox(10);
-        factorsBox.setStyle("-fx-background-color: white; -fx-border-color: #E5E7EB; -fx-border-width: 2; -fx-padding: 20; -fx-background-radius: 12; -fx-effect: dropshadow(gaussian, rgba(0,0,0,0.08), 6, 0, 0, 2);");
+        factorsBox.getStyleClass().add("result-card");
+        factorsBox.setStyle("-fx-border-color: #E5E7EB; -fx-border-width: 2; -fx-padding: 20; -fx-background-radius: 12; -fx-effect: dropshadow(gaussian, rgba(0,0,0,0.08), 6, 0, 0, 2);");
         Label factorsTitle = new Label("📋 Factors Affecting Cost");
         factorsTitle.setFont(Font.font("System", FontWeight.BOLD, 18));
         factorsTitle.setTextFill(Color.rgb(15, 118, 110));
@@ -387,7 +517,8 @@ public class CostEstimatorView extends BorderPane {
         for (int i = 0; i < estimation.getFactors().size(); i++) {
             var factor = estimation.getFactors().get(i);
             HBox factorBox = new HBox(12);
-            factorBox.setStyle("-fx-background-color: linear-gradient(to right, #F0F9FF, #F0FDFA); -fx-border-color: " + factorColors[i % factorColors.length] + "; -fx-border-width: 2; -fx-padding: 18; -fx-background-radius: 10; -fx-effect: dropshadow(gaussian, rgba(15, 118, 110, 0.1), 4, 0, 0, 2);");
+            factorBox.getStyleClass().add("result-tint-info");
+            factorBox.setStyle("-fx-border-color: " + factorColors[i % factorColors.length] + "; -fx-border-width: 2; -fx-padding: 18; -fx-background-radius: 10; -fx-effect: dropshadow(gaussian, rgba(15, 118, 110, 0.1), 4, 0, 0, 2);");
             Label numLabel = new Label(String.valueOf(i + 1));
             numLabel.setStyle("-fx-background-color: linear-gradient(to bottom, " + factorColors[i % factorColors.length] + ", " + (i < factorColors.length - 1 ? factorColors[i + 1] : factorColors[0]) + "); -fx-text-fill: white; -fx-padding: 8 14; -fx-background-radius: 50; -fx-effect: dropshadow(gaussian, rgba(0,0,0,0.2), 3, 0, 0, 1);");
             numLabel.setFont(Font.font("System", FontWeight.BOLD, 14));
@@ -404,7 +535,8 @@ public class CostEstimatorView extends BorderPane {
 
         // Disclaimer
         VBox disclaimerBox = new VBox(5);
-        disclaimerBox.setStyle("-fx-background-color: #FEF2F2; -fx-border-color: #FCA5A5; -fx-border-width: 2; -fx-padding: 15; -fx-background-radius: 10;");
+        disclaimerBox.getStyleClass().add("result-tint-danger");
+        disclaimerBox.setStyle("-fx-border-color: #FCA5A5; -fx-border-width: 2; -fx-padding: 15; -fx-background-radius: 10;");
         Label disclaimerTitle = new Label("⚠ Important Note");
         disclaimerTitle.setFont(Font.font("System", FontWeight.BOLD, 13));
         disclaimerTitle.setTextFill(Color.rgb(185, 28, 28));
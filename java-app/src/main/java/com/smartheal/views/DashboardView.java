@@ -12,6 +12,8 @@ import javafx.scene.text.Font;
 import javafx.scene.text.FontWeight;
 import javafx.util.Duration;
 
+import java.util.function.Consumer;
+
 public class DashboardView extends BorderPane {
     private QuickStatsPanel statsPanel;
     private Runnable onSymptomCheckerClick;
@@ -19,6 +21,7 @@ public class DashboardView extends BorderPane {
     private Runnable onCostEstimatorClick;
     private Runnable onReportAnalyzerClick;
     private Runnable onRiskAssessmentClick;
+    private Consumer<ModuleNavigator.AppModule> onModuleHover;
     
     // Store card references to update click handlers
     private VBox symptomCard;
@@ -169,15 +172,9 @@ public class DashboardView extends BorderPane {
         card.setPrefHeight(280);
         card.setMaxWidth(350);
         card.setMaxHeight(320);
-        card.setStyle(
-            "-fx-background-color: white; " +
-            "-fx-background-radius: 20; " +
-            "-fx-border-color: " + color + "; " +
-            "-fx-border-width: 3; " +
-            "-fx-border-radius: 20; " +
-            "-fx-effect: dropshadow(gaussian, rgba(0,0,0,0.15), 15, 0, 0, 5); " +
-            "-fx-cursor: hand;"
-        );
+        // Hover styling comes from the stylesheet; only the card's colors are set here
+        card.getStyleClass().add("module-card");
+        card.setStyle("-module-color: " + color + "; -module-glow: " + color + "80;");
         
         // Make card fully clickable
         card.setPickOnBounds(true);
@@ -207,20 +204,14 @@ public class DashboardView extends BorderPane {
 
         // Hover effect (without scale to avoid click issues)
         card.setOnMouseEntered(e -> {
+            if (onModuleHover != null) {
+                onModuleHover.accept(ModuleNavigator.AppModule.valueOf(cardType));
+            }
+
             FadeTransition fade = new FadeTransition(Duration.millis(200), card);
             fade.setFromValue(1.0);
             fade.setToValue(0.95);
             fade.play();
-            
-            card.setStyle(
-                "-fx-background-color: linear-gradient(to bottom, #FAFFFE, white); " +
-                "-fx-background-radius: 20; " +
-                "-fx-border-color: " + color + "; " +
-                "-fx-border-width: 4; " +
-                "-fx-border-radius: 20; " +
-                "-fx-effect: dropshadow(gaussian, " + color + "80, 20, 0, 0, 8); " +
-                "-fx-cursor: hand;"
-            );
         });
 
         card.setOnMouseExited(e -> {
@@ -228,16 +219,6 @@ public class DashboardView extends BorderPane {
             fade.setFromValue(0.95);
             fade.setToValue(1.0);
             fade.play();
-            
-            card.setStyle(
-                "-fx-background-color: white; " +
-                "-fx-background-radius: 20; " +
-                "-fx-border-color: " + color + "; " +
-                "-fx-border-width: 3; " +
-                "-fx-border-radius: 20; " +
-                "-fx-effect: dropshadow(gaussian, rgba(0,0,0,0.15), 15, 0, 0, 5); " +
-                "-fx-cursor: hand;"
-            );
         });
 
         // Set up click handler based on card type
@@ -364,6 +345,11 @@ public class DashboardView extends BorderPane {
         }
     }
 
+    // Hover is treated as a hint that the module is likely to be opened next
+    public void setOnModuleHover(Consumer<ModuleNavigator.AppModule> callback) {
+        this.onModuleHover = callback;
+    }
+
     public QuickStatsPanel getStatsPanel() {
         return statsPanel;
     }
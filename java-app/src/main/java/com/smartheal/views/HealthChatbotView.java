@@ -1,40 +1,70 @@
 package com.smartheal.views;
 
 import com.smartheal.api.ApiClient;
+import com.smartheal.api.FaqRetrievalEngine;
 import com.smartheal.dao.HistoryDAO;
 import com.smartheal.models.ChatMessage;
 import com.smartheal.models.ChatResponse;
+import com.smartheal.utils.LanguageManager;
 import com.smartheal.utils.NotificationHelper;
+import com.smartheal.utils.ModuleTaskScope;
+import com.smartheal.utils.TaskExecutor;
 import javafx.scene.layout.StackPane;
+import javafx.animation.AnimationTimer;
 import javafx.application.Platform;
+import javafx.collections.ObservableList;
 import javafx.geometry.Insets;
+import javafx.geometry.Orientation;
 import javafx.geometry.Pos;
+import javafx.scene.Node;
 import javafx.scene.control.*;
+import javafx.scene.input.ScrollEvent;
 import javafx.scene.layout.*;
 import javafx.scene.paint.Color;
 import javafx.scene.text.Font;
 import javafx.scene.text.FontWeight;
 
 import java.io.IOException;
-import java.text.SimpleDateFormat;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
-import java.util.Date;
 import java.util.List;
+import java.util.Map;
+
+/**
+ * Chat transcript and input. The transcript is a window of at most MAX_WINDOW messages;
+ * older and newer exchanges of a signed-in user are paged in from chat_history when the
+ * list is scrolled to either end.
+ */
+public class HealthChatbotView extends BorderPane implements ModuleLifecycle {
+    private static final int MAX_WINDOW = 200;
+    // Exchanges (a question and its answer) per chat_history page
+    private static final int HISTORY_PAGE_SIZE = 25;
 
-public class HealthChatbotView extends BorderPane {
     private final ApiClient apiClient;
-    private final List<ChatMessage> messages;
     private final HistoryDAO historyDAO;
+    private final ModuleTaskScope tasks;
+    // Answers confident FAQ matches on this device; null if the FAQ failed to load
+    private FaqRetrievalEngine faqEngine;
     private Integer currentUserId = null;
+    private boolean hasOlderHistory = false;
+    private boolean hasNewerHistory = false;
+    private boolean loadingHistory = false;
+    private boolean showLatestOnLoad = false;
     
     public void setCurrentUserId(Integer userId) {
         this.currentUserId = userId;
+        this.hasOlderHistory = userId != null;
     }
     
-    private ListView<HBox> messagesList;
+    private ListView<ChatMessage> messagesList;
+    private ScrollBar messagesScrollBar;
     private TextArea inputArea;
     private Button sendButton;
     private ProgressIndicator loadingIndicator;
+    private StreamingReply activeReply;
 
     private static final String[] SUGGESTED_QUESTIONS = {
         "What medicine should I take for fever?",
@@ -51,8 +81,13 @@ public class HealthChatbotView extends BorderPane {
 
     public HealthChatbotView(ApiClient apiClient) {
         this.apiClient = apiClient;
-        this.messages = new ArrayList<>();
         this.historyDAO = new HistoryDAO();
+        this.tasks = new ModuleTaskScope(TaskExecutor.Module.CHATBOT);
+        try {
+            this.faqEngine = new FaqRetrievalEngine();
+        } catch (IOException e) {
+            System.err.println("Local FAQ answers unavailable: " + e.getMessage());
+        }
 
         VBox headerBox = createHeader();
         setTop(headerBox);
@@ -61,6 +96,17 @@ public class HealthChatbotView extends BorderPane {
         setCenter(mainContent);
     }
 
+    @Override
+    public void onModuleHidden() {
+        tasks.cancelAll();
+        loadingHistory = false;
+        if (activeReply != null) {
+            activeReply.stop();
+        }
+        sendButton.setDisable(false);
+        loadingIndicator.setVisible(false);
+    }
+
     private VBox createHeader() {
         VBox headerBox = new VBox(8);
         headerBox.getStyleClass().add("header-section");
@@ -82,7 +128,7 @@ public class HealthChatbotView extends BorderPane {
     private VBox createMainContent() {
         VBox mainContent = new VBox(12);
         mainContent.setPadding(new Insets(15));
-        mainContent.setStyle("-fx-background-color: #F0F9FF;");
+        mainContent.getStyleClass().add("module-content");
 
         VBox chatBox = new VBox(12);
         chatBox.getStyleClass().add("panel");
@@ -98,6 +144,14 @@ public class HealthChatbotView extends BorderPane {
         messagesList.setCellFactory(param -> new MessageCell());
         messagesList.setStyle("-fx-background-color: transparent;");
         VBox.setVgrow(messagesList, Priority.ALWAYS);
+        messagesList.skinProperty().addListener((obs, oldSkin, newSkin) -> Platform.runLater(this::watchScrollBar));
+        // Wheel scrolling up also pages when the transcript is too short to scroll
+        messagesList.addEventFilter(ScrollEvent.SCROLL, e -> {
+            if (e.getDeltaY() > 0 && (messagesScrollBar == null || !messagesScrollBar.isVisible()
+                    || messagesScrollBar.getValue() <= messagesScrollBar.getMin())) {
+                loadOlderHistory();
+            }
+        });
 
         // Show initial welcome message
         showWelcomeMessage();
@@ -153,7 +207,8 @@ public class HealthChatbotView extends BorderPane {
         VBox welcomeBox = new VBox(15);
         welcomeBox.setAlignment(Pos.CENTER);
         welcomeBox.setPadding(new Insets(40));
-        welcomeBox.setStyle("-fx-background-color: linear-gradient(to bottom, #F0F9FF, #F0FDFA); -fx-background-radius: 16; -fx-effect: dropshadow(gaussian, rgba(15, 118, 110, 0.1), 8, 0, 0, 3);");
+        welcomeBox.getStyleClass().add("result-tint-info");
+        welcomeBox.setStyle("-fx-background-radius: 16; -fx-effect: dropshadow(gaussian, rgba(15, 118, 110, 0.1), 8, 0, 0, 3);");
 
         Label welcomeLabel = new Label("👋 Welcome to Health Assistant");
         welcomeLabel.setFont(Font.font("System", FontWeight.BOLD, 22));
@@ -176,9 +231,7 @@ public class HealthChatbotView extends BorderPane {
 
         for (String question : SUGGESTED_QUESTIONS) {
             Button questionButton = new Button(question);
-            questionButton.setStyle("-fx-background-color: linear-gradient(to bottom, white, #F0FDFA); -fx-border-color: #14B8A6; -fx-border-width: 2; -fx-padding: 10 18; -fx-background-radius: 18; -fx-text-fill: #0F766E; -fx-font-weight: 600; -fx-font-size: 13px; -fx-effect: dropshadow(gaussian, rgba(15, 118, 110, 0.1), 3, 0, 0, 1); -fx-cursor: hand;");
-            questionButton.setOnMouseEntered(e -> questionButton.setStyle("-fx-background-color: linear-gradient(to bottom, #E0F2FE, #F0FDFA); -fx-border-color: #0F766E; -fx-border-width: 2.5; -fx-padding: 10 18; -fx-background-radius: 18; -fx-text-fill: #0F766E; -fx-font-weight: 700; -fx-font-size: 13px; -fx-effect: dropshadow(gaussian, rgba(15, 118, 110, 0.2), 5, 0, 0, 2); -fx-cursor: hand;"));
-            questionButton.setOnMouseExited(e -> questionButton.setStyle("-fx-background-color: linear-gradient(to bottom, white, #F0FDFA); -fx-border-color: #14B8A6; -fx-border-width: 2; -fx-padding: 10 18; -fx-background-radius: 18; -fx-text-fill: #0F766E; -fx-font-weight: 600; -fx-font-size: 13px; -fx-effect: dropshadow(gaussian, rgba(15, 118, 110, 0.1), 3, 0, 0, 1); -fx-cursor: hand;"));
+            questionButton.getStyleClass().add("suggested-question");
             questionButton.setCursor(javafx.scene.Cursor.HAND);
             questionButton.setOnAction(e -> {
                 inputArea.setText(question);
@@ -192,10 +245,15 @@ public class HealthChatbotView extends BorderPane {
 
         HBox welcomeContainer = new HBox(welcomeBox);
         welcomeContainer.setAlignment(Pos.CENTER);
-        messagesList.getItems().add(welcomeContainer);
+        // Shown by the list while the transcript is empty
+        messagesList.setPlaceholder(welcomeContainer);
     }
 
     private void sendMessage() {
+        // Enter and the suggested questions bypass the disabled send button; one answer streams at a time
+        if (activeReply != null) {
+            return;
+        }
         String text = inputArea.getText().trim();
         if (text.isEmpty()) {
             return;
@@ -206,21 +264,23 @@ public class HealthChatbotView extends BorderPane {
             return;
         }
 
-        // Remove welcome message if it's the first user message
-        if (messages.isEmpty() && messagesList.getItems().size() > 0) {
-            messagesList.getItems().clear();
-        }
-
         ChatMessage userMessage = new ChatMessage(
             String.valueOf(System.currentTimeMillis()),
             "user",
             text,
             System.currentTimeMillis()
         );
-        messages.add(userMessage);
-        updateMessagesDisplay();
+        appendMessage(userMessage);
 
         inputArea.clear();
+
+        // Confident FAQ matches are answered at once; everything else goes to the backend
+        ChatResponse faqAnswer = faqEngine != null ? faqEngine.answer(text) : null;
+        if (faqAnswer != null) {
+            answerLocally(text, userMessage, faqAnswer);
+            return;
+        }
+
         sendButton.setDisable(true);
         loadingIndicator.setVisible(true);
         
@@ -229,35 +289,31 @@ public class HealthChatbotView extends BorderPane {
             "Processing your question... Please wait."
         );
 
-        new Thread(() -> {
+        String query = withRomanizedSymptoms(text);
+        Integer userId = currentUserId;
+        StreamingReply reply = new StreamingReply(new ChatMessage(
+            String.valueOf(System.currentTimeMillis()),
+            "assistant",
+            "",
+            System.currentTimeMillis()
+        ));
+        activeReply = reply;
+        reply.start();
+        tasks.submit(() -> {
             try {
-                ChatResponse response = apiClient.chat(text);
+                ChatResponse response = apiClient.chatStream(query, reply::append);
                 if (response == null || response.getResponse() == null || response.getResponse().isEmpty()) {
                     throw new IOException("Empty response from server");
                 }
-                
-                ChatMessage assistantMessage = new ChatMessage(
-                    String.valueOf(System.currentTimeMillis()),
-                    "assistant",
-                    response.getResponse(),
-                    System.currentTimeMillis()
-                );
-                messages.add(assistantMessage);
-
-                Platform.runLater(() -> {
-                    updateMessagesDisplay();
+
+                if (userId != null) {
+                    saveChatHistory(userId, text, response.getResponse(), userMessage, reply.message);
+                }
+
+                tasks.runLater(() -> {
+                    reply.finish(response.getResponse());
                     sendButton.setDisable(false);
                     loadingIndicator.setVisible(false);
-                    messagesList.scrollTo(messagesList.getItems().size() - 1);
-                    
-                    // Save chat history if user is logged in
-                    if (currentUserId != null) {
-                        try {
-                            historyDAO.saveChatHistory(currentUserId, text, response.getResponse());
-                        } catch (Exception e) {
-                            System.err.println("Failed to save chat history: " + e.getMessage());
-                        }
-                    }
                     
                     NotificationHelper.showSuccessNotification(
                         (StackPane) getScene().getRoot(),
@@ -265,7 +321,8 @@ public class HealthChatbotView extends BorderPane {
                     );
                 });
             } catch (IOException e) {
-                Platform.runLater(() -> {
+                tasks.runLater(() -> {
+                    reply.stop();
                     String errorMsg = "Failed to get response from chatbot:\n" + e.getMessage();
                     
                     if (e.getMessage().contains("Connection refused") || 
@@ -282,7 +339,8 @@ public class HealthChatbotView extends BorderPane {
                     loadingIndicator.setVisible(false);
                 });
             } catch (Exception e) {
-                Platform.runLater(() -> {
+                tasks.runLater(() -> {
+                    reply.stop();
                     showError("Unexpected Error", 
                         "An unexpected error occurred:\n" + e.getMessage() + 
                         "\n\nPlease try again or restart the application.");
@@ -290,53 +348,226 @@ public class HealthChatbotView extends BorderPane {
                     loadingIndicator.setVisible(false);
                 });
             }
-        }).start();
+        });
     }
 
-    private void updateMessagesDisplay() {
+    private void answerLocally(String text, ChatMessage userMessage, ChatResponse response) {
+        ChatMessage answer = new ChatMessage(
+            String.valueOf(System.currentTimeMillis()),
+            "assistant",
+            response.getResponse(),
+            System.currentTimeMillis()
+        );
+        appendMessage(answer);
+
+        if (currentUserId != null) {
+            saveChatHistory(currentUserId, text, response.getResponse(), userMessage, answer);
+        }
+    }
+
+    /**
+     * Saves an exchange and gives its messages the row id, which lets them be paged back in.
+     * Runs outside the module's task scope so leaving the chat does not drop the write.
+     */
+    private void saveChatHistory(int userId, String text, String answer, ChatMessage... messages) {
+        TaskExecutor.submit(TaskExecutor.Module.CHATBOT, () -> {
+            try {
+                int historyId = historyDAO.saveChatHistory(userId, text, answer);
+                if (historyId > 0) {
+                    Platform.runLater(() -> {
+                        for (ChatMessage message : messages) {
+                            message.setHistoryId(historyId);
+                        }
+                    });
+                }
+            } catch (Exception e) {
+                System.err.println("Failed to save chat history: " + e.getMessage());
+            }
+        });
+    }
+
+    // Re-renders the row showing this message after its content changed
+    private void refreshMessage(ChatMessage message) {
+        ObservableList<ChatMessage> items = messagesList.getItems();
+        boolean following = messagesScrollBar == null || messagesScrollBar.getValue() >= messagesScrollBar.getMax();
+        for (int i = items.size() - 1; i >= 0; i--) {
+            if (items.get(i) == message) {
+                items.set(i, message);
+                if (following && i == items.size() - 1) {
+                    messagesList.scrollTo(i);
+                }
+                return;
+            }
+        }
+    }
+
+    // The backend matches English keywords, so name any Hindi/Marathi symptoms the user typed
+    private String withRomanizedSymptoms(String text) {
+        List<String> symptoms = LanguageManager.findRomanizedSymptoms(text);
+        if (symptoms.isEmpty()) {
+            return text;
+        }
+        return text + " (" + String.join(", ", symptoms).toLowerCase() + ")";
+    }
+
+    private void appendMessage(ChatMessage message) {
+        if (hasNewerHistory) {
+            // A saved answer pages in when the reader scrolls back down
+            if (message.getHistoryId() != null) {
+                return;
+            }
+            jumpToLatest();
+        }
+        ObservableList<ChatMessage> items = messagesList.getItems();
+        items.add(message);
+        if (items.size() > MAX_WINDOW) {
+            items.remove(0, items.size() - MAX_WINDOW);
+            hasOlderHistory = currentUserId != null;
+        }
+        messagesList.scrollTo(items.size() - 1);
+    }
+
+    // The window was paged back into older history; start again from the latest exchanges
+    private void jumpToLatest() {
         messagesList.getItems().clear();
-        for (ChatMessage message : messages) {
-            HBox messageBox = createMessageBox(message);
-            messagesList.getItems().add(messageBox);
+        hasNewerHistory = false;
+        hasOlderHistory = currentUserId != null;
+        loadingHistory = false;
+        showLatestOnLoad = true;
+        loadOlderHistory();
+    }
+
+    private void loadOlderHistory() {
+        if (currentUserId == null || !hasOlderHistory || loadingHistory) {
+            return;
         }
+        loadingHistory = true;
+        int userId = currentUserId;
+        int beforeId = oldestHistoryId();
+        tasks.submit(() -> {
+            List<Map<String, Object>> rows = historyDAO.getChatHistoryBefore(userId, beforeId, HISTORY_PAGE_SIZE);
+            List<ChatMessage> page = toMessages(rows);
+            tasks.runLater(() -> {
+                loadingHistory = false;
+                hasOlderHistory = rows.size() == HISTORY_PAGE_SIZE;
+                prependHistory(page);
+            });
+        });
     }
 
-    private HBox createMessageBox(ChatMessage message) {
-        HBox messageBox = new HBox(12);
-        messageBox.setAlignment(message.getRole().equals("user") ? Pos.CENTER_RIGHT : Pos.CENTER_LEFT);
-        messageBox.setPadding(new Insets(8, 10, 8, 10));
-        messageBox.setMaxWidth(Double.MAX_VALUE);
-
-        VBox messageContent = new VBox(6);
-        messageContent.setMaxWidth(600);
-
-        Label contentLabel = new Label(message.getContent());
-        contentLabel.setWrapText(true);
-        contentLabel.setFont(Font.font("System", 13));
-        contentLabel.setLineSpacing(3);
-        contentLabel.setPadding(new Insets(12, 18, 12, 18));
-        contentLabel.setMaxWidth(580);
-
-        if (message.getRole().equals("user")) {
-            contentLabel.getStyleClass().add("message-bubble-user");
-            contentLabel.setStyle("-fx-background-color: linear-gradient(to bottom right, #0F766E, #14B8A6); -fx-text-fill: white; -fx-background-radius: 20 20 4 20; -fx-effect: dropshadow(gaussian, rgba(15, 118, 110, 0.3), 5, 0, 0, 2); -fx-font-weight: 500;");
-            messageContent.setAlignment(Pos.CENTER_RIGHT);
+    private void loadNewerHistory() {
+        if (currentUserId == null || !hasNewerHistory || loadingHistory) {
+            return;
+        }
+        loadingHistory = true;
+        int userId = currentUserId;
+        int afterId = newestHistoryId();
+        tasks.submit(() -> {
+            List<Map<String, Object>> rows = historyDAO.getChatHistoryAfter(userId, afterId, HISTORY_PAGE_SIZE);
+            List<ChatMessage> page = toMessages(rows);
+            tasks.runLater(() -> {
+                loadingHistory = false;
+                hasNewerHistory = rows.size() == HISTORY_PAGE_SIZE;
+                ObservableList<ChatMessage> items = messagesList.getItems();
+                int newest = newestHistoryId();
+                int added = 0;
+                for (ChatMessage message : page) {
+                    if (message.getHistoryId() > newest) {
+                        items.add(message);
+                        added++;
+                    }
+                }
+                if (items.size() > MAX_WINDOW) {
+                    items.remove(0, items.size() - MAX_WINDOW);
+                    hasOlderHistory = true;
+                    // Trimming the top would otherwise jump the reader forward
+                    messagesList.scrollTo(Math.max(0, items.size() - added - 1));
+                }
+            });
+        });
+    }
+
+    private void prependHistory(List<ChatMessage> page) {
+        ObservableList<ChatMessage> items = messagesList.getItems();
+        boolean showLatest = showLatestOnLoad;
+        showLatestOnLoad = false;
+        // An exchange saved while the page was loading is already in the window
+        int oldest = oldestHistoryId();
+        List<ChatMessage> older = new ArrayList<>(page.size());
+        for (ChatMessage message : page) {
+            if (message.getHistoryId() < oldest) {
+                older.add(message);
+            }
+        }
+        if (older.isEmpty()) {
+            return;
+        }
+        items.addAll(0, older);
+        if (items.size() > MAX_WINDOW) {
+            items.remove(MAX_WINDOW, items.size());
+            hasNewerHistory = true;
+        }
+        if (showLatest) {
+            messagesList.scrollTo(items.size() - 1);
         } else {
-            contentLabel.getStyleClass().add("message-bubble-bot");
-            contentLabel.setStyle("-fx-background-color: linear-gradient(to bottom right, #F3F4F6, #E5E7EB); -fx-text-fill: #1F2937; -fx-background-radius: 20 20 20 4; -fx-effect: dropshadow(gaussian, rgba(0,0,0,0.05), 3, 0, 0, 1); -fx-font-weight: 500;");
-            messageContent.setAlignment(Pos.CENTER_LEFT);
+            // Keep the message that was at the top where the reader left it
+            messagesList.scrollTo(older.size());
         }
+    }
 
-        SimpleDateFormat sdf = new SimpleDateFormat("HH:mm");
-        Label timeLabel = new Label(sdf.format(new Date(message.getTimestamp())));
-        timeLabel.setFont(Font.font("System", 10));
-        timeLabel.setTextFill(Color.GRAY);
-        timeLabel.setPadding(new Insets(0, 5, 0, 5));
+    // Messages are in chat_history order, so the first and last saved ones bound the window
+    private int oldestHistoryId() {
+        for (ChatMessage message : messagesList.getItems()) {
+            if (message.getHistoryId() != null) {
+                return message.getHistoryId();
+            }
+        }
+        return Integer.MAX_VALUE;
+    }
+
+    private int newestHistoryId() {
+        ObservableList<ChatMessage> items = messagesList.getItems();
+        for (int i = items.size() - 1; i >= 0; i--) {
+            if (items.get(i).getHistoryId() != null) {
+                return items.get(i).getHistoryId();
+            }
+        }
+        return 0;
+    }
 
-        messageContent.getChildren().addAll(contentLabel, timeLabel);
-        messageBox.getChildren().add(messageContent);
+    private static List<ChatMessage> toMessages(List<Map<String, Object>> rows) {
+        List<ChatMessage> messages = new ArrayList<>(rows.size() * 2);
+        for (Map<String, Object> row : rows) {
+            int historyId = (Integer) row.get("id");
+            Timestamp chatDate = (Timestamp) row.get("chatDate");
+            long timestamp = chatDate != null ? chatDate.getTime() : System.currentTimeMillis();
+            ChatMessage question = new ChatMessage("history-" + historyId + "-user", "user",
+                (String) row.get("userMessage"), timestamp);
+            ChatMessage answer = new ChatMessage("history-" + historyId + "-assistant", "assistant",
+                (String) row.get("botResponse"), timestamp);
+            question.setHistoryId(historyId);
+            answer.setHistoryId(historyId);
+            messages.add(question);
+            messages.add(answer);
+        }
+        return messages;
+    }
 
-        return messageBox;
+    // The ListView's own scroll bar exists once its skin is built
+    private void watchScrollBar() {
+        for (Node node : messagesList.lookupAll(".scroll-bar")) {
+            if (node instanceof ScrollBar bar && bar.getOrientation() == Orientation.VERTICAL) {
+                messagesScrollBar = bar;
+                bar.valueProperty().addListener((obs, oldVal, newVal) -> {
+                    if (newVal.doubleValue() <= bar.getMin()) {
+                        loadOlderHistory();
+                    } else if (newVal.doubleValue() >= bar.getMax()) {
+                        loadNewerHistory();
+                    }
+                });
+                return;
+            }
+        }
     }
 
     private void showError(String title, String message) {
@@ -349,16 +580,122 @@ public class HealthChatbotView extends BorderPane {
         });
     }
 
-    private static class MessageCell extends ListCell<HBox> {
+    /**
+     * Collects streamed pieces of an answer from the worker thread and shows them at most once
+     * per frame; the bubble appears with the first piece.
+     */
+    private class StreamingReply extends AnimationTimer {
+        private final ChatMessage message;
+        private final StringBuilder received = new StringBuilder();
+        private boolean dirty = false;
+        private boolean shown = false;
+
+        StreamingReply(ChatMessage message) {
+            this.message = message;
+        }
+
+        synchronized void append(String token) {
+            received.append(token);
+            dirty = true;
+        }
+
         @Override
-        protected void updateItem(HBox item, boolean empty) {
-            super.updateItem(item, empty);
-            if (empty || item == null) {
-                setGraphic(null);
+        public void handle(long now) {
+            String text;
+            synchronized (this) {
+                if (!dirty) {
+                    return;
+                }
+                dirty = false;
+                text = received.toString();
+            }
+            message.setContent(text);
+            if (shown) {
+                refreshMessage(message);
             } else {
-                setGraphic(item);
+                shown = true;
+                appendMessage(message);
+            }
+        }
+
+        // Shows the complete answer, whatever the last frame managed to render
+        void finish(String fullText) {
+            stop();
+            synchronized (this) {
+                received.setLength(0);
+                received.append(fullText);
+                dirty = true;
+            }
+            handle(0);
+        }
+
+        @Override
+        public void stop() {
+            super.stop();
+            if (activeReply == this) {
+                activeReply = null;
             }
         }
     }
-}
 
+    // Built once per visible row and re-pointed at whichever message scrolls into it
+    private static class MessageCell extends ListCell<ChatMessage> {
+        private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("HH:mm").withZone(ZoneId.systemDefault());
+
+        private final HBox messageBox = new HBox(12);
+        private final VBox messageContent = new VBox(6);
+        private final Label contentLabel = new Label();
+        private final Label timeLabel = new Label();
+        private Boolean showingUser;
+        private String shownContent;
+
+        MessageCell() {
+            messageBox.setPadding(new Insets(8, 10, 8, 10));
+            messageBox.setMaxWidth(Double.MAX_VALUE);
+            messageContent.setMaxWidth(600);
+
+            contentLabel.setWrapText(true);
+            contentLabel.setFont(Font.font("System", 13));
+            contentLabel.setLineSpacing(3);
+            contentLabel.setPadding(new Insets(12, 18, 12, 18));
+            contentLabel.setMaxWidth(580);
+
+            timeLabel.setFont(Font.font("System", 10));
+            timeLabel.setTextFill(Color.GRAY);
+            timeLabel.setPadding(new Insets(0, 5, 0, 5));
+
+            messageContent.getChildren().addAll(contentLabel, timeLabel);
+            messageBox.getChildren().add(messageContent);
+        }
+
+        // A streaming answer is the same object with longer content
+        @Override
+        protected boolean isItemChanged(ChatMessage oldItem, ChatMessage newItem) {
+            return oldItem != newItem || (newItem != null && !newItem.getContent().equals(shownContent));
+        }
+
+        @Override
+        protected void updateItem(ChatMessage message, boolean empty) {
+            super.updateItem(message, empty);
+            if (empty || message == null) {
+                setGraphic(null);
+                shownContent = null;
+                return;
+            }
+            boolean user = "user".equals(message.getRole());
+            if (showingUser == null || showingUser != user) {
+                showingUser = user;
+                messageBox.setAlignment(user ? Pos.CENTER_RIGHT : Pos.CENTER_LEFT);
+                messageContent.setAlignment(user ? Pos.CENTER_RIGHT : Pos.CENTER_LEFT);
+                contentLabel.getStyleClass().removeAll("message-bubble-user", "message-bubble-bot");
+                contentLabel.getStyleClass().add(user ? "message-bubble-user" : "message-bubble-bot");
+            }
+            if (!message.getContent().equals(shownContent)) {
+                shownContent = message.getContent();
+                contentLabel.setText(shownContent);
+            }
+            timeLabel.setText(TIME_FORMAT.format(Instant.ofEpochMilli(message.getTimestamp())));
+            setGraphic(messageBox);
+        }
+    }
+}
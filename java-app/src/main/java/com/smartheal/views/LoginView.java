@@ -4,6 +4,7 @@ import com.smartheal.dao.UserDAO;
 import com.smartheal.models.User;
 import com.smartheal.utils.NotificationHelper;
 import com.smartheal.utils.PasswordHasher;
+import com.smartheal.utils.TaskExecutor;
 import javafx.application.Platform;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
@@ -104,7 +105,7 @@ public class LoginView extends VBox {
             loginButton.setDisable(true);
             loginButton.setText("Logging in...");
             
-            new Thread(() -> {
+            TaskExecutor.submit(TaskExecutor.Module.AUTH, () -> {
                 try {
                     UserDAO userDAO = new UserDAO();
                     Optional<User> user = userDAO.loginUser(username, password);
@@ -126,7 +127,7 @@ public class LoginView extends VBox {
                         loginButton.setText("🔐 Login");
                     });
                 }
-            }).start();
+            });
         });
         
         registerLink.setOnAction(e -> openRegisterView());
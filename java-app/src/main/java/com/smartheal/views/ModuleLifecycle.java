@@ -0,0 +1,12 @@
+package com.smartheal.views;
+
+/**
+ * Implemented by module views that need to know when ModulePageWrapper
+ * puts them on screen or takes them off it.
+ */
+public interface ModuleLifecycle {
+    default void onModuleShown() {
+    }
+
+    void onModuleHidden();
+}
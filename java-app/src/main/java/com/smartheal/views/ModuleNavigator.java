@@ -0,0 +1,195 @@
+package com.smartheal.views;
+
+import com.smartheal.utils.FxStallWatchdog;
+import javafx.animation.PauseTransition;
+import javafx.application.Platform;
+import javafx.scene.Node;
+import javafx.util.Duration;
+
+import javax.management.ListenerNotFoundException;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryNotificationInfo;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.util.EnumMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Keeps constructed module pages alive between visits so switching back is a node swap
+ * instead of a rebuild. Modules hinted by the dashboard are built ahead of time once the
+ * UI is idle, and pages that are not showing are dropped when the heap runs short. A
+ * preloaded page is only built; its data loads through {@link ModuleLifecycle#onModuleShown()}
+ * when it is first shown.
+ */
+public class ModuleNavigator {
+
+    public enum AppModule {
+        SYMPTOM_CHECKER("Symptom Checker", "🩺"),
+        CHATBOT("Health Chatbot", "💬"),
+        COST_ESTIMATOR("Cost Estimator", "💰"),
+        REPORT_ANALYZER("Report Analyzer", "📊"),
+        RISK_ASSESSMENT("Risk Assessment", "⚠️");
+
+        private final String title;
+        private final String icon;
+
+        AppModule(String title, String icon) {
+            this.title = title;
+            this.icon = icon;
+        }
+
+        public String getTitle() {
+            return title;
+        }
+
+        public String getIcon() {
+            return icon;
+        }
+    }
+
+    private static final Duration PRELOAD_IDLE_DELAY = Duration.millis(600);
+    // Share of a heap pool still in use after GC at which cached pages are dropped
+    private static final double MEMORY_PRESSURE_RATIO = 0.75;
+
+    private final Function<AppModule, Node> viewFactory;
+    private final Runnable onBackClick;
+    private final Map<AppModule, ModulePageWrapper> pages = new EnumMap<>(AppModule.class);
+    private final Map<AppModule, Long> lastShown = new EnumMap<>(AppModule.class);
+    private final LinkedHashSet<AppModule> preloadQueue = new LinkedHashSet<>();
+    private final PauseTransition idleTimer = new PauseTransition(PRELOAD_IDLE_DELAY);
+    private final NotificationListener memoryListener;
+    private AppModule activeModule;
+
+    public ModuleNavigator(Function<AppModule, Node> viewFactory, Runnable onBackClick) {
+        this.viewFactory = viewFactory;
+        this.onBackClick = onBackClick;
+        this.idleTimer.setOnFinished(e -> preloadNext());
+        this.memoryListener = (notification, handback) -> {
+            if (MemoryNotificationInfo.MEMORY_COLLECTION_THRESHOLD_EXCEEDED.equals(notification.getType())) {
+                Platform.runLater(this::evictInactive);
+            }
+        };
+        watchMemoryPressure();
+    }
+
+    /** Hides the current module and returns the page for the requested one, building it if needed. */
+    public ModulePageWrapper show(AppModule module) {
+        hideActive();
+        ModulePageWrapper page = getOrCreate(module);
+        preloadQueue.remove(module);
+        activeModule = module;
+        lastShown.put(module, System.nanoTime());
+        FxStallWatchdog.setContext(module.getTitle());
+        page.activate();
+        return page;
+    }
+
+    public void hideActive() {
+        if (activeModule != null) {
+            ModulePageWrapper page = pages.get(activeModule);
+            if (page != null) {
+                page.deactivate();
+            }
+            activeModule = null;
+            FxStallWatchdog.setContext("Dashboard");
+        }
+    }
+
+    // Called while the dashboard is showing, e.g. when the pointer rests on a module card
+    public void hint(AppModule module) {
+        if (pages.containsKey(module)) {
+            return;
+        }
+        // Most recent hint is built first
+        preloadQueue.addFirst(module);
+        idleTimer.playFromStart();
+    }
+
+    /**
+     * Drops the inactive page worth least: one preloaded but never opened, else the least recently
+     * shown. Runs once per collection that ends over the threshold, so pressure that outlasts the
+     * next collection drops the next page and pages the user only just left are kept longest.
+     */
+    public void evictInactive() {
+        preloadQueue.clear();
+        idleTimer.stop();
+        AppModule oldest = null;
+        for (AppModule module : pages.keySet()) {
+            if (module != activeModule
+                    && (oldest == null || lastShown.getOrDefault(module, 0L) < lastShown.getOrDefault(oldest, 0L))) {
+                oldest = module;
+            }
+        }
+        if (oldest != null) {
+            pages.remove(oldest).deactivate();
+            lastShown.remove(oldest);
+        }
+    }
+
+    public void dispose() {
+        idleTimer.stop();
+        preloadQueue.clear();
+        hideActive();
+        for (ModulePageWrapper page : pages.values()) {
+            page.deactivate();
+        }
+        pages.clear();
+        lastShown.clear();
+        try {
+            ((NotificationEmitter) ManagementFactory.getMemoryMXBean()).removeNotificationListener(memoryListener);
+        } catch (ListenerNotFoundException e) {
+            // Never registered
+        }
+    }
+
+    private ModulePageWrapper getOrCreate(AppModule module) {
+        ModulePageWrapper page = pages.get(module);
+        if (page == null) {
+            page = new ModulePageWrapper(module.getTitle(), module.getIcon(), viewFactory.apply(module), onBackClick);
+            pages.put(module, page);
+        }
+        return page;
+    }
+
+    private void preloadNext() {
+        if (activeModule != null || preloadQueue.isEmpty() || isUnderMemoryPressure()) {
+            preloadQueue.clear();
+            return;
+        }
+        AppModule next = preloadQueue.removeFirst();
+        if (!pages.containsKey(next)) {
+            try {
+                getOrCreate(next);
+            } catch (Exception e) {
+                // The real navigation will retry and report the failure
+                System.err.println("Failed to preload " + next.getTitle() + ": " + e.getMessage());
+            }
+        }
+        // One module per idle slot keeps the dashboard responsive
+        if (!preloadQueue.isEmpty()) {
+            idleTimer.playFromStart();
+        }
+    }
+
+    private boolean isUnderMemoryPressure() {
+        Runtime runtime = Runtime.getRuntime();
+        long used = runtime.totalMemory() - runtime.freeMemory();
+        return used > runtime.maxMemory() * MEMORY_PRESSURE_RATIO;
+    }
+
+    private void watchMemoryPressure() {
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP && pool.isCollectionUsageThresholdSupported()) {
+                long max = pool.getUsage().getMax();
+                if (max > 0) {
+                    pool.setCollectionUsageThreshold((long) (max * MEMORY_PRESSURE_RATIO));
+                }
+            }
+        }
+        ((NotificationEmitter) ManagementFactory.getMemoryMXBean()).addNotificationListener(memoryListener, null, null);
+    }
+}
@@ -45,6 +45,8 @@ public class ModulePageWrapper extends BorderPane {
         statusBar.setVisible(true);
         statusBar.setOpacity(1.0);
         statusBar.setPickOnBounds(false);
+        // The clock only ticks while the page is showing; cached pages stay idle
+        statusBar.stop();
         
         // Wrap status bar in a container to ensure it's always stable
         VBox statusContainer = new VBox(statusBar);
@@ -71,53 +73,11 @@ public class ModulePageWrapper extends BorderPane {
 
         // Back button - Clear and prominent
         Button backButton = new Button("← Back");
-        backButton.setStyle(
-            "-fx-background-color: #FFFFFF; " +
-            "-fx-text-fill: #0F766E; " +
-            "-fx-font-weight: bold; " +
-            "-fx-font-size: 15px; " +
-            "-fx-padding: 12 25; " +
-            "-fx-background-radius: 8; " +
-            "-fx-border-color: #0F766E; " +
-            "-fx-border-width: 2; " +
-            "-fx-border-radius: 8; " +
-            "-fx-cursor: hand; " +
-            "-fx-effect: dropshadow(gaussian, rgba(0,0,0,0.25), 6, 0, 0, 3);"
-        );
+        backButton.getStyleClass().add("back-button");
         backButton.setManaged(true);
         backButton.setVisible(true);
         backButton.setOpacity(1.0);
         backButton.setMinWidth(120);
-        backButton.setOnMouseEntered(e -> {
-            backButton.setStyle(
-                "-fx-background-color: linear-gradient(to bottom, #0F766E, #14B8A6); " +
-                "-fx-text-fill: white; " +
-                "-fx-font-weight: bold; " +
-                "-fx-font-size: 15px; " +
-                "-fx-padding: 12 25; " +
-                "-fx-background-radius: 8; " +
-                "-fx-border-color: #0F766E; " +
-                "-fx-border-width: 2; " +
-                "-fx-border-radius: 8; " +
-                "-fx-cursor: hand; " +
-                "-fx-effect: dropshadow(gaussian, rgba(15, 118, 110, 0.5), 10, 0, 0, 4);"
-            );
-        });
-        backButton.setOnMouseExited(e -> {
-            backButton.setStyle(
-                "-fx-background-color: #FFFFFF; " +
-                "-fx-text-fill: #0F766E; " +
-                "-fx-font-weight: bold; " +
-                "-fx-font-size: 15px; " +
-                "-fx-padding: 12 25; " +
-                "-fx-background-radius: 8; " +
-                "-fx-border-color: #0F766E; " +
-                "-fx-border-width: 2; " +
-                "-fx-border-radius: 8; " +
-                "-fx-cursor: hand; " +
-                "-fx-effect: dropshadow(gaussian, rgba(0,0,0,0.25), 6, 0, 0, 3);"
-            );
-        });
         backButton.setOnAction(e -> {
             if (onBackClick != null) {
                 onBackClick.run();
@@ -149,6 +109,21 @@ public class ModulePageWrapper extends BorderPane {
         return headerBox;
     }
 
+    public void activate() {
+        statusBar.start();
+        if (moduleContent instanceof ModuleLifecycle lifecycle) {
+            lifecycle.onModuleShown();
+        }
+    }
+
+    // Called when navigating away so the module can abort in-flight work
+    public void deactivate() {
+        statusBar.stop();
+        if (moduleContent instanceof ModuleLifecycle lifecycle) {
+            lifecycle.onModuleHidden();
+        }
+    }
+
     public void setConnectionStatus(boolean connected) {
         if (statusBar != null) {
             statusBar.setConnectionStatus(connected);
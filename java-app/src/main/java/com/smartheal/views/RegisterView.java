@@ -3,6 +3,7 @@ package com.smartheal.views;
 import com.smartheal.dao.UserDAO;
 import com.smartheal.models.User;
 import com.smartheal.utils.PasswordHasher;
+import com.smartheal.utils.TaskExecutor;
 import javafx.application.Platform;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
@@ -140,7 +141,7 @@ public class RegisterView extends VBox {
             registerButton.setDisable(true);
             registerButton.setText("Registering...");
             
-            new Thread(() -> {
+            TaskExecutor.submit(TaskExecutor.Module.AUTH, () -> {
                 try {
                     UserDAO userDAO = new UserDAO();
                     
@@ -196,7 +197,7 @@ public class RegisterView extends VBox {
                         registerButton.setText("✅ Register");
                     });
                 }
-            }).start();
+            });
         });
         
         loginLink.setOnAction(e -> {
@@ -1,14 +1,24 @@
 package com.smartheal.views;
 
 import com.smartheal.api.ApiClient;
+import com.smartheal.api.ReportAnalysisEngine;
+import com.smartheal.api.TestRecommendationService;
+import com.smartheal.components.TestGuideDialog;
 import com.smartheal.dao.HistoryDAO;
 import com.smartheal.models.BloodParameter;
+import com.smartheal.models.Disease;
 import com.smartheal.models.ReportAnalysis;
+import com.smartheal.utils.CancellationToken;
 import com.smartheal.utils.FileExporter;
 import com.smartheal.utils.NotificationHelper;
 import com.smartheal.utils.ReportFormatter;
 import com.smartheal.utils.UsageTracker;
+import com.smartheal.utils.ModuleTaskScope;
+import com.smartheal.utils.TaskExecutor;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import javafx.css.PseudoClass;
 import javafx.scene.layout.StackPane;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
@@ -31,15 +41,22 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.util.Base64;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.Set;
 import java.util.List;
 import java.util.ArrayList;
 
-public class ReportAnalyzerView extends BorderPane {
+public class ReportAnalyzerView extends BorderPane implements ModuleLifecycle {
     private final ApiClient apiClient;
     private final Map<String, TextField> inputFields;
     private final HistoryDAO historyDAO;
     private final ObjectMapper objectMapper;
+    private final ModuleTaskScope tasks;
+    private final TestRecommendationService testService;
+    // Classifies values on this device; null if the reference ranges failed to load
+    private ReportAnalysisEngine reportEngine;
     private Integer currentUserId = null;
     
     public void setCurrentUserId(Integer userId) {
@@ -59,6 +76,14 @@ public class ReportAnalyzerView extends BorderPane {
     private String lastOcrText;
     private GridPane ocrValuesGrid;
 
+    private static final PseudoClass STATUS_NORMAL = PseudoClass.getPseudoClass("normal");
+    private static final PseudoClass STATUS_ATTENTION = PseudoClass.getPseudoClass("attention");
+    private static final PseudoClass STATUS_ABNORMAL = PseudoClass.getPseudoClass("abnormal");
+    private static final PseudoClass VALUE_NORMAL = PseudoClass.getPseudoClass("normal");
+    private static final PseudoClass VALUE_LOW = PseudoClass.getPseudoClass("low");
+    private static final PseudoClass VALUE_HIGH = PseudoClass.getPseudoClass("high");
+    private static final PseudoClass VALUE_INVALID = PseudoClass.getPseudoClass("invalid");
+
     private static final String[][] BLOOD_PARAMETERS = {
         {"hemoglobin", "Hemoglobin", "g/dL", "12-16", "false"},
         {"wbc", "WBC Count", "cells/µL", "4000-11000", "false"},
@@ -73,11 +98,18 @@ public class ReportAnalyzerView extends BorderPane {
         this.inputFields = new HashMap<>();
         this.historyDAO = new HistoryDAO();
         this.objectMapper = new ObjectMapper();
+        this.tasks = new ModuleTaskScope(TaskExecutor.Module.REPORTS);
+        this.testService = new TestRecommendationService(apiClient);
+        try {
+            this.reportEngine = new ReportAnalysisEngine();
+        } catch (IOException e) {
+            System.err.println("Local report analysis unavailable: " + e.getMessage());
+        }
 
         // No header - ModulePageWrapper handles it with back button
         HBox mainContent = new HBox(25);
         mainContent.setPadding(new Insets(20));
-        mainContent.setStyle("-fx-background-color: #F0F9FF;");
+        mainContent.getStyleClass().add("module-content");
 
         VBox leftPanel = createLeftPanel();
         VBox rightPanel = createRightPanel();
@@ -89,6 +121,13 @@ public class ReportAnalyzerView extends BorderPane {
         setCenter(mainContent);
     }
 
+    @Override
+    public void onModuleHidden() {
+        tasks.cancelAll();
+        analyzeButton.setDisable(false);
+        loadingIndicator.setVisible(false);
+    }
+
     private VBox createLeftPanel() {
         VBox leftPanel = new VBox(12);
         leftPanel.getStyleClass().add("panel");
@@ -177,7 +216,13 @@ public class ReportAnalyzerView extends BorderPane {
             unitLabel.setTextFill(Color.GRAY);
             unitLabel.setMinWidth(80);
 
-            inputBox.getChildren().addAll(inputField, unitLabel);
+            Label statusLabel = new Label();
+            statusLabel.getStyleClass().add("blood-input-status");
+            statusLabel.setMinWidth(70);
+            inputField.getStyleClass().add("blood-input");
+            inputField.textProperty().addListener((obs, oldVal, newVal) -> showValueStatus(key, inputField, statusLabel));
+
+            inputBox.getChildren().addAll(inputField, unitLabel, statusLabel);
             HBox.setHgrow(inputField, Priority.ALWAYS);
 
             paramBox.getChildren().addAll(labelBox, inputBox);
@@ -252,11 +297,16 @@ public class ReportAnalyzerView extends BorderPane {
         printButton.setOnAction(e -> printReport());
         printButton.setDisable(true);
         
-        actionButtonsBox.getChildren().addAll(exportButton, copyButton, printButton);
+        Button testGuideButton = new Button("🧪 Test Guide");
+        testGuideButton.setStyle("-fx-background-color: linear-gradient(to bottom, #0F766E, #14B8A6); -fx-text-fill: white; -fx-font-weight: bold; -fx-font-size: 12px; -fx-padding: 6 12; -fx-cursor: hand;");
+        testGuideButton.setTooltip(new Tooltip("Recommended tests for a condition"));
+        testGuideButton.setOnAction(e -> showTestGuide());
+        
+        actionButtonsBox.getChildren().addAll(testGuideButton, exportButton, copyButton, printButton);
 
         ocrSummaryBox = new VBox(10);
+        ocrSummaryBox.getStyleClass().add("result-tint-success");
         ocrSummaryBox.setStyle(
-            "-fx-background-color: #f0fdf4;" +
             "-fx-border-color: #22c55e;" +
             "-fx-border-width: 2;" +
             "-fx-border-radius: 12;" +
@@ -327,8 +377,73 @@ public class ReportAnalyzerView extends BorderPane {
         return rightPanel;
     }
 
+    // Colours the field by its value's status while it is typed
+    private void showValueStatus(String key, TextField field, Label statusLabel) {
+        String text = field.getText().trim();
+        String status = null;
+        boolean invalid = false;
+        if (!text.isEmpty()) {
+            try {
+                double value = Double.parseDouble(text);
+                BloodParameter parameter = reportEngine != null ? reportEngine.classify(key, value) : null;
+                status = parameter != null ? parameter.getStatus() : null;
+                invalid = value < 0;
+            } catch (NumberFormatException e) {
+                invalid = true;
+            }
+        }
+        if (invalid) {
+            status = null;
+        }
+        field.pseudoClassStateChanged(VALUE_NORMAL, "normal".equals(status));
+        field.pseudoClassStateChanged(VALUE_LOW, "low".equals(status));
+        field.pseudoClassStateChanged(VALUE_HIGH, "high".equals(status));
+        field.pseudoClassStateChanged(VALUE_INVALID, invalid);
+        statusLabel.pseudoClassStateChanged(VALUE_NORMAL, "normal".equals(status));
+        statusLabel.pseudoClassStateChanged(VALUE_LOW, "low".equals(status));
+        statusLabel.pseudoClassStateChanged(VALUE_HIGH, "high".equals(status));
+        statusLabel.pseudoClassStateChanged(VALUE_INVALID, invalid);
+        if (invalid) {
+            statusLabel.setText("✕ Invalid");
+        } else if (status == null) {
+            statusLabel.setText("");
+        } else {
+            switch (status) {
+                case "low": statusLabel.setText("▼ Low"); break;
+                case "high": statusLabel.setText("▲ High"); break;
+                default: statusLabel.setText("✓ Normal"); break;
+            }
+        }
+    }
+
+    // Locally mapped diseases at once; the backend's catalog joins the list when it loads
+    private void showTestGuide() {
+        ObservableList<Disease> diseases = FXCollections.observableArrayList(testService.getDiseases());
+        TestGuideDialog.show(getScene().getWindow(), testService, tasks, diseases,
+            diseases.isEmpty() ? null : diseases.get(0));
+        tasks.submit(() -> {
+            try {
+                List<Disease> catalog = apiClient.getDiseases();
+                tasks.runLater(() -> {
+                    Set<String> names = new HashSet<>();
+                    for (Disease disease : diseases) {
+                        names.add(disease.getName());
+                    }
+                    for (Disease disease : catalog) {
+                        if (disease.getName() != null && names.add(disease.getName())) {
+                            diseases.add(disease);
+                        }
+                    }
+                });
+            } catch (IOException e) {
+                System.err.println("Disease catalog unavailable for the test guide: " + e.getMessage());
+            }
+        });
+    }
+
     private void analyzeReport() {
-        Map<String, Double> reportData = new HashMap<>();
+        // Form order, which the analysis keeps
+        Map<String, Double> reportData = new LinkedHashMap<>();
         boolean hasRequired = true;
         String missingField = null;
 
@@ -381,49 +496,36 @@ public class ReportAnalyzerView extends BorderPane {
             return;
         }
 
+        // Statuses come from the local ranges at once; the server only adds its narrative
+        ReportAnalysis localAnalysis = reportEngine != null ? reportEngine.analyzeReport(reportData) : null;
+        if (localAnalysis != null) {
+            displayAnalysis(localAnalysis);
+        }
+
         analyzeButton.setDisable(true);
         loadingIndicator.setVisible(true);
         
-        NotificationHelper.showInfoNotification(
-            (StackPane) getScene().getRoot(),
-            "Analyzing blood report... Please wait."
-        );
+        if (localAnalysis == null) {
+            NotificationHelper.showInfoNotification(
+                (StackPane) getScene().getRoot(),
+                "Analyzing blood report... Please wait."
+            );
+        }
 
-        new Thread(() -> {
+        tasks.submit(() -> {
             try {
-                ReportAnalysis analysis = apiClient.analyzeReport(reportData);
-                javafx.application.Platform.runLater(() -> {
-                    displayAnalysis(analysis);
-                    UsageTracker.incrementReportsAnalyzed();
-                    
-                    // Save to history if user is logged in
-                    if (currentUserId != null) {
-                        try {
-                            String reportDataJson = objectMapper.writeValueAsString(reportData);
-                            String analysisResult = objectMapper.writeValueAsString(analysis);
-                            String flaggedParams = String.join(", ", analysis.getFlaggedParameters());
-                            
-                            historyDAO.saveReportHistory(
-                                currentUserId, 
-                                reportDataJson, 
-                                analysisResult, 
-                                flaggedParams, 
-                                analysis.getOverallStatus()
-                            );
-                        } catch (Exception e) {
-                            System.err.println("Failed to save report history: " + e.getMessage());
-                        }
-                    }
-                    
-                    NotificationHelper.showSuccessNotification(
-                        (StackPane) getScene().getRoot(),
-                        "Report analyzed successfully! " + analysis.getFlaggedParameters().size() + " parameter(s) flagged."
-                    );
-                    analyzeButton.setDisable(false);
-                    loadingIndicator.setVisible(false);
-                });
+                ReportAnalysis serverAnalysis = apiClient.analyzeReport(reportData);
+                ReportAnalysis analysis = localAnalysis != null
+                    ? ReportAnalysisEngine.withNarrative(localAnalysis, serverAnalysis)
+                    : serverAnalysis;
+                tasks.runLater(() -> finishAnalysis(reportData, analysis));
             } catch (IOException e) {
-                javafx.application.Platform.runLater(() -> {
+                if (localAnalysis != null) {
+                    System.err.println("Report narrative unavailable, keeping local analysis: " + e.getMessage());
+                    tasks.runLater(() -> finishAnalysis(reportData, localAnalysis));
+                    return;
+                }
+                tasks.runLater(() -> {
                     String errorMsg = "Failed to analyze report:\n" + e.getMessage();
                     
                     if (e.getMessage().contains("Connection refused") || 
@@ -440,7 +542,7 @@ public class ReportAnalyzerView extends BorderPane {
                     loadingIndicator.setVisible(false);
                 });
             } catch (Exception e) {
-                javafx.application.Platform.runLater(() -> {
+                tasks.runLater(() -> {
                     showError("Unexpected Error", 
                         "An unexpected error occurred:\n" + e.getMessage() + 
                         "\n\nPlease try again or restart the application.");
@@ -448,7 +550,41 @@ public class ReportAnalyzerView extends BorderPane {
                     loadingIndicator.setVisible(false);
                 });
             }
-        }).start();
+        });
+    }
+
+    // Shows the final analysis, if it differs from the one on screen, and records it
+    private void finishAnalysis(Map<String, Double> reportData, ReportAnalysis analysis) {
+        if (analysis != currentAnalysis) {
+            displayAnalysis(analysis);
+        }
+        UsageTracker.incrementReportsAnalyzed();
+        
+        // Save to history if user is logged in
+        if (currentUserId != null) {
+            try {
+                String reportDataJson = objectMapper.writeValueAsString(reportData);
+                String analysisResult = objectMapper.writeValueAsString(analysis);
+                String flaggedParams = String.join(", ", analysis.getFlaggedParameters());
+                
+                historyDAO.saveReportHistory(
+                    currentUserId, 
+                    reportDataJson, 
+                    analysisResult, 
+                    flaggedParams, 
+                    analysis.getOverallStatus()
+                );
+            } catch (Exception e) {
+                System.err.println("Failed to save report history: " + e.getMessage());
+            }
+        }
+        
+        NotificationHelper.showSuccessNotification(
+            (StackPane) getScene().getRoot(),
+            "Report analyzed successfully! " + analysis.getFlaggedParameters().size() + " parameter(s) flagged."
+        );
+        analyzeButton.setDisable(false);
+        loadingIndicator.setVisible(false);
     }
     
     private void uploadAndScanImage() {
@@ -475,7 +611,7 @@ public class ReportAnalyzerView extends BorderPane {
             "Processing image... Please wait."
         );
         
-        new Thread(() -> {
+        tasks.submit(() -> {
             try {
                 // Read file and encode to base64
                 byte[] imageBytes = Files.readAllBytes(selectedFile.toPath());
@@ -483,8 +619,10 @@ public class ReportAnalyzerView extends BorderPane {
                 
                 // Upload and process image
                 Map<String, Object> result = apiClient.uploadReportImage(base64Image);
+                // The follow-up analysis is queued from the FX thread, outside this task
+                CancellationToken owner = tasks.owner();
                 
-                Platform.runLater(() -> {
+                tasks.runLater(() -> {
                     loadingIndicator.setVisible(false);
                     analyzeButton.setDisable(false);
                     
@@ -517,7 +655,7 @@ public class ReportAnalyzerView extends BorderPane {
                             
                             // Optionally auto-analyze when required values present
                             if (hasAllRequiredValues(extractedValues)) {
-                                Platform.runLater(this::analyzeReport);
+                                tasks.runLater(owner, this::analyzeReport);
                             } else if (populatedCount > 0) {
                                 NotificationHelper.showInfoNotification(
                                     (StackPane) getScene().getRoot(),
@@ -549,7 +687,7 @@ public class ReportAnalyzerView extends BorderPane {
                     }
                 });
             } catch (IOException e) {
-                Platform.runLater(() -> {
+                tasks.runLater(() -> {
                     loadingIndicator.setVisible(false);
                     analyzeButton.setDisable(false);
                     
@@ -565,7 +703,7 @@ public class ReportAnalyzerView extends BorderPane {
                     showError("Upload Error", errorMsg);
                 });
             } catch (Exception e) {
-                Platform.runLater(() -> {
+                tasks.runLater(() -> {
                     loadingIndicator.setVisible(false);
                     analyzeButton.setDisable(false);
                     clearOcrSummary();
@@ -574,7 +712,7 @@ public class ReportAnalyzerView extends BorderPane {
                         "\n\nYou can still enter values manually.");
                 });
             }
-        }).start();
+        });
     }
 
     private void showPasteTextDialog() {
@@ -621,12 +759,14 @@ public class ReportAnalyzerView extends BorderPane {
             "Extracting values from text... Please wait."
         );
         
-        new Thread(() -> {
+        tasks.submit(() -> {
             try {
                 // Send text to backend for parsing
                 Map<String, Object> result = apiClient.parseReportText(text);
+                // The follow-up analysis is queued from the FX thread, outside this task
+                CancellationToken owner = tasks.owner();
                 
-                Platform.runLater(() -> {
+                tasks.runLater(() -> {
                     loadingIndicator.setVisible(false);
                     analyzeButton.setDisable(false);
                     
@@ -658,7 +798,7 @@ public class ReportAnalyzerView extends BorderPane {
                             
                             // Optionally auto-analyze when required values present
                             if (hasAllRequiredValues(extractedValues)) {
-                                Platform.runLater(this::analyzeReport);
+                                tasks.runLater(owner, this::analyzeReport);
                             } else if (populatedCount > 0) {
                                 NotificationHelper.showInfoNotification(
                                     (StackPane) getScene().getRoot(),
@@ -684,7 +824,7 @@ public class ReportAnalyzerView extends BorderPane {
                     }
                 });
             } catch (IOException e) {
-                Platform.runLater(() -> {
+                tasks.runLater(() -> {
                     loadingIndicator.setVisible(false);
                     analyzeButton.setDisable(false);
                     
@@ -700,7 +840,7 @@ public class ReportAnalyzerView extends BorderPane {
                     showError("Processing Error", errorMsg);
                 });
             } catch (Exception e) {
-                Platform.runLater(() -> {
+                tasks.runLater(() -> {
                     loadingIndicator.setVisible(false);
                     analyzeButton.setDisable(false);
                     clearOcrSummary();
@@ -709,7 +849,7 @@ public class ReportAnalyzerView extends BorderPane {
                         "\n\nYou can still enter values manually.");
                 });
             }
-        }).start();
+        });
     }
     
     private void renderOcrSummary(Map<String, Object> extractedValues, String ocrText) {
@@ -724,7 +864,8 @@ public class ReportAnalyzerView extends BorderPane {
 
         if (lastExtractedValues.isEmpty()) {
             Label empty = new Label("No numeric values could be detected. Please verify the report or enter values manually.");
-            empty.setStyle("-fx-text-fill: #166534; -fx-font-size: 13px;");
+            empty.getStyleClass().add("result-text-success");
+            empty.setStyle("-fx-font-size: 13px;");
             ocrValuesGrid.add(empty, 0, 0);
         } else {
             int row = 0;
@@ -745,12 +886,13 @@ public class ReportAnalyzerView extends BorderPane {
                     }
 
                     Label nameLabel = new Label(label + ":");
-                    nameLabel.setStyle("-fx-font-weight: bold; -fx-text-fill: #166534;");
+                    nameLabel.getStyleClass().add("result-text-success");
+                    nameLabel.setStyle("-fx-font-weight: bold;");
 
                     Label valueLabel = new Label(
                         numeric ? String.format("%.2f %s", numericValue, unit) : displayValue + " " + unit
                     );
-                    valueLabel.setStyle("-fx-text-fill: #0b4a32;");
+                    valueLabel.getStyleClass().add("result-text-success");
 
                     ocrValuesGrid.add(nameLabel, 0, row);
                     ocrValuesGrid.add(valueLabel, 1, row);
@@ -889,8 +1031,11 @@ public class ReportAnalyzerView extends BorderPane {
 
         // Overall Status - Colorful gradient
         VBox statusBox = new VBox(10);
-        String statusGradient = getStatusGradient(analysis.getOverallStatus());
-        statusBox.setStyle("-fx-background-color: " + statusGradient + "; -fx-padding: 25; -fx-background-radius: 16; -fx-effect: dropshadow(gaussian, rgba(0,0,0,0.1), 8, 0, 0, 3);");
+        statusBox.getStyleClass().add("report-status-box");
+        PseudoClass statusState = getStatusPseudoClass(analysis.getOverallStatus());
+        if (statusState != null) {
+            statusBox.pseudoClassStateChanged(statusState, true);
+        }
         HBox statusHeader = new HBox(15);
         statusHeader.setAlignment(Pos.CENTER_LEFT);
         Label statusTitle = new Label("📊 Analysis Results");
@@ -922,15 +1067,16 @@ public class ReportAnalyzerView extends BorderPane {
 
         // Parameters
         VBox parametersBox = new VBox(10);
-        parametersBox.setStyle("-fx-background-color: white; -fx-border-color: #E5E7EB; -fx-border-width: 1; -fx-padding: 15; -fx-background-radius: 10;");
+        parametersBox.getStyleClass().add("result-card");
+        parametersBox.setStyle("-fx-border-color: #E5E7EB; -fx-border-width: 1; -fx-padding: 15; -fx-background-radius: 10;");
         Label paramTitle = new Label("Parameter Details");
         paramTitle.setFont(Font.font("System", FontWeight.BOLD, 16));
         parametersBox.getChildren().add(paramTitle);
 
         for (BloodParameter param : analysis.getParameters()) {
             VBox paramBox = new VBox(8);
-            String statusColor = getStatusColor(param.getStatus());
-            paramBox.setStyle("-fx-background-color: " + statusColor + "; -fx-border-color: " + getBorderColor(param.getStatus()) + "; -fx-border-width: 2; -fx-padding: 15; -fx-background-radius: 5;");
+            paramBox.getStyleClass().add(getStatusStyleClass(param.getStatus()));
+            paramBox.setStyle("-fx-border-color: " + getBorderColor(param.getStatus()) + "; -fx-border-width: 2; -fx-padding: 15; -fx-background-radius: 5;");
 
             HBox paramHeader = new HBox(10);
             paramHeader.setAlignment(Pos.CENTER_LEFT);
@@ -964,7 +1110,8 @@ public class ReportAnalyzerView extends BorderPane {
         // Recommendations
         if (!analysis.getRecommendations().isEmpty()) {
             VBox recommendationsBox = new VBox(10);
-            recommendationsBox.setStyle("-fx-background-color: white; -fx-border-color: #E5E7EB; -fx-border-width: 1; -fx-padding: 15; -fx-background-radius: 10;");
+            recommendationsBox.getStyleClass().add("result-card");
+            recommendationsBox.setStyle("-fx-border-color: #E5E7EB; -fx-border-width: 1; -fx-padding: 15; -fx-background-radius: 10;");
             Label recTitle = new Label("Recommendations");
             recTitle.setFont(Font.font("System", FontWeight.BOLD, 16));
             recommendationsBox.getChildren().add(recTitle);
@@ -1055,12 +1202,12 @@ public class ReportAnalyzerView extends BorderPane {
         }
     }
 
-    private String getStatusColor(String status) {
+    private String getStatusStyleClass(String status) {
         switch (status.toLowerCase()) {
-            case "normal": return "#F0FDF4";
+            case "normal": return "result-tint-success";
             case "low":
-            case "high": return "#FEF2F2";
-            default: return "#F9FAFB";
+            case "high": return "result-tint-danger";
+            default: return "result-inset";
         }
     }
 
@@ -1082,12 +1229,12 @@ public class ReportAnalyzerView extends BorderPane {
         }
     }
     
-    private String getStatusGradient(String status) {
+    private PseudoClass getStatusPseudoClass(String status) {
         switch (status.toLowerCase()) {
-            case "normal": return "linear-gradient(to right, #F0FDF4, #D1FAE5)";
-            case "requires-attention": return "linear-gradient(to right, #FFFBEB, #FEF3C7)";
-            case "abnormal": return "linear-gradient(to right, #FEF2F2, #FEE2E2)";
-            default: return "linear-gradient(to right, #E0F2FE, #F0FDFA)";
+            case "normal": return STATUS_NORMAL;
+            case "requires-attention": return STATUS_ATTENTION;
+            case "abnormal": return STATUS_ABNORMAL;
+            default: return null;
         }
     }
 
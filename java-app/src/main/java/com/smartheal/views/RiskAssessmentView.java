@@ -1,19 +1,25 @@
 package com.smartheal.views;
 
-import com.smartheal.api.AdvancedApiClient;
 import com.smartheal.api.ApiClient;
-import com.smartheal.api.HealthCoachApiClient;
+import com.smartheal.api.RiskAssessmentPipeline;
+import com.smartheal.api.RiskScoringEngine;
+import com.smartheal.api.WhatIfSimulator;
 import com.smartheal.dao.HistoryDAO;
 import com.smartheal.models.RiskAssessment;
 import com.smartheal.models.Recommendation;
 import com.smartheal.models.Symptom;
 import com.smartheal.components.ConfidenceIndicator;
+import com.smartheal.components.ResultSection;
+import com.smartheal.components.WhatIfPanel;
 import com.smartheal.utils.NotificationHelper;
 import com.smartheal.utils.FileExporter;
 import com.smartheal.utils.ReportFormatter;
 import com.smartheal.utils.JSONExporter;
+import com.smartheal.utils.ModuleTaskScope;
+import com.smartheal.utils.TaskExecutor;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.core.type.TypeReference;
+import javafx.scene.Node;
 import javafx.scene.layout.StackPane;
 import javafx.application.Platform;
 import javafx.collections.FXCollections;
@@ -26,6 +32,7 @@ import javafx.scene.paint.Color;
 import javafx.scene.text.Font;
 import javafx.scene.text.FontWeight;
 import javafx.stage.Stage;
+import javafx.util.Duration;
 import javafx.scene.input.Clipboard;
 import javafx.scene.input.ClipboardContent;
 import org.json.JSONObject;
@@ -33,17 +40,24 @@ import org.json.JSONArray;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
-import java.util.concurrent.CompletableFuture;
 
-public class RiskAssessmentView extends BorderPane {
+public class RiskAssessmentView extends BorderPane implements ModuleLifecycle {
+    // How long the what-if sliders must rest before re-scoring, in-process and through the backend
+    private static final Duration LOCAL_WHAT_IF_DELAY = Duration.millis(60);
+    private static final Duration SERVER_WHAT_IF_DELAY = Duration.millis(400);
+
     private final ApiClient apiClient;
     private final HistoryDAO historyDAO;
     private final ObjectMapper objectMapper;
+    private final ModuleTaskScope tasks;
+    // Scores risks on this device; null if the exported models are not bundled
+    private RiskScoringEngine riskEngine;
     private Integer currentUserId = null;
     
     public void setCurrentUserId(Integer userId) {
@@ -79,15 +93,40 @@ public class RiskAssessmentView extends BorderPane {
     private Button exportButton;
     private Button exportJsonButton;
     private Button copyButton;
-    private VBox confidenceIndicators;
+    private Label resultsPlaceholder;
+    private Label advancedStatusLabel;
     private HBox uncertaintyAlert;
-    private boolean healthCoachPlanShown;
+    private RiskAssessmentPipeline pipeline;
     private VBox healthCoachSummaryBox;
-    private VBox lifestyleInsightsBox;
-    private VBox dataQualitySummaryBox;
     private JSONObject lastHealthCoachPlan;
     private JSONObject lastAdvancedResponse;
     private Map<String, Object> lastLifestyleInputs;
+
+    // Result cards, each bound to the slice of the assessment or advanced response it shows
+    private final List<ResultSection<?>> coreSections = new ArrayList<>();
+    private final List<ResultSection<?>> advancedSections = new ArrayList<>();
+    private List<Node> resultLayout;
+    private ResultSection<Integer> healthScoreSection;
+    private ResultSection<Double> bmiSection;
+    private ResultSection<Integer> diabetesSection;
+    private ResultSection<Integer> heartSection;
+    private ResultSection<Integer> hypertensionSection;
+    private ResultSection<Map<String, Double>> estimatedSection;
+    private ResultSection<Map<String, Object>> trendSection;
+    private ResultSection<Map<String, Object>> explanationsSection;
+    private ResultSection<Map<String, Object>> importanceSection;
+    private ResultSection<WhatIfSimulator> whatIfSection;
+    private ResultSection<Map<String, Object>> reductionSection;
+    private WhatIfPanel whatIfPanel;
+    // Bumped by every what-if request; responses to older ones are dropped
+    private int whatIfRequest = 0;
+    private ResultSection<List<Map<String, Object>>> actionPlanSection;
+    private ResultSection<List<Map<String, Object>>> screeningSection;
+    private ResultSection<Map<String, Object>> comparisonSection;
+    private ResultSection<List<Recommendation>> recommendationsSection;
+    private ResultSection<JSONObject> predictionsSection;
+    private ResultSection<JSONObject> lifestyleSection;
+    private ResultSection<JSONObject> dataQualitySection;
     
     // Store input data for export
     private int lastAge;
@@ -103,17 +142,22 @@ public class RiskAssessmentView extends BorderPane {
         this.apiClient = apiClient;
         this.historyDAO = new HistoryDAO();
         this.objectMapper = new ObjectMapper();
+        this.tasks = new ModuleTaskScope(TaskExecutor.Module.RISK);
+        try {
+            this.riskEngine = new RiskScoringEngine();
+        } catch (IOException e) {
+            System.err.println("Local risk scoring unavailable: " + e.getMessage());
+        }
         this.selectedSymptoms = FXCollections.observableArrayList();
         this.familyHistory = FXCollections.observableArrayList();
         this.allSymptoms = new ArrayList<>();
-        this.healthCoachPlanShown = false;
         this.lastHealthCoachPlan = null;
         this.lastAdvancedResponse = null;
         this.lastLifestyleInputs = new HashMap<>();
 
         HBox mainContent = new HBox(20);
         mainContent.setPadding(new Insets(15));
-        mainContent.setStyle("-fx-background-color: #F0F9FF;");
+        mainContent.getStyleClass().add("module-content");
 
         VBox leftPanel = createLeftPanel();
         VBox rightPanel = createRightPanel();
@@ -127,9 +171,32 @@ public class RiskAssessmentView extends BorderPane {
         rightPanel.prefWidthProperty().bind(mainContent.widthProperty().multiply(0.55));
 
         setCenter(mainContent);
-        
-        // Load symptoms asynchronously
-        Platform.runLater(() -> loadSymptoms());
+    }
+
+    @Override
+    public void onModuleShown() {
+        // Loaded on first show rather than in the constructor, so preloading stays side-effect free
+        if (allSymptoms.isEmpty()) {
+            loadSymptoms();
+        }
+    }
+
+    @Override
+    public void onModuleHidden() {
+        tasks.cancelAll();
+        if (pipeline != null) {
+            pipeline.cancel();
+        }
+        assessButton.setDisable(false);
+        loadingIndicator.setVisible(false);
+
+        // Cards of the last completed assessment are current again; the dropped response will never arrive
+        setSectionsStale(coreSections, false);
+        if (currentAssessment != null && lastAdvancedResponse == null && advancedStatusLabel != null) {
+            setAdvancedStatus("Advanced analysis was cancelled. Run the assessment again to refresh it.", "#64748B");
+        } else {
+            setSectionsStale(advancedSections, false);
+        }
     }
 
     private VBox createLeftPanel() {
@@ -142,7 +209,8 @@ public class RiskAssessmentView extends BorderPane {
         // Header - always visible
         Label panelTitle = new Label("Health Information");
         panelTitle.getStyleClass().add("panel-title");
-        panelTitle.setStyle("-fx-padding: 15 20; -fx-background-color: white;");
+        panelTitle.getStyleClass().add("panel-section");
+        panelTitle.setStyle("-fx-padding: 15 20;");
 
         // Basic Info Section
         VBox basicInfoBox = new VBox(10);
@@ -300,7 +368,8 @@ public class RiskAssessmentView extends BorderPane {
 
         // Create scrollable content area
         VBox scrollableContent = new VBox(15);
-        scrollableContent.setStyle("-fx-background-color: white; -fx-padding: 20;");
+        scrollableContent.getStyleClass().add("panel-section");
+        scrollableContent.setStyle("-fx-padding: 20;");
         scrollableContent.getChildren().addAll(basicInfoBox, lifestyleBox, symptomsBox, familyHistoryBox);
         
         ScrollPane scrollPane = new ScrollPane(scrollableContent);
@@ -313,7 +382,8 @@ public class RiskAssessmentView extends BorderPane {
         
         // Footer with button - always visible at bottom
         VBox footerBox = new VBox(10);
-        footerBox.setStyle("-fx-background-color: white; -fx-padding: 15 20;");
+        footerBox.getStyleClass().add("panel-section");
+        footerBox.setStyle("-fx-padding: 15 20;");
         footerBox.getChildren().addAll(assessButton, loadingIndicator);
         
         leftPanel.getChildren().addAll(panelTitle, scrollPane, footerBox);
@@ -331,7 +401,8 @@ public class RiskAssessmentView extends BorderPane {
         // Header - always visible
         HBox headerBox = new HBox(10);
         headerBox.setAlignment(Pos.CENTER_LEFT);
-        headerBox.setStyle("-fx-padding: 15 20; -fx-background-color: white;");
+        headerBox.getStyleClass().add("panel-section");
+        headerBox.setStyle("-fx-padding: 15 20;");
         Label panelTitle = new Label("Risk Assessment Results");
         panelTitle.getStyleClass().add("panel-title");
 
@@ -358,7 +429,8 @@ public class RiskAssessmentView extends BorderPane {
         headerBox.getChildren().addAll(panelTitle, buttonBox);
 
         resultsContainer = new VBox(15);
-        resultsContainer.setStyle("-fx-background-color: #F0F9FF; -fx-padding: 20;");
+        resultsContainer.getStyleClass().add("module-content");
+        resultsContainer.setStyle("-fx-padding: 20;");
         resultsContainer.setAlignment(Pos.TOP_CENTER);
 
         resultsPane = new ScrollPane(resultsContainer);
@@ -369,12 +441,13 @@ public class RiskAssessmentView extends BorderPane {
         resultsPane.setHbarPolicy(ScrollPane.ScrollBarPolicy.NEVER);
         VBox.setVgrow(resultsPane, Priority.ALWAYS);
 
-        Label placeholderLabel = new Label("Fill in your health information and click 'Assess Health Risks' to see your personalized risk assessment.");
-        placeholderLabel.setWrapText(true);
-        placeholderLabel.setFont(Font.font("System", 14));
-        placeholderLabel.setTextFill(Color.GRAY);
-        placeholderLabel.setAlignment(Pos.CENTER);
-        resultsContainer.getChildren().add(placeholderLabel);
+        resultsPlaceholder = new Label("Fill in your health information and click 'Assess Health Risks' to see your personalized risk assessment.");
+        resultsPlaceholder.setWrapText(true);
+        resultsPlaceholder.setFont(Font.font("System", 14));
+        resultsPlaceholder.setTextFill(Color.GRAY);
+        resultsPlaceholder.setAlignment(Pos.CENTER);
+        resultsContainer.getChildren().add(resultsPlaceholder);
+        createResultSections();
 
         rightPanel.getChildren().addAll(headerBox, resultsPane);
 
@@ -382,13 +455,13 @@ public class RiskAssessmentView extends BorderPane {
     }
 
     private void loadSymptoms() {
-        new Thread(() -> {
+        tasks.submit(() -> {
             try {
                 allSymptoms = apiClient.getSymptoms();
             } catch (IOException e) {
                 System.err.println("Failed to load symptoms: " + e.getMessage());
             }
-        }).start();
+        });
     }
 
     private void assessRisks() {
@@ -422,9 +495,6 @@ public class RiskAssessmentView extends BorderPane {
 
             assessButton.setDisable(true);
             loadingIndicator.setVisible(true);
-            resultsContainer.getChildren().clear();
-            healthCoachPlanShown = false;
-
             // Get exercise level (0 = none, 1 = moderate, 2 = high)
             final int exerciseLevel = exerciseCombo.getSelectionModel().getSelectedIndex();
             final int alcoholLevel = alcoholCombo.getSelectionModel().getSelectedIndex();
@@ -472,75 +542,106 @@ public class RiskAssessmentView extends BorderPane {
             finalLifestyleInputs.put("alcohol", alcoholLevel);
             finalLifestyleInputs.put("smoking", smokingCheckBox.isSelected() ? 1 : 0);
 
-            new Thread(() -> {
-                try {
-                    // Call API with enhanced features
-                    RiskAssessment assessment = apiClient.assessRisk(
-                        finalAge, finalWeight, finalHeight,
-                        new ArrayList<>(selectedSymptoms),
-                        new ArrayList<>(familyHistory),
-                        smokingCheckBox.isSelected(),
-                        exerciseLevel,
-                        alcoholLevel,
-                        sleepHours,
-                        stressLevel,
-                        dietQuality
+            // Shown cards stay in place, dimmed, until their new data arrives
+            setSectionsStale(coreSections, true);
+            setSectionsStale(advancedSections, true);
+
+            if (pipeline != null) {
+                pipeline.cancel();
+            }
+            final List<String> symptomsSnapshot = new ArrayList<>(selectedSymptoms);
+            final List<String> familyHistorySnapshot = new ArrayList<>(familyHistory);
+            final WhatIfSimulator.Lifestyle lifestyle = new WhatIfSimulator.Lifestyle(finalWeight, exerciseLevel,
+                sleepHours != null ? sleepHours : 7.0, stressLevel, dietQuality, alcoholLevel, smokingCheckBox.isSelected());
+            // Scores from the bundled models show at once; the server's assessment replaces them with its narrative
+            final RiskAssessment localAssessment = riskEngine != null
+                ? riskEngine.assessRisk(finalAge, finalWeight, finalHeight, symptomsSnapshot, familyHistorySnapshot,
+                    smokingCheckBox.isSelected(), exerciseLevel, alcoholLevel, sleepHours, stressLevel, dietQuality)
+                : null;
+            if (localAssessment != null) {
+                showLocalScores(localAssessment);
+            }
+            pipeline = new RiskAssessmentPipeline(apiClient, tasks, new RiskAssessmentPipeline.Listener() {
+                @Override
+                public void onAssessment(RiskAssessment assessment) {
+                    currentAssessment = assessment;
+                    // Store input data for export
+                    lastAge = finalAge;
+                    lastWeight = finalWeight;
+                    lastHeight = finalHeight;
+                    lastSymptoms = symptomsSnapshot;
+                    lastFamilyHistory = familyHistorySnapshot;
+                    lastLifestyleInputs.clear();
+                    lastLifestyleInputs.putAll(finalLifestyleInputs);
+
+                    displayResults(assessment);
+                    whatIfSection.update(new WhatIfSimulator(apiClient, riskEngine, finalAge, finalHeight,
+                        symptomsSnapshot, familyHistorySnapshot, lifestyle, assessment));
+                    showAdvancedPending();
+                    assessButton.setDisable(false);
+                    loadingIndicator.setVisible(false);
+                    exportButton.setDisable(false);
+                    exportJsonButton.setDisable(false);
+                    copyButton.setDisable(false);
+
+                    saveRiskHistory(assessment, finalAge, finalWeight, finalHeight);
+
+                    NotificationHelper.showSuccessNotification(
+                        (StackPane) getScene().getRoot(),
+                        "Risk assessment completed successfully!"
                     );
+                }
+
+                @Override
+                public void onAdvancedResults(JSONObject response) {
+                    displayAdvancedResults(response);
+                }
+
+                @Override
+                public void onHealthCoachPlan(JSONObject response) {
+                    displayHealthCoachResponse(response);
+                }
 
-                    Platform.runLater(() -> {
-                        currentAssessment = assessment;
-                        // Store input data for export
-                        lastAge = finalAge;
-                        lastWeight = finalWeight;
-                        lastHeight = finalHeight;
-                        lastSymptoms = new ArrayList<>(selectedSymptoms);
-                        lastFamilyHistory = new ArrayList<>(familyHistory);
-                        lastLifestyleInputs.clear();
-                        lastLifestyleInputs.putAll(finalLifestyleInputs);
-                        
-                        displayResults(assessment);
-                        requestAdvancedAssessment(
-                            assessment,
-                            finalAge,
-                            finalWeight,
-                            finalHeight,
-                            sleepHours,
-                            stressLevel,
-                            dietQuality,
-                            exerciseLevel,
-                            alcoholLevel,
-                            smokingCheckBox.isSelected(),
-                            finalLifestyleInputs
-                        );
-                        assessButton.setDisable(false);
-                        loadingIndicator.setVisible(false);
-                        exportButton.setDisable(false);
-                        exportJsonButton.setDisable(false);
-                        copyButton.setDisable(false);
-
-                        // Save to history
-                        if (currentUserId != null) {
-                            try {
-                                String assessmentJson = objectMapper.writeValueAsString(assessment);
-                                historyDAO.saveRiskHistory(currentUserId, finalAge, finalWeight, finalHeight, assessmentJson);
-                            } catch (Exception e) {
-                                System.err.println("Failed to save risk history: " + e.getMessage());
+                @Override
+                public void onStageFailed(RiskAssessmentPipeline.Stage stage, Throwable error) {
+                    switch (stage) {
+                        case ASSESSMENT -> {
+                            if (localAssessment != null) {
+                                // Offline: keep the local scores and drop narrative cards from an older assessment
+                                displayResults(localAssessment);
+                                whatIfSection.update(new WhatIfSimulator(apiClient, riskEngine, finalAge, finalHeight,
+                                    symptomsSnapshot, familyHistorySnapshot, lifestyle, localAssessment));
+                                showHealthCoachNotification("Server unavailable - showing risk scores from the on-device model only.",
+                                    NotificationHelper.NotificationType.WARNING);
+                            } else {
+                                showError("Assessment Error", "Failed to assess risks:\n" + error.getMessage());
                             }
+                            setSectionsStale(coreSections, false);
+                            setSectionsStale(advancedSections, false);
+                            assessButton.setDisable(false);
+                            loadingIndicator.setVisible(false);
                         }
-
-                        NotificationHelper.showSuccessNotification(
-                            (StackPane) getScene().getRoot(),
-                            "Risk assessment completed successfully!"
-                        );
-                    });
-                } catch (IOException e) {
-                    Platform.runLater(() -> {
-                        showError("Assessment Error", "Failed to assess risks:\n" + e.getMessage());
-                        assessButton.setDisable(false);
-                        loadingIndicator.setVisible(false);
-                    });
+                        case ADVANCED -> showAdvancedError(error);
+                        case HEALTH_COACH -> {
+                            hideHealthCoachSummary();
+                            showHealthCoachNotification("Health coach plan generation failed: " + error.getMessage(),
+                                NotificationHelper.NotificationType.ERROR);
+                        }
+                    }
                 }
-            }).start();
+            });
+            pipeline.start(
+                finalAge, finalWeight, finalHeight,
+                symptomsSnapshot,
+                familyHistorySnapshot,
+                smokingCheckBox.isSelected(),
+                exerciseLevel,
+                alcoholLevel,
+                sleepHours,
+                stressLevel,
+                dietQuality,
+                finalLifestyleInputs
+            );
 
         } catch (NumberFormatException e) {
             showError("Invalid Input", "Please enter valid numbers for Age, Weight, and Height.");
@@ -583,349 +684,289 @@ public class RiskAssessmentView extends BorderPane {
         return data;
     }
 
-    private VBox createAdvancedSection() {
-        confidenceIndicators = new VBox(10);
-        confidenceIndicators.setFillWidth(true);
-        confidenceIndicators.setStyle("-fx-background-color: #f8fafc; -fx-padding: 10; -fx-background-radius: 8;");
+    private void createResultSections() {
+        healthScoreSection = addSection(coreSections, new ResultSection<>(this::createHealthScoreCard));
+        bmiSection = addSection(coreSections, new ResultSection<>(bmi ->
+            createInfoCard("BMI", String.format("%.1f", bmi), getBMICategory(bmi), "#3B82F6")));
+        diabetesSection = addSection(coreSections, new ResultSection<>(risk ->
+            createRiskCard("Diabetes Risk", risk, "#EF4444")));
+        heartSection = addSection(coreSections, new ResultSection<>(risk ->
+            createRiskCard("Heart Disease Risk", risk, "#DC2626")));
+        hypertensionSection = addSection(coreSections, new ResultSection<>(risk ->
+            createRiskCard("Hypertension Risk", risk, "#F59E0B")));
+        estimatedSection = addSection(coreSections, new ResultSection<>(this::createEstimatedValuesCard));
+        trendSection = addSection(coreSections, new ResultSection<>(this::createRiskTrendCard));
+        explanationsSection = addSection(coreSections, new ResultSection<>(this::createRiskExplanationsCard));
+        importanceSection = addSection(coreSections, new ResultSection<>(this::createFeatureImportanceCard));
+        whatIfSection = addSection(coreSections, new ResultSection<>(this::createWhatIfPanel));
+        reductionSection = addSection(coreSections, new ResultSection<>(this::createRiskReductionCard));
+        actionPlanSection = addSection(coreSections, new ResultSection<>(this::createActionPlanCard));
+        screeningSection = addSection(coreSections, new ResultSection<>(this::createScreeningCard));
+        comparisonSection = addSection(coreSections, new ResultSection<>(this::createPopulationComparisonCard));
+        recommendationsSection = addSection(coreSections, new ResultSection<>(this::createRecommendationsCard));
+
+        predictionsSection = addSection(advancedSections, new ResultSection<>(this::createPredictionsCard, JSONObject::similar));
+        lifestyleSection = addSection(advancedSections, new ResultSection<>(this::createLifestyleInsightsCard, JSONObject::similar));
+        dataQualitySection = addSection(advancedSections, new ResultSection<>(this::createDataQualityCard, JSONObject::similar));
 
-        Label loadingLabel = new Label("Calculating advanced insights...");
-        loadingLabel.setWrapText(true);
-        loadingLabel.setStyle("-fx-text-fill: #0F766E;");
-        confidenceIndicators.getChildren().add(loadingLabel);
+        Label advancedFooter = new Label("Advanced insights are powered by ensemble machine learning models with calibrated confidence intervals.");
+        advancedFooter.setWrapText(true);
+        advancedFooter.getStyleClass().add("result-hint");
+        advancedFooter.setStyle("-fx-font-size: 12;");
+
+        resultLayout = new ArrayList<>();
+        resultLayout.add(createAdvancedSection());
+        resultLayout.addAll(coreSections);
+        resultLayout.add(advancedFooter);
+    }
+
+    private static <T extends ResultSection<?>> T addSection(List<ResultSection<?>> group, T section) {
+        group.add(section);
+        return section;
+    }
+
+    private static void setSectionsStale(List<ResultSection<?>> sections, boolean stale) {
+        for (ResultSection<?> section : sections) {
+            section.setStale(stale);
+        }
+    }
+
+    // Empty maps and lists hide their section just like missing ones
+    private static <T> T nonEmpty(T value) {
+        if (value instanceof Map<?, ?> map && map.isEmpty()) {
+            return null;
+        }
+        if (value instanceof Collection<?> collection && collection.isEmpty()) {
+            return null;
+        }
+        return value;
+    }
+
+    private VBox createAdvancedSection() {
+        advancedStatusLabel = new Label();
+        advancedStatusLabel.setWrapText(true);
+        advancedStatusLabel.setVisible(false);
+        advancedStatusLabel.setManaged(false);
 
         uncertaintyAlert = new HBox(10);
         uncertaintyAlert.setAlignment(Pos.CENTER_LEFT);
         uncertaintyAlert.setPadding(new Insets(12));
-        uncertaintyAlert.setStyle("-fx-background-color: #fff3cd; -fx-border-color: #ffeaa7; -fx-border-radius: 6;");
+        uncertaintyAlert.getStyleClass().add("result-tint-warning");
+        uncertaintyAlert.setStyle("-fx-border-color: #ffeaa7; -fx-border-radius: 6;");
         uncertaintyAlert.setVisible(false);
 
         Label warningIcon = new Label("⚠");
         warningIcon.setStyle("-fx-font-size: 16;");
         Label warningText = new Label("Some predictions have higher uncertainty. Provide additional data for improved accuracy.");
         warningText.setWrapText(true);
-        warningText.setStyle("-fx-text-fill: #856404; -fx-font-size: 14;");
+        warningText.getStyleClass().add("result-text-warning");
+        warningText.setStyle("-fx-font-size: 14;");
         uncertaintyAlert.getChildren().addAll(warningIcon, warningText);
 
         Label sectionTitle = new Label("Advanced Risk Analysis with Confidence Scores");
         sectionTitle.setStyle("-fx-font-size: 18; -fx-font-weight: bold; -fx-text-fill: #0F766E;");
 
         VBox container = new VBox(12);
-        container.setStyle("-fx-background-color: white; -fx-padding: 18; -fx-background-radius: 10;");
-        lifestyleInsightsBox = new VBox(12);
-        lifestyleInsightsBox.setStyle("-fx-background-color: #F0FDFA; -fx-padding: 14; -fx-background-radius: 10; -fx-border-color: #5EEAD4; -fx-border-radius: 10; -fx-border-width: 1;");
-        lifestyleInsightsBox.setVisible(false);
-        lifestyleInsightsBox.setManaged(false);
-
-        dataQualitySummaryBox = new VBox(8);
-        dataQualitySummaryBox.setStyle("-fx-background-color: #EFF6FF; -fx-padding: 12; -fx-background-radius: 8;");
-        dataQualitySummaryBox.setVisible(false);
-        dataQualitySummaryBox.setManaged(false);
+        container.getStyleClass().add("result-card");
+        container.setStyle("-fx-padding: 18; -fx-background-radius: 10;");
 
         healthCoachSummaryBox = new VBox(8);
-        healthCoachSummaryBox.setStyle("-fx-background-color: #ECFDF5; -fx-padding: 12; -fx-background-radius: 8;");
+        healthCoachSummaryBox.getStyleClass().add("result-tint-success");
+        healthCoachSummaryBox.setStyle("-fx-padding: 12; -fx-background-radius: 8;");
         healthCoachSummaryBox.setVisible(false);
         healthCoachSummaryBox.setManaged(false);
 
-        container.getChildren().addAll(sectionTitle, uncertaintyAlert, confidenceIndicators, lifestyleInsightsBox, dataQualitySummaryBox, healthCoachSummaryBox);
+        container.getChildren().addAll(sectionTitle, uncertaintyAlert, advancedStatusLabel, predictionsSection, lifestyleSection, dataQualitySection, healthCoachSummaryBox);
 
         return container;
     }
 
-    private void displayResults(RiskAssessment assessment) {
-        resultsContainer.getChildren().clear();
-        resultsContainer.getChildren().add(createAdvancedSection());
-
-        // Health Score Display (if available)
-        if (assessment.getHealthScore() != null) {
-            VBox healthScoreBox = createHealthScoreCard(assessment.getHealthScore());
-            resultsContainer.getChildren().add(healthScoreBox);
-        }
-
-        // BMI Display
-        VBox bmiBox = createInfoCard("BMI", String.format("%.1f", assessment.getBmi()), 
-            getBMICategory(assessment.getBmi()), "#3B82F6");
-        resultsContainer.getChildren().add(bmiBox);
-
-        // Risk Progress Bars
-        VBox diabetesCard = createRiskCard("Diabetes Risk", assessment.getDiabetesRisk(), "#EF4444");
-        VBox heartCard = createRiskCard("Heart Disease Risk", assessment.getHeartRisk(), "#DC2626");
-        VBox hypertensionCard = createRiskCard("Hypertension Risk", assessment.getHypertensionRisk(), "#F59E0B");
-
-        resultsContainer.getChildren().addAll(diabetesCard, heartCard, hypertensionCard);
-
-        // Estimated Values
-        if (assessment.getEstimatedValues() != null && !assessment.getEstimatedValues().isEmpty()) {
-            VBox estimatedBox = new VBox(10);
-            estimatedBox.setStyle("-fx-background-color: white; -fx-padding: 15; -fx-background-radius: 10;");
-            Label estimatedLabel = new Label("Estimated Health Values");
-            estimatedLabel.setFont(Font.font("System", FontWeight.BOLD, 14));
-            estimatedBox.getChildren().add(estimatedLabel);
-
-            assessment.getEstimatedValues().forEach((key, value) -> {
-                HBox row = new HBox(10);
-                Label keyLabel = new Label(formatKey(key) + ":");
-                keyLabel.setMinWidth(150);
-                Label valueLabel = new Label(String.format("%.1f", value) + getUnit(key));
-                valueLabel.setFont(Font.font("System", FontWeight.BOLD, 13));
-                row.getChildren().addAll(keyLabel, valueLabel);
-                estimatedBox.getChildren().add(row);
-            });
-
-            resultsContainer.getChildren().add(estimatedBox);
-        }
-
-        // Risk Trend Display (if available)
-        if (assessment.getRiskTrend() != null && !assessment.getRiskTrend().isEmpty()) {
-            VBox trendBox = createRiskTrendCard(assessment.getRiskTrend());
-            resultsContainer.getChildren().add(trendBox);
-        }
-
-        // Risk Explanations (if available)
-        if (assessment.getRiskExplanations() != null && !assessment.getRiskExplanations().isEmpty()) {
-            VBox explanationsBox = createRiskExplanationsCard(assessment.getRiskExplanations());
-            resultsContainer.getChildren().add(explanationsBox);
-        }
-
-        // Feature Importance (if available)
-        if (assessment.getFeatureImportance() != null && !assessment.getFeatureImportance().isEmpty()) {
-            VBox importanceBox = createFeatureImportanceCard(assessment.getFeatureImportance());
-            resultsContainer.getChildren().add(importanceBox);
-        }
-
-        // Risk Reduction Calculator (if available)
-        if (assessment.getRiskReduction() != null && !assessment.getRiskReduction().isEmpty()) {
-            VBox reductionBox = createRiskReductionCard(assessment.getRiskReduction());
-            resultsContainer.getChildren().add(reductionBox);
-        }
-
-        // Action Plan (if available)
-        if (assessment.getActionPlan() != null && !assessment.getActionPlan().isEmpty()) {
-            VBox actionPlanBox = createActionPlanCard(assessment.getActionPlan());
-            resultsContainer.getChildren().add(actionPlanBox);
-        }
+    private void setAdvancedStatus(String message, String color) {
+        boolean show = message != null;
+        advancedStatusLabel.setText(show ? message : "");
+        advancedStatusLabel.setStyle("-fx-text-fill: " + color + ";");
+        advancedStatusLabel.setVisible(show);
+        advancedStatusLabel.setManaged(show);
+    }
 
-        // Screening Recommendations (if available)
-        if (assessment.getScreeningRecommendations() != null && !assessment.getScreeningRecommendations().isEmpty()) {
-            VBox screeningBox = createScreeningCard(assessment.getScreeningRecommendations());
-            resultsContainer.getChildren().add(screeningBox);
-        }
+    private void displayResults(RiskAssessment assessment) {
+        if (resultsPlaceholder.getParent() != null) {
+            resultsContainer.getChildren().setAll(resultLayout);
+        }
+
+        // Each card is rebuilt only if its slice of the assessment changed
+        healthScoreSection.update(assessment.getHealthScore());
+        bmiSection.update(assessment.getBmi());
+        diabetesSection.update(assessment.getDiabetesRisk());
+        heartSection.update(assessment.getHeartRisk());
+        hypertensionSection.update(assessment.getHypertensionRisk());
+        estimatedSection.update(nonEmpty(assessment.getEstimatedValues()));
+        trendSection.update(nonEmpty(assessment.getRiskTrend()));
+        explanationsSection.update(nonEmpty(assessment.getRiskExplanations()));
+        importanceSection.update(nonEmpty(assessment.getFeatureImportance()));
+        reductionSection.update(nonEmpty(assessment.getRiskReduction()));
+        actionPlanSection.update(nonEmpty(assessment.getActionPlan()));
+        screeningSection.update(nonEmpty(assessment.getScreeningRecommendations()));
+        comparisonSection.update(assessment.getPopulationComparison());
+        recommendationsSection.update(nonEmpty(assessment.getRecommendations()));
+    }
 
-        // Population Comparison (if available)
-        if (assessment.getPopulationComparison() != null) {
-            VBox comparisonBox = createPopulationComparisonCard(assessment.getPopulationComparison());
-            resultsContainer.getChildren().add(comparisonBox);
-        }
+    // Only the scored cards; the narrative ones stay dimmed until the server's assessment arrives
+    private void showLocalScores(RiskAssessment assessment) {
+        if (resultsPlaceholder.getParent() != null) {
+            resultsContainer.getChildren().setAll(resultLayout);
+        }
+        healthScoreSection.update(assessment.getHealthScore());
+        bmiSection.update(assessment.getBmi());
+        diabetesSection.update(assessment.getDiabetesRisk());
+        heartSection.update(assessment.getHeartRisk());
+        hypertensionSection.update(assessment.getHypertensionRisk());
+        estimatedSection.update(nonEmpty(assessment.getEstimatedValues()));
+    }
 
-        // Recommendations
-        if (assessment.getRecommendations() != null && !assessment.getRecommendations().isEmpty()) {
-            VBox recommendationsBox = new VBox(10);
-            recommendationsBox.setStyle("-fx-background-color: white; -fx-padding: 15; -fx-background-radius: 10;");
-            Label recLabel = new Label("Recommendations");
-            recLabel.setFont(Font.font("System", FontWeight.BOLD, 16));
-            recommendationsBox.getChildren().add(recLabel);
-
-            for (Recommendation rec : assessment.getRecommendations()) {
-                VBox recCard = new VBox(5);
-                recCard.setStyle("-fx-background-color: " + getPriorityColor(rec.getPriority()) + "; -fx-padding: 10; -fx-background-radius: 8;");
-                Label priorityLabel = new Label(rec.getPriority().toUpperCase() + " PRIORITY - " + rec.getCategory().toUpperCase());
-                priorityLabel.setFont(Font.font("System", FontWeight.BOLD, 12));
-                Label messageLabel = new Label(rec.getMessage());
-                messageLabel.setWrapText(true);
-                messageLabel.setFont(Font.font("System", 13));
-                recCard.getChildren().addAll(priorityLabel, messageLabel);
-                recommendationsBox.getChildren().add(recCard);
-            }
+    private VBox createEstimatedValuesCard(Map<String, Double> estimatedValues) {
+        VBox estimatedBox = new VBox(10);
+        estimatedBox.getStyleClass().add("result-card");
+        estimatedBox.setStyle("-fx-padding: 15; -fx-background-radius: 10;");
+        Label estimatedLabel = new Label("Estimated Health Values");
+        estimatedLabel.setFont(Font.font("System", FontWeight.BOLD, 14));
+        estimatedBox.getChildren().add(estimatedLabel);
+
+        estimatedValues.forEach((key, value) -> {
+            HBox row = new HBox(10);
+            Label keyLabel = new Label(formatKey(key) + ":");
+            keyLabel.setMinWidth(150);
+            Label valueLabel = new Label(String.format("%.1f", value) + getUnit(key));
+            valueLabel.setFont(Font.font("System", FontWeight.BOLD, 13));
+            row.getChildren().addAll(keyLabel, valueLabel);
+            estimatedBox.getChildren().add(row);
+        });
+        return estimatedBox;
+    }
 
-            resultsContainer.getChildren().add(recommendationsBox);
-        }
+    private VBox createRecommendationsCard(List<Recommendation> recommendations) {
+        VBox recommendationsBox = new VBox(10);
+        recommendationsBox.getStyleClass().add("result-card");
+        recommendationsBox.setStyle("-fx-padding: 15; -fx-background-radius: 10;");
+        Label recLabel = new Label("Recommendations");
+        recLabel.setFont(Font.font("System", FontWeight.BOLD, 16));
+        recommendationsBox.getChildren().add(recLabel);
+
+        for (Recommendation rec : recommendations) {
+            VBox recCard = new VBox(5);
+            recCard.getStyleClass().add(getPriorityStyleClass(rec.getPriority()));
+            recCard.setStyle("-fx-padding: 10; -fx-background-radius: 8;");
+            Label priorityLabel = new Label(rec.getPriority().toUpperCase() + " PRIORITY - " + rec.getCategory().toUpperCase());
+            priorityLabel.setFont(Font.font("System", FontWeight.BOLD, 12));
+            Label messageLabel = new Label(rec.getMessage());
+            messageLabel.setWrapText(true);
+            messageLabel.setFont(Font.font("System", 13));
+            recCard.getChildren().addAll(priorityLabel, messageLabel);
+            recommendationsBox.getChildren().add(recCard);
+        }
+        return recommendationsBox;
+    }
 
-        Label advancedFooter = new Label("Advanced insights are powered by ensemble machine learning models with calibrated confidence intervals.");
-        advancedFooter.setWrapText(true);
-        advancedFooter.setStyle("-fx-text-fill: #64748B; -fx-font-size: 12;");
-        resultsContainer.getChildren().add(advancedFooter);
-    }
-
-    private void requestAdvancedAssessment(RiskAssessment assessment,
-                                           int age,
-                                           double weight,
-                                           double height,
-                                           Double sleepHours,
-                                           int stressLevel,
-                                           int dietQuality,
-                                           int exerciseLevel,
-                                           int alcoholLevel,
-                                           boolean smoking,
-                                           Map<String, Object> lifestyleInputs) {
-        if (confidenceIndicators == null) {
+    private void showAdvancedPending() {
+        if (advancedStatusLabel == null) {
             return;
         }
 
-        confidenceIndicators.getChildren().clear();
+        // The previous insights stay visible, marked stale, until the new response arrives
         hideHealthCoachSummary();
-        if (lifestyleInsightsBox != null) {
-            lifestyleInsightsBox.getChildren().clear();
-            lifestyleInsightsBox.setVisible(false);
-            lifestyleInsightsBox.setManaged(false);
-        }
-        if (dataQualitySummaryBox != null) {
-            dataQualitySummaryBox.getChildren().clear();
-            dataQualitySummaryBox.setVisible(false);
-            dataQualitySummaryBox.setManaged(false);
-        }
         lastAdvancedResponse = null;
-        Label loadingLabel = new Label("Calculating advanced insights...");
-        loadingLabel.setWrapText(true);
-        loadingLabel.setStyle("-fx-text-fill: #0F766E;");
-        confidenceIndicators.getChildren().add(loadingLabel);
-
-        JSONObject payload = buildAdvancedPayload(assessment, age, weight, height, sleepHours,
-                stressLevel, dietQuality, exerciseLevel, alcoholLevel, smoking, lifestyleInputs);
-
-        CompletableFuture
-            .supplyAsync(() -> AdvancedApiClient.getAdvancedRiskAssessment(payload))
-            .thenAccept(response -> Platform.runLater(() -> displayAdvancedResults(response)))
-            .exceptionally(ex -> {
-                Platform.runLater(() -> {
-                    confidenceIndicators.getChildren().clear();
-                    Label errorLabel = new Label("Advanced analysis is temporarily unavailable. Please try again later.");
-                    errorLabel.setWrapText(true);
-                    errorLabel.setStyle("-fx-text-fill: #DC2626;");
-                    confidenceIndicators.getChildren().add(errorLabel);
-
-                    if (getScene() != null && getScene().getRoot() instanceof StackPane) {
-                        String message = ex.getCause() != null ? ex.getCause().getMessage() : ex.getMessage();
-                        NotificationHelper.showErrorNotification((StackPane) getScene().getRoot(),
-                            "Advanced assessment failed: " + message);
-                    }
-                    if (uncertaintyAlert != null) {
-                        uncertaintyAlert.setVisible(false);
-                    }
-                    healthCoachPlanShown = false;
-                });
-                return null;
-            });
+        setAdvancedStatus("Calculating advanced insights...", "#0F766E");
     }
 
-    private JSONObject buildAdvancedPayload(RiskAssessment assessment,
-                                            int age,
-                                            double weight,
-                                            double height,
-                                            Double sleepHours,
-                                            int stressLevel,
-                                            int dietQuality,
-                                            int exerciseLevel,
-                                            int alcoholLevel,
-                                            boolean smoking,
-                                            Map<String, Object> lifestyleInputs) {
-        JSONObject payload = new JSONObject();
-        payload.put("age", age);
-        payload.put("weight", weight);
-        payload.put("height", height);
-        payload.put("bmi", assessment.getBmi());
-
-        Map<String, Double> estimatedValues = assessment.getEstimatedValues();
-        if (estimatedValues != null) {
-            if (estimatedValues.containsKey("systolic_bp")) {
-                payload.put("systolic_bp", estimatedValues.get("systolic_bp"));
-                payload.put("blood_pressure", estimatedValues.get("systolic_bp"));
-            }
-            if (estimatedValues.containsKey("fasting_glucose")) {
-                payload.put("glucose", estimatedValues.get("fasting_glucose"));
-            }
-            if (estimatedValues.containsKey("cholesterol")) {
-                payload.put("cholesterol", estimatedValues.get("cholesterol"));
-            }
+    private void showAdvancedError(Throwable error) {
+        if (advancedStatusLabel == null) {
+            return;
         }
 
-        if (sleepHours != null) {
-            payload.put("sleep_hours", sleepHours);
+        setAdvancedStatus("Advanced analysis is temporarily unavailable. Please try again later.", "#DC2626");
+
+        if (getScene() != null && getScene().getRoot() instanceof StackPane) {
+            NotificationHelper.showErrorNotification((StackPane) getScene().getRoot(),
+                "Advanced assessment failed: " + error.getMessage());
         }
-        payload.put("stress_level", stressLevel);
-        payload.put("diet_quality", dietQuality);
-        payload.put("exercise", exerciseLevel);
-        payload.put("alcohol", alcoholLevel);
-        payload.put("smoking", smoking ? 1 : 0);
-
-        if (lifestyleInputs != null) {
-            for (Map.Entry<String, Object> entry : lifestyleInputs.entrySet()) {
-                Object value = entry.getValue();
-                if (value != null) {
-                    payload.put(entry.getKey(), value);
-                }
-            }
+        if (uncertaintyAlert != null) {
+            uncertaintyAlert.setVisible(false);
         }
+    }
 
-        payload.put("baseline_diabetes_risk", assessment.getDiabetesRisk());
-        payload.put("baseline_heart_disease_risk", assessment.getHeartRisk());
-        payload.put("baseline_hypertension_risk", assessment.getHypertensionRisk());
-
-        if (assessment.getHealthScore() != null) {
-            payload.put("baseline_health_score", assessment.getHealthScore());
+    private void saveRiskHistory(RiskAssessment assessment, int age, double weight, double height) {
+        if (currentUserId == null) {
+            return;
         }
-
-        return payload;
+        Integer userId = currentUserId;
+        // Written off the FX thread, outside the module's task scope so leaving the module does not drop it
+        TaskExecutor.submit(TaskExecutor.Module.RISK, () -> {
+            try {
+                String assessmentJson = objectMapper.writeValueAsString(assessment);
+                historyDAO.saveRiskHistory(userId, age, weight, height, assessmentJson);
+            } catch (Exception e) {
+                System.err.println("Failed to save risk history: " + e.getMessage());
+            }
+        });
     }
 
     private void displayAdvancedResults(JSONObject response) {
-        if (confidenceIndicators == null) {
+        if (advancedStatusLabel == null) {
             return;
         }
 
-        confidenceIndicators.getChildren().clear();
-
-        if (response == null || response.isEmpty()) {
-            Label noData = new Label("Advanced analysis did not return any insights.");
-            noData.setWrapText(true);
-            noData.setStyle("-fx-text-fill: #334155;");
-            confidenceIndicators.getChildren().add(noData);
+        JSONObject predictions = response != null ? response.optJSONObject("predictions") : null;
+        lastAdvancedResponse = response == null || response.isEmpty() ? null : response;
+        if (predictions == null || predictions.isEmpty()) {
+            setAdvancedStatus("Advanced analysis did not return any insights.", "#334155");
             if (uncertaintyAlert != null) {
                 uncertaintyAlert.setVisible(false);
             }
-            if (lifestyleInsightsBox != null) {
-                lifestyleInsightsBox.setVisible(false);
-                lifestyleInsightsBox.setManaged(false);
-            }
-            if (dataQualitySummaryBox != null) {
-                dataQualitySummaryBox.setVisible(false);
-                dataQualitySummaryBox.setManaged(false);
+            for (ResultSection<?> section : advancedSections) {
+                section.clear();
             }
-            lastAdvancedResponse = null;
             return;
         }
 
-        lastAdvancedResponse = response;
+        setAdvancedStatus(null, "#334155");
 
-        JSONObject predictions = response.optJSONObject("predictions");
-        if (predictions == null || predictions.isEmpty()) {
-            Label noData = new Label("Advanced analysis did not return any insights.");
-            noData.setWrapText(true);
-            noData.setStyle("-fx-text-fill: #334155;");
-            confidenceIndicators.getChildren().add(noData);
-            if (uncertaintyAlert != null) {
-                uncertaintyAlert.setVisible(false);
-            }
-            if (lifestyleInsightsBox != null) {
-                lifestyleInsightsBox.setVisible(false);
-                lifestyleInsightsBox.setManaged(false);
-            }
-            if (dataQualitySummaryBox != null) {
-                dataQualitySummaryBox.setVisible(false);
-                dataQualitySummaryBox.setManaged(false);
+        boolean showUncertainty = false;
+        for (String key : predictions.keySet()) {
+            JSONObject prediction = predictions.optJSONObject(key);
+            if (prediction != null && prediction.optDouble("uncertainty_score", 0.0) > 0.3) {
+                showUncertainty = true;
             }
-            return;
+        }
+        if (uncertaintyAlert != null) {
+            uncertaintyAlert.setVisible(showUncertainty);
         }
 
-        boolean showUncertainty = false;
-        String[] preferredOrder = {"diabetes", "heart_disease", "hypertension"};
+        predictionsSection.update(predictions);
+
+        JSONObject lifestyleSummary = response.optJSONObject("lifestyle_summary");
+        JSONObject lifestyleSlice = null;
+        if (lifestyleSummary != null && !lifestyleSummary.isEmpty()) {
+            lifestyleSlice = new JSONObject()
+                .put("lifestyle_summary", lifestyleSummary)
+                .putOpt("overall_focus", response.optJSONArray("overall_focus"))
+                .putOpt("protective_factors", response.optJSONArray("protective_factors"));
+        }
+        lifestyleSection.update(lifestyleSlice);
+
+        JSONObject dataQuality = response.optJSONObject("data_quality");
+        dataQualitySection.update(dataQuality == null || dataQuality.isEmpty() ? null : dataQuality);
+    }
+
+    private VBox createPredictionsCard(JSONObject predictions) {
+        VBox box = new VBox(10);
+        box.setFillWidth(true);
+        box.getStyleClass().add("result-inset");
+        box.setStyle("-fx-padding: 10; -fx-background-radius: 8;");
 
+        String[] preferredOrder = {"diabetes", "heart_disease", "hypertension"};
         for (String disease : preferredOrder) {
             if (predictions.has(disease)) {
-                JSONObject prediction = predictions.getJSONObject(disease);
-                confidenceIndicators.getChildren().add(new ConfidenceIndicator(disease, prediction));
-                double uncertaintyScore = prediction.optDouble("uncertainty_score", 0.0);
-                if (uncertaintyScore > 0.3) {
-                    showUncertainty = true;
-                }
+                box.getChildren().add(new ConfidenceIndicator(disease, predictions.getJSONObject(disease)));
             }
         }
 
@@ -940,52 +981,20 @@ public class RiskAssessmentView extends BorderPane {
                 }
             }
             if (!alreadyAdded) {
-                JSONObject prediction = predictions.getJSONObject(key);
-                confidenceIndicators.getChildren().add(new ConfidenceIndicator(key, prediction));
-                double uncertaintyScore = prediction.optDouble("uncertainty_score", 0.0);
-                if (uncertaintyScore > 0.3) {
-                    showUncertainty = true;
-                }
+                box.getChildren().add(new ConfidenceIndicator(key, predictions.getJSONObject(key)));
             }
         }
-
-        if (confidenceIndicators.getChildren().isEmpty()) {
-            Label noData = new Label("Advanced analysis did not return any insights.");
-            noData.setWrapText(true);
-            noData.setStyle("-fx-text-fill: #334155;");
-            confidenceIndicators.getChildren().add(noData);
-        }
-
-        if (uncertaintyAlert != null) {
-            uncertaintyAlert.setVisible(showUncertainty);
-        }
-
-        JSONObject lifestyleSummary = response.optJSONObject("lifestyle_summary");
-        JSONArray overallFocus = response.optJSONArray("overall_focus");
-        JSONArray protectiveFactors = response.optJSONArray("protective_factors");
-        updateLifestyleInsights(lifestyleSummary, overallFocus, protectiveFactors);
-
-        JSONObject dataQuality = response.optJSONObject("data_quality");
-        updateDataQualitySummary(dataQuality);
-
-        maybeTriggerHealthCoachPlan(predictions);
+        return box;
     }
 
-    private void updateLifestyleInsights(JSONObject summary, JSONArray focus, JSONArray protectiveFactors) {
-        if (lifestyleInsightsBox == null) {
-            return;
-        }
-
-        lifestyleInsightsBox.getChildren().clear();
-
-        if (summary == null || summary.isEmpty()) {
-            lifestyleInsightsBox.setVisible(false);
-            lifestyleInsightsBox.setManaged(false);
-            return;
-        }
+    private VBox createLifestyleInsightsCard(JSONObject slice) {
+        JSONObject summary = slice.getJSONObject("lifestyle_summary");
+        JSONArray focus = slice.optJSONArray("overall_focus");
+        JSONArray protectiveFactors = slice.optJSONArray("protective_factors");
 
-        lifestyleInsightsBox.setVisible(true);
-        lifestyleInsightsBox.setManaged(true);
+        VBox lifestyleInsightsBox = new VBox(12);
+        lifestyleInsightsBox.getStyleClass().add("result-tint-success");
+        lifestyleInsightsBox.setStyle("-fx-padding: 14; -fx-background-radius: 10; -fx-border-color: #5EEAD4; -fx-border-radius: 10; -fx-border-width: 1;");
 
         Label header = new Label("Lifestyle & Daily Habits Impact");
         header.setStyle("-fx-font-size: 16; -fx-font-weight: bold; -fx-text-fill: #0f766e;");
@@ -1009,7 +1018,8 @@ public class RiskAssessmentView extends BorderPane {
             categoriesBox.setStyle("-fx-background-color: rgba(15, 118, 110, 0.05); -fx-padding: 12; -fx-background-radius: 8;");
 
             Label categoriesTitle = new Label("Category Breakdown");
-            categoriesTitle.setStyle("-fx-font-size: 14; -fx-font-weight: bold; -fx-text-fill: #0f172a;");
+            categoriesTitle.getStyleClass().add("result-text");
+            categoriesTitle.setStyle("-fx-font-size: 14; -fx-font-weight: bold;");
             categoriesBox.getChildren().add(categoriesTitle);
 
             for (String key : categories.keySet()) {
@@ -1021,14 +1031,17 @@ public class RiskAssessmentView extends BorderPane {
 
             lifestyleInsightsBox.getChildren().add(categoriesBox);
         }
+        return lifestyleInsightsBox;
     }
 
     private VBox createOverallLifestyleCard(double score, String status) {
         VBox box = new VBox(8);
-        box.setStyle("-fx-background-color: white; -fx-padding: 12; -fx-background-radius: 10; -fx-effect: dropshadow(gaussian, rgba(14,116,144,0.12), 8, 0, 0, 3);");
+        box.getStyleClass().add("result-card");
+        box.setStyle("-fx-padding: 12; -fx-background-radius: 10; -fx-effect: dropshadow(gaussian, rgba(14,116,144,0.12), 8, 0, 0, 3);");
 
         Label title = new Label("Overall Lifestyle Score");
-        title.setStyle("-fx-font-weight: bold; -fx-text-fill: #0f172a;");
+        title.getStyleClass().add("result-text");
+        title.setStyle("-fx-font-weight: bold;");
 
         ProgressBar bar = new ProgressBar(Double.isNaN(score) ? 0 : Math.max(0, Math.min(1, score / 100.0)));
         bar.setPrefWidth(Double.MAX_VALUE);
@@ -1052,7 +1065,8 @@ public class RiskAssessmentView extends BorderPane {
         box.setStyle("-fx-background-color: " + (highlight ? "#FEF3C7" : "#ECFEFF") + "; -fx-padding: 10; -fx-background-radius: 8;");
 
         Label title = new Label(titleText);
-        title.setStyle("-fx-font-weight: bold; -fx-text-fill: #0f172a;");
+        title.getStyleClass().add("result-text");
+        title.setStyle("-fx-font-weight: bold;");
         box.getChildren().add(title);
 
         int displayCount = Math.min(items.length(), 4);
@@ -1070,7 +1084,7 @@ public class RiskAssessmentView extends BorderPane {
             }
             Label itemLabel = new Label(message);
             itemLabel.setWrapText(true);
-            itemLabel.setStyle("-fx-text-fill: #1e293b;");
+            itemLabel.getStyleClass().add("result-text");
             box.getChildren().add(itemLabel);
         }
 
@@ -1079,14 +1093,16 @@ public class RiskAssessmentView extends BorderPane {
 
     private VBox createLifestyleCategoryCard(JSONObject category) {
         VBox card = new VBox(6);
-        card.setStyle("-fx-background-color: white; -fx-padding: 12; -fx-background-radius: 10; -fx-border-color: rgba(14,116,144,0.15); -fx-border-radius: 10;");
+        card.getStyleClass().add("result-card");
+        card.setStyle("-fx-padding: 12; -fx-background-radius: 10; -fx-border-color: rgba(14,116,144,0.15); -fx-border-radius: 10;");
 
         String label = category.optString("label", "Category");
         double score = category.optDouble("score", Double.NaN);
         String status = category.optString("status", "Needs attention");
 
         Label title = new Label(label);
-        title.setStyle("-fx-font-weight: bold; -fx-text-fill: #0f172a;");
+        title.getStyleClass().add("result-text");
+        title.setStyle("-fx-font-weight: bold;");
 
         HBox scoreRow = new HBox(8);
         scoreRow.setAlignment(Pos.CENTER_LEFT);
@@ -1103,7 +1119,7 @@ public class RiskAssessmentView extends BorderPane {
         if (risks != null && risks.length() > 0) {
             Label riskLabel = new Label("Needs attention: " + risks.optString(0));
             riskLabel.setWrapText(true);
-            riskLabel.setStyle("-fx-text-fill: #b45309;");
+            riskLabel.getStyleClass().add("result-text-warning");
             card.getChildren().add(riskLabel);
         }
 
@@ -1111,7 +1127,7 @@ public class RiskAssessmentView extends BorderPane {
         if (positives != null && positives.length() > 0) {
             Label positiveLabel = new Label("Strength: " + positives.optString(0));
             positiveLabel.setWrapText(true);
-            positiveLabel.setStyle("-fx-text-fill: #047857;");
+            positiveLabel.getStyleClass().add("result-text-success");
             card.getChildren().add(positiveLabel);
         }
 
@@ -1119,30 +1135,20 @@ public class RiskAssessmentView extends BorderPane {
         if (actions != null && actions.length() > 0) {
             Label actionLabel = new Label("Action: " + actions.optString(0));
             actionLabel.setWrapText(true);
-            actionLabel.setStyle("-fx-text-fill: #0f172a;");
+            actionLabel.getStyleClass().add("result-text");
             card.getChildren().add(actionLabel);
         }
         return card;
     }
 
-    private void updateDataQualitySummary(JSONObject dataQuality) {
-        if (dataQualitySummaryBox == null) {
-            return;
-        }
-
-        dataQualitySummaryBox.getChildren().clear();
-
-        if (dataQuality == null || dataQuality.isEmpty()) {
-            dataQualitySummaryBox.setVisible(false);
-            dataQualitySummaryBox.setManaged(false);
-            return;
-        }
-
-        dataQualitySummaryBox.setVisible(true);
-        dataQualitySummaryBox.setManaged(true);
+    private VBox createDataQualityCard(JSONObject dataQuality) {
+        VBox dataQualitySummaryBox = new VBox(8);
+        dataQualitySummaryBox.getStyleClass().add("result-tint-info");
+        dataQualitySummaryBox.setStyle("-fx-padding: 12; -fx-background-radius: 8;");
 
         Label title = new Label("Data Quality & Coverage");
-        title.setStyle("-fx-font-weight: bold; -fx-text-fill: #1d4ed8;");
+        title.getStyleClass().add("result-text-info");
+        title.setStyle("-fx-font-weight: bold;");
 
         int missing = dataQuality.optInt("missing_features", 0);
         int total = dataQuality.optInt("total_features", 0);
@@ -1155,16 +1161,17 @@ public class RiskAssessmentView extends BorderPane {
         Label summary = new Label(String.format("Data completeness: %.1f%% (%d of %d lifestyle datapoints provided)",
             completeness, total - missing, total));
         summary.setWrapText(true);
-        summary.setStyle("-fx-text-fill: #1e293b;");
+        summary.getStyleClass().add("result-text");
 
         if (missing > 0) {
             Label hint = new Label("Tip: Add the missing details marked above to further improve precision.");
             hint.setWrapText(true);
-            hint.setStyle("-fx-text-fill: #b45309;");
+            hint.getStyleClass().add("result-text-warning");
             dataQualitySummaryBox.getChildren().addAll(title, completenessBar, summary, hint);
         } else {
             dataQualitySummaryBox.getChildren().addAll(title, completenessBar, summary);
         }
+        return dataQualitySummaryBox;
     }
 
     private String getLifestyleScoreColor(double score) {
@@ -1183,59 +1190,17 @@ public class RiskAssessmentView extends BorderPane {
         return "#DC2626";
     }
 
-    private void maybeTriggerHealthCoachPlan(JSONObject predictions) {
-        if (healthCoachPlanShown) {
-            return;
-        }
-        if (predictions == null || predictions.isEmpty()) {
-            return;
-        }
-        if (currentAssessment == null) {
-            return;
-        }
-
-        healthCoachPlanShown = true;
-
-        JSONObject payload = new JSONObject();
-        payload.put("age", lastAge);
-        payload.put("bmi", currentAssessment.getBmi());
-        double score = currentAssessment.getHealthScore() != null
-            ? currentAssessment.getHealthScore()
-            : calculateHealthCoachScore(predictions);
-        payload.put("health_score", score);
-        payload.put("risk_predictions", predictions);
-        if (lastFamilyHistory != null) {
-            payload.put("existing_conditions", lastFamilyHistory);
-        }
-        if (lastSymptoms != null) {
-            payload.put("symptoms", lastSymptoms);
+    private void displayHealthCoachResponse(JSONObject response) {
+        if (response.optBoolean("success") && response.has("plan")) {
+            lastHealthCoachPlan = response.getJSONObject("plan");
+            displayHealthCoachSummary(lastHealthCoachPlan);
+            HealthCoachPlanView.showPlanDialog(lastHealthCoachPlan);
+            showHealthCoachNotification("A personalized 30-day health plan is ready.", NotificationHelper.NotificationType.SUCCESS);
+        } else {
+            hideHealthCoachSummary();
+            showHealthCoachNotification("Health coach plan unavailable. Using standard recommendations.",
+                NotificationHelper.NotificationType.WARNING);
         }
-
-        CompletableFuture
-            .supplyAsync(() -> HealthCoachApiClient.generatePlan(payload))
-            .thenAccept(response -> Platform.runLater(() -> {
-                if (response.optBoolean("success") && response.has("plan")) {
-                    lastHealthCoachPlan = response.getJSONObject("plan");
-                    displayHealthCoachSummary(lastHealthCoachPlan);
-                    HealthCoachPlanView.showPlanDialog(lastHealthCoachPlan);
-                    showHealthCoachNotification("A personalized 30-day health plan is ready.", NotificationHelper.NotificationType.SUCCESS);
-                } else {
-                    healthCoachPlanShown = false;
-                    hideHealthCoachSummary();
-                    showHealthCoachNotification("Health coach plan unavailable. Using standard recommendations.",
-                        NotificationHelper.NotificationType.WARNING);
-                }
-            }))
-            .exceptionally(ex -> {
-                Platform.runLater(() -> {
-                    healthCoachPlanShown = false;
-                    hideHealthCoachSummary();
-                    String message = ex.getCause() != null ? ex.getCause().getMessage() : ex.getMessage();
-                    showHealthCoachNotification("Health coach plan generation failed: " + message,
-                        NotificationHelper.NotificationType.ERROR);
-                });
-                return null;
-            });
     }
 
     private void displayHealthCoachSummary(JSONObject plan) {
@@ -1256,10 +1221,12 @@ public class RiskAssessmentView extends BorderPane {
         };
 
         Label title = new Label("Personalized Health Coach Plan");
-        title.setStyle("-fx-font-size: 15; -fx-font-weight: bold; -fx-text-fill: #047857;");
+        title.getStyleClass().add("result-text-success");
+        title.setStyle("-fx-font-size: 15; -fx-font-weight: bold;");
 
         Label focus = new Label("Focus: " + conditionDisplay);
-        focus.setStyle("-fx-text-fill: #065f46; -fx-font-size: 13;");
+        focus.getStyleClass().add("result-text-success");
+        focus.setStyle("-fx-font-size: 13;");
 
         String targetSummary = "Achievable risk reduction goals tailored for you.";
         JSONObject targets = plan.optJSONObject("risk_reduction_targets");
@@ -1274,7 +1241,7 @@ public class RiskAssessmentView extends BorderPane {
         }
         Label targetLabel = new Label(targetSummary);
         targetLabel.setWrapText(true);
-        targetLabel.setStyle("-fx-text-fill: #065f46;");
+        targetLabel.getStyleClass().add("result-text-success");
 
         Button viewPlanButton = new Button("View Full Plan");
         viewPlanButton.setStyle("-fx-background-color: #0d9488; -fx-text-fill: white; -fx-font-weight: bold;");
@@ -1331,29 +1298,10 @@ public class RiskAssessmentView extends BorderPane {
         }
     }
 
-    private double calculateHealthCoachScore(JSONObject predictions) {
-        double totalRisk = 0;
-        int count = 0;
-
-        for (String key : predictions.keySet()) {
-            JSONObject prediction = predictions.optJSONObject(key);
-            if (prediction == null) {
-                continue;
-            }
-            double risk = prediction.optDouble("risk_percentage", 0.0);
-            if (risk > 0) {
-                totalRisk += risk;
-                count++;
-            }
-        }
-
-        double averageRisk = count > 0 ? totalRisk / count : 40.0;
-        return Math.max(30.0, 100.0 - averageRisk * 0.8);
-    }
-
     private VBox createRiskCard(String title, int riskPercentage, String color) {
         VBox card = new VBox(10);
-        card.setStyle("-fx-background-color: white; -fx-padding: 20; -fx-background-radius: 12; -fx-effect: dropshadow(gaussian, rgba(0,0,0,0.1), 10, 0, 0, 3);");
+        card.getStyleClass().add("result-card");
+        card.setStyle("-fx-padding: 20; -fx-background-radius: 12; -fx-effect: dropshadow(gaussian, rgba(0,0,0,0.1), 10, 0, 0, 3);");
         card.setMinWidth(450);
 
         Label titleLabel = new Label(title);
@@ -1384,7 +1332,8 @@ public class RiskAssessmentView extends BorderPane {
 
     private VBox createInfoCard(String title, String value, String subtitle, String color) {
         VBox card = new VBox(5);
-        card.setStyle("-fx-background-color: white; -fx-padding: 15; -fx-background-radius: 10;");
+        card.getStyleClass().add("result-card");
+        card.setStyle("-fx-padding: 15; -fx-background-radius: 10;");
         HBox row = new HBox(10);
         Label titleLabel = new Label(title + ":");
         titleLabel.setMinWidth(150);
@@ -1413,11 +1362,11 @@ public class RiskAssessmentView extends BorderPane {
         return "(Obese)";
     }
 
-    private String getPriorityColor(String priority) {
+    private String getPriorityStyleClass(String priority) {
         switch (priority.toLowerCase()) {
-            case "high": return "#FEE2E2";
-            case "medium": return "#FEF3C7";
-            default: return "#ECFDF5";
+            case "high": return "result-tint-danger";
+            case "medium": return "result-tint-warning";
+            default: return "result-tint-success";
         }
     }
 
@@ -1434,7 +1383,8 @@ public class RiskAssessmentView extends BorderPane {
 
     private VBox createHealthScoreCard(int healthScore) {
         VBox card = new VBox(10);
-        card.setStyle("-fx-background-color: linear-gradient(to bottom right, #ECFDF5, #D1FAE5); -fx-padding: 20; -fx-background-radius: 12; -fx-effect: dropshadow(gaussian, rgba(0,0,0,0.1), 10, 0, 0, 3);");
+        card.getStyleClass().add("result-tint-success");
+        card.setStyle("-fx-padding: 20; -fx-background-radius: 12; -fx-effect: dropshadow(gaussian, rgba(0,0,0,0.1), 10, 0, 0, 3);");
         card.setMinWidth(450);
 
         Label titleLabel = new Label("Overall Health Score");
@@ -1469,7 +1419,8 @@ public class RiskAssessmentView extends BorderPane {
 
     private VBox createRiskTrendCard(Map<String, Object> riskTrend) {
         VBox card = new VBox(15);
-        card.setStyle("-fx-background-color: white; -fx-padding: 20; -fx-background-radius: 12; -fx-effect: dropshadow(gaussian, rgba(0,0,0,0.1), 10, 0, 0, 3);");
+        card.getStyleClass().add("result-card");
+        card.setStyle("-fx-padding: 20; -fx-background-radius: 12; -fx-effect: dropshadow(gaussian, rgba(0,0,0,0.1), 10, 0, 0, 3);");
         card.setMinWidth(450);
 
         Label titleLabel = new Label("5-Year Risk Trend Prediction");
@@ -1523,7 +1474,8 @@ public class RiskAssessmentView extends BorderPane {
 
     private VBox createPopulationComparisonCard(Map<String, Object> comparison) {
         VBox card = new VBox(15);
-        card.setStyle("-fx-background-color: white; -fx-padding: 20; -fx-background-radius: 12; -fx-effect: dropshadow(gaussian, rgba(0,0,0,0.1), 10, 0, 0, 3);");
+        card.getStyleClass().add("result-card");
+        card.setStyle("-fx-padding: 20; -fx-background-radius: 12; -fx-effect: dropshadow(gaussian, rgba(0,0,0,0.1), 10, 0, 0, 3);");
         card.setMinWidth(450);
 
         Label titleLabel = new Label("Population Comparison");
@@ -1547,7 +1499,8 @@ public class RiskAssessmentView extends BorderPane {
                 Map<String, Object> data = (Map<String, Object>) diseaseData;
                 
                 VBox diseaseBox = new VBox(8);
-                diseaseBox.setStyle("-fx-background-color: #F9FAFB; -fx-padding: 12; -fx-background-radius: 8;");
+                diseaseBox.getStyleClass().add("result-inset");
+                diseaseBox.setStyle("-fx-padding: 12; -fx-background-radius: 8;");
                 
                 HBox headerBox = new HBox(10);
                 headerBox.setAlignment(Pos.CENTER_LEFT);
@@ -1621,7 +1574,8 @@ public class RiskAssessmentView extends BorderPane {
 
     private VBox createRiskExplanationsCard(Map<String, Object> explanations) {
         VBox card = new VBox(15);
-        card.setStyle("-fx-background-color: white; -fx-padding: 20; -fx-background-radius: 12; -fx-effect: dropshadow(gaussian, rgba(0,0,0,0.1), 10, 0, 0, 3);");
+        card.getStyleClass().add("result-card");
+        card.setStyle("-fx-padding: 20; -fx-background-radius: 12; -fx-effect: dropshadow(gaussian, rgba(0,0,0,0.1), 10, 0, 0, 3);");
         card.setMinWidth(450);
 
         Label titleLabel = new Label("Risk Explanations");
@@ -1637,7 +1591,8 @@ public class RiskAssessmentView extends BorderPane {
                 Map<String, Object> exp = (Map<String, Object>) expData;
                 
                 VBox diseaseBox = new VBox(8);
-                diseaseBox.setStyle("-fx-background-color: #F9FAFB; -fx-padding: 15; -fx-background-radius: 8;");
+                diseaseBox.getStyleClass().add("result-inset");
+                diseaseBox.setStyle("-fx-padding: 15; -fx-background-radius: 8;");
                 
                 HBox headerBox = new HBox(10);
                 Label diseaseLabel = new Label(formatDiseaseName(disease) + " (" + exp.get("risk_level") + "%)");
@@ -1681,7 +1636,8 @@ public class RiskAssessmentView extends BorderPane {
 
     private VBox createFeatureImportanceCard(Map<String, Object> importance) {
         VBox card = new VBox(15);
-        card.setStyle("-fx-background-color: white; -fx-padding: 20; -fx-background-radius: 12; -fx-effect: dropshadow(gaussian, rgba(0,0,0,0.1), 10, 0, 0, 3);");
+        card.getStyleClass().add("result-card");
+        card.setStyle("-fx-padding: 20; -fx-background-radius: 12; -fx-effect: dropshadow(gaussian, rgba(0,0,0,0.1), 10, 0, 0, 3);");
         card.setMinWidth(450);
 
         Label titleLabel = new Label("Top Contributing Factors");
@@ -1740,9 +1696,59 @@ public class RiskAssessmentView extends BorderPane {
         return feature.replace("_", " ").substring(0, 1).toUpperCase() + feature.replace("_", " ").substring(1);
     }
 
+    // The reduction card follows the sliders: each scenario's reduction is re-scored from the adjusted lifestyle
+    private WhatIfPanel createWhatIfPanel(WhatIfSimulator simulator) {
+        whatIfRequest++;
+        Duration delay = simulator.isLocal() ? LOCAL_WHAT_IF_DELAY : SERVER_WHAT_IF_DELAY;
+        whatIfPanel = new WhatIfPanel(simulator.getBaseline(), simulator.getBaselineRisks(), delay,
+            lifestyle -> simulateWhatIf(simulator, lifestyle),
+            () -> {
+                // Drops any scoring still in flight and puts back the assessment's own reductions
+                whatIfRequest++;
+                reductionSection.update(nonEmpty(simulator.getBaselineRisks().getRiskReduction()));
+            });
+        return whatIfPanel;
+    }
+
+    private void simulateWhatIf(WhatIfSimulator simulator, WhatIfSimulator.Lifestyle lifestyle) {
+        WhatIfPanel panel = whatIfPanel;
+        int request = ++whatIfRequest;
+        if (simulator.isLocal()) {
+            try {
+                showWhatIfOutcome(panel, simulator.simulate(lifestyle));
+            } catch (IOException e) {
+                panel.showStatus("Could not score scenarios: " + e.getMessage());
+            }
+            return;
+        }
+        panel.showStatus("Scoring scenarios...");
+        tasks.submit(() -> {
+            try {
+                WhatIfSimulator.Outcome outcome = simulator.simulate(lifestyle);
+                tasks.runLater(() -> {
+                    if (request == whatIfRequest) {
+                        showWhatIfOutcome(panel, outcome);
+                    }
+                });
+            } catch (IOException e) {
+                tasks.runLater(() -> {
+                    if (request == whatIfRequest) {
+                        panel.showStatus("Could not score scenarios: " + e.getMessage());
+                    }
+                });
+            }
+        });
+    }
+
+    private void showWhatIfOutcome(WhatIfPanel panel, WhatIfSimulator.Outcome outcome) {
+        panel.showRisks(outcome.risks());
+        reductionSection.update(nonEmpty(outcome.reductions()));
+    }
+
     private VBox createRiskReductionCard(Map<String, Object> reductions) {
         VBox card = new VBox(15);
-        card.setStyle("-fx-background-color: linear-gradient(to bottom right, #F0FDF4, #ECFDF5); -fx-padding: 20; -fx-background-radius: 12; -fx-effect: dropshadow(gaussian, rgba(0,0,0,0.1), 10, 0, 0, 3);");
+        card.getStyleClass().add("result-tint-success");
+        card.setStyle("-fx-padding: 20; -fx-background-radius: 12; -fx-effect: dropshadow(gaussian, rgba(0,0,0,0.1), 10, 0, 0, 3);");
         card.setMinWidth(450);
 
         Label titleLabel = new Label("Potential Risk Reduction");
@@ -1762,7 +1768,8 @@ public class RiskAssessmentView extends BorderPane {
                 Map<String, Object> scenarioMap = (Map<String, Object>) scenarioData;
                 
                 VBox scenarioBox = new VBox(10);
-                scenarioBox.setStyle("-fx-background-color: white; -fx-padding: 15; -fx-background-radius: 8;");
+                scenarioBox.getStyleClass().add("result-card");
+                scenarioBox.setStyle("-fx-padding: 15; -fx-background-radius: 8;");
                 
                 Label scenarioLabel = new Label(formatScenarioName(scenario));
                 scenarioLabel.setFont(Font.font("System", FontWeight.BOLD, 14));
@@ -1809,7 +1816,8 @@ public class RiskAssessmentView extends BorderPane {
 
     private VBox createActionPlanCard(List<Map<String, Object>> actionPlan) {
         VBox card = new VBox(15);
-        card.setStyle("-fx-background-color: white; -fx-padding: 20; -fx-background-radius: 12; -fx-effect: dropshadow(gaussian, rgba(0,0,0,0.1), 10, 0, 0, 3);");
+        card.getStyleClass().add("result-card");
+        card.setStyle("-fx-padding: 20; -fx-background-radius: 12; -fx-effect: dropshadow(gaussian, rgba(0,0,0,0.1), 10, 0, 0, 3);");
         card.setMinWidth(450);
 
         Label titleLabel = new Label("Personalized Action Plan");
@@ -1885,7 +1893,8 @@ public class RiskAssessmentView extends BorderPane {
 
     private VBox createScreeningCard(List<Map<String, Object>> screenings) {
         VBox card = new VBox(15);
-        card.setStyle("-fx-background-color: white; -fx-padding: 20; -fx-background-radius: 12; -fx-effect: dropshadow(gaussian, rgba(0,0,0,0.1), 10, 0, 0, 3);");
+        card.getStyleClass().add("result-card");
+        card.setStyle("-fx-padding: 20; -fx-background-radius: 12; -fx-effect: dropshadow(gaussian, rgba(0,0,0,0.1), 10, 0, 0, 3);");
         card.setMinWidth(450);
 
         Label titleLabel = new Label("Recommended Health Screenings");
@@ -1898,7 +1907,8 @@ public class RiskAssessmentView extends BorderPane {
 
         for (Map<String, Object> screening : screenings) {
             VBox screeningBox = new VBox(8);
-            screeningBox.setStyle("-fx-background-color: #F9FAFB; -fx-padding: 12; -fx-background-radius: 8;");
+            screeningBox.getStyleClass().add("result-inset");
+            screeningBox.setStyle("-fx-padding: 12; -fx-background-radius: 8;");
             
             HBox headerBox = new HBox(10);
             headerBox.setAlignment(Pos.CENTER_LEFT);
@@ -0,0 +1,37 @@
+package com.smartheal.api;
+
+import com.smartheal.models.ChatResponse;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Which chatbot messages are answered from the bundled FAQ and which are left to the backend.
+ */
+class FaqRetrievalEngineTest {
+
+    @Test
+    void answersFaqQuestionsLocally() throws IOException {
+        FaqRetrievalEngine engine = new FaqRetrievalEngine();
+
+        ChatResponse english = engine.answer("What causes headaches?");
+        assertNotNull(english);
+        assertTrue(english.getResponse().toLowerCase().contains("headache"));
+
+        assertNotNull(engine.answer("सिरदर्द"));
+    }
+
+    @Test
+    void leavesRomanizedSymptomsTheFaqDoesNotCoverToTheBackend() throws IOException {
+        FaqRetrievalEngine engine = new FaqRetrievalEngine();
+
+        // Abdominal pain shares only "pain" with the headache entry
+        assertNull(engine.answer("pet dard"));
+        assertNull(engine.answer("mujhe pet dard hai"));
+        assertNull(engine.answer("pet me dard"));
+    }
+}
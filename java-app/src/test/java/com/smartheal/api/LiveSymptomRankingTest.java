@@ -0,0 +1,54 @@
+package com.smartheal.api;
+
+import com.smartheal.models.SymptomCheckResult;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * The live preview must rank exactly as the local analysis does, whatever order the symptoms
+ * were toggled in.
+ */
+class LiveSymptomRankingTest {
+
+    private static final int K = 3;
+
+    @Test
+    void matchesTheLocalAnalysis() throws IOException {
+        SymptomMatchEngine engine = new SymptomMatchEngine();
+        String[] symptoms = engine.matrix().symptoms;
+        LiveSymptomRanking ranking = new LiveSymptomRanking(engine, K);
+        Random random = new Random(42);
+
+        for (int i = 0; i < 2000; i++) {
+            // Keep part of the previous selection so removals are exercised too
+            List<String> selection = new ArrayList<>();
+            if (random.nextBoolean()) {
+                ranking.clear();
+            }
+            for (String symptom : symptoms) {
+                ranking.setSelected(symptom, false);
+            }
+            int count = 1 + random.nextInt(4);
+            while (selection.size() < count) {
+                String symptom = symptoms[random.nextInt(symptoms.length)];
+                if (!selection.contains(symptom)) {
+                    selection.add(symptom);
+                    ranking.setSelected(symptom, true);
+                }
+            }
+
+            List<SymptomCheckResult> results = engine.match(selection);
+            for (int rank = 0; rank < Math.min(K, results.size()); rank++) {
+                SymptomCheckResult result = results.get(rank);
+                assertEquals(result.getDisease().getName(), ranking.getDisease(rank), selection + " rank " + rank);
+                assertEquals(result.getMatchPercentage(), ranking.getScore(rank) * 100, 0.005, selection + " rank " + rank);
+            }
+        }
+    }
+}
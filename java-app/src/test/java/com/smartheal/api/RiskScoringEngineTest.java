@@ -0,0 +1,83 @@
+package com.smartheal.api;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.smartheal.models.RiskAssessment;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * The bundled tree walk against XGBoost: risk_models.json stores XGBoost's probabilities for
+ * reference profiles, and the engine must reproduce them. The bundled ones were scored by
+ * xgboost4j 3.0.4 on the exported boosters, not by predict_proba; see parity_checks in
+ * export_risk_models.py.
+ */
+class RiskScoringEngineTest {
+
+    // XGBoost sums leaf values and reports probabilities in float; the engine works in double
+    private static final double TOLERANCE = 1e-6;
+
+    @Test
+    void matchesXgboostOnReferenceProfiles() throws IOException {
+        RiskScoringEngine engine = new RiskScoringEngine();
+        JsonNode checks;
+        try (InputStream in = RiskScoringEngine.class.getResourceAsStream("/datasets/risk_models.json")) {
+            checks = new ObjectMapper().readTree(in).path("checks");
+        }
+        assertFalse(checks.isEmpty(), "risk_models.json has no reference profiles");
+
+        double[] risks = new double[3];
+        for (JsonNode check : checks) {
+            JsonNode profile = check.path("profile");
+            double[] features = RiskScoringEngine.features(
+                profile.path("age").asInt(),
+                profile.path("weight").asDouble(),
+                profile.path("height").asDouble(),
+                strings(profile.path("symptoms")),
+                strings(profile.path("family_history")),
+                profile.path("smoking").asBoolean(false),
+                profile.path("exercise").asInt(1),
+                profile.path("alcohol").asInt(0),
+                profile.has("sleep_hours") ? profile.path("sleep_hours").asDouble() : null,
+                profile.has("stress_level") ? profile.path("stress_level").asInt() : null,
+                profile.has("diet_quality") ? profile.path("diet_quality").asInt() : null);
+            engine.score(features, risks);
+
+            assertEquals(check.path("diabetes").asDouble(), risks[RiskScoringEngine.DIABETES], TOLERANCE, "diabetes " + profile);
+            assertEquals(check.path("heart").asDouble(), risks[RiskScoringEngine.HEART], TOLERANCE, "heart " + profile);
+            assertEquals(check.path("hypertension").asDouble(), risks[RiskScoringEngine.HYPERTENSION], TOLERANCE, "hypertension " + profile);
+        }
+    }
+
+    @Test
+    void rejectsProfilesOutsideTheBackendLimits() throws IOException {
+        RiskScoringEngine engine = new RiskScoringEngine();
+        List<String> none = List.of();
+
+        assertThrows(IllegalArgumentException.class,
+            () -> engine.assessRisk(17, 70, 170, none, none, false, 1, 0, null, null, null));
+        assertThrows(IllegalArgumentException.class,
+            () -> engine.assessRisk(101, 70, 170, none, none, false, 1, 0, null, null, null));
+        assertThrows(IllegalArgumentException.class,
+            () -> engine.assessRisk(40, 29.5, 170, none, none, false, 1, 0, null, null, null));
+        assertThrows(IllegalArgumentException.class,
+            () -> engine.assessRisk(40, 70, 99, none, none, false, 1, 0, null, null, null));
+
+        RiskAssessment edge = engine.assessRisk(18, 30, 100, none, none, false, 1, 0, null, null, null);
+        assertEquals(30.0, edge.getBmi());
+    }
+
+    private static List<String> strings(JsonNode array) {
+        List<String> values = new ArrayList<>();
+        array.forEach(value -> values.add(value.asText()));
+        return values;
+    }
+}
@@ -0,0 +1,40 @@
+package com.smartheal.api;
+
+import com.smartheal.models.RiskAssessment;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class WhatIfSimulatorTest {
+
+    @Test
+    void weightTargetStaysWithinTheModelLimits() throws IOException {
+        RiskScoringEngine engine = new RiskScoringEngine();
+        WhatIfSimulator.Lifestyle lifestyle = new WhatIfSimulator.Lifestyle(40, 1, 8, 1, 2, 0, false);
+        RiskAssessment baseline = engine.assessRisk(40, 40, 100, List.of(), List.of(), false, 1, 0, 8.0, 1, 2);
+        WhatIfSimulator simulator = new WhatIfSimulator(null, engine, 40, 100, List.of(), List.of(), lifestyle, baseline);
+
+        WhatIfSimulator.Scenario weight = simulator.improvements(lifestyle).stream()
+            .filter(scenario -> scenario.key().equals("weight_management"))
+            .findFirst().orElseThrow();
+        assertEquals(30.0, weight.lifestyle().weight());
+
+        // The baseline lifestyle scores as assessed, and the 30 kg target is scored rather than rejected
+        WhatIfSimulator.Outcome outcome = simulator.simulate(lifestyle);
+        assertEquals(baseline.getDiabetesRisk(), outcome.risks().getDiabetesRisk());
+        assertEquals(baseline.getHeartRisk(), outcome.risks().getHeartRisk());
+        assertEquals(baseline.getHypertensionRisk(), outcome.risks().getHypertensionRisk());
+        assertTrue(outcome.reductions().containsKey("weight_management"));
+
+        // Already at the lightest weight scored: nothing to suggest
+        WhatIfSimulator.Lifestyle lightest = lifestyle.withWeight(30);
+        assertTrue(engine.assessRisk(40, 30, 100, List.of(), List.of(), false, 1, 0, 8.0, 1, 2).getBmi() > 25);
+        assertFalse(simulator.improvements(lightest).stream()
+            .anyMatch(scenario -> scenario.key().equals("weight_management")));
+    }
+}
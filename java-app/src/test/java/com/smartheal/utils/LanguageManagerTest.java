@@ -0,0 +1,56 @@
+package com.smartheal.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Hindi/Marathi symptom names typed in Latin or Devanagari, as the chatbot and symptom
+ * search receive them.
+ */
+class LanguageManagerTest {
+
+    @Test
+    void dropsTheInherentVowelWhereSpeechDoes() {
+        assertEquals("sirdard", Transliterator.toLatin("सिरदर्द"));
+        assertEquals("dhadkan", Transliterator.toLatin("धड़कन"));
+        assertEquals("kamjorii", Transliterator.toLatin("कमजोरी"));
+        assertEquals("thakaan", Transliterator.toLatin("थकान"));
+    }
+
+    @Test
+    void findsSymptomsTypedInEitherScript() {
+        assertEquals("Headache", LanguageManager.findSymptomByRomanized("सिरदर्द"));
+        assertEquals("Headache", LanguageManager.findSymptomByRomanized("sirdard"));
+        assertEquals("Headache", LanguageManager.findSymptomByRomanized("sar dard"));
+        assertEquals("Abdominal Pain", LanguageManager.findSymptomByRomanized("pet dard"));
+        assertEquals("Abdominal Pain", LanguageManager.findSymptomByRomanized("pet me dard"));
+        assertEquals("Back Pain", LanguageManager.findSymptomByRomanized("peeth dard"));
+        assertEquals("Fever", LanguageManager.findSymptomByRomanized("bukhaar"));
+    }
+
+    @Test
+    void findsMisspelledNamesWithinAFewEdits() {
+        assertEquals("Headache", LanguageManager.findSymptomByRomanized("sirdord"));
+        assertEquals("Headache", LanguageManager.findSymptomByRomanized("sirdarad"));
+    }
+
+    @Test
+    void findsSymptomsInsideAMessage() {
+        assertEquals(List.of("Abdominal Pain"), LanguageManager.findRomanizedSymptoms("mujhe pet dard hai"));
+        assertEquals(List.of("Abdominal Pain"), LanguageManager.findRomanizedSymptoms("pet me dard"));
+        assertEquals(List.of("Headache"), LanguageManager.findRomanizedSymptoms("sar dard"));
+    }
+
+    @Test
+    void leavesAmbiguousAndUnrelatedWordsUnmatched() {
+        // पीली त्वचा names both Pale Skin and Yellow Skin
+        assertNull(LanguageManager.findSymptomByRomanized("pili tvacha"));
+        assertNull(LanguageManager.findSymptomByRomanized("tip"));
+        assertNull(LanguageManager.findSymptomByRomanized("dard"));
+        assertEquals(List.of(), LanguageManager.findRomanizedSymptoms("what causes headaches"));
+    }
+}